@@ -22,7 +22,10 @@ import org.sirix.api.Transaction;
 import org.sirix.api.TransactionManager;
 import org.sirix.cache.BufferManager;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.io.bytepipe.Encryptor;
+import org.sirix.io.bytepipe.ZstdCompressor;
+import org.sirix.metrics.MetricsRegistry;
 import org.sirix.utils.SirixFiles;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
@@ -105,6 +108,9 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
             break;
         }
       }
+
+      if (returnVal)
+        createAndStoreDictionaryIfNeeded(resConfig);
     }
 
     if (returnVal) {
@@ -116,6 +122,9 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
       mDBConfig.setMaximumResourceID(mResourceID.get());
       mResources.forcePut(mResourceID.get(), resConfig.getResource().getFileName().toString());
 
+      // Don't accumulate the metrics of a former resource with the same name.
+      MetricsRegistry.getInstance().removeResourceMetrics(resConfig.getResource());
+
       returnVal = bootstrapResource(resConfig);
     }
 
@@ -140,6 +149,18 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
     }
   }
 
+  void createAndStoreDictionaryIfNeeded(final ResourceConfiguration resConfig) {
+    for (final ByteHandler handler : resConfig.byteHandlePipeline.getComponents()) {
+      if (handler instanceof ZstdCompressor) {
+        try {
+          ((ZstdCompressor) handler).storeDictionary();
+        } catch (final IOException e) {
+          throw new SirixIOException(e);
+        }
+      }
+    }
+  }
+
   protected abstract boolean bootstrapResource(final ResourceConfiguration resConfig);
 
   @Override
@@ -160,12 +181,52 @@ public abstract class AbstractLocalDatabase<T extends ResourceManager<? extends
 
       // mReadSemaphores.remove(resourceFile);
       // mWriteSemaphores.remove(resourceFile);
-      mBufferManagers.remove(resourceFile);
+      final BufferManager bufferManager = mBufferManagers.remove(resourceFile);
+      if (bufferManager != null) {
+        bufferManager.clearAllCaches();
+      }
+      MetricsRegistry.getInstance().removeResourceMetrics(resourceFile);
+    }
+
+    return this;
+  }
+
+  @Override
+  public synchronized Database<T> compactResource(final String name, final @Nonnegative int maxPageFragments) {
+    assertNotClosed();
+    checkArgument(maxPageFragments > 0, "The maximum number of page fragments must be > 0.");
+
+    final Path resourceFile =
+        mDBConfig.getFile().resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile()).resolve(name);
+    // Check that no running resource managers / sessions are opened.
+    if (Databases.hasOpenResourceManagers(resourceFile)) {
+      throw new IllegalStateException("Opened resource managers found, must be closed first.");
+    }
+
+    try (final T resourceManager = openResourceManager(name)) {
+      new ResourceCompactor(resourceManager, maxPageFragments).compact(
+          resourceFile.resolve(ResourceCompactor.COMPACTED_DATA));
     }
 
+    // The cached pages refer to the former data file.
+    final BufferManager bufferManager = mBufferManagers.remove(resourceFile);
+    if (bufferManager != null) {
+      bufferManager.clearAllCaches();
+    }
+
+    ResourceCompactor.swap(resourceFile);
+
     return this;
   }
 
+  /**
+   * Remove the pages of all resources of this database from the shared buffer pool.
+   */
+  protected void clearBufferManagers() {
+    mBufferManagers.values().forEach(BufferManager::clearAllCaches);
+    mBufferManagers.clear();
+  }
+
   @Override
   public synchronized String getResourceName(final @Nonnegative long id) {
     assertNotClosed();
@@ -28,7 +28,7 @@ import org.sirix.api.Database;
 import org.sirix.api.ResourceManager;
 import org.sirix.api.json.JsonNodeTrx;
 import org.sirix.api.json.JsonResourceManager;
-import org.sirix.cache.BufferManagerImpl;
+import org.sirix.cache.SharedBufferManager;
 import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixUsageException;
 import org.sirix.utils.LogWrapper;
@@ -71,6 +71,7 @@ public final class LocalJsonDatabase extends AbstractLocalDatabase<JsonResourceM
     mClosed = true;
     mResourceStore.close();
     mTransactionManager.close();
+    clearBufferManagers();
 
     // Remove from database mapping.
     Databases.removeDatabase(mDBConfig.getFile(), this);
@@ -94,6 +95,8 @@ public final class LocalJsonDatabase extends AbstractLocalDatabase<JsonResourceM
     if (mResourceStore.hasOpenResourceManager(resourceFile))
       return mResourceStore.getOpenResourceManager(resourceFile);
 
+    ResourceCompactor.completeInterruptedSwap(resourceFile);
+
     final ResourceConfiguration resourceConfig = ResourceConfiguration.deserialize(resourceFile);
 
     // Resource of must be associated to this database.
@@ -103,7 +106,7 @@ public final class LocalJsonDatabase extends AbstractLocalDatabase<JsonResourceM
     mResources.forcePut(resourceConfig.getID(), resourceConfig.getResource().getFileName().toString());
 
     if (!mBufferManagers.containsKey(resourceFile))
-      mBufferManagers.put(resourceFile, new BufferManagerImpl());
+      mBufferManagers.put(resourceFile, SharedBufferManager.getInstance().newResourceBufferManager());
 
     final JsonResourceManager resourceManager =
         mResourceStore.openResource(this, resourceConfig, mBufferManagers.get(resourceFile), resourceFile);
@@ -0,0 +1,444 @@
+package org.sirix.access;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.ResourceManager;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Durability;
+import org.sirix.io.Reader;
+import org.sirix.io.StorageType;
+import org.sirix.io.Writer;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.file.FileStorage;
+import org.sirix.io.file.FileWriter;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.OverflowPage;
+import org.sirix.page.PageFragmentKey;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+import org.sirix.utils.SirixFiles;
+
+/**
+ * Rewrites the data file of a resource, such that a record page is reconstructed from at most a
+ * fixed number of page fragments in every revision.
+ *
+ * <p>
+ * The revisions are copied one after the other into new files, whereas the pages of a revision
+ * are written in the order of their keys, that is the record pages of a revision are stored next
+ * to each other. Pages, which are shared by several revisions, are copied once. Whenever a record
+ * page would have to be reconstructed from more fragments than allowed, the fragment is replaced by
+ * a full snapshot of the page, which doesn't refer to previous fragments. All revisions, their
+ * timestamps, commit messages and the revision root page offsets are preserved.
+ * </p>
+ *
+ * <p>
+ * The new files are written to a sibling directory of the data directory, which is swapped with
+ * the data directory afterwards by {@link #swap(Path)}. The resource must not be modified during
+ * the compaction.
+ * </p>
+ */
+final class ResourceCompactor {
+
+  /** Name of the directory, the compacted files are written to. */
+  static final String COMPACTED_DATA = "data.compacted";
+
+  /** Name of the former data directory during the swap. */
+  static final String OLD_DATA = "data.old";
+
+  /** A page, which has been copied to the new data file. */
+  private static final class CopiedPage {
+    /** The key of the page in the new data file. */
+    private final long mKey;
+
+    /** The hash of the page. */
+    private final byte[] mHash;
+
+    /** The key of the previous fragment of a record page in the new data file. */
+    private final long mPreviousKey;
+
+    /** The number of fragments a record page is reconstructed from, {@code 0} for other pages. */
+    private final int mFragments;
+
+    CopiedPage(final PageReference reference, final long previousKey, final int fragments) {
+      mKey = reference.getKey();
+      mHash = reference.getHash();
+      mPreviousKey = previousKey;
+      mFragments = fragments;
+    }
+  }
+
+  /** The resource manager of the resource to compact. */
+  private final ResourceManager<?, ?> mResourceManager;
+
+  /** The configuration of the resource. */
+  private final ResourceConfiguration mResourceConfig;
+
+  /** The maximum number of fragments a record page is reconstructed from. */
+  private final int mMaxPageFragments;
+
+  /** The copied pages, keyed by their key in the current data file. */
+  private final Map<Long, CopiedPage> mCopiedPages;
+
+  /** The copied record pages, keyed by their key in the new data file. */
+  private final Map<Long, CopiedPage> mCopiedRecordPages;
+
+  /** The page transaction used to read and deserialize the pages of the resource. */
+  private PageReadOnlyTrx mPageRtx;
+
+  /** The reader of the current data file. */
+  private Reader mReader;
+
+  /** The writer of the new data file. */
+  private Writer mWriter;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager of the resource to compact
+   * @param maxPageFragments the maximum number of fragments a record page is reconstructed from
+   * @throws UnsupportedOperationException if the resource isn't stored in files
+   */
+  ResourceCompactor(final ResourceManager<?, ?> resourceManager, final @Nonnegative int maxPageFragments) {
+    checkArgument(maxPageFragments > 0, "The maximum number of page fragments must be > 0.");
+    mResourceManager = checkNotNull(resourceManager);
+    mResourceConfig = resourceManager.getResourceConfig();
+    if (mResourceConfig.storageType == StorageType.IN_MEMORY) {
+      throw new UnsupportedOperationException("Only resources stored in files can be compacted.");
+    }
+    mMaxPageFragments = maxPageFragments;
+    mCopiedPages = new HashMap<>();
+    mCopiedRecordPages = new HashMap<>();
+  }
+
+  /**
+   * Copy all revisions of the resource to new files.
+   *
+   * @param directory the directory to write the data file and the revisions file to, which is
+   *        replaced if it exists
+   * @throws SirixIOException if an I/O error occurs
+   */
+  void compact(final Path directory) {
+    checkNotNull(directory);
+
+    try {
+      SirixFiles.recursiveRemove(directory);
+      Files.createDirectories(directory);
+
+      // The pages have to be durable, before the data directory is swapped.
+      mWriter = new FileWriter(new RandomAccessFile(directory.resolve(FileStorage.FILENAME).toFile(), "rw"),
+          new RandomAccessFile(directory.resolve(FileStorage.REVISIONS_FILENAME).toFile(), "rw"),
+          new ByteHandlePipeline(mResourceConfig.byteHandlePipeline), SerializationType.DATA, new PagePersister(),
+          Durability.FSYNC_ON_COMMIT, mResourceConfig.pageChecksum, false);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    mPageRtx = mResourceManager.beginPageReadOnlyTrx(mResourceManager.getMostRecentRevisionNumber());
+    mReader = mPageRtx.getReader();
+
+    try {
+      final List<Long> uberPageKeys = getUberPageKeys();
+      long previousUberPageKey = Constants.NULL_ID_LONG;
+
+      for (int revision = 0; revision < uberPageKeys.size(); revision++) {
+        final UberPage uberPage = (UberPage) read(uberPageKeys.get(revision));
+        copyReferences(uberPage, revision);
+        if (revision > 0) {
+          uberPage.setPreviousUberPageKey(previousUberPageKey);
+        }
+
+        final PageReference reference = new PageReference();
+        reference.setPage(uberPage);
+        if (revision == uberPageKeys.size() - 1) {
+          mWriter.writeUberPageReference(reference);
+        } else {
+          mWriter.write(reference);
+        }
+        previousUberPageKey = reference.getKey();
+      }
+    } finally {
+      mWriter.close();
+      mPageRtx.close();
+    }
+  }
+
+  /**
+   * Get the keys of the uber pages of all revisions in the current data file, starting with the
+   * first revision.
+   *
+   * @return the keys of the uber pages
+   */
+  private List<Long> getUberPageKeys() {
+    final PageReference uberPageReference = mReader.readUberPageReference();
+    final List<Long> uberPageKeys = new ArrayList<>();
+    uberPageKeys.add(uberPageReference.getKey());
+
+    UberPage uberPage = (UberPage) uberPageReference.getPage();
+    while (uberPage.getRevisionNumber() > 0) {
+      final long previousUberPageKey = uberPage.getPreviousUberPageKey();
+      uberPageKeys.add(previousUberPageKey);
+      uberPage = (UberPage) read(previousUberPageKey);
+    }
+
+    Collections.reverse(uberPageKeys);
+    return uberPageKeys;
+  }
+
+  private Page read(final long key) {
+    return mReader.read(new PageReference().setKey(key), mPageRtx);
+  }
+
+  /**
+   * Copy the pages referenced by a page and let the references point to the copies.
+   *
+   * @param page the page
+   * @param revision the revision, which is copied
+   */
+  private void copyReferences(final Page page, final int revision) {
+    for (final PageReference reference : page.getReferences()) {
+      if (reference == null || reference.getKey() == Constants.NULL_ID_LONG) {
+        continue;
+      }
+
+      final CopiedPage copiedPage = copy(reference.getKey(), revision);
+      reference.setKey(copiedPage.mKey);
+      reference.setHash(copiedPage.mHash);
+
+      if (copiedPage.mFragments > 0) {
+        reference.setPageFragmentKeys(getPageFragmentKeys(copiedPage, revision));
+      }
+    }
+  }
+
+  /**
+   * Copy a page including all pages it refers to, unless it has been copied before.
+   *
+   * @param key the key of the page in the current data file
+   * @param revision the revision, which is copied
+   * @return the copied page
+   */
+  private CopiedPage copy(final long key, final int revision) {
+    CopiedPage copiedPage = mCopiedPages.get(key);
+
+    if (copiedPage == null) {
+      final Page page = read(key);
+      if (page instanceof UnorderedKeyValuePage) {
+        copiedPage = copyRecordPage((UnorderedKeyValuePage) page, revision);
+        mCopiedRecordPages.put(copiedPage.mKey, copiedPage);
+      } else {
+        if (!(page instanceof OverflowPage)) {
+          copyReferences(page, revision);
+        }
+        copiedPage = new CopiedPage(write(page), Constants.NULL_ID_LONG, 0);
+      }
+      mCopiedPages.put(key, copiedPage);
+    }
+
+    return copiedPage;
+  }
+
+  /**
+   * Copy a fragment of a record page or replace it by a full snapshot of the page, if the page
+   * would otherwise be reconstructed from too many fragments.
+   *
+   * @param page the fragment
+   * @param revision the revision, which is copied
+   * @return the copied page
+   */
+  private CopiedPage copyRecordPage(final UnorderedKeyValuePage page, final int revision) {
+    final int revisionsToRead = getRevisionsToRead(revision);
+    final long previousKey = page.getPreviousReferenceKey();
+
+    // The previous fragments are referenced by former revisions and thus usually copied already.
+    final CopiedPage previousPage = previousKey == Constants.NULL_ID_LONG
+        ? null
+        : copy(previousKey, revision);
+
+    final int fragments = previousPage == null || page.size() == Constants.NDP_NODE_COUNT
+        ? 1
+        : Math.min(revisionsToRead, previousPage.mFragments + 1);
+
+    if (fragments <= mMaxPageFragments) {
+      copyOverflowPages(page, revision);
+      page.setPreviousReferenceKey(previousPage == null
+          ? Constants.NULL_ID_LONG
+          : previousPage.mKey);
+      page.setPreviousFragmentHashes(getPreviousFragmentHashes(page.getPreviousReferenceKey(), revision));
+      return new CopiedPage(write(page), page.getPreviousReferenceKey(), fragments);
+    }
+
+    final UnorderedKeyValuePage snapshot = reconstruct(page, revisionsToRead);
+    copyOverflowPages(snapshot, revision);
+    snapshot.setPreviousReferenceKey(Constants.NULL_ID_LONG);
+    snapshot.setPreviousFragmentHashes(Collections.emptyList());
+    return new CopiedPage(write(snapshot), Constants.NULL_ID_LONG, 1);
+  }
+
+  /**
+   * Reconstruct a record page from its fragments in the current data file, just as a reading
+   * transaction does.
+   *
+   * @param page the most recent fragment
+   * @param revisionsToRead the maximum number of fragments to read
+   * @return the reconstructed page
+   */
+  private UnorderedKeyValuePage reconstruct(final UnorderedKeyValuePage page, final int revisionsToRead) {
+    final List<KeyValuePage<Long, Record>> fragments = new ArrayList<>(revisionsToRead);
+    KeyValuePage<Long, Record> fragment = page;
+    fragments.add(fragment);
+
+    while (fragments.size() < revisionsToRead && fragment.size() < Constants.NDP_NODE_COUNT
+        && fragment.getPreviousReferenceKey() != Constants.NULL_ID_LONG) {
+      @SuppressWarnings("unchecked")
+      final KeyValuePage<Long, Record> previousFragment =
+          (KeyValuePage<Long, Record>) read(fragment.getPreviousReferenceKey());
+      fragment = previousFragment;
+      fragments.add(fragment);
+    }
+
+    return (UnorderedKeyValuePage) mResourceConfig.revisioningType.combineRecordPages(fragments,
+        mResourceConfig.numberOfRevisionsToRestore, mPageRtx);
+  }
+
+  /**
+   * Copy the overflow pages of a record page and let the references point to the copies.
+   *
+   * @param page the record page
+   * @param revision the revision, which is copied
+   */
+  private void copyOverflowPages(final UnorderedKeyValuePage page, final int revision) {
+    for (final Map.Entry<Long, PageReference> entry : page.referenceEntrySet()) {
+      final PageReference reference = entry.getValue();
+      if (reference.getKey() != Constants.NULL_ID_LONG) {
+        reference.setKey(copy(reference.getKey(), revision).mKey);
+      }
+    }
+  }
+
+  /**
+   * Get the keys of the previous fragments of a copied record page, which are read to reconstruct
+   * the page in the copied revision, the most recent one first.
+   *
+   * @param copiedPage the copied record page
+   * @param revision the revision, which is copied
+   * @return the keys of the previous fragments
+   */
+  private List<PageFragmentKey> getPageFragmentKeys(final CopiedPage copiedPage, final int revision) {
+    final List<PageFragmentKey> pageFragmentKeys = new ArrayList<>();
+    for (final CopiedPage fragment : getPreviousFragments(copiedPage.mPreviousKey, revision)) {
+      pageFragmentKeys.add(new PageFragmentKey(fragment.mKey));
+    }
+    return pageFragmentKeys;
+  }
+
+  /**
+   * Get the checksums of the copied previous fragments of a record page, which are read to
+   * reconstruct the page in the copied revision, the most recent one first.
+   *
+   * @param previousKey the key of the previous fragment in the new data file
+   * @param revision the revision, which is copied
+   * @return the checksums of the previous fragments up to the first one, which isn't known
+   */
+  private List<byte[]> getPreviousFragmentHashes(final long previousKey, final int revision) {
+    final List<byte[]> previousFragmentHashes = new ArrayList<>();
+    for (final CopiedPage fragment : getPreviousFragments(previousKey, revision)) {
+      if (fragment.mHash == null) {
+        break;
+      }
+      previousFragmentHashes.add(fragment.mHash);
+    }
+    return previousFragmentHashes;
+  }
+
+  private List<CopiedPage> getPreviousFragments(final long previousKey, final int revision) {
+    final int numberOfPreviousFragments = getRevisionsToRead(revision) - 1;
+    final List<CopiedPage> previousFragments = new ArrayList<>();
+
+    long key = previousKey;
+    while (previousFragments.size() < numberOfPreviousFragments && key != Constants.NULL_ID_LONG) {
+      final CopiedPage fragment = mCopiedRecordPages.get(key);
+      previousFragments.add(fragment);
+      key = fragment.mPreviousKey;
+    }
+
+    return previousFragments;
+  }
+
+  private int getRevisionsToRead(final int revision) {
+    return mResourceConfig.revisioningType.getRevisionRoots(revision,
+        mResourceConfig.numberOfRevisionsToRestore).length;
+  }
+
+  private PageReference write(final Page page) {
+    final PageReference reference = new PageReference();
+    reference.setPage(page);
+    mWriter.write(reference);
+    reference.setPage(null);
+    return reference;
+  }
+
+  /**
+   * Replace the data directory of a resource with the directory of the compacted files. The
+   * directories are renamed atomically one after the other. If the process dies in between,
+   * {@link #completeInterruptedSwap(Path)} finishes the swap.
+   *
+   * @param resourcePath the path of the resource
+   * @throws SirixIOException if an I/O error occurs
+   */
+  static void swap(final Path resourcePath) {
+    final Path data = resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath());
+    final Path oldData = resourcePath.resolve(OLD_DATA);
+
+    try {
+      Files.move(data, oldData, StandardCopyOption.ATOMIC_MOVE);
+      Files.move(resourcePath.resolve(COMPACTED_DATA), data, StandardCopyOption.ATOMIC_MOVE);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    SirixFiles.recursiveRemove(oldData);
+  }
+
+  /**
+   * Finish the swap of the data directory with the compacted files, if it has been interrupted, or
+   * remove the files of an interrupted compaction.
+   *
+   * @param resourcePath the path of the resource
+   * @throws SirixIOException if an I/O error occurs
+   */
+  static void completeInterruptedSwap(final Path resourcePath) {
+    final Path data = resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath());
+    final Path oldData = resourcePath.resolve(OLD_DATA);
+    final Path compactedData = resourcePath.resolve(COMPACTED_DATA);
+
+    if (Files.exists(oldData) && !Files.exists(data)) {
+      // The compacted files are complete, once the former data directory has been renamed.
+      try {
+        Files.move(compactedData, data, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+
+    SirixFiles.recursiveRemove(oldData);
+    SirixFiles.recursiveRemove(compactedData);
+  }
+}
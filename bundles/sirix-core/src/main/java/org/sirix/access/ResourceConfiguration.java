@@ -35,7 +35,10 @@ import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nonnegative;
 import org.sirix.access.trx.node.HashType;
+import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.Durability;
+import org.sirix.io.PageChecksum;
 import org.sirix.io.StorageType;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
 import org.sirix.io.bytepipe.ByteHandler;
@@ -155,6 +158,29 @@ public final class ResourceConfiguration {
   /** Persistenter for records. */
   private static final RecordPersister PERSISTENTER = new NodePersistenterImpl();
 
+  /** Standard durability of commits. */
+  private static final Durability DURABILITY = Durability.NONE;
+
+  /** Standard checksum of pages. */
+  private static final PageChecksum PAGE_CHECKSUM = PageChecksum.XXHASH64;
+
+  /** Standard size of the off-heap cache of serialized pages in bytes ({@code 0}: disabled). */
+  private static final long OFF_HEAP_CACHE_SIZE = 0;
+
+  /** Standard maximum size of the pages a write transaction keeps in memory in bytes. */
+  private static final long INTENT_LOG_SIZE = TransactionIntentLog.DEFAULT_MAX_SIZE;
+
+  /** Standard number of record pages read ahead during document order traversals. */
+  private static final int READ_AHEAD_PAGES = 8;
+
+  /**
+   * The version of the format of the stored records. Resources of version {@code 0} store the node
+   * keys of AVL index entries as lists instead of bitmaps. Resources of version {@code 1} store no
+   * keys of value statistics in path nodes. Resources of version {@code 2} store neither the keys of
+   * the previous fragments of record pages in indirect pages nor their checksums in record pages.
+   */
+  public static final int STORAGE_FORMAT_VERSION = 3;
+
   // END FIXED STANDARD FIELDS
 
   // MEMBERS FOR FIXED FIELDS
@@ -185,6 +211,12 @@ public final class ResourceConfiguration {
   /** Determines if a path summary should be build and kept up to date or not. */
   public final boolean withPathSummary;
 
+  /**
+   * Determines if value statistics of the path classes are kept up to date with the path summary or
+   * not.
+   */
+  public final boolean withPathStatistics;
+
   /** Persistents records / commonly nodes. */
   public final RecordPersister recordPersister;
 
@@ -199,6 +231,34 @@ public final class ResourceConfiguration {
 
   private String resourceName;
 
+  /** Determines if and how commits are forced to the storage device. */
+  public final Durability durability;
+
+  /** The checksum of pages. */
+  public final PageChecksum pageChecksum;
+
+  /** Determines if the checksums of pages are verified, when pages are read. */
+  public final boolean verifyChecksumsOnRead;
+
+  /** The size of the off-heap cache of serialized pages in bytes ({@code 0}, if it's disabled). */
+  public final long offHeapCacheSize;
+
+  /**
+   * The maximum size of the pages a write transaction keeps in memory in bytes, before they are
+   * spilled to the transaction intent log file ({@link TransactionIntentLog#UNBOUNDED}, if they are
+   * never spilled).
+   */
+  public final long intentLogSize;
+
+  /**
+   * The number of record pages, which are read ahead in the background, once a read-only
+   * transaction reads record pages in document order ({@code 0}, if it's disabled).
+   */
+  public final int readAheadPages;
+
+  /** The version of the format, in which the records of the resource are stored. */
+  public final int storageFormatVersion;
+
   // END MEMBERS FOR FIXED FIELDS
 
   /**
@@ -225,10 +285,18 @@ public final class ResourceConfiguration {
     numberOfRevisionsToRestore = builder.mRevisionsToRestore;
     useTextCompression = builder.mCompression;
     withPathSummary = builder.mPathSummary;
+    withPathStatistics = builder.mPathStatistics;
     areDeweyIDsStored = builder.mUseDeweyIDs;
     recordPersister = builder.mPersistenter;
     resourceName = builder.mResource;
     nodeHashFunction = builder.mHashFunction;
+    durability = builder.mDurability;
+    pageChecksum = builder.mPageChecksum;
+    verifyChecksumsOnRead = builder.mVerifyChecksumsOnRead;
+    offHeapCacheSize = builder.mOffHeapCacheSize;
+    intentLogSize = builder.mIntentLogSize;
+    readAheadPages = builder.mReadAheadPages;
+    storageFormatVersion = builder.mStorageFormatVersion;
   }
 
   ResourceConfiguration setDatabaseConfiguration(final DatabaseConfiguration config) {
@@ -282,6 +350,14 @@ public final class ResourceConfiguration {
                       .add("Type", storageType)
                       .add("Revision", revisioningType)
                       .add("HashKind", hashType)
+                      .add("Durability", durability)
+                      .add("PageChecksum", pageChecksum)
+                      .add("VerifyChecksumsOnRead", verifyChecksumsOnRead)
+                      .add("OffHeapCacheSize", offHeapCacheSize)
+                      .add("IntentLogSize", intentLogSize)
+                      .add("ReadAheadPages", readAheadPages)
+                      .add("StorageFormatVersion", storageFormatVersion)
+                      .add("PathStatistics", withPathStatistics)
                       .toString();
   }
 
@@ -308,7 +384,9 @@ public final class ResourceConfiguration {
    */
   private static final String[] JSONNAMES =
       {"revisioning", "revisioningClass", "numbersOfRevisiontoRestore", "byteHandlerClasses", "storageKind", "hashKind",
-          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter"};
+          "hashFunction", "compression", "pathSummary", "resourceID", "deweyIDsStored", "persistenter",
+          "durability", "pageChecksum", "verifyChecksumsOnRead", "offHeapCacheSize",
+          "intentLogSize", "readAheadPages", "storageFormatVersion", "pathStatistics"};
 
   /**
    * Serialize the configuration.
@@ -351,6 +429,19 @@ public final class ResourceConfiguration {
       jsonWriter.name(JSONNAMES[10]).value(config.areDeweyIDsStored);
       // Persistenter.
       jsonWriter.name(JSONNAMES[11]).value(config.recordPersister.getClass().getName());
+      // Durability.
+      jsonWriter.name(JSONNAMES[12]).value(config.durability.name());
+      // Page checksum.
+      jsonWriter.name(JSONNAMES[13]).value(config.pageChecksum.name());
+      jsonWriter.name(JSONNAMES[14]).value(config.verifyChecksumsOnRead);
+      // Cache sizes.
+      jsonWriter.name(JSONNAMES[15]).value(config.offHeapCacheSize);
+      jsonWriter.name(JSONNAMES[16]).value(config.intentLogSize);
+      jsonWriter.name(JSONNAMES[17]).value(config.readAheadPages);
+      // Storage format version.
+      jsonWriter.name(JSONNAMES[18]).value(config.storageFormatVersion);
+      // Path statistics.
+      jsonWriter.name(JSONNAMES[19]).value(config.withPathStatistics);
       jsonWriter.endObject();
     } catch (final IOException e) {
       throw new SirixIOException(e);
@@ -439,6 +530,63 @@ public final class ResourceConfiguration {
       final Class<?> persistenterClazz = Class.forName(jsonReader.nextString());
       final Constructor<?> persistenterConstr = persistenterClazz.getConstructors()[0];
       final RecordPersister persistenter = (RecordPersister) persistenterConstr.newInstance();
+      // Durability (not available in configurations of older resources).
+      Durability durability = DURABILITY;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[12]);
+        durability = Durability.valueOf(jsonReader.nextString());
+      }
+      // Page checksum (pages of older resources are hashed with SHA-256).
+      PageChecksum pageChecksum = PageChecksum.SHA256;
+      boolean verifyChecksumsOnRead = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[13]);
+        pageChecksum = PageChecksum.valueOf(jsonReader.nextString());
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[14]);
+        verifyChecksumsOnRead = jsonReader.nextBoolean();
+      }
+      // Off-heap cache size (not available in configurations of older resources).
+      long offHeapCacheSize = OFF_HEAP_CACHE_SIZE;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[15]);
+        offHeapCacheSize = jsonReader.nextLong();
+      }
+      // Intent log size (not available in configurations of older resources).
+      long intentLogSize = INTENT_LOG_SIZE;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[16]);
+        intentLogSize = jsonReader.nextLong();
+      }
+      // Read-ahead (not available in configurations of older resources).
+      int readAheadPages = READ_AHEAD_PAGES;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[17]);
+        readAheadPages = jsonReader.nextInt();
+      }
+      // Storage format version (resources without a version are stored in the initial format).
+      int storageFormatVersion = 0;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[18]);
+        storageFormatVersion = jsonReader.nextInt();
+      }
+      // Path statistics (not available in configurations of older resources).
+      boolean pathStatistics = false;
+      if (jsonReader.hasNext()) {
+        name = jsonReader.nextName();
+        assert name.equals(JSONNAMES[19]);
+        pathStatistics = jsonReader.nextBoolean();
+      }
+      if (storageFormatVersion > STORAGE_FORMAT_VERSION) {
+        throw new SirixIOException("The resource is stored in format version " + storageFormatVersion
+            + ", which is newer than the supported version " + STORAGE_FORMAT_VERSION + ".");
+      }
       jsonReader.endObject();
       jsonReader.close();
       fileReader.close();
@@ -456,7 +604,15 @@ public final class ResourceConfiguration {
              .persistenter(persistenter)
              .useTextCompression(compression)
              .buildPathSummary(pathSummary)
-             .useDeweyIDs(deweyIDsStored);
+             .buildPathStatistics(pathStatistics)
+             .useDeweyIDs(deweyIDsStored)
+             .durability(durability)
+             .pageChecksum(pageChecksum)
+             .verifyChecksumsOnRead(verifyChecksumsOnRead)
+             .offHeapCacheSize(offHeapCacheSize)
+             .intentLogSize(intentLogSize)
+             .readAheadPages(readAheadPages);
+      builder.mStorageFormatVersion = storageFormatVersion;
 
       // Deserialized instance.
       final ResourceConfiguration config = new ResourceConfiguration(builder);
@@ -506,6 +662,30 @@ public final class ResourceConfiguration {
     /** Determines if a path summary should be build or not. */
     private boolean mPathSummary;
 
+    /** Determines if value statistics of the path classes should be kept or not. */
+    private boolean mPathStatistics;
+
+    /** Determines if and how commits are forced to the storage device. */
+    private Durability mDurability = DURABILITY;
+
+    /** The checksum of pages. */
+    private PageChecksum mPageChecksum = PAGE_CHECKSUM;
+
+    /** Determines if the checksums of pages are verified, when pages are read. */
+    private boolean mVerifyChecksumsOnRead;
+
+    /** The size of the off-heap cache of serialized pages in bytes. */
+    private long mOffHeapCacheSize = OFF_HEAP_CACHE_SIZE;
+
+    /** The maximum size of the pages a write transaction keeps in memory in bytes. */
+    private long mIntentLogSize = INTENT_LOG_SIZE;
+
+    /** The number of record pages read ahead during document order traversals. */
+    private int mReadAheadPages = READ_AHEAD_PAGES;
+
+    /** The version of the format of the stored records, new resources use the current one. */
+    private int mStorageFormatVersion = STORAGE_FORMAT_VERSION;
+
     /**
      * Constructor, setting the mandatory fields.
      *
@@ -631,6 +811,103 @@ public final class ResourceConfiguration {
       return this;
     }
 
+    /**
+     * Determines if the count, bounds, distinct values and histograms of the values of each path
+     * class are maintained with the path summary. Each value insert, update and removal then also
+     * modifies the statistics of its path class, thus it's disabled by default. It has no effect if
+     * no path summary is built.
+     *
+     * @param buildPathStatistics {@code true}, if the statistics should be maintained, {@code false}
+     *        otherwise (default)
+     * @return reference to the builder object
+     */
+    public Builder buildPathStatistics(final boolean buildPathStatistics) {
+      mPathStatistics = buildPathStatistics;
+      return this;
+    }
+
+    /**
+     * Set if and how commits are forced to the storage device.
+     *
+     * @param durability the durability of commits (default: {@link Durability#NONE})
+     * @return reference to the builder object
+     */
+    public Builder durability(final Durability durability) {
+      mDurability = checkNotNull(durability);
+      return this;
+    }
+
+    /**
+     * Set the checksum of pages.
+     *
+     * @param pageChecksum the checksum of pages (default: {@link PageChecksum#XXHASH64})
+     * @return reference to the builder object
+     */
+    public Builder pageChecksum(final PageChecksum pageChecksum) {
+      mPageChecksum = checkNotNull(pageChecksum);
+      return this;
+    }
+
+    /**
+     * Determines if the checksums of pages are verified, when pages are read.
+     *
+     * @param verifyChecksumsOnRead {@code true}, if checksums should be verified, {@code false}
+     *        otherwise (default)
+     * @return reference to the builder object
+     */
+    public Builder verifyChecksumsOnRead(final boolean verifyChecksumsOnRead) {
+      mVerifyChecksumsOnRead = verifyChecksumsOnRead;
+      return this;
+    }
+
+    /**
+     * Set the size of the off-heap cache, which keeps serialized pages outside of the Java heap, such
+     * that pages evicted from the shared buffer pool don't have to be read from the storage device again.
+     * The cache is used for the {@link StorageType#FILE} storage. Its memory is allocated at once, when
+     * the resource is opened.
+     *
+     * @param offHeapCacheSize the size of the off-heap cache in bytes or {@code 0} to disable it
+     *        (default)
+     * @return reference to the builder object
+     */
+    public Builder offHeapCacheSize(final @Nonnegative long offHeapCacheSize) {
+      checkArgument(offHeapCacheSize >= 0, "The off-heap cache size must be >= 0.");
+      checkArgument(offHeapCacheSize <= Integer.MAX_VALUE, "The off-heap cache size must be <= %s.",
+          Integer.MAX_VALUE);
+      mOffHeapCacheSize = offHeapCacheSize;
+      return this;
+    }
+
+    /**
+     * Set the maximum size of the pages a write transaction keeps in memory. Once it's exceeded, the
+     * eldest pages are spilled to the transaction intent log file. Use
+     * {@link TransactionIntentLog#UNBOUNDED} for bulk loads, which should never spill pages. It can
+     * also be changed for a single transaction by means of {@link TransactionIntentLog#setMaxSize}.
+     *
+     * @param intentLogSize the maximum size in bytes (default: 64 MiB)
+     * @return reference to the builder object
+     */
+    public Builder intentLogSize(final @Nonnegative long intentLogSize) {
+      checkArgument(intentLogSize > 0, "The intent log size must be > 0.");
+      mIntentLogSize = intentLogSize;
+      return this;
+    }
+
+    /**
+     * Set the number of record pages, which are read ahead in the background, once a read-only
+     * transaction reads consecutive record pages, as for instance during a serialization of the
+     * whole resource.
+     *
+     * @param readAheadPages the number of record pages to read ahead, {@code 0} to disable the
+     *        read-ahead (default: 8)
+     * @return reference to the builder object
+     */
+    public Builder readAheadPages(final @Nonnegative int readAheadPages) {
+      checkArgument(readAheadPages >= 0, "The number of pages to read ahead must be >= 0.");
+      mReadAheadPages = readAheadPages;
+      return this;
+    }
+
     @Override
     public String toString() {
       return MoreObjects.toStringHelper(this)
@@ -638,6 +915,14 @@ public final class ResourceConfiguration {
                         .add("RevisionKind", mRevisionKind)
                         .add("HashKind", mHashKind)
                         .add("HashFunction", mHashFunction)
+                        .add("Durability", mDurability)
+                        .add("PageChecksum", mPageChecksum)
+                        .add("VerifyChecksumsOnRead", mVerifyChecksumsOnRead)
+                        .add("OffHeapCacheSize", mOffHeapCacheSize)
+                        .add("IntentLogSize", mIntentLogSize)
+                        .add("ReadAheadPages", mReadAheadPages)
+                        .add("StorageFormatVersion", mStorageFormatVersion)
+                        .add("PathStatistics", mPathStatistics)
                         .toString();
     }
 
@@ -38,6 +38,7 @@ import org.sirix.access.User;
 import org.sirix.access.trx.node.xml.XmlResourceManagerImpl;
 import org.sirix.access.trx.page.PageReadOnlyTrxImpl;
 import org.sirix.access.trx.page.PageTrxFactory;
+import org.sirix.access.trx.page.RevisionState;
 import org.sirix.api.Database;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
@@ -61,10 +62,42 @@ import org.sirix.page.PageKind;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.settings.Fixed;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCursor, W extends NodeTrx & NodeCursor>
     implements ResourceManager<R, W>, InternalResourceManager<R, W> {
 
+  /** Number of threads used to read page fragments concurrently. */
+  private static final int PAGE_READ_THREADS = 8;
+
+  /**
+   * Maximum number of record pages, which are read ahead concurrently, such that the remaining
+   * threads of the page read pool are available to read the fragments of requested pages.
+   */
+  private static final int READ_AHEAD_PERMITS = PAGE_READ_THREADS / 2;
+
+  /**
+   * Thread pool to read the fragments of record pages concurrently, which is shared by all resources,
+   * as a database might consist of hundreds of resources.
+   */
+  private static final ExecutorService PAGE_READ_POOL = Executors.newFixedThreadPool(PAGE_READ_THREADS,
+      new ThreadFactoryBuilder().setNameFormat("sirix-page-reader-%d").setDaemon(true).build());
+
+  /** Bounds the number of record pages read ahead concurrently by all resources. */
+  private static final Semaphore READ_AHEAD_SEMAPHORE = new Semaphore(READ_AHEAD_PERMITS);
+
+  /**
+   * Thread pool to serialize and compress record pages during a commit, which is shared by all
+   * resources. The number of pages a commit serializes ahead is bounded by the commit itself.
+   */
+  private static final ExecutorService PAGE_SERIALIZATION_POOL =
+      Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+          new ThreadFactoryBuilder().setNameFormat("sirix-page-serializer-%d").setDaemon(true).build());
+
+  /** Maximum number of revisions, whose state is kept to begin read-only transactions. */
+  private static final int MAX_REVISION_STATES = 128;
+
   /** Thread pool. */
   final ExecutorService mThreadPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 
@@ -98,11 +131,14 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
   /** Factory for all interactions with the storage. */
   final Storage mFac;
 
-  /** Atomic counter for concurrent generation of node transaction id. */
-  private final AtomicLong mNodeTrxIDCounter;
+  /**
+   * Atomic counter for concurrent generation of node and page transaction IDs. Both share the
+   * counter, such that the ID of a page transaction never denotes an unrelated node transaction.
+   */
+  private final AtomicLong mTrxIDCounter;
 
-  /** Atomic counter for concurrent generation of page transaction id. */
-  final AtomicLong mPageTrxIDCounter;
+  /** The shared state of committed revisions, keyed by the revision number. */
+  private final com.github.benmanes.caffeine.cache.Cache<Integer, RevisionState> mRevisionStates;
 
   /** Determines if session was closed. */
   volatile boolean mClosed;
@@ -140,8 +176,8 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     mPageTrxMap = new ConcurrentHashMap<>();
     mNodePageTrxMap = new ConcurrentHashMap<>();
 
-    mNodeTrxIDCounter = new AtomicLong();
-    mPageTrxIDCounter = new AtomicLong();
+    mTrxIDCounter = new AtomicLong();
+    mRevisionStates = Caffeine.newBuilder().maximumSize(MAX_REVISION_STATES).build();
     mCommitLock = new ReentrantLock(false);
 
     mReadSemaphore = checkNotNull(readSemaphore);
@@ -256,6 +292,21 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     return mResourceConfig.resourcePath;
   }
 
+  @Override
+  public ExecutorService getPageReadPool() {
+    return PAGE_READ_POOL;
+  }
+
+  @Override
+  public ExecutorService getPageSerializationPool() {
+    return PAGE_SERIALIZATION_POOL;
+  }
+
+  @Override
+  public Semaphore getReadAheadPermits() {
+    return READ_AHEAD_SEMAPHORE;
+  }
+
   @Override
   public Lock getCommitLock() {
     assertNotClosed();
@@ -269,10 +320,41 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
   }
 
   @Override
-  public synchronized R beginNodeReadOnlyTrx(@Nonnegative final int revisionKey) {
+  public R beginNodeReadOnlyTrx(@Nonnegative final int revisionKey) {
     assertAccess(revisionKey);
 
     // Make sure not to exceed available number of read transactions.
+    acquireReadPermit();
+
+    // The page transaction is bound to the node transaction and shares its ID.
+    final long nodeTrxId = mTrxIDCounter.incrementAndGet();
+    final PageReadOnlyTrx pageReadTrx = createPageReadOnlyTrx(nodeTrxId, revisionKey);
+
+    final Node documentNode = getDocumentNode(pageReadTrx);
+
+    // Create new reader.
+    final R reader = createNodeReadOnlyTrx(nodeTrxId, pageReadTrx, documentNode);
+
+    // Remember reader for debugging and safe close.
+    if (mNodeReaderMap.putIfAbsent(nodeTrxId, reader) != null) {
+      throw new SirixUsageException("ID generation is bogus because of duplicate ID.");
+    }
+
+    return reader;
+  }
+
+  /**
+   * Acquire a permit to begin a transaction. Permits are acquired without blocking as long as
+   * there are permits available.
+   *
+   * @throws SirixUsageException if no permit is available within 20 seconds
+   * @throws SirixThreadedException if the thread is interrupted while waiting for a permit
+   */
+  private void acquireReadPermit() {
+    if (mReadSemaphore.tryAcquire()) {
+      return;
+    }
+
     try {
       if (!mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
         throw new SirixUsageException(
@@ -281,20 +363,33 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     } catch (final InterruptedException e) {
       throw new SirixThreadedException(e);
     }
+  }
 
-    final PageReadOnlyTrx pageReadTrx = beginPageReadOnlyTrx(revisionKey);
-
-    final Node documentNode = getDocumentNode(pageReadTrx);
+  /**
+   * Create a page read-only transaction, which reuses the shared state of the revision, if it has
+   * already been looked up by another transaction. The read permit is released, if the
+   * transaction can't be created.
+   *
+   * @param trxId the transaction ID
+   * @param revision the revision to read
+   * @return a new page read-only transaction
+   */
+  private PageReadOnlyTrx createPageReadOnlyTrx(final long trxId, final @Nonnegative int revision) {
+    try {
+      final RevisionState revisionState = mRevisionStates.getIfPresent(revision);
 
-    // Create new reader.
-    final R reader = createNodeReadOnlyTrx(mNodeTrxIDCounter.incrementAndGet(), pageReadTrx, documentNode);
+      if (revisionState != null) {
+        return new PageReadOnlyTrxImpl(trxId, this, revisionState, mFac.createReader(), mBufferManager);
+      }
 
-    // Remember reader for debugging and safe close.
-    if (mNodeReaderMap.put(reader.getId(), reader) != null) {
-      throw new SirixUsageException("ID generation is bogus because of duplicate ID.");
+      final PageReadOnlyTrxImpl pageReadTrx = new PageReadOnlyTrxImpl(trxId, this, mLastCommittedUberPage.get(),
+          revision, mFac.createReader(), null, null, mBufferManager);
+      mRevisionStates.asMap().putIfAbsent(revision, pageReadTrx.getRevisionState());
+      return pageReadTrx;
+    } catch (final RuntimeException e) {
+      mReadSemaphore.release();
+      throw e;
     }
-
-    return reader;
   }
 
   public abstract R createNodeReadOnlyTrx(long nodeTrxId, PageReadOnlyTrx pageReadTrx, Node documentNode);
@@ -374,7 +469,7 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     }
 
     // Create new page write transaction (shares the same ID with the node write trx).
-    final long nodeTrxId = mNodeTrxIDCounter.incrementAndGet();
+    final long nodeTrxId = mTrxIDCounter.incrementAndGet();
     final int lastRev = mLastCommittedUberPage.get().getRevisionNumber();
     final PageTrx<Long, Record, UnorderedKeyValuePage> pageWtx =
         createPageWriteTransaction(nodeTrxId, lastRev, lastRev, Abort.NO, true);
@@ -424,6 +519,7 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
       mNodeReaderMap.clear();
       mPageTrxMap.clear();
       mNodePageTrxMap.clear();
+      mRevisionStates.invalidateAll();
       mResourceStore.closeResource(mResourceConfig.getResource());
 
       mFac.close();
@@ -599,6 +695,10 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
     assertNotClosed();
 
     mLastCommittedUberPage.set(checkNotNull(page));
+
+    // Revisions, which have been rolled back, might be committed once more.
+    final int revision = page.getRevisionNumber();
+    mRevisionStates.asMap().keySet().removeIf(revisionNumber -> revisionNumber > revision);
   }
 
   @Override
@@ -616,7 +716,7 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
   }
 
   @Override
-  public synchronized PathSummaryReader openPathSummary(final @Nonnegative int revision) {
+  public PathSummaryReader openPathSummary(final @Nonnegative int revision) {
     assertAccess(revision);
 
     final PageReadOnlyTrx pageReadTrx = beginPageReadOnlyTrx(revision);
@@ -634,25 +734,17 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
   }
 
   @Override
-  public synchronized PageReadOnlyTrx beginPageReadOnlyTrx(final @Nonnegative int revision) {
+  public PageReadOnlyTrx beginPageReadOnlyTrx(final @Nonnegative int revision) {
     assertAccess(revision);
 
     // Make sure not to exceed available number of read transactions.
-    try {
-      if (!mReadSemaphore.tryAcquire(20, TimeUnit.SECONDS)) {
-        throw new SirixUsageException(
-            "No read transactions available, please close at least one read transaction at first!");
-      }
-    } catch (final InterruptedException e) {
-      throw new SirixThreadedException(e);
-    }
+    acquireReadPermit();
 
-    final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
-    final PageReadOnlyTrx pageReadTrx = new PageReadOnlyTrxImpl(currentPageTrxID, this, mLastCommittedUberPage.get(),
-        revision, mFac.createReader(), null, null, mBufferManager);
+    final long currentPageTrxID = mTrxIDCounter.incrementAndGet();
+    final PageReadOnlyTrx pageReadTrx = createPageReadOnlyTrx(currentPageTrxID, revision);
 
     // Remember page transaction for debugging and safe close.
-    if (mPageTrxMap.put(currentPageTrxID, pageReadTrx) != null) {
+    if (mPageTrxMap.putIfAbsent(currentPageTrxID, pageReadTrx) != null) {
       throw new SirixThreadedException("ID generation is bogus because of duplicate ID.");
     }
 
@@ -687,7 +779,7 @@ public abstract class AbstractResourceManager<R extends NodeReadOnlyTrx & NodeCu
       throw new SirixThreadedException(e);
     }
 
-    final long currentPageTrxID = mPageTrxIDCounter.incrementAndGet();
+    final long currentPageTrxID = mTrxIDCounter.incrementAndGet();
     final int lastRev = mLastCommittedUberPage.get().getRevisionNumber();
     final PageTrx<Long, Record, UnorderedKeyValuePage> pageWtx =
         createPageWriteTransaction(currentPageTrxID, lastRev, lastRev, Abort.NO, false);
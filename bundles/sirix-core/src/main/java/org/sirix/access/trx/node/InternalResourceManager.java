@@ -1,6 +1,8 @@
 package org.sirix.access.trx.node;
 
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.locks.Lock;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
@@ -31,6 +33,31 @@ public interface InternalResourceManager<R extends NodeReadOnlyTrx & NodeCursor,
 
   Lock getCommitLock();
 
+  /**
+   * Get the thread pool, which is used to read the fragments of record pages concurrently. The pool
+   * is shared by all resources and must not be shut down.
+   *
+   * @return the thread pool
+   */
+  ExecutorService getPageReadPool();
+
+  /**
+   * Get the thread pool, which is used to serialize and compress record pages during a commit. The
+   * pool is shared by all resources and must not be shut down.
+   *
+   * @return the thread pool
+   */
+  ExecutorService getPageSerializationPool();
+
+  /**
+   * Get the permits for record pages, which are read ahead in the background. A permit is held
+   * while a page is read, which bounds the I/O spent on reading ahead by all transactions of all
+   * resources, as they share the page read pool.
+   *
+   * @return the permits to read ahead record pages
+   */
+  Semaphore getReadAheadPermits();
+
   void setLastCommittedUberPage(UberPage lastUberPage);
 
   void closeWriteTransaction(long transactionID);
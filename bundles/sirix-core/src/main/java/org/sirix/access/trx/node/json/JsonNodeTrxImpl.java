@@ -58,6 +58,7 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.path.summary.PathStatisticsWriter;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
@@ -139,11 +140,17 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
   /** {@link PathSummaryWriter} instance. */
   private PathSummaryWriter<JsonNodeReadOnlyTrx> mPathSummaryWriter;
 
+  /** {@link PathStatisticsWriter} instance, if path statistics are maintained. */
+  private PathStatisticsWriter mPathStatisticsWriter;
+
   /**
    * Determines if a path summary should be built and kept up-to-date or not.
    */
   private final boolean mBuildPathSummary;
 
+  /** Determines if value statistics of the path classes are maintained. */
+  private final boolean mBuildPathStatistics;
+
   /** {@link JsonNodeFactory} to be able to create nodes. */
   private JsonNodeFactory mNodeFactory;
 
@@ -199,10 +206,14 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     mResourceManager = Preconditions.checkNotNull(resourceManager);
     mNodeReadOnlyTrx = Preconditions.checkNotNull(nodeReadTrx);
     mBuildPathSummary = resourceManager.getResourceConfig().withPathSummary;
+    mBuildPathStatistics = mBuildPathSummary && resourceManager.getResourceConfig().withPathStatistics;
     mPathSummaryWriter = Preconditions.checkNotNull(pathSummaryWriter);
 
     mIndexController = resourceManager.getWtxIndexController(mNodeReadOnlyTrx.getPageTrx().getRevisionNumber());
     mPageWriteTrx = (PageTrx<Long, Record, UnorderedKeyValuePage>) mNodeReadOnlyTrx.getPageTrx();
+    mPathStatisticsWriter = mBuildPathStatistics
+        ? new PathStatisticsWriter(mPageWriteTrx)
+        : null;
 
     mNodeFactory = Preconditions.checkNotNull(nodeFactory);
 
@@ -707,7 +718,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       adaptNodesAndHashesForInsertAsFirstChild(node);
 
       // Index text value.
-      mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+      notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
       return this;
     } finally {
@@ -776,7 +787,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       adaptNodesAndHashesForInsertAsFirstChild(node);
 
       // Index text value.
-      mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+      notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
       return this;
     } finally {
@@ -828,7 +839,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     mNodeReadOnlyTrx.setCurrentNode(node);
 
     // Index text value.
-    mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+    notifyChange(ChangeType.INSERT, node, pathNodeKey);
   }
 
   @Override
@@ -855,7 +866,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       adaptNodesAndHashesForInsertAsFirstChild(node);
 
       // Index text value.
-      mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+      notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
       return this;
     } finally {
@@ -1023,7 +1034,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
           ? ((ObjectKeyNode) getNode()).getPathNodeKey()
           : -1;
       moveTo(nodeKey);
-      mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+      notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
     }
   }
 
@@ -1109,7 +1120,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       moveTo(nodeKey);
 
       // Remove old value from indexes.
-      mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+      notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
       final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
       final byte[] byteVal = getBytes(value);
@@ -1123,7 +1134,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       adaptHashedWithUpdate(oldHash);
 
       // Index new value.
-      mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
+      notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
 
       return this;
     } finally {
@@ -1146,7 +1157,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       moveTo(nodeKey);
 
       // Remove old value from indexes.
-      mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+      notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
       final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
@@ -1159,7 +1170,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       adaptHashedWithUpdate(oldHash);
 
       // Index new value.
-      mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
+      notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
 
       return this;
     } finally {
@@ -1180,7 +1191,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         moveTo(nodeKey);
 
         // Remove old value from indexes.
-        mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+        notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
         final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
 
@@ -1193,7 +1204,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         adaptHashedWithUpdate(oldHash);
 
         // Index new value.
-        mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
+        notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
 
         return this;
       } else {
@@ -1260,6 +1271,7 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         removeCommitFile();
 
         mPathSummaryWriter = null;
+        mPathStatisticsWriter = null;
         mNodeFactory = null;
 
         // Shutdown pool.
@@ -1350,6 +1362,20 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
     reInstantiateIndexes();
   }
 
+  /**
+   * Notify the index listeners and the path statistics about a changed value.
+   *
+   * @param type the type of change
+   * @param node the changed node
+   * @param pathNodeKey the path node key of the value
+   */
+  private void notifyChange(final ChangeType type, final ImmutableNode node, final long pathNodeKey) {
+    mIndexController.notifyChange(type, node, pathNodeKey);
+    if (mPathStatisticsWriter != null) {
+      mPathStatisticsWriter.listen(type, node, pathNodeKey);
+    }
+  }
+
   /**
    * Create new instances for indexes.
    *
@@ -1363,6 +1389,9 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
       mPathSummaryWriter =
           new PathSummaryWriter<>(mPageWriteTrx, mNodeReadOnlyTrx.getResourceManager(), mNodeFactory, mNodeReadOnlyTrx);
     }
+    if (mBuildPathStatistics) {
+      mPathStatisticsWriter = new PathStatisticsWriter(mPageWriteTrx);
+    }
 
     // Recreate index listeners.
     mIndexController.createIndexListeners(mIndexController.getIndexes().getIndexDefs(), this);
@@ -1970,6 +1999,11 @@ final class JsonNodeTrxImpl extends AbstractForwardingJsonNodeReadOnlyTrx implem
         hook.preCommit(this);
       }
 
+      // Rebuild the histograms of the changed path statistics.
+      if (mPathStatisticsWriter != null) {
+        mPathStatisticsWriter.flush();
+      }
+
       // Reset modification counter.
       mModificationCount = 0L;
 
@@ -60,6 +60,7 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixThreadedException;
 import org.sirix.exception.SirixUsageException;
+import org.sirix.index.path.summary.PathStatisticsWriter;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.index.path.summary.PathSummaryWriter;
 import org.sirix.index.path.summary.PathSummaryWriter.OPType;
@@ -142,11 +143,17 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
   /** {@link PathSummaryWriter} instance. */
   private PathSummaryWriter<XmlNodeReadOnlyTrx> mPathSummaryWriter;
 
+  /** {@link PathStatisticsWriter} instance, if path statistics are maintained. */
+  private PathStatisticsWriter mPathStatisticsWriter;
+
   /**
    * Determines if a path summary should be built and kept up-to-date or not.
    */
   private final boolean mBuildPathSummary;
 
+  /** Determines if value statistics of the path classes are maintained. */
+  private final boolean mBuildPathStatistics;
+
   /** {@link XmlNodeFactory} to be able to create nodes. */
   private XmlNodeFactory mNodeFactory;
 
@@ -204,10 +211,14 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     mResourceManager = Preconditions.checkNotNull(resourceManager);
     mNodeReadOnlyTrx = Preconditions.checkNotNull(nodeReadTrx);
     mBuildPathSummary = resourceManager.getResourceConfig().withPathSummary;
+    mBuildPathStatistics = mBuildPathSummary && resourceManager.getResourceConfig().withPathStatistics;
     mPathSummaryWriter = Preconditions.checkNotNull(pathSummaryWriter);
 
     mIndexController = resourceManager.getWtxIndexController(mNodeReadOnlyTrx.getPageTrx().getRevisionNumber());
     mPageWriteTrx = (PageTrx<Long, Record, UnorderedKeyValuePage>) mNodeReadOnlyTrx.getPageTrx();
+    mPathStatisticsWriter = mBuildPathStatistics
+        ? new PathStatisticsWriter(mPageWriteTrx)
+        : null;
 
     mNodeFactory = Preconditions.checkNotNull(nodeFactory);
 
@@ -339,13 +350,13 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
       for (int i = 0, attCount = getAttributeCount(); i < attCount; i++) {
         moveToAttribute(i);
         final ImmutableAttributeNode att = (ImmutableAttributeNode) getNode();
-        mIndexController.notifyChange(type, att, att.getPathNodeKey());
+        notifyChange(type, att, att.getPathNodeKey());
         moveToParent();
       }
       for (int i = 0, nspCount = getNamespaceCount(); i < nspCount; i++) {
         moveToAttribute(i);
         final ImmutableNamespace nsp = (ImmutableNamespace) getNode();
-        mIndexController.notifyChange(type, nsp, nsp.getPathNodeKey());
+        notifyChange(type, nsp, nsp.getPathNodeKey());
         moveToParent();
       }
       long pathNodeKey = -1;
@@ -356,7 +367,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
       } else if (getNode() instanceof NameNode) {
         pathNodeKey = getNameNode().getPathNodeKey();
       }
-      mIndexController.notifyChange(type, getNode(), pathNodeKey);
+      notifyChange(type, getNode(), pathNodeKey);
     }
     moveTo(beforeNodeKey);
   }
@@ -1057,7 +1068,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         adaptHashesWithAdd();
 
         // Index text value.
-        mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+        notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
         return this;
       } else {
@@ -1124,7 +1135,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         mNodeReadOnlyTrx.setCurrentNode(node);
 
         // Index text value.
-        mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+        notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
         return this;
       } else {
@@ -1190,7 +1201,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         mNodeReadOnlyTrx.setCurrentNode(node);
 
         // Index text value.
-        mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+        notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
         return this;
       } else {
@@ -1368,7 +1379,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         adaptHashesWithAdd();
 
         // Index text value.
-        mIndexController.notifyChange(ChangeType.INSERT, node, pathNodeKey);
+        notifyChange(ChangeType.INSERT, node, pathNodeKey);
 
         if (move == Movement.TOPARENT) {
           moveToParent();
@@ -1508,7 +1519,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         adaptHashesWithRemove();
         mPageWriteTrx.removeEntry(node.getNodeKey(), PageKind.RECORDPAGE, -1);
         removeName();
-        mIndexController.notifyChange(ChangeType.DELETE, getNode(), parent.getPathNodeKey());
+        notifyChange(ChangeType.DELETE, getNode(), ((NameNode) node).getPathNodeKey());
         moveToParent();
       } else if (getCurrentNode().getKind() == NodeKind.NAMESPACE) {
         final ImmutableNode node = mNodeReadOnlyTrx.getCurrentNode();
@@ -1535,7 +1546,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
           ? getPathNodeKey()
           : -1;
       moveTo(nodeKey);
-      mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+      notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
     }
   }
 
@@ -1660,12 +1671,15 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
           return this;
         }
 
+        // Attribute values belong to the path class of the attribute, text values to the one of the parent.
         final long nodeKey = getNodeKey();
-        final long pathNodeKey = moveToParent().trx().getPathNodeKey();
+        final long pathNodeKey = getKind() == NodeKind.ATTRIBUTE
+            ? getPathNodeKey()
+            : moveToParent().trx().getPathNodeKey();
         moveTo(nodeKey);
 
         // Remove old value from indexes.
-        mIndexController.notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
+        notifyChange(ChangeType.DELETE, getNode(), pathNodeKey);
 
         final BigInteger oldHash = mNodeReadOnlyTrx.getCurrentNode().computeHash();
         final byte[] byteVal = getBytes(value);
@@ -1679,7 +1693,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         adaptHashedWithUpdate(oldHash);
 
         // Index new value.
-        mIndexController.notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
+        notifyChange(ChangeType.INSERT, getNode(), pathNodeKey);
 
         return this;
       } else {
@@ -1745,6 +1759,7 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         removeCommitFile();
 
         mPathSummaryWriter = null;
+        mPathStatisticsWriter = null;
         mNodeFactory = null;
 
         // Shutdown pool.
@@ -1815,6 +1830,20 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
     return commit(null);
   }
 
+  /**
+   * Notify the index listeners and the path statistics about a changed value.
+   *
+   * @param type the type of change
+   * @param node the changed node
+   * @param pathNodeKey the path node key of the value
+   */
+  private void notifyChange(final ChangeType type, final ImmutableNode node, final long pathNodeKey) {
+    mIndexController.notifyChange(type, node, pathNodeKey);
+    if (mPathStatisticsWriter != null) {
+      mPathStatisticsWriter.listen(type, node, pathNodeKey);
+    }
+  }
+
   /**
    * Create new instances for indexes.
    *
@@ -1828,6 +1857,9 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
       mPathSummaryWriter =
           new PathSummaryWriter<>(mPageWriteTrx, mNodeReadOnlyTrx.getResourceManager(), mNodeFactory, mNodeReadOnlyTrx);
     }
+    if (mBuildPathStatistics) {
+      mPathStatisticsWriter = new PathStatisticsWriter(mPageWriteTrx);
+    }
 
     // Recreate index listeners.
     mIndexController.createIndexListeners(mIndexController.getIndexes().getIndexDefs(), this);
@@ -2737,6 +2769,11 @@ final class XmlNodeTrxImpl extends AbstractForwardingXmlNodeReadOnlyTrx implemen
         hook.preCommit(this);
       }
 
+      // Rebuild the histograms of the changed path statistics.
+      if (mPathStatisticsWriter != null) {
+        mPathStatisticsWriter.flush();
+      }
+
       // Reset modification counter.
       mModificationCount = 0L;
 
@@ -0,0 +1,210 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.cache.PageContainer;
+import org.sirix.cache.TransactionIntentLog;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.SerializedPage;
+import org.sirix.io.Writer;
+import org.sirix.page.PageReference;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+
+/**
+ * Serializes and compresses the record pages of a commit in the background, while the committing
+ * thread writes the pages in order. The references of each page, which is committed, are looked up
+ * ahead in the order, in which they are committed, whereas at most a fixed number of pages is
+ * looked up in advance, such that the memory is bounded.
+ *
+ * <p>
+ * The committing thread still writes all pages, assigns their offsets and fixes up the references
+ * of the parent pages, before the parents are written. It's the only thread, which accesses the
+ * transaction intent log. Just as the page transaction an instance must only be used by a single
+ * thread.
+ * </p>
+ */
+final class CommitPageSerializer {
+
+  /** A page looked up ahead and its serialized form, if it's a record page. */
+  static final class PreparedPage {
+    /** The page. */
+    private final Page mPage;
+
+    /** The serialized page or {@code null}, if the page is serialized when it's written. */
+    private final CompletableFuture<SerializedPage> mSerializedPage;
+
+    PreparedPage(final Page page, final @Nullable CompletableFuture<SerializedPage> serializedPage) {
+      mPage = page;
+      mSerializedPage = serializedPage;
+    }
+
+    /**
+     * Get the page.
+     *
+     * @return the page
+     */
+    Page getPage() {
+      return mPage;
+    }
+
+    /**
+     * Wait until the page has been serialized. Must be called before the page is committed, as
+     * committing modifies the page.
+     *
+     * @return the serialized page or {@code null}, if the page has to be serialized when it's written
+     * @throws SirixIOException if the page couldn't be serialized
+     */
+    @Nullable
+    SerializedPage getSerializedPage() {
+      if (mSerializedPage == null) {
+        return null;
+      }
+
+      final SerializedPage serializedPage;
+      try {
+        serializedPage = mSerializedPage.join();
+      } catch (final CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new SirixIOException(e.getCause());
+      }
+
+      // The keys of overflow pages, which are written during the commit of the page, are serialized
+      // with the page.
+      for (final Map.Entry<?, PageReference> entry : ((KeyValuePage<?, ?>) mPage).referenceEntrySet()) {
+        if (entry.getValue().getKey() == Constants.NULL_ID_LONG) {
+          return null;
+        }
+      }
+
+      return serializedPage;
+    }
+  }
+
+  /** The log, which holds the modified pages. */
+  private final TransactionIntentLog mLog;
+
+  /** The page transaction, which commits. */
+  private final PageReadOnlyTrx mPageRtx;
+
+  /** The writer, which serializes the pages. */
+  private final Writer mWriter;
+
+  /** Executes the serialization. */
+  private final Executor mExecutor;
+
+  /** The maximum number of pages looked up ahead. */
+  private final int mMaxPreparedPages;
+
+  /** The references, which are committed next in order. */
+  private final Deque<PageReference> mReferences;
+
+  /** The pages looked up ahead. */
+  private final Map<PageReference, PreparedPage> mPreparedPages;
+
+  /**
+   * Constructor.
+   *
+   * @param log the log, which holds the modified pages
+   * @param pageRtx the page transaction, which commits
+   * @param writer the writer, which serializes the pages
+   * @param executor executes the serialization
+   * @param maxPreparedPages the maximum number of pages looked up ahead
+   */
+  CommitPageSerializer(final TransactionIntentLog log, final PageReadOnlyTrx pageRtx, final Writer writer,
+      final Executor executor, final @Nonnegative int maxPreparedPages) {
+    checkArgument(maxPreparedPages > 0, "The maximum number of pages looked up ahead must be > 0.");
+    mLog = checkNotNull(log);
+    mPageRtx = checkNotNull(pageRtx);
+    mWriter = checkNotNull(writer);
+    mExecutor = checkNotNull(executor);
+    mMaxPreparedPages = maxPreparedPages;
+    mReferences = new ArrayDeque<>();
+    mPreparedPages = new IdentityHashMap<>();
+  }
+
+  /**
+   * Look up the pages of references, which are committed next, and serialize the record pages in
+   * the background.
+   *
+   * @param references the references of a page, which is committed
+   */
+  void serializeAhead(final List<PageReference> references) {
+    final ListIterator<PageReference> iterator = references.listIterator(references.size());
+    while (iterator.hasPrevious()) {
+      final PageReference reference = iterator.previous();
+
+      // Only pages in the log are committed.
+      if (reference != null && (reference.getLogKey() != Constants.NULL_ID_INT
+          || reference.getPersistentLogKey() != Constants.NULL_ID_LONG)) {
+        mReferences.addFirst(reference);
+      }
+    }
+
+    prepare();
+  }
+
+  /**
+   * Remove the page of a reference, which is committed.
+   *
+   * @param reference the reference
+   * @return the page looked up ahead or {@code null}, if it hasn't been looked up
+   */
+  @Nullable
+  PreparedPage remove(final PageReference reference) {
+    final PreparedPage preparedPage = mPreparedPages.remove(reference);
+
+    if (preparedPage != null) {
+      prepare();
+    }
+
+    return preparedPage;
+  }
+
+  private void prepare() {
+    while (mPreparedPages.size() < mMaxPreparedPages && !mReferences.isEmpty()) {
+      final PageReference reference = mReferences.pollFirst();
+
+      if (mPreparedPages.containsKey(reference)) {
+        continue;
+      }
+
+      final PageContainer container = mLog.get(reference, mPageRtx);
+      final Page page = container == null
+          ? null
+          : container.getModified();
+
+      if (page == null) {
+        continue;
+      }
+
+      CompletableFuture<SerializedPage> serializedPage = null;
+      if (page instanceof UnorderedKeyValuePage) {
+        try {
+          serializedPage = CompletableFuture.supplyAsync(() -> mWriter.serialize(page), mExecutor);
+        } catch (final RejectedExecutionException e) {
+          // The resource manager is closed, the page is serialized when it's written.
+        }
+      }
+
+      mPreparedPages.put(reference, new PreparedPage(page, serializedPage));
+    }
+  }
+}
@@ -23,10 +23,12 @@ package org.sirix.access.trx.page;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import java.io.IOException;
+import static com.google.common.base.Preconditions.checkState;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,19 +48,20 @@ import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.Reader;
+import org.sirix.metrics.MetricsRegistry;
+import org.sirix.metrics.ResourceMetrics;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.CASPage;
 import org.sirix.page.IndirectPage;
 import org.sirix.page.NamePage;
+import org.sirix.page.PageFragmentKey;
 import org.sirix.page.PageKind;
-import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
 import org.sirix.page.PathSummaryPage;
 import org.sirix.page.RevisionRootPage;
-import org.sirix.page.SerializationType;
 import org.sirix.page.UberPage;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -67,9 +70,6 @@ import org.sirix.settings.Constants;
 import org.sirix.settings.Fixed;
 import org.sirix.settings.VersioningType;
 import com.google.common.base.MoreObjects;
-import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
 
 /**
  * <h1>PageReadOnlyTrxImpl</h1>
@@ -103,11 +103,17 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
   final ResourceConfiguration mResourceConfig;
 
   /** Caches in-memory reconstructed pages of a specific resource. */
-  private final BufferManager mResourceBufferManager;
+  final BufferManager mResourceBufferManager;
 
   /** Transaction intent log. */
   private final TransactionIntentLog mTrxIntentLog;
 
+  /** The metrics of the resource. */
+  final ResourceMetrics mMetrics;
+
+  /** Reads record pages ahead or {@code null}, if it's disabled. */
+  private final RecordPagePrefetcher mPrefetcher;
+
   /** The transaction-ID. */
   private long mTrxId;
 
@@ -129,6 +135,31 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       final UberPage uberPage, final @Nonnegative int revision, final Reader reader,
       final @Nullable TransactionIntentLog trxIntentLog, final @Nullable IndexController<?, ?> indexController,
       final @Nonnull BufferManager bufferManager) {
+    this(trxId, resourceManager, uberPage, revision, null, reader, trxIntentLog, bufferManager);
+  }
+
+  /**
+   * Constructor of a read-only transaction, which is bound to a committed revision, whose state has
+   * already been looked up by another transaction.
+   *
+   * @param trxId the transaction-ID.
+   * @param resourceManager {@link XmlResourceManagerImpl} instance
+   * @param revisionState the shared state of the revision to read from
+   * @param reader reader to read stored pages for this transaction
+   * @param bufferManager caches in-memory reconstructed pages of a specific resource.
+   */
+  public PageReadOnlyTrxImpl(final long trxId,
+      final InternalResourceManager<? extends NodeReadOnlyTrx, ? extends NodeTrx> resourceManager,
+      final RevisionState revisionState, final Reader reader, final @Nonnull BufferManager bufferManager) {
+    this(trxId, resourceManager, revisionState.getUberPage(), revisionState.getRevision(), revisionState, reader,
+        null, bufferManager);
+  }
+
+  private PageReadOnlyTrxImpl(final long trxId,
+      final InternalResourceManager<? extends NodeReadOnlyTrx, ? extends NodeTrx> resourceManager,
+      final UberPage uberPage, final @Nonnegative int revision, final @Nullable RevisionState revisionState,
+      final Reader reader, final @Nullable TransactionIntentLog trxIntentLog,
+      final @Nonnull BufferManager bufferManager) {
     checkArgument(revision >= 0, "Revision must be >= 0.");
     checkArgument(trxId > 0, "Transaction-ID must be >= 0.");
     mTrxId = trxId;
@@ -136,15 +167,38 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
     mTrxIntentLog = trxIntentLog;
     mClosed = false;
     mResourceConfig = resourceManager.getResourceConfig();
+    mMetrics = MetricsRegistry.getInstance().getResourceMetrics(mResourceConfig);
 
     mResourceManager = checkNotNull(resourceManager);
     mPageReader = checkNotNull(reader);
     mUberPage = checkNotNull(uberPage);
+    mPrefetcher = trxIntentLog == null && mResourceConfig.readAheadPages > 0
+        ? new RecordPagePrefetcher(this, mResourceConfig.readAheadPages, resourceManager.getReadAheadPermits(),
+            resourceManager.getPageReadPool())
+        : null;
+
+    if (revisionState == null) {
+      // Load revision root.
+      mRootPage = loadRevRoot(revision);
+      assert mRootPage != null : "root page must not be null!";
+      mNamePage = getNamePage(mRootPage);
+    } else {
+      mRootPage = revisionState.getRevisionRootPage();
+      mNamePage = revisionState.getNamePage();
+    }
+  }
 
-    // Load revision root.
-    mRootPage = loadRevRoot(revision);
-    assert mRootPage != null : "root page must not be null!";
-    mNamePage = getNamePage(mRootPage);
+  /**
+   * Get the state of the revision this transaction is bound to, which can be shared with other
+   * read-only transactions.
+   *
+   * @return the state of the revision
+   * @throws IllegalStateException if this transaction reads from the transaction intent log
+   */
+  public RevisionState getRevisionState() {
+    assertNotClosed();
+    checkState(mTrxIntentLog == null, "The state of a revision, which is modified, must not be shared.");
+    return new RevisionState(mUberPage, mRootPage, mNamePage);
   }
 
   private PageContainer loadPageContainer(final IndexLogKey key) {
@@ -167,18 +221,19 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
           // Putting to the transaction log afterwards would otherwise render the cached entry invalid
           // as the reference log key is set and the key is reset to Constants.NULL_ID_LONG.
           page = mResourceBufferManager.getPageCache().get(reference);
+          mMetrics.recordPageCacheLookup(page != null);
         }
 
         if (page == null) {
-          page = mPageReader.read(reference, this);
+          page = readPage(reference);
 
           if (page != null && mTrxIntentLog == null) {
             assert reference.getLogKey() == Constants.NULL_ID_INT
                 && reference.getPersistentLogKey() == Constants.NULL_ID_LONG;
-            // Put page into buffer manager and set page reference (just to
-            // track when the in-memory page must be removed).
+            // Put page into buffer manager, which is keyed by the offset of the page. The page isn't
+            // set in the reference, as the readers of other revisions use different references to the
+            // same page, and the buffer manager must be able to evict it.
             mResourceBufferManager.getPageCache().put(reference, page);
-            reference.setPage(page);
           }
         }
       }
@@ -238,7 +293,7 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       return Optional.empty();
     }
 
-    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey);
+    final Record retVal = ((UnorderedKeyValuePage) cont.getComplete()).getValue(nodeKey, this);
     return checkItemIfDeleted(retVal);
   }
 
@@ -285,7 +340,9 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       final Cache<Integer, RevisionRootPage> cache = mResourceBufferManager.getRevisionRootPageCache();
       RevisionRootPage revisionRootPage = cache.get(revisionKey);
       if (revisionRootPage == null) {
+        final long start = System.nanoTime();
         revisionRootPage = mPageReader.readRevisionRootPage(revisionKey, this);
+        mMetrics.recordPageRead(System.nanoTime() - start);
         cache.put(revisionKey, revisionRootPage);
       }
       return revisionRootPage;
@@ -375,46 +432,79 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       return PageContainer.emptyInstance();
     }
 
+    final boolean readAhead = mPrefetcher != null && pageKind == PageKind.RECORDPAGE;
+
     // Try to get from resource buffer manager.
     if (mTrxIntentLog == null) {
-      final PageContainer recordPageContainerFromBuffer =
+      PageContainer recordPageContainerFromBuffer =
           mResourceBufferManager.getRecordPageCache().get(pageReferenceToRecordPage.get());
+      mMetrics.recordRecordPageCacheLookup(recordPageContainerFromBuffer != null);
+
+      if (recordPageContainerFromBuffer == null && readAhead) {
+        // The page might still be read ahead in the background.
+        recordPageContainerFromBuffer = mPrefetcher.get(pageKey);
+      }
 
       if (recordPageContainerFromBuffer != null) {
+        if (readAhead) {
+          mPrefetcher.read(pageKey);
+        }
         return recordPageContainerFromBuffer;
       }
     }
 
+    final PageContainer recordPageContainer = loadRecordPageContainer(pageReferenceToRecordPage.get(), true);
+
+    if (readAhead) {
+      mPrefetcher.read(pageKey);
+    }
+
+    return recordPageContainer;
+  }
+
+  /**
+   * Load the fragments of a record page from persistent storage and reconstruct the page. It's put
+   * into the record page cache, unless this transaction is a write transaction. Is also invoked by
+   * the threads, which read record pages ahead.
+   *
+   * @param pageReferenceToRecordPage the page reference pointing to the most recent fragment
+   * @param readFragmentsConcurrently {@code true}, if the fragments may be read concurrently
+   * @return the reconstructed record page or {@link PageContainer#emptyInstance()}, if no fragment
+   *         exists
+   */
+  final <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> PageContainer loadRecordPageContainer(
+      final PageReference pageReferenceToRecordPage, final boolean readFragmentsConcurrently) {
     // Load list of page "fragments" from persistent storage.
-    final List<T> pages = getSnapshotPages(pageReferenceToRecordPage.get());
+    final Fragments<T> fragments = getSnapshotPages(pageReferenceToRecordPage, readFragmentsConcurrently);
+    final List<T> pages = fragments.mPages;
 
     if (pages.isEmpty()) {
       return PageContainer.emptyInstance();
     }
 
+    mMetrics.recordFragments(pages.size());
+
     final int mileStoneRevision = mResourceConfig.numberOfRevisionsToRestore;
     final VersioningType revisioning = mResourceConfig.revisioningType;
     final Page completePage = revisioning.combineRecordPages(pages, mileStoneRevision, this);
 
-    final PageContainer recordPageContainer = PageContainer.getInstance(completePage, clone(completePage));
+    // The page is never modified through this transaction, so it's shared instead of copied.
+    final PageContainer recordPageContainer = PageContainer.getInstance(completePage, fragments.mLength);
 
     if (mTrxIntentLog == null)
-      mResourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage.get(), recordPageContainer);
+      mResourceBufferManager.getRecordPageCache().put(pageReferenceToRecordPage, recordPageContainer);
 
     return recordPageContainer;
   }
 
-  @SuppressWarnings("unchecked")
-  <E extends Page> E clone(final E toClone) {
-    try {
-      final ByteArrayDataOutput output = ByteStreams.newDataOutput();
-      final PagePersister pagePersister = new PagePersister();
-      pagePersister.serializePage(output, toClone, SerializationType.TRANSACTION_INTENT_LOG);
-      final ByteArrayDataInput input = ByteStreams.newDataInput(output.toByteArray());
-      return (E) pagePersister.deserializePage(input, this, SerializationType.TRANSACTION_INTENT_LOG);
-    } catch (final IOException e) {
-      throw new SirixIOException(e);
-    }
+  /**
+   * Determines if a record page is in the record page cache.
+   *
+   * @param pageReferenceToRecordPage the page reference pointing to the most recent fragment
+   * @return {@code true}, if the page is cached, {@code false} otherwise
+   */
+  final boolean isRecordPageCached(final PageReference pageReferenceToRecordPage) {
+    return mResourceBufferManager.getRecordPageCache().get(pageReferenceToRecordPage) != null;
   }
 
   final Optional<PageReference> getLeafPageReference(final @Nonnegative long recordPageKey, final int indexNumber,
@@ -437,11 +527,25 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
    */
   final <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> List<T> getSnapshotPages(
       final PageReference pageReference) {
+    return this.<K, V, T>getSnapshotPages(pageReference, true).mPages;
+  }
+
+  private <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> Fragments<T> getSnapshotPages(
+      final PageReference pageReference, final boolean readFragmentsConcurrently) {
     assert pageReference != null;
     final ResourceConfiguration config = mResourceManager.getResourceConfig();
     final int revsToRestore = config.numberOfRevisionsToRestore;
     final int[] revisionsToRead = config.revisioningType.getRevisionRoots(mRootPage.getRevision(), revsToRestore);
+
+    // The reader of a read-only transaction is thread safe, thus the fragments can be read concurrently if their
+    // keys are known.
+    if (readFragmentsConcurrently && mTrxIntentLog == null && revisionsToRead.length > 1
+        && !pageReference.getPageFragmentKeys().isEmpty()) {
+      return getSnapshotPagesConcurrently(pageReference, revisionsToRead.length);
+    }
+
     final List<T> pages = new ArrayList<>(revisionsToRead.length);
+    int length = 0;
     boolean first = true;
     for (int i = 0; i < revisionsToRead.length; i++) {
       long refKeyToRecordPage = Constants.NULL_ID_LONG;
@@ -453,11 +557,14 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
       }
 
       if (refKeyToRecordPage != Constants.NULL_ID_LONG) {
-        final PageReference reference = new PageReference().setKey(refKeyToRecordPage);
+        final PageReference reference = getFragmentReference(pageReference, pages.isEmpty()
+            ? null
+            : pages.get(0), pages.size(), refKeyToRecordPage);
         if (reference.getKey() != Constants.NULL_ID_LONG) {
           @SuppressWarnings("unchecked")
-          final T page = (T) mPageReader.read(reference, this);
+          final T page = (T) readPage(reference);
           pages.add(page);
+          length += reference.getLength();
           if (page.size() == Constants.NDP_NODE_COUNT) {
             // Page is full, thus we can skip reconstructing pages with elder versions.
             break;
@@ -467,7 +574,133 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
         break;
       }
     }
-    return pages;
+    return new Fragments<>(pages, length);
+  }
+
+  /**
+   * Read all previous fragments of a record page concurrently, using the keys of the previous
+   * fragments, which are stored in the page reference. The most recent fragment is read first, as it
+   * stores the checksums of the previous fragments.
+   *
+   * @param pageReference the page reference pointing to the most recent fragment
+   * @param numberOfFragments the maximum number of fragments to read
+   * @return dereferenced pages
+   *
+   * @throws SirixIOException if an I/O-error occurs within the creation process
+   */
+  private <K extends Comparable<? super K>, V extends Record, T extends KeyValuePage<K, V>> Fragments<T> getSnapshotPagesConcurrently(
+      final PageReference pageReference, final @Nonnegative int numberOfFragments) {
+    mMetrics.recordConcurrentFragmentRead();
+    final List<PageFragmentKey> pageFragmentKeys = pageReference.getPageFragmentKeys();
+    final int numberOfPreviousFragments = Math.min(numberOfFragments - 1, pageFragmentKeys.size());
+
+    final List<T> pages = new ArrayList<>(numberOfPreviousFragments + 1);
+    final PageReference mostRecentReference =
+        getFragmentReference(pageReference, null, 0, pageReference.getKey());
+    @SuppressWarnings("unchecked")
+    final T mostRecentPage = (T) readPage(mostRecentReference);
+    pages.add(mostRecentPage);
+    int length = mostRecentReference.getLength();
+
+    if (mostRecentPage.size() == Constants.NDP_NODE_COUNT) {
+      // Page is full, thus we can skip reconstructing pages with elder versions.
+      return new Fragments<>(pages, length);
+    }
+
+    final List<CompletableFuture<T>> previousFragments = new ArrayList<>(numberOfPreviousFragments);
+    final List<PageReference> previousReferences = new ArrayList<>(numberOfPreviousFragments);
+
+    for (int i = 0; i < numberOfPreviousFragments; i++) {
+      final PageReference reference =
+          getFragmentReference(pageReference, mostRecentPage, i + 1, pageFragmentKeys.get(i).getKey());
+      previousReferences.add(reference);
+      previousFragments.add(CompletableFuture.supplyAsync(() -> {
+        @SuppressWarnings("unchecked")
+        final T page = (T) readPage(reference);
+        return page;
+      }, mResourceManager.getPageReadPool()));
+    }
+
+    try {
+      for (int i = 0; i < numberOfPreviousFragments; i++) {
+        final T page = previousFragments.get(i).join();
+        pages.add(page);
+        length += previousReferences.get(i).getLength();
+        if (page.size() == Constants.NDP_NODE_COUNT) {
+          // Page is full, thus we can skip reconstructing pages with elder versions.
+          break;
+        }
+      }
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof SirixIOException) {
+        throw (SirixIOException) e.getCause();
+      }
+      throw new SirixIOException(e.getCause());
+    } finally {
+      for (final CompletableFuture<T> previousFragment : previousFragments) {
+        previousFragment.cancel(false);
+      }
+    }
+
+    return new Fragments<>(pages, length);
+  }
+
+  /**
+   * Create a new reference to a fragment of a record page, which carries the stored checksum of the
+   * fragment, if it's known. The checksum of the most recent fragment is stored in the page
+   * reference, whereas the checksums of the previous fragments are stored in the most recent
+   * fragment.
+   *
+   * @param pageReference the page reference pointing to the most recent fragment
+   * @param mostRecentPage the most recent fragment or {@code null}, if the most recent fragment is
+   *        referenced
+   * @param fragment the number of the fragment, {@code 0} for the most recent one
+   * @param key the key of the fragment in persistent storage
+   * @return a new page reference
+   */
+  private static PageReference getFragmentReference(final PageReference pageReference,
+      final @Nullable KeyValuePage<?, ?> mostRecentPage, final @Nonnegative int fragment, final long key) {
+    final PageReference reference = new PageReference().setKey(key);
+    if (fragment == 0) {
+      reference.setHash(pageReference.getHash());
+    } else if (mostRecentPage != null && fragment <= mostRecentPage.getPreviousFragmentHashes().size()) {
+      reference.setHash(mostRecentPage.getPreviousFragmentHashes().get(fragment - 1));
+    }
+    return reference;
+  }
+
+  /**
+   * Read a page from the storage and record the time needed to read and deserialize it.
+   *
+   * @param reference reference to the page
+   * @return the page
+   */
+  private Page readPage(final PageReference reference) {
+    final long start = System.nanoTime();
+    final Page page = mPageReader.read(reference, this);
+    mMetrics.recordPageRead(System.nanoTime() - start);
+    return page;
+  }
+
+  /**
+   * The fragments of a record page, which have been read from persistent storage.
+   *
+   * @param <T> the type of the fragments
+   */
+  private static final class Fragments<T> {
+    /** The fragments, the most recent one first. */
+    private final List<T> mPages;
+
+    /**
+     * The summed length of the serialized fragments, which is the weight of the reconstructed page
+     * in the record page cache.
+     */
+    private final int mLength;
+
+    Fragments(final List<T> pages, final @Nonnegative int length) {
+      mPages = pages;
+      mLength = length;
+    }
   }
 
   /**
@@ -651,6 +884,9 @@ public final class PageReadOnlyTrxImpl implements PageReadOnlyTrx {
   @Override
   public void close() {
     if (!mClosed) {
+      if (mPrefetcher != null) {
+        mPrefetcher.clear();
+      }
       mPageReader.close();
 
       if (!mResourceManager.getNodeReadTrxByTrxId(mTrxId).isPresent())
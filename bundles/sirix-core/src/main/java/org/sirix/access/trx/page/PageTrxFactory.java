@@ -104,7 +104,7 @@ public final class PageTrxFactory {
 
     // Create revision tree if needed.
     if (uberPage.isBootstrap()) {
-      uberPage.createRevisionTree(log);
+      uberPage.createRevisionTree(log, resourceManager.getResourceConfig());
     }
 
     // Page read trx.
@@ -28,6 +28,8 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
@@ -38,19 +40,25 @@ import org.sirix.access.trx.node.CommitCredentials;
 import org.sirix.access.trx.node.IndexController;
 import org.sirix.access.trx.node.Restore;
 import org.sirix.access.trx.node.xml.XmlIndexController;
+import org.sirix.access.trx.page.CommitPageSerializer.PreparedPage;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.PageTrx;
 import org.sirix.cache.PageContainer;
 import org.sirix.cache.TransactionIntentLog;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.SerializedPage;
 import org.sirix.io.Writer;
+import org.sirix.metrics.ResourceMetrics;
+import org.sirix.metrics.ResourceMetrics.CommitPhase;
 import org.sirix.node.DeletedNode;
 import org.sirix.node.NodeKind;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
+import org.sirix.page.AbstractForwardingPage;
 import org.sirix.page.CASPage;
 import org.sirix.page.NamePage;
+import org.sirix.page.PageFragmentKey;
 import org.sirix.page.PageKind;
 import org.sirix.page.PageReference;
 import org.sirix.page.PathPage;
@@ -79,6 +87,9 @@ import org.sirix.settings.VersioningType;
 final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     implements PageTrx<Long, Record, UnorderedKeyValuePage> {
 
+  /** Maximum number of pages, which are looked up and serialized ahead during a commit. */
+  private static final int MAX_SERIALIZED_PAGES = 4 * Runtime.getRuntime().availableProcessors();
+
   /** Page writer to serialize. */
   private final Writer mPageWriter;
 
@@ -109,6 +120,9 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   /** {@code true} if this page write trx will be bound to a node trx, {@code false} otherwise */
   private final boolean mIsBoundToNodeTrx;
 
+  /** Serializes record pages in the background, while the pages are committed. */
+  private CommitPageSerializer mPageSerializer;
+
   /**
    * Constructor.
    *
@@ -274,12 +288,20 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     if (reference == null)
       return;
 
-    final PageContainer container = mLog.get(reference, mPageRtx);
+    final PreparedPage preparedPage = mPageSerializer == null
+        ? null
+        : mPageSerializer.remove(reference);
 
     Page page = null;
 
-    if (container != null) {
-      page = container.getModified();
+    if (preparedPage != null) {
+      page = preparedPage.getPage();
+    } else {
+      final PageContainer container = mLog.get(reference, mPageRtx);
+
+      if (container != null) {
+        page = container.getModified();
+      }
     }
 
     if (page == null) {
@@ -288,20 +310,75 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
 
     reference.setPage(page);
 
+    // Wait for the serialized page, before the page is modified during its commit.
+    final SerializedPage serializedPage = preparedPage == null
+        ? null
+        : preparedPage.getSerializedPage();
+
+    if (mPageSerializer != null && page instanceof AbstractForwardingPage && !(page instanceof KeyValuePage)) {
+      mPageSerializer.serializeAhead(page.getReferences());
+    }
+
     // Recursively commit indirectly referenced pages and then write self.f
     page.commit(this);
-    mPageWriter.write(reference);
+
+    if (serializedPage == null) {
+      mPageWriter.write(reference);
+    } else {
+      mPageWriter.write(reference, serializedPage);
+    }
 
     // Remove page reference.
     reference.setPage(null);
   }
 
+  /**
+   * Add the key of the current fragment of a record page to the keys of the previous fragments in
+   * the page reference and its checksum to the checksums of the previous fragments in the modified
+   * page, before the page is logged for modification. Only as many keys and checksums are kept as
+   * are needed to reconstruct the page in the new revision.
+   *
+   * @param reference reference to the record page, which still points to the current fragment
+   * @param currentFragment the current fragment
+   * @param modifiedPage the modified page, which becomes the most recent fragment
+   */
+  private void addPageFragment(final PageReference reference, final UnorderedKeyValuePage currentFragment,
+      final UnorderedKeyValuePage modifiedPage) {
+    final ResourceConfiguration config = mPageRtx.mResourceManager.getResourceConfig();
+    final int numberOfPreviousFragments = config.revisioningType.getRevisionRoots(mNewRoot.getRevision(),
+        config.numberOfRevisionsToRestore).length - 1;
+
+    if (numberOfPreviousFragments <= 0) {
+      reference.setPageFragmentKeys(Collections.emptyList());
+      return;
+    }
+
+    final List<PageFragmentKey> previousPageFragmentKeys = reference.getPageFragmentKeys();
+    final List<PageFragmentKey> pageFragmentKeys = new ArrayList<>(numberOfPreviousFragments);
+    pageFragmentKeys.add(new PageFragmentKey(reference.getKey()));
+    pageFragmentKeys.addAll(previousPageFragmentKeys.subList(0,
+        Math.min(previousPageFragmentKeys.size(), numberOfPreviousFragments - 1)));
+    reference.setPageFragmentKeys(pageFragmentKeys);
+
+    if (reference.getHash() != null) {
+      final List<byte[]> previousFragmentHashes = currentFragment.getPreviousFragmentHashes();
+      final List<byte[]> fragmentHashes = new ArrayList<>(numberOfPreviousFragments);
+      fragmentHashes.add(reference.getHash());
+      fragmentHashes.addAll(previousFragmentHashes.subList(0,
+          Math.min(previousFragmentHashes.size(), numberOfPreviousFragments - 1)));
+      modifiedPage.setPreviousFragmentHashes(fragmentHashes);
+    }
+  }
+
   @Override
   public UberPage commit(final String commitMessage) {
     mPageRtx.assertNotClosed();
 
     mPageRtx.mResourceManager.getCommitLock().lock();
 
+    final ResourceMetrics metrics = mPageRtx.mMetrics;
+    final long commitStart = System.nanoTime();
+
     final Path commitFile = mPageRtx.mResourceManager.getCommitFile();
     commitFile.toFile().deleteOnExit();
     // Issues with windows that it's not created in the first time?
@@ -323,12 +400,26 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     if (commitMessage != null)
       getActualRevisionRootPage().setCommitMessage(commitMessage);
 
-    // Recursively write indirectly referenced pages.
-    uberPage.commit(this);
+    // Recursively write indirectly referenced pages, whereas record pages are serialized in the
+    // background.
+    long phaseStart = System.nanoTime();
+    mPageSerializer = new CommitPageSerializer(mLog, mPageRtx, mPageWriter,
+        mPageRtx.mResourceManager.getPageSerializationPool(), MAX_SERIALIZED_PAGES);
+    try {
+      mPageSerializer.serializeAhead(uberPage.getReferences());
+      uberPage.commit(this);
+    } finally {
+      mPageSerializer = null;
+    }
+    metrics.recordCommitPhase(CommitPhase.WRITE_PAGES, System.nanoTime() - phaseStart);
 
+    phaseStart = System.nanoTime();
     uberPageReference.setPage(uberPage);
     mPageWriter.writeUberPageReference(uberPageReference);
     uberPageReference.setPage(null);
+    metrics.recordCommitPhase(CommitPhase.WRITE_UBER_PAGE, System.nanoTime() - phaseStart);
+
+    phaseStart = System.nanoTime();
 
     final Path indexes =
         mPageRtx.mResourceConfig.resourcePath.resolve(ResourceConfiguration.ResourcePaths.INDEXES.getPath())
@@ -347,8 +438,11 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     } catch (final IOException e) {
       throw new SirixIOException("Index definitions couldn't be serialized!", e);
     }
+    metrics.recordCommitPhase(CommitPhase.SERIALIZE_INDEXES, System.nanoTime() - phaseStart);
 
+    phaseStart = System.nanoTime();
     mLog.truncate();
+    metrics.recordCommitPhase(CommitPhase.TRUNCATE_LOG, System.nanoTime() - phaseStart);
 
     // Delete commit file which denotes that a commit must write the log in the data file.
     try {
@@ -358,6 +452,7 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     }
 
     final UberPage commitedUberPage = (UberPage) mPageWriter.read(mPageWriter.readUberPageReference(), mPageRtx);
+    metrics.recordCommit(System.nanoTime() - commitStart);
     mPageRtx.mResourceManager.getCommitLock().unlock();
     return commitedUberPage;
   }
@@ -419,7 +514,8 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
       if (reference.getKey() == Constants.NULL_ID_LONG) {
         final UnorderedKeyValuePage completePage =
             new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
-        final UnorderedKeyValuePage modifyPage = mPageRtx.clone(completePage);
+        final UnorderedKeyValuePage modifyPage =
+            new UnorderedKeyValuePage(recordPageKey, pageKind, Constants.NULL_ID_LONG, mPageRtx);
         pageContainer = PageContainer.getInstance(completePage, modifyPage);
       } else {
         pageContainer = dereferenceRecordPageForModification(reference);
@@ -454,7 +550,11 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
     final List<UnorderedKeyValuePage> revs = mPageRtx.getSnapshotPages(reference);
     final VersioningType revisioning = mPageRtx.mResourceManager.getResourceConfig().revisioningType;
     final int mileStoneRevision = mPageRtx.mResourceManager.getResourceConfig().numberOfRevisionsToRestore;
-    return revisioning.combineRecordPagesForModification(revs, mileStoneRevision, mPageRtx, reference);
+    final PageContainer pageContainer =
+        revisioning.combineRecordPagesForModification(revs, mileStoneRevision, mPageRtx, reference);
+    // The key of the current fragment is reset, once the page is logged.
+    addPageFragment(reference, revs.get(0), (UnorderedKeyValuePage) pageContainer.getModified());
+    return pageContainer;
   }
 
   @Override
@@ -489,6 +589,9 @@ final class PageTrxImpl extends AbstractForwardingPageReadOnlyTrx
   @Override
   public PageTrx<Long, Record, UnorderedKeyValuePage> truncateTo(final int revision) {
     mPageWriter.truncateTo(revision);
+
+    // The cached pages are keyed by their offsets, which are reused once the data file is truncated.
+    mPageRtx.mResourceBufferManager.clearAllCaches();
     return this;
   }
 
@@ -0,0 +1,188 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.cache.PageContainer;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.settings.Constants;
+
+/**
+ * Reads record pages ahead in the background, once a read-only transaction reads consecutive
+ * record pages, as it's the case for axis and serializers, which traverse the nodes in document
+ * order of a resource, which hasn't been modified much. The reconstructed pages are put into the
+ * record page cache.
+ *
+ * <p>
+ * Each page read ahead holds a permit of the resource, such that the I/O spent on reading ahead
+ * is bounded. Pages are skipped instead of waiting for a permit. Just as its transaction an
+ * instance must only be used by a single thread.
+ * </p>
+ */
+final class RecordPagePrefetcher {
+  /** Number of consecutive record pages to read, until pages are read ahead. */
+  private static final int SEQUENTIAL_READS = 2;
+
+  /** The transaction, which reads the record pages. */
+  private final PageReadOnlyTrxImpl mPageRtx;
+
+  /** The number of pages to read ahead. */
+  private final int mReadAheadPages;
+
+  /** The permits of the resource to read ahead pages. */
+  private final Semaphore mPermits;
+
+  /** Executes the reads. */
+  private final Executor mExecutor;
+
+  /** The pages, which are currently read ahead, keyed by their record page key. */
+  private final Map<Long, CompletableFuture<PageContainer>> mPages;
+
+  /** The key of the most recently read record page. */
+  private long mLastPageKey;
+
+  /** The number of consecutive record pages, which have been read. */
+  private int mSequentialReads;
+
+  /** The key of the record page, which has been read ahead most recently. */
+  private long mReadAheadPageKey;
+
+  /**
+   * Constructor.
+   *
+   * @param pageRtx the transaction, which reads the record pages
+   * @param readAheadPages the number of pages to read ahead
+   * @param permits the permits of the resource to read ahead pages
+   * @param executor executes the reads
+   */
+  RecordPagePrefetcher(final PageReadOnlyTrxImpl pageRtx, final @Nonnegative int readAheadPages,
+      final Semaphore permits, final Executor executor) {
+    checkArgument(readAheadPages > 0, "The number of pages to read ahead must be > 0.");
+    mPageRtx = checkNotNull(pageRtx);
+    mReadAheadPages = readAheadPages;
+    mPermits = checkNotNull(permits);
+    mExecutor = checkNotNull(executor);
+    mPages = new HashMap<>();
+    mLastPageKey = Constants.NULL_ID_LONG;
+    mReadAheadPageKey = Constants.NULL_ID_LONG;
+  }
+
+  /**
+   * Get a record page, which has been read ahead. Waits until the page has been read, if the read
+   * is still in progress.
+   *
+   * @param recordPageKey the key of the record page
+   * @return the reconstructed record page or {@code null}, if the page hasn't been read ahead or
+   *         the read failed
+   */
+  @Nullable
+  PageContainer get(final @Nonnegative long recordPageKey) {
+    final CompletableFuture<PageContainer> page = mPages.remove(recordPageKey);
+
+    if (page == null) {
+      return null;
+    }
+
+    try {
+      return page.join();
+    } catch (final CompletionException e) {
+      // The page is read once more by the transaction, which reports the failure if it persists.
+      return null;
+    }
+  }
+
+  /**
+   * Notify the prefetcher about a record page, which has been read by the transaction. Reads the
+   * following record pages ahead, if consecutive record pages have been read.
+   *
+   * @param recordPageKey the key of the record page
+   */
+  void read(final @Nonnegative long recordPageKey) {
+    if (recordPageKey == mLastPageKey) {
+      return;
+    }
+
+    if (recordPageKey == mLastPageKey + 1) {
+      mSequentialReads++;
+    } else {
+      mSequentialReads = 0;
+      clear();
+    }
+    mLastPageKey = recordPageKey;
+
+    // Pages read ahead are either consumed or superseded.
+    mPages.keySet().removeIf(pageKey -> pageKey <= recordPageKey);
+
+    if (mSequentialReads < SEQUENTIAL_READS) {
+      return;
+    }
+
+    final long maxPageKey = mPageRtx.pageKey(mPageRtx.getActualRevisionRootPage().getMaxNodeKey());
+    final long lastPageKey = Math.min(recordPageKey + mReadAheadPages, maxPageKey);
+
+    for (long pageKey = Math.max(recordPageKey, mReadAheadPageKey) + 1; pageKey <= lastPageKey; pageKey++) {
+      if (!readAhead(pageKey)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Read a record page ahead, unless it's cached already.
+   *
+   * @param recordPageKey the key of the record page
+   * @return {@code true}, if the page is read or cached, {@code false} if no permit is available
+   */
+  private boolean readAhead(final long recordPageKey) {
+    final Optional<PageReference> reference =
+        mPageRtx.getLeafPageReference(recordPageKey, -1, PageKind.RECORDPAGE);
+
+    if (!reference.isPresent() || reference.get().getKey() == Constants.NULL_ID_LONG
+        || mPageRtx.isRecordPageCached(reference.get())) {
+      mReadAheadPageKey = recordPageKey;
+      return true;
+    }
+
+    if (!mPermits.tryAcquire()) {
+      return false;
+    }
+
+    final CompletableFuture<PageContainer> page;
+    try {
+      page = CompletableFuture.supplyAsync(() -> {
+        try {
+          return mPageRtx.loadRecordPageContainer(reference.get(), false);
+        } finally {
+          mPermits.release();
+        }
+      }, mExecutor);
+    } catch (final RejectedExecutionException e) {
+      // The resource manager is closed.
+      mPermits.release();
+      return false;
+    }
+
+    mPages.put(recordPageKey, page);
+    mReadAheadPageKey = recordPageKey;
+    return true;
+  }
+
+  /**
+   * Forget about all pages read ahead. Reads in progress aren't cancelled, as they hold a permit and
+   * still put the pages into the record page cache.
+   */
+  void clear() {
+    mPages.clear();
+    mReadAheadPageKey = Constants.NULL_ID_LONG;
+  }
+}
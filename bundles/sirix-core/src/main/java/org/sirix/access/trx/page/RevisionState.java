@@ -0,0 +1,77 @@
+package org.sirix.access.trx.page;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import org.sirix.page.NamePage;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.UberPage;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Immutable state of a committed revision, that is the uber page, the revision root page and the
+ * name page. It's shared by all read-only transactions bound to the revision, such that beginning
+ * a transaction doesn't have to look up these pages again.
+ */
+public final class RevisionState {
+  /** The uber page, from which the revision has been read. */
+  private final UberPage mUberPage;
+
+  /** The revision root page. */
+  private final RevisionRootPage mRevisionRootPage;
+
+  /** The name page of the revision. */
+  private final NamePage mNamePage;
+
+  /**
+   * Constructor.
+   *
+   * @param uberPage the uber page, from which the revision has been read
+   * @param revisionRootPage the revision root page
+   * @param namePage the name page of the revision
+   */
+  RevisionState(final UberPage uberPage, final RevisionRootPage revisionRootPage, final NamePage namePage) {
+    mUberPage = checkNotNull(uberPage);
+    mRevisionRootPage = checkNotNull(revisionRootPage);
+    mNamePage = checkNotNull(namePage);
+  }
+
+  /**
+   * Get the uber page, from which the revision has been read.
+   *
+   * @return the uber page
+   */
+  public UberPage getUberPage() {
+    return mUberPage;
+  }
+
+  /**
+   * Get the revision root page.
+   *
+   * @return the revision root page
+   */
+  public RevisionRootPage getRevisionRootPage() {
+    return mRevisionRootPage;
+  }
+
+  /**
+   * Get the name page of the revision.
+   *
+   * @return the name page
+   */
+  public NamePage getNamePage() {
+    return mNamePage;
+  }
+
+  /**
+   * Get the revision number.
+   *
+   * @return the revision number
+   */
+  public int getRevision() {
+    return mRevisionRootPage.getRevision();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("revision", getRevision()).toString();
+  }
+}
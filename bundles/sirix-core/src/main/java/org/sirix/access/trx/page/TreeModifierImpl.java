@@ -94,7 +94,7 @@ public final class TreeModifierImpl implements TreeModifier {
       final IndirectPage oldPage = dereferenceOldIndirectPage(pageRtx, log, reference);
 
       // Add a new indirect page to the top of the tree and to the transaction-log.
-      final IndirectPage page = new IndirectPage();
+      final IndirectPage page = new IndirectPage(pageRtx.getResourceManager().getResourceConfig());
 
       // Get the first reference.
       final PageReference newReference = page.getReference(0);
@@ -196,7 +196,7 @@ public final class TreeModifierImpl implements TreeModifier {
         : (IndirectPage) cont.getComplete();
     if (page == null) {
       if (reference.getKey() == Constants.NULL_ID_LONG) {
-        page = new IndirectPage();
+        page = new IndirectPage(pageRtx.getResourceManager().getResourceConfig());
       } else {
         final IndirectPage indirectPage = pageRtx.dereferenceIndirectPageReference(reference);
         page = new IndirectPage(indirectPage);
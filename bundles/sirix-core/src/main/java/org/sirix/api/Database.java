@@ -90,6 +90,20 @@ public interface Database<T extends ResourceManager<? extends NodeReadOnlyTrx, ?
    */
   Database<T> removeResource(String resourceName);
 
+  /**
+   * Compact a resource offline. All revisions are copied to a new data file, whereas a record page
+   * is reconstructed from at most {@code maxPageFragments} page fragments in every revision and the
+   * pages of each revision are stored next to each other. The data file is replaced afterwards.
+   *
+   * @param resourceName resource name
+   * @param maxPageFragments the maximum number of page fragments to reconstruct a record page from
+   * @return this database instance
+   * @throws IllegalStateException if a resource manager of the resource is opened
+   * @throws UnsupportedOperationException if the resource isn't stored in files
+   * @throws SirixIOException if an I/O error occurs
+   */
+  Database<T> compactResource(String resourceName, @Nonnegative int maxPageFragments);
+
   /**
    * Closing the database for further access.
    *
@@ -27,7 +27,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 
 import javax.annotation.Nonnegative;
 
@@ -35,19 +35,20 @@ import org.sirix.api.Axis;
 import org.sirix.api.NodeCursor;
 import org.sirix.api.NodeReadOnlyTrx;
 import org.sirix.axis.AbstractAxis;
-import org.sirix.settings.Fixed;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * <h1>ConcurrentAxis</h1>
  * <p>
  * Realizes in combination with the <code>ConurrentAxisHelper</code> the concurrent evaluation of
  * pipeline steps. The given axis is uncoupled from the main thread by embedding it in a Runnable
  * that uses its one transaction and stores all the results to a queue. The ConcurrentAxis gets the
- * computed results from that queue one by one on every hasNext() call and sets the main-transaction
- * to it. As soon as the end of the computed result sequence is reached (marked by the
- * NULL_NODE_KEY), the ConcurrentAxis returns <code>false</code>.
+ * computed results from that queue in chunks of node keys and sets the main-transaction to one
+ * result on every hasNext() call. As soon as the end of the computed result sequence is reached,
+ * the ConcurrentAxis returns <code>false</code>.
  * </p>
  * <p>
  * This framework is working according to the producer-consumer-principle, where the
@@ -55,36 +56,55 @@ import org.slf4j.LoggerFactory;
  * callees is the consumer. This can be used by any class that implements the IAxis interface. Note:
  * Make sure that the used class is thread-safe.
  * </p>
+ * <p>
+ * The producers of all concurrent axis are executed by a shared thread pool, which only keeps idle
+ * threads for a short time. An axis, which isn't iterated until its end, must be closed, such that
+ * the producer is stopped.
+ * </p>
  */
-public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis {
+public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis
+    implements AutoCloseable {
 
   /** Logger. */
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(ConcurrentAxis.class));
 
+  /**
+   * Thread pool shared by the producers of all concurrent axis. It isn't bounded, as producers of
+   * nested pipelines wait for each other.
+   */
+  private static final ExecutorService PRODUCERS = Executors.newCachedThreadPool(
+      new ThreadFactoryBuilder().setNameFormat("sirix-concurrent-axis-%d").setDaemon(true).build());
+
+  /** Capacity of the mResults queue in chunks. */
+  private static final int CAPACITY = 16;
+
   /** Axis that is running in an own thread and produces results for this axis. */
   private final Axis mProducer;
 
   /**
-   * Queue that stores result keys already computed by the producer. End of the result sequence is
-   * marked by the NULL_NODE_KEY.
+   * Queue that stores chunks of result keys already computed by the producer. End of the result
+   * sequence is marked by {@link ConcurrentAxisHelper#END}.
    */
-  private final BlockingQueue<Long> mResults;
-
-  /** Capacity of the mResults queue. */
-  private final int M_CAPACITY = 200;
+  private final BlockingQueue<long[]> mResults;
 
   /** Has axis already been called? */
   private boolean mFirst;
 
   /** Runnable in which the producer is running. */
-  private Runnable task;
+  private ConcurrentAxisHelper mTask;
+
+  /** The running producer or {@code null}, if it hasn't been started. */
+  private Future<?> mRunningTask;
+
+  /** The current chunk of results. */
+  private long[] mChunk;
+
+  /** Index of the next result in the current chunk. */
+  private int mIndex;
 
   /** Is axis already finished and has no results left? */
   private boolean mFinished;
 
-  /** Executor Service holding the execution plan for future tasks. */
-  public ExecutorService mExecutorService;
-
   /**
    * Constructor. Initializes the internal state.
    *
@@ -97,31 +117,36 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
       throw new IllegalArgumentException(
           "The filter must be bound to another transaction but on the same revision/node!");
     }
-    mResults = new ArrayBlockingQueue<>(M_CAPACITY);
+    mResults = new ArrayBlockingQueue<>(CAPACITY);
     mFirst = true;
     mProducer = checkNotNull(childAxis);
-    task = new ConcurrentAxisHelper(mProducer, mResults);
-    mExecutorService = Executors.newSingleThreadExecutor();
+    mTask = new ConcurrentAxisHelper(mProducer, mResults);
+    mChunk = ConcurrentAxisHelper.END;
     mFinished = false;
   }
 
   @Override
   public synchronized void reset(final @Nonnegative long nodeKey) {
     super.reset(nodeKey);
+
+    if (mTask != null) {
+      // Stop the producer before it's reset.
+      stopProducer();
+    }
+
     mFirst = true;
     mFinished = false;
+    mChunk = ConcurrentAxisHelper.END;
+    mIndex = 0;
 
-    if (mExecutorService != null) {
-      mExecutorService = Executors.newSingleThreadExecutor();
-    }
     if (mProducer != null) {
       mProducer.reset(nodeKey);
     }
     if (mResults != null) {
       mResults.clear();
     }
-    if (task != null) {
-      task = new ConcurrentAxisHelper(mProducer, mResults);
+    if (mTask != null) {
+      mTask = new ConcurrentAxisHelper(mProducer, mResults);
     }
   }
 
@@ -130,46 +155,78 @@ public final class ConcurrentAxis<R extends NodeCursor & NodeReadOnlyTrx> extend
     // Start producer on first call.
     if (mFirst) {
       mFirst = false;
-      mExecutorService.submit(task);
+      mRunningTask = PRODUCERS.submit(mTask);
     }
 
     if (mFinished) {
       return done();
     }
 
-    long result = Fixed.NULL_NODE_KEY.getStandardProperty();
+    if (mIndex == mChunk.length) {
+      try {
+        // Get results from producer as soon as they are available.
+        mChunk = mResults.take();
+        mIndex = 0;
+      } catch (final InterruptedException e) {
+        LOGGER.warn(e.getMessage(), e);
+        Thread.currentThread().interrupt();
+        close();
+        return done();
+      }
+
+      // END marks end of the sequence computed by the producer.
+      if (mChunk == ConcurrentAxisHelper.END) {
+        mFinished = true;
+        mRunningTask = null;
+
+        final RuntimeException failure = mTask.getFailure();
+        if (failure != null) {
+          throw failure;
+        }
+
+        return done();
+      }
+    }
+
+    return mChunk[mIndex++];
+  }
 
-    try {
-      // Get result from producer as soon as it is available.
-      result = mResults.take();
-    } catch (final InterruptedException e) {
-      LOGGER.warn(e.getMessage(), e);
+  /**
+   * Stop the producer and wait until it's stopped.
+   */
+  private void stopProducer() {
+    if (mRunningTask == null) {
+      mTask.cancel();
+      return;
     }
 
-    // NULL_NODE_KEY marks end of the sequence computed by the producer.
-    if (result != Fixed.NULL_NODE_KEY.getStandardProperty()) {
-      return result;
+    if (mTask.cancel()) {
+      // Interrupt the producer, if it's waiting for free space in the queue.
+      mRunningTask.cancel(true);
+      try {
+        mTask.awaitStop();
+      } catch (final InterruptedException e) {
+        LOGGER.warn(e.getMessage(), e);
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      mRunningTask.cancel(false);
     }
 
-    mFinished = true;
-    return done();
+    mRunningTask = null;
   }
 
   /**
-   * Signals that axis traversal is done, that is {@code hasNext()} must return false. Is callable
-   * from subclasses which implement {@link #nextKey()} to signal that the axis-traversal is done and
-   * {@link #hasNext()} must return false.
-   *
-   * @return null node key to indicate that the travesal is done
+   * Stop the producer, if it's still running, and release the results. The axis has no results
+   * left afterwards, unless it's reset.
    */
   @Override
-protected final long done() {
-    mExecutorService.shutdown();
-    try {
-        mExecutorService.awaitTermination(5, TimeUnit.SECONDS);
-    } catch (InterruptedException e) {
-    }
-    return Fixed.NULL_NODE_KEY.getStandardProperty();
+  public synchronized void close() {
+    stopProducer();
+    mFinished = true;
+    mChunk = ConcurrentAxisHelper.END;
+    mIndex = 0;
+    mResults.clear();
   }
 
   /**
@@ -22,12 +22,13 @@
 package org.sirix.axis.concurrent;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Arrays;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sirix.api.Axis;
-import org.sirix.settings.Fixed;
-import org.sirix.utils.LogWrapper;
-import org.slf4j.LoggerFactory;
 
 /**
  * <h1>ConcurrentAxisHelper</h1>
@@ -37,56 +38,134 @@ import org.slf4j.LoggerFactory;
  * establish a producer-consumer-relationship between the ConcurrentAxis and this one.
  * </p>
  * <p>
+ * The results are handed over in chunks of primitive node keys, which start small, such that the
+ * first results are available soon, and grow up to {@link #MAX_CHUNK_SIZE}. The end of the result
+ * sequence is marked by {@link #END}.
+ * </p>
+ * <p>
  * This axis should only be used and instantiated by the ConcurrentAxis. Find more information on
- * how to use this framework in the ConcurrentAxis documentation.
+ * that in the ConcurrentAxis documentation.
  * </p>
  */
-public class ConcurrentAxisHelper implements Runnable {
+public final class ConcurrentAxisHelper implements Runnable {
+
+  /** Marks the end of the result sequence (compared by identity). */
+  static final long[] END = new long[0];
+
+  /** Size of the first chunk. */
+  static final int MIN_CHUNK_SIZE = 32;
 
-  /** Logger. */
-  public static final LogWrapper LOGWRAPPER =
-      new LogWrapper(LoggerFactory.getLogger(ConcurrentAxisHelper.class));
+  /** Maximum size of a chunk. */
+  static final int MAX_CHUNK_SIZE = 1024;
 
   /** {@link Axis} that computes the results. */
   private final Axis mAxis;
 
   /**
-   * Queue that stores result keys already computed by this axis. End of the result sequence is
-   * marked by the NULL_NODE_KEY. This is used for communication with the consumer.
+   * Queue that stores chunks of result keys already computed by this axis. This is used for
+   * communication with the consumer.
    */
-  private BlockingQueue<Long> mResults;
+  private final BlockingQueue<long[]> mResults;
+
+  /** Determines if the computation has been started or has been cancelled before. */
+  private final AtomicBoolean mStarted;
+
+  /** Released, once the computation has been stopped. */
+  private final CountDownLatch mStopped;
+
+  /** Determines if the computation has been cancelled. */
+  private volatile boolean mCancelled;
+
+  /** The failure of the axis or {@code null}. */
+  private volatile RuntimeException mFailure;
 
   /**
-   * Bind axis step to transaction. Make sure to create a new ReadTransaction instead of using the
-   * parameter rtx. Because of concurrency every axis has to have it's own transaction.
-   * 
-   * @param rtx Transaction to operate with.
+   * Constructor.
+   *
+   * @param axis the axis, which is bound to an own transaction
+   * @param results the queue to store the chunks of results
    */
-  public ConcurrentAxisHelper(final Axis axis, @Nonnull final BlockingQueue<Long> results) {
+  public ConcurrentAxisHelper(final Axis axis, @Nonnull final BlockingQueue<long[]> results) {
     mAxis = checkNotNull(axis);
     mResults = checkNotNull(results);
+    mStarted = new AtomicBoolean();
+    mStopped = new CountDownLatch(1);
   }
 
   @Override
   public void run() {
-    // Compute all results of the given axis and store the results in the
-    // queue.
-    while (mAxis.hasNext()) {
-      final long nodeKey = mAxis.next();
-      try {
-        // Store result in queue as soon as there is space left.
-        mResults.put(nodeKey);
-        // Wait until next thread arrives and exchange blocking queue.
-      } catch (final InterruptedException e) {
-        LOGWRAPPER.error(e.getMessage(), e);
-      }
+    if (!mStarted.compareAndSet(false, true)) {
+      // Cancelled before it has been started.
+      return;
     }
 
     try {
-      // Mark end of result sequence by the NULL_NODE_KEY.
-      mResults.put(Fixed.NULL_NODE_KEY.getStandardProperty());
+      compute();
     } catch (final InterruptedException e) {
-      LOGWRAPPER.error(e.getMessage(), e);
+      // Cancelled by the consumer.
+      Thread.currentThread().interrupt();
+    } finally {
+      mStopped.countDown();
+    }
+  }
+
+  private void compute() throws InterruptedException {
+    try {
+      // Compute all results of the given axis and store the results in the queue.
+      int chunkSize = MIN_CHUNK_SIZE;
+      long[] chunk = new long[chunkSize];
+      int size = 0;
+      while (!mCancelled && mAxis.hasNext()) {
+        chunk[size++] = mAxis.next();
+        if (size == chunkSize) {
+          mResults.put(chunk);
+          chunkSize = Math.min(chunkSize << 1, MAX_CHUNK_SIZE);
+          chunk = new long[chunkSize];
+          size = 0;
+        }
+      }
+
+      if (size > 0 && !mCancelled) {
+        mResults.put(Arrays.copyOf(chunk, size));
+      }
+    } catch (final RuntimeException e) {
+      // Rethrown by the consumer.
+      mFailure = e;
+    }
+
+    if (!mCancelled) {
+      // Mark end of result sequence.
+      mResults.put(END);
     }
   }
+
+  /**
+   * Cancel the computation.
+   *
+   * @return {@code true}, if the computation has already been started, such that the caller has to
+   *         interrupt it and wait until it's stopped, {@code false}, if it will never be started
+   */
+  boolean cancel() {
+    mCancelled = true;
+    return !mStarted.compareAndSet(false, true);
+  }
+
+  /**
+   * Wait until a started computation is stopped.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  void awaitStop() throws InterruptedException {
+    mStopped.await();
+  }
+
+  /**
+   * Get the failure of the axis.
+   *
+   * @return the exception thrown by the axis or {@code null}, if no exception has been thrown
+   */
+  @Nullable
+  RuntimeException getFailure() {
+    return mFailure;
+  }
 }
@@ -35,7 +35,8 @@ import org.sirix.settings.Fixed;
  * nodes that occur in the first, but not in the second operand. Document order is preserved.
  * </p>
  */
-public final class ConcurrentExceptAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis {
+public final class ConcurrentExceptAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis
+    implements AutoCloseable {
 
   /** First operand sequence. */
   private final ConcurrentAxis<R> mOp1;
@@ -143,4 +144,20 @@ public final class ConcurrentExceptAxis<R extends NodeCursor & NodeReadOnlyTrx>
 
     return done();
   }
+
+  @Override
+  protected long done() {
+    // Stop the producers, which might still compute results.
+    close();
+    return super.done();
+  }
+
+  /**
+   * Stop the producers of both operands, if they are still running.
+   */
+  @Override
+  public void close() {
+    mOp1.close();
+    mOp2.close();
+  }
 }
@@ -35,7 +35,8 @@ import org.sirix.settings.Fixed;
  * operands. The result is in doc order and duplicate free.
  * </p>
  */
-public final class ConcurrentIntersectAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis {
+public final class ConcurrentIntersectAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis
+    implements AutoCloseable {
 
   /** First operand sequence. */
   private final ConcurrentAxis<R> mOp1;
@@ -136,4 +137,20 @@ public final class ConcurrentIntersectAxis<R extends NodeCursor & NodeReadOnlyTr
 
     return done();
   }
+
+  @Override
+  protected long done() {
+    // Stop the producers, which might still compute results.
+    close();
+    return super.done();
+  }
+
+  /**
+   * Stop the producers of both operands, if they are still running.
+   */
+  @Override
+  public void close() {
+    mOp1.close();
+    mOp2.close();
+  }
 }
@@ -37,7 +37,8 @@ import org.sirix.service.xml.xpath.EXPathError;
  * by the concept of .... Additionally this guarantees the document order.
  * </p>
  */
-public final class ConcurrentUnionAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis {
+public final class ConcurrentUnionAxis<R extends NodeCursor & NodeReadOnlyTrx> extends AbstractAxis
+    implements AutoCloseable {
 
   /** First operand sequence. */
   private final ConcurrentAxis<R> mOp1;
@@ -141,4 +142,20 @@ public final class ConcurrentUnionAxis<R extends NodeCursor & NodeReadOnlyTrx> e
 
     return done();
   }
+
+  @Override
+  protected long done() {
+    // Stop the producers, which might still compute results.
+    close();
+    return super.done();
+  }
+
+  /**
+   * Stop the producers of both operands, if they are still running.
+   */
+  @Override
+  public void close() {
+    mOp1.close();
+    mOp2.close();
+  }
 }
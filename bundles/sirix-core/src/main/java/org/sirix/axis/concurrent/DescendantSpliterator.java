@@ -0,0 +1,365 @@
+package org.sirix.axis.concurrent;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.settings.Fixed;
+
+/**
+ * Spliterator over the descendants of a node in document order. It's split by the subtrees of the
+ * children of a node, whereas the sizes of the subtrees are estimated by the descendant counts of
+ * the nodes, such that each part covers about the same number of nodes. A node with a single large
+ * subtree is split by the children of its child and so forth.
+ *
+ * <p>
+ * Each part borrows a read-only transaction from the {@link TrxPool} while it's traversed and
+ * returns it afterwards, such that each worker thread uses its own transaction. The function,
+ * which is applied to each node, gets the transaction moved to the node.
+ * </p>
+ *
+ * @param <R> the type of the read-only transaction
+ * @param <T> the type of the elements
+ */
+final class DescendantSpliterator<R extends NodeReadOnlyTrx & NodeCursor, T> implements Spliterator<T> {
+  /** The null node key. */
+  private static final long NULL_NODE_KEY = Fixed.NULL_NODE_KEY.getStandardProperty();
+
+  /** Parts with fewer estimated nodes aren't split anymore. */
+  private static final long MIN_SPLIT_SIZE = 256;
+
+  /** The subtree roots, that is the children of a node and the estimated sizes of their subtrees. */
+  private static final class Subtrees {
+    /** The node keys of the subtree roots in document order. */
+    final long[] mKeys;
+
+    /** The accumulated sizes of the subtrees, that is {@code mSizes[i]} is the size of the first i subtrees. */
+    final long[] mSizes;
+
+    Subtrees(final long[] keys, final long[] sizes) {
+      mKeys = keys;
+      mSizes = sizes;
+    }
+  }
+
+  /** Provides the transactions. */
+  private final TrxPool<R> mTrxPool;
+
+  /** Applied to each node, while the transaction is moved to the node. */
+  private final Function<? super R, ? extends T> mFunction;
+
+  /** Determines if the descendant counts of the nodes are maintained. */
+  private final boolean mHasDescendantCounts;
+
+  /** The node, whose descendants haven't been split yet or the null node key. */
+  private long mRoot;
+
+  /** Determines if the root itself is part of the spliterator. */
+  private boolean mIncludeRoot;
+
+  /** The estimated number of nodes of the root part. */
+  private long mRootSize;
+
+  /** The node, which precedes the subtrees or the null node key. */
+  private long mSelf;
+
+  /** The subtree roots, if the root has been split. */
+  private Subtrees mSubtrees;
+
+  /** The index of the first subtree root, which isn't traversed yet. */
+  private int mFrom;
+
+  /** The index after the last subtree root. */
+  private int mTo;
+
+  /** The transaction, which traverses the nodes or {@code null}. */
+  private R mTrx;
+
+  /** The node key of the root of the subtree, which is currently traversed or the null node key. */
+  private long mSubtreeRoot;
+
+  /** The depth of the current node relative to the subtree root. */
+  private int mDepth;
+
+  /** Determines if the traversal has begun. */
+  private boolean mStarted;
+
+  /**
+   * Constructor.
+   *
+   * @param trxPool provides the transactions
+   * @param function applied to each node, while the transaction is moved to the node
+   * @param hasDescendantCounts determines if the descendant counts of the nodes are maintained
+   * @param includeRoot determines if the root itself is traversed
+   * @param trx a transaction moved to the root, which is used to estimate the number of nodes
+   */
+  DescendantSpliterator(final TrxPool<R> trxPool, final Function<? super R, ? extends T> function,
+      final boolean hasDescendantCounts, final boolean includeRoot, final R trx) {
+    this(trxPool, function, hasDescendantCounts);
+    mRoot = trx.getNodeKey();
+    mIncludeRoot = includeRoot;
+    mRootSize = size(trx) - (includeRoot ? 0 : 1);
+  }
+
+  private DescendantSpliterator(final TrxPool<R> trxPool, final Function<? super R, ? extends T> function,
+      final boolean hasDescendantCounts) {
+    mTrxPool = checkNotNull(trxPool);
+    mFunction = checkNotNull(function);
+    mHasDescendantCounts = hasDescendantCounts;
+    mRoot = NULL_NODE_KEY;
+    mSelf = NULL_NODE_KEY;
+    mSubtreeRoot = NULL_NODE_KEY;
+  }
+
+  private DescendantSpliterator<R, T> newPrefix(final long self, final int to) {
+    final DescendantSpliterator<R, T> prefix = new DescendantSpliterator<>(mTrxPool, mFunction, mHasDescendantCounts);
+    prefix.mSelf = self;
+    prefix.mSubtrees = mSubtrees;
+    prefix.mFrom = mFrom;
+    prefix.mTo = to;
+    return prefix;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    checkNotNull(action);
+    mStarted = true;
+
+    if (mTrx == null) {
+      mTrx = mTrxPool.borrow();
+    }
+
+    final boolean advanced;
+    try {
+      advanced = advance(action);
+    } catch (final RuntimeException e) {
+      releaseTrx();
+      throw e;
+    }
+
+    if (!advanced) {
+      releaseTrx();
+    }
+    return advanced;
+  }
+
+  @Override
+  public void forEachRemaining(final Consumer<? super T> action) {
+    checkNotNull(action);
+    mStarted = true;
+
+    if (mTrx == null) {
+      mTrx = mTrxPool.borrow();
+    }
+
+    try {
+      while (advance(action)) {
+        // Nothing to do.
+      }
+    } finally {
+      releaseTrx();
+    }
+  }
+
+  private void releaseTrx() {
+    if (mTrx != null) {
+      mTrxPool.release(mTrx);
+      mTrx = null;
+    }
+  }
+
+  private boolean advance(final Consumer<? super T> action) {
+    if (mSelf != NULL_NODE_KEY) {
+      final long self = mSelf;
+      mSelf = NULL_NODE_KEY;
+      mTrx.moveTo(self);
+      accept(self, action);
+      return true;
+    }
+
+    if (mSubtreeRoot != NULL_NODE_KEY) {
+      if (moveToNext()) {
+        accept(mTrx.getNodeKey(), action);
+        return true;
+      }
+      mSubtreeRoot = NULL_NODE_KEY;
+    }
+
+    if (mRoot != NULL_NODE_KEY) {
+      final long root = mRoot;
+      mRoot = NULL_NODE_KEY;
+      mTrx.moveTo(root);
+      mSubtreeRoot = root;
+      mDepth = 0;
+      if (mIncludeRoot) {
+        accept(root, action);
+        return true;
+      }
+      if (moveToNext()) {
+        accept(mTrx.getNodeKey(), action);
+        return true;
+      }
+      mSubtreeRoot = NULL_NODE_KEY;
+      return false;
+    }
+
+    if (mSubtrees != null && mFrom < mTo) {
+      final long subtreeRoot = mSubtrees.mKeys[mFrom++];
+      mTrx.moveTo(subtreeRoot);
+      mSubtreeRoot = subtreeRoot;
+      mDepth = 0;
+      accept(subtreeRoot, action);
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Move the transaction to the next node of the current subtree in document order.
+   *
+   * @return {@code true}, if the transaction has been moved, {@code false} if the subtree has been
+   *         traversed
+   */
+  private boolean moveToNext() {
+    if (mTrx.hasFirstChild()) {
+      mTrx.moveToFirstChild();
+      mDepth++;
+      return true;
+    }
+
+    while (mDepth > 0) {
+      if (mTrx.hasRightSibling()) {
+        mTrx.moveToRightSibling();
+        return true;
+      }
+      mTrx.moveToParent();
+      mDepth--;
+    }
+
+    return false;
+  }
+
+  private void accept(final long nodeKey, final Consumer<? super T> action) {
+    final T result = mFunction.apply(mTrx);
+
+    // The function might have moved the transaction.
+    if (mTrx.getNodeKey() != nodeKey) {
+      mTrx.moveTo(nodeKey);
+    }
+
+    action.accept(result);
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (mStarted || estimateSize() < MIN_SPLIT_SIZE) {
+      return null;
+    }
+
+    if (mRoot != NULL_NODE_KEY) {
+      // Split by the children of the root.
+      final long root = mRoot;
+      mRoot = NULL_NODE_KEY;
+      mSelf = mIncludeRoot ? root : NULL_NODE_KEY;
+      setSubtrees(root);
+      return trySplit();
+    }
+
+    if (mSubtrees == null || mTo - mFrom == 0) {
+      return null;
+    }
+
+    if (mTo - mFrom == 1) {
+      if (mSelf != NULL_NODE_KEY) {
+        // Split off the preceding node, such that the single subtree is split by its children next.
+        final DescendantSpliterator<R, T> prefix = newPrefix(mSelf, mFrom);
+        mSelf = NULL_NODE_KEY;
+        return prefix;
+      }
+
+      final long subtreeRoot = mSubtrees.mKeys[mFrom];
+      mSelf = subtreeRoot;
+      setSubtrees(subtreeRoot);
+      return trySplit();
+    }
+
+    // Split the subtrees, such that the prefix covers about half of the nodes.
+    final long[] sizes = mSubtrees.mSizes;
+    final long half = sizes[mFrom] + (sizes[mTo] - sizes[mFrom]) / 2;
+    int split = Arrays.binarySearch(sizes, mFrom + 1, mTo, half);
+    if (split < 0) {
+      split = -split - 1;
+    }
+    split = Math.max(mFrom + 1, Math.min(split, mTo - 1));
+
+    final DescendantSpliterator<R, T> prefix = newPrefix(mSelf, split);
+    mSelf = NULL_NODE_KEY;
+    mFrom = split;
+    return prefix;
+  }
+
+  /**
+   * Replace the subtrees by the subtrees of the children of the given node.
+   *
+   * @param nodeKey the node key of the node
+   */
+  private void setSubtrees(final long nodeKey) {
+    final R trx = mTrxPool.borrow();
+    try {
+      trx.moveTo(nodeKey);
+      long[] keys = new long[(int) Math.min(Math.max(trx.getChildCount(), 1), Integer.MAX_VALUE - 1)];
+      long[] sizes = new long[keys.length + 1];
+      int children = 0;
+      for (boolean hasMoved = trx.moveToFirstChild().hasMoved(); hasMoved; hasMoved =
+          trx.moveToRightSibling().hasMoved()) {
+        if (children == keys.length) {
+          keys = Arrays.copyOf(keys, keys.length * 2);
+          sizes = Arrays.copyOf(sizes, keys.length + 1);
+        }
+        keys[children] = trx.getNodeKey();
+        sizes[children + 1] = sizes[children] + size(trx);
+        children++;
+      }
+      mSubtrees = new Subtrees(keys, sizes);
+      mFrom = 0;
+      mTo = children;
+    } finally {
+      mTrxPool.release(trx);
+    }
+  }
+
+  /**
+   * Estimate the size of the subtree of the node, the transaction is moved to.
+   *
+   * @param trx the transaction
+   * @return the estimated number of nodes in the subtree
+   */
+  private long size(final R trx) {
+    // Without hashes the descendant counts aren't maintained, such that the children are counted.
+    return 1 + (mHasDescendantCounts ? trx.getDescendantCount() : trx.getChildCount());
+  }
+
+  @Override
+  public long estimateSize() {
+    long size = mSelf == NULL_NODE_KEY ? 0 : 1;
+
+    if (mRoot != NULL_NODE_KEY) {
+      size += mRootSize;
+    }
+
+    if (mSubtrees != null) {
+      size += mSubtrees.mSizes[mTo] - mSubtrees.mSizes[mFrom];
+    }
+
+    return size;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED;
+  }
+}
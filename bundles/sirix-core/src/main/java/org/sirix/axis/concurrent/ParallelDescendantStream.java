@@ -0,0 +1,101 @@
+package org.sirix.axis.concurrent;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nonnegative;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.api.ResourceManager;
+import org.sirix.axis.IncludeSelf;
+
+/**
+ * Parallel streams over the descendants of a node in document order. The subtree is split into the
+ * subtrees of the children of a node, whose sizes are estimated by the descendant counts, and the
+ * parts are traversed by the fork/join pool of the stream, whereas each worker thread uses its own
+ * read-only transaction bound to the revision.
+ *
+ * <p>
+ * The descendant counts are only maintained, if the resource is hashed. Otherwise the subtrees are
+ * split by their child counts, which usually yields less evenly sized parts.
+ * </p>
+ *
+ * <p>
+ * The streams must be closed, such that the transactions are closed, for instance:
+ * </p>
+ *
+ * <pre>
+ * try (final LongStream nodeKeys = ParallelDescendantStream.nodeKeys(manager, revision, nodeKey, IncludeSelf.NO)) {
+ *   final long count = nodeKeys.count();
+ * }
+ * </pre>
+ */
+public final class ParallelDescendantStream {
+  /**
+   * Private constructor.
+   */
+  private ParallelDescendantStream() {
+    throw new AssertionError("May never be instantiated!");
+  }
+
+  /**
+   * Get a parallel stream of the node keys of the descendants of a node.
+   *
+   * @param <R> the type of the read-only transaction
+   * @param resourceManager the resource manager
+   * @param revision the revision to read
+   * @param nodeKey the node key of the node
+   * @param includeSelf determines if the node itself is included
+   * @return the stream, which must be closed
+   * @throws IllegalArgumentException if the node doesn't exist in the revision
+   */
+  public static <R extends NodeReadOnlyTrx & NodeCursor> LongStream nodeKeys(
+      final ResourceManager<R, ?> resourceManager, final @Nonnegative int revision, final long nodeKey,
+      final IncludeSelf includeSelf) {
+    return map(resourceManager, revision, nodeKey, includeSelf, NodeReadOnlyTrx::getNodeKey).mapToLong(
+        Long::longValue);
+  }
+
+  /**
+   * Get a parallel stream of the descendants of a node projected by a function. The function gets a
+   * transaction moved to the node and is called concurrently by different threads with different
+   * transactions.
+   *
+   * @param <R> the type of the read-only transaction
+   * @param <T> the type of the elements
+   * @param resourceManager the resource manager
+   * @param revision the revision to read
+   * @param nodeKey the node key of the node
+   * @param includeSelf determines if the node itself is included
+   * @param function applied to each node
+   * @return the stream, which must be closed
+   * @throws IllegalArgumentException if the node doesn't exist in the revision
+   */
+  public static <R extends NodeReadOnlyTrx & NodeCursor, T> Stream<T> map(
+      final ResourceManager<R, ?> resourceManager, final @Nonnegative int revision, final long nodeKey,
+      final IncludeSelf includeSelf, final Function<? super R, ? extends T> function) {
+    checkNotNull(resourceManager);
+    checkNotNull(includeSelf);
+    checkNotNull(function);
+
+    final TrxPool<R> trxPool = new TrxPool<>(resourceManager, revision);
+    final boolean hasDescendantCounts = resourceManager.getResourceConfig().hashType != HashType.NONE;
+
+    try {
+      final R trx = trxPool.borrow();
+      checkArgument(trx.moveTo(nodeKey).hasMoved(), "The node with key %s doesn't exist.", nodeKey);
+      final DescendantSpliterator<R, T> spliterator =
+          new DescendantSpliterator<>(trxPool, function, hasDescendantCounts, includeSelf == IncludeSelf.YES, trx);
+      trxPool.release(trx);
+
+      return StreamSupport.stream(spliterator, true).onClose(trxPool::close);
+    } catch (final RuntimeException e) {
+      trxPool.close();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package org.sirix.axis.concurrent;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import javax.annotation.Nonnegative;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.api.ResourceManager;
+
+/**
+ * Pool of read-only transactions bound to the same revision, such that worker threads reuse the
+ * transactions instead of beginning a new one for each part of a parallel traversal. A transaction
+ * is only used by one thread at a time.
+ *
+ * @param <R> the type of the read-only transaction
+ */
+final class TrxPool<R extends NodeReadOnlyTrx & NodeCursor> implements AutoCloseable {
+  /** The resource manager, which begins the transactions. */
+  private final ResourceManager<R, ?> mResourceManager;
+
+  /** The revision, the transactions are bound to. */
+  private final int mRevision;
+
+  /** The idle transactions. */
+  private final Queue<R> mIdleTrxs;
+
+  /** All transactions, which have been begun. */
+  private final Queue<R> mTrxs;
+
+  /** Determines if the pool is closed. */
+  private volatile boolean mClosed;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceManager the resource manager, which begins the transactions
+   * @param revision the revision, the transactions are bound to
+   */
+  TrxPool(final ResourceManager<R, ?> resourceManager, final @Nonnegative int revision) {
+    mResourceManager = checkNotNull(resourceManager);
+    mRevision = revision;
+    mIdleTrxs = new ConcurrentLinkedQueue<>();
+    mTrxs = new ConcurrentLinkedQueue<>();
+  }
+
+  /**
+   * Borrow an idle transaction or begin a new one.
+   *
+   * @return the transaction
+   * @throws IllegalStateException if the pool is closed
+   */
+  R borrow() {
+    if (mClosed) {
+      throw new IllegalStateException("The transaction pool is already closed.");
+    }
+
+    final R trx = mIdleTrxs.poll();
+    if (trx != null) {
+      return trx;
+    }
+
+    final R newTrx = mResourceManager.beginNodeReadOnlyTrx(mRevision);
+    mTrxs.add(newTrx);
+
+    if (mClosed) {
+      newTrx.close();
+      throw new IllegalStateException("The transaction pool is already closed.");
+    }
+    return newTrx;
+  }
+
+  /**
+   * Return a borrowed transaction.
+   *
+   * @param trx the transaction
+   */
+  void release(final R trx) {
+    mIdleTrxs.add(checkNotNull(trx));
+  }
+
+  /**
+   * Close all transactions, which have been begun.
+   */
+  @Override
+  public void close() {
+    mClosed = true;
+    mIdleTrxs.clear();
+    for (R trx = mTrxs.poll(); trx != null; trx = mTrxs.poll()) {
+      if (!trx.isClosed()) {
+        trx.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nullable;
+import org.sirix.page.PageReference;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Key of a page in the {@link SharedBufferManager}, which is scoped by the resource and the cache
+ * the page belongs to, as the page references of different resources might be equal.
+ *
+ * <p>
+ * Pages, which are stored in the data file, are keyed by their immutable offset instead of the
+ * page reference, such that the readers of all revisions share the cached pages, which haven't
+ * been modified in between. The weight of a page is carried along, but isn't part of the key.
+ * </p>
+ */
+final class BufferKey {
+  /** The kind of cache a page belongs to. */
+  enum Kind {
+    /** Record pages. */
+    RECORD_PAGE,
+
+    /** Indirect pages. */
+    PAGE,
+
+    /** Revision root pages. */
+    REVISION_ROOT_PAGE
+  }
+
+  /** Unique identifier of the resource. */
+  private final long mResourceId;
+
+  /** The kind of cache. */
+  private final Kind mKind;
+
+  /** The key within the resource. */
+  private final Object mKey;
+
+  /** The weight of the page. */
+  private final int mWeight;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceId unique identifier of the resource
+   * @param kind the kind of cache
+   * @param key the key within the resource
+   * @param weight the weight of the page
+   */
+  BufferKey(final long resourceId, final Kind kind, final Object key, final int weight) {
+    mResourceId = resourceId;
+    mKind = checkNotNull(kind);
+    mKey = checkNotNull(key);
+    mWeight = weight;
+  }
+
+  long getResourceId() {
+    return mResourceId;
+  }
+
+  Kind getKind() {
+    return mKind;
+  }
+
+  Object getKey() {
+    return mKey;
+  }
+
+  int getWeight() {
+    return mWeight;
+  }
+
+  /**
+   * Determines if this is the key of the page a page reference currently points to.
+   *
+   * @param resourceId unique identifier of the resource
+   * @param kind the kind of cache
+   * @param reference the page reference
+   * @param isStored {@code true}, if the page is keyed by its offset in the data file
+   * @return {@code true}, if this is the key of the referenced page, {@code false} otherwise
+   */
+  boolean isKeyOf(final long resourceId, final Kind kind, final PageReference reference, final boolean isStored) {
+    if (mResourceId != resourceId || mKind != kind) {
+      return false;
+    }
+    return isStored
+        ? mKey instanceof Long && (Long) mKey == reference.getKey()
+        : mKey == reference;
+  }
+
+  @Override
+  public int hashCode() {
+    // Avoids the varargs array of Objects.hashCode(Object...), as it's computed for each lookup.
+    return 31 * (31 * Long.hashCode(mResourceId) + mKind.hashCode()) + mKey.hashCode();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object obj) {
+    if (obj instanceof BufferKey) {
+      final BufferKey other = (BufferKey) obj;
+      return mResourceId == other.mResourceId && mKind == other.mKind && mKey.equals(other.mKey);
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("resourceId", mResourceId)
+                      .add("kind", mKind)
+                      .add("key", mKey)
+                      .toString();
+  }
+}
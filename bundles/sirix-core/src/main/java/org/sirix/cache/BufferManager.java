@@ -10,4 +10,13 @@ public interface BufferManager {
   Cache<PageReference, Page> getPageCache();
 
   Cache<Integer, RevisionRootPage> getRevisionRootPageCache();
+
+  /**
+   * Remove all cached pages.
+   */
+  default void clearAllCaches() {
+    getRecordPageCache().clear();
+    getPageCache().clear();
+    getRevisionRootPageCache().clear();
+  }
 }
@@ -11,9 +11,17 @@ public final class BufferManagerImpl implements BufferManager {
 
   private final RevisionRootPageCache mRevisionRootPageCache;
 
-  public BufferManagerImpl() {
-    mPageCache = new PageCache();
-    mRecordPageCache = new RecordPageCache();
+  /**
+   * Constructor.
+   *
+   * @param maxSize the maximum size of all cached pages in bytes, weighed by the size of the
+   *        serialized pages, whereas a quarter is used for indirect pages and the rest for record
+   *        pages
+   */
+  public BufferManagerImpl(final long maxSize) {
+    final long maxPageCacheSize = Math.max(maxSize >> 2, 1);
+    mPageCache = new PageCache(maxPageCacheSize);
+    mRecordPageCache = new RecordPageCache(Math.max(maxSize - maxPageCacheSize, 1));
     mRevisionRootPageCache = new RevisionRootPageCache();
   }
 
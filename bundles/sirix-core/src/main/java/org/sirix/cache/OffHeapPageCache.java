@@ -0,0 +1,160 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+/**
+ * Second tier below the page caches, which keeps serialized pages in direct memory outside of the
+ * Java heap. Pages are stored as they are stored in the data file, that is compressed (or
+ * otherwise transformed) by the byte handler pipeline of the resource, and they are keyed by their
+ * offset in the data file. Pages, which are evicted from the on-heap caches, are thus deserialized
+ * from memory instead of being read from the storage device again, without putting pressure on the
+ * garbage collector.
+ *
+ * <p>
+ * All pages are appended to a single direct buffer of the maximum size, which is allocated once and
+ * used as a ring. Once the ring wraps around, the oldest pages are overwritten and evicted, such
+ * that the native memory of the cache never exceeds its maximum size.
+ * </p>
+ */
+public final class OffHeapPageCache {
+
+  /** The ring, which holds the serialized pages. */
+  private final ByteBuffer mArena;
+
+  /** The cached pages, keyed by their offset in the data file. */
+  private final Map<Long, Entry> mPages;
+
+  /** The cached pages in the order they have been appended to the ring. */
+  private final Deque<Entry> mAppendedPages;
+
+  /** Guards the ring and the cached pages. */
+  private final ReadWriteLock mLock;
+
+  /** Position of the next page in the ring, which is never wrapped. */
+  private long mHead;
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize the maximum size of all serialized pages in bytes
+   */
+  public OffHeapPageCache(final @Nonnegative long maxSize) {
+    checkArgument(maxSize > 0, "The maximum size must be > 0.");
+    checkArgument(maxSize <= Integer.MAX_VALUE, "The maximum size must be <= %s.", Integer.MAX_VALUE);
+    mArena = ByteBuffer.allocateDirect((int) maxSize);
+    mPages = new HashMap<>();
+    mAppendedPages = new ArrayDeque<>();
+    mLock = new ReentrantReadWriteLock();
+  }
+
+  /**
+   * Get a serialized page. The page is copied from the ring, as it might be overwritten afterwards.
+   *
+   * @param offset the offset of the page in the data file
+   * @return a buffer containing the serialized page or {@code null}, if the page is not cached
+   */
+  public @Nullable ByteBuffer get(final long offset) {
+    mLock.readLock().lock();
+    try {
+      final Entry entry = mPages.get(offset);
+      if (entry == null) {
+        return null;
+      }
+
+      final int position = (int) (entry.mPosition % mArena.capacity());
+      final ByteBuffer page = ByteBuffer.allocate(entry.mLength);
+      page.put(mArena.duplicate().limit(position + entry.mLength).position(position)).flip();
+      return page;
+    } finally {
+      mLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Copy the remaining bytes of a serialized page into the ring and cache it. The position of the
+   * given buffer is not changed. Pages, which are larger than the ring, aren't cached.
+   *
+   * @param offset the offset of the page in the data file
+   * @param page the serialized page
+   */
+  public void put(final long offset, final ByteBuffer page) {
+    final int length = page.remaining();
+    final int capacity = mArena.capacity();
+    if (length > capacity) {
+      return;
+    }
+
+    mLock.writeLock().lock();
+    try {
+      int position = (int) (mHead % capacity);
+
+      // Pages are never split at the end of the ring.
+      if (position + length > capacity) {
+        mHead += capacity - position;
+        position = 0;
+      }
+
+      // Evict all pages, which are (partly) overwritten.
+      final long end = mHead + length;
+      while (!mAppendedPages.isEmpty() && mAppendedPages.peekFirst().mPosition < end - capacity) {
+        final Entry evicted = mAppendedPages.removeFirst();
+        mPages.remove(evicted.mOffset, evicted);
+      }
+
+      mArena.duplicate().position(position).put(page.duplicate());
+
+      final Entry entry = new Entry(offset, mHead, length);
+      final Entry replaced = mPages.put(offset, entry);
+      if (replaced != null) {
+        mAppendedPages.remove(replaced);
+      }
+      mAppendedPages.addLast(entry);
+      mHead = end;
+    } finally {
+      mLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove all pages.
+   */
+  public void clear() {
+    mLock.writeLock().lock();
+    try {
+      mPages.clear();
+      mAppendedPages.clear();
+      mHead = 0;
+    } finally {
+      mLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * A page in the ring.
+   */
+  private static final class Entry {
+    /** The offset of the page in the data file. */
+    private final long mOffset;
+
+    /** The position of the page in the ring, which is never wrapped. */
+    private final long mPosition;
+
+    /** The length of the page. */
+    private final int mLength;
+
+    private Entry(final long offset, final long position, final int length) {
+      mOffset = offset;
+      mPosition = position;
+      mLength = length;
+    }
+  }
+}
@@ -12,12 +12,19 @@ public final class PageCache implements Cache<PageReference, Page> {
 
   private final com.github.benmanes.caffeine.cache.Cache<PageReference, Page> mPageCache;
 
-  public PageCache() {
+  /**
+   * Constructor.
+   *
+   * @param maxWeight the maximum size of the cached pages in bytes, weighed by the size of the
+   *        serialized pages
+   */
+  public PageCache(final long maxWeight) {
     RemovalListener<PageReference, Page> removalListener =
         (PageReference key, Page value, RemovalCause cause) -> key.setPage(null);
 
     mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
+                         .maximumWeight(maxWeight)
+                         .weigher(PageWeigher.INSTANCE)
                          .expireAfterWrite(5000, TimeUnit.SECONDS)
                          .expireAfterAccess(5000, TimeUnit.SECONDS)
                          .removalListener(removalListener)
@@ -21,6 +21,7 @@
 
 package org.sirix.cache;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.page.interfaces.KeyValuePage;
@@ -55,8 +56,14 @@ public final class PageContainer {
   /** {@link UnorderedKeyValuePage} reference, which references the modified key/value page. */
   private final Page mModified;
 
+  /**
+   * The summed length of the serialized fragments the complete page has been reconstructed from, or
+   * {@code 0}, if it's not known.
+   */
+  private final int mLength;
+
   /** Empty instance. */
-  private static final PageContainer EMPTY_INSTANCE = new PageContainer(null, null);
+  private static final PageContainer EMPTY_INSTANCE = new PageContainer(null, null, 0);
 
   /**
    * Get the empty instance (parameterized).
@@ -77,7 +84,30 @@ public final class PageContainer {
     // Assertions as it's not part of the public API.
     assert complete != null;
     assert modifying != null;
-    return new PageContainer(complete, modifying);
+    return new PageContainer(complete, modifying, 0);
+  }
+
+  /**
+   * Get a new instance, which shares one page for read and write access. Used for pages, which are
+   * only read, such that no copy has to be created.
+   *
+   * @param complete to be used as a base for this container
+   */
+  public static final PageContainer getInstance(final Page complete) {
+    return getInstance(complete, 0);
+  }
+
+  /**
+   * Get a new instance, which shares one page for read and write access and knows the length of the
+   * fragments the page has been reconstructed from, which is its weight in the caches.
+   *
+   * @param complete to be used as a base for this container
+   * @param length the summed length of the serialized fragments or {@code 0}, if it's not known
+   */
+  public static final PageContainer getInstance(final Page complete, final @Nonnegative int length) {
+    assert complete != null;
+    assert length >= 0;
+    return new PageContainer(complete, complete, length);
   }
 
   /**
@@ -85,10 +115,12 @@ public final class PageContainer {
    *
    * @param complete to be used as a base for this container
    * @param modifying to be used as a base for this container
+   * @param length the summed length of the serialized fragments or {@code 0}, if it's not known
    */
-  private PageContainer(final Page complete, final Page modifying) {
+  private PageContainer(final Page complete, final Page modifying, final int length) {
     mComplete = complete;
     mModified = modifying;
+    mLength = length;
   }
 
   /**
@@ -109,6 +141,15 @@ public final class PageContainer {
     return mModified;
   }
 
+  /**
+   * Get the summed length of the serialized fragments the complete page has been reconstructed from.
+   *
+   * @return the length in bytes or {@code 0}, if it's not known
+   */
+  public int getLength() {
+    return mLength;
+  }
+
   @Override
   public int hashCode() {
     return Objects.hashCode(mComplete, mModified);
@@ -0,0 +1,31 @@
+package org.sirix.cache;
+
+import org.sirix.page.PageReference;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+/**
+ * Weighs cached pages by the size of the serialized pages, which is stored in the page references
+ * once the pages have been read. Reconstructed record pages are weighed by the summed length of their
+ * fragments, which is stored in their page containers.
+ */
+final class PageWeigher implements Weigher<PageReference, Object> {
+
+  /** The single instance. */
+  static final PageWeigher INSTANCE = new PageWeigher();
+
+  /** Weight of pages, which haven't been read from the storage and thus have an unknown size. */
+  static final int UNKNOWN_PAGE_WEIGHT = 4096;
+
+  private PageWeigher() {
+  }
+
+  @Override
+  public int weigh(final PageReference key, final Object value) {
+    final int length = value instanceof PageContainer && ((PageContainer) value).getLength() > 0
+        ? ((PageContainer) value).getLength()
+        : key.getLength();
+    return length > 0
+        ? length
+        : UNKNOWN_PAGE_WEIGHT;
+  }
+}
@@ -1,65 +1,267 @@
 package org.sirix.cache;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.sirix.access.ResourceConfiguration;
 import org.sirix.api.PageReadOnlyTrx;
-import org.sirix.io.Writer;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.PagePersister;
 import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
 
+/**
+ * Second tier of the {@link TransactionIntentLog}, which keeps spilled pages in a memory-mapped
+ * arena backed by the intent log file, such that the operating system pages them out only under
+ * memory pressure. Pages are serialized by the byte handler pipeline of the resource, so encrypted
+ * resources never write plain pages to the log file.
+ *
+ * <p>
+ * Only the modified page of a container is spilled. The complete page of a record page is rebuilt
+ * from the page fragments in the data file, which are referenced by the modified page, and the
+ * modified records.
+ * </p>
+ */
 public final class PersistentFileCache implements AutoCloseable {
-  /** Write to a persistent file. */
-  private final Writer mWriter;
+  /** Size of a mapped segment of the intent log file. */
+  private static final int SEGMENT_SIZE = 1 << 26;
 
-  public PersistentFileCache(final Writer writer) {
-    mWriter = checkNotNull(writer);
+  /** Size of the header of an entry: the length of the page and a flag. */
+  private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES;
+
+  /** The complete page is the modified page. */
+  private static final byte SHARED_PAGE = 0;
+
+  /** The complete page must be rebuilt. */
+  private static final byte SEPARATE_PAGE = 1;
+
+  /** The channel of the intent log file. */
+  private final FileChannel mChannel;
+
+  /** The byte handler pipeline of the resource. */
+  private final ByteHandler mByteHandler;
+
+  /** Serializes and deserializes pages. */
+  private final PagePersister mPagePersister;
+
+  /** The mapped segments of the intent log file. */
+  private final List<MappedByteBuffer> mSegments;
+
+  /** Reused to serialize a single page. */
+  private final ByteArrayOutputStream mPageOutput;
+
+  /** Offset, where the next page is stored. */
+  private long mTail;
+
+  /**
+   * Constructor.
+   *
+   * @param logFile the intent log file, which is created if it doesn't exist
+   * @param byteHandler the byte handler pipeline of the resource
+   * @throws SirixIOException if the file can't be opened
+   */
+  public PersistentFileCache(final Path logFile, final ByteHandler byteHandler) {
+    checkNotNull(logFile);
+    mByteHandler = checkNotNull(byteHandler);
+    mPagePersister = new PagePersister();
+    mSegments = new ArrayList<>();
+    mPageOutput = new ByteArrayOutputStream();
+    try {
+      mChannel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 
-  public PageContainer get(PageReference reference, final PageReadOnlyTrx pageReadTrx) {
+  /**
+   * Get a spilled page container.
+   *
+   * @param reference the reference, whose persistent log key denotes the offset of the page
+   * @param pageReadTrx the transaction used to deserialize the page and to rebuild the complete page
+   * @return the page container or {@link PageContainer#emptyInstance()}, if the page hasn't been
+   *         spilled
+   */
+  public PageContainer get(final PageReference reference, final PageReadOnlyTrx pageReadTrx) {
     checkNotNull(pageReadTrx);
 
-    if (reference.getPersistentLogKey() < 0)
+    final long offset = reference.getPersistentLogKey();
+
+    if (offset < 0)
       return PageContainer.emptyInstance();
 
-    final Page modifiedPage = mWriter.read(reference, pageReadTrx);
-    final Page completePage;
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    read(offset, header.array());
+    final int length = header.getInt();
+    final byte kind = header.get();
+    final byte[] bytes = new byte[length];
+    read(offset + HEADER_SIZE, bytes);
 
-    if (modifiedPage instanceof KeyValuePage) {
-      final long peristKey = reference.getPersistentLogKey();
-      reference.setPersistentLogKey(peristKey + reference.getLength());
-      completePage = mWriter.read(reference, pageReadTrx);
-      reference.setPersistentLogKey(peristKey);
-    } else {
-      completePage = modifiedPage;
+    final Page modifiedPage;
+    try (final DataInputStream input =
+        new DataInputStream(mByteHandler.deserialize(new ByteArrayInputStream(bytes)))) {
+      modifiedPage = mPagePersister.deserializePage(input, pageReadTrx, SerializationType.TRANSACTION_INTENT_LOG);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
     }
 
+    final Page completePage = kind == SEPARATE_PAGE
+        ? loadCompletePage(modifiedPage, pageReadTrx)
+        : modifiedPage;
+
     return PageContainer.getInstance(completePage, modifiedPage);
   }
 
-  public PersistentFileCache put(PageReference reference, PageContainer container) {
-    reference.setPage(container.getModified());
-    mWriter.write(reference);
-
-    if (container.getModified() instanceof KeyValuePage) {
-      final long offset = reference.getPersistentLogKey();
-      int length = reference.getLength();
-      reference.setPage(container.getComplete());
-      mWriter.write(reference);
-      length += reference.getLength();
-      reference.setPersistentLogKey(offset);
-      reference.setLength(length);
+  /**
+   * Rebuild the complete page of a record page, that is the page reconstructed from the fragments
+   * in the data file (as the modified page stems from it), with the modified records applied.
+   *
+   * @param page the modified page
+   * @param pageReadTrx the transaction used to read the fragments
+   * @return the complete page
+   */
+  @SuppressWarnings("unchecked")
+  private static Page loadCompletePage(final Page page, final PageReadOnlyTrx pageReadTrx) {
+    final KeyValuePage<Long, Record> modifiedPage = (KeyValuePage<Long, Record>) page;
+    final long previousReferenceKey = modifiedPage.getPreviousReferenceKey();
+    final KeyValuePage<Long, Record> completePage;
+
+    if (previousReferenceKey == Constants.NULL_ID_LONG) {
+      completePage = modifiedPage.newInstance(modifiedPage.getPageKey(), modifiedPage.getPageKind(),
+          Constants.NULL_ID_LONG, pageReadTrx);
+    } else {
+      final ResourceConfiguration config = pageReadTrx.getResourceManager().getResourceConfig();
+      final int revisionsToRead = config.revisioningType.getRevisionRoots(pageReadTrx.getRevisionNumber(),
+          config.numberOfRevisionsToRestore).length;
+      final List<KeyValuePage<Long, Record>> fragments = new ArrayList<>(revisionsToRead);
+      long fragmentKey = previousReferenceKey;
+      while (fragmentKey != Constants.NULL_ID_LONG && fragments.size() < revisionsToRead) {
+        final PageReference fragmentReference = new PageReference().setKey(fragmentKey);
+        final KeyValuePage<Long, Record> fragment =
+            (KeyValuePage<Long, Record>) pageReadTrx.getReader().read(fragmentReference, pageReadTrx);
+        fragments.add(fragment);
+        if (fragment.size() == Constants.NDP_NODE_COUNT) {
+          // Page is full, thus we can skip reconstructing pages with elder versions.
+          break;
+        }
+        fragmentKey = fragment.getPreviousReferenceKey();
+      }
+      completePage =
+          config.revisioningType.combineRecordPages(fragments, config.numberOfRevisionsToRestore, pageReadTrx);
+    }
+
+    for (final Long key : modifiedPage.keySet()) {
+      completePage.copyEntry(key, modifiedPage);
     }
 
+    return completePage;
+  }
+
+  /**
+   * Spill the modified page of a page container. The offset of the page is set as the persistent
+   * log key of the reference.
+   *
+   * @param reference the reference of the page container
+   * @param container the page container
+   * @return this cache instance
+   */
+  public PersistentFileCache put(final PageReference reference, final PageContainer container) {
+    final Page modifiedPage = container.getModified();
+
+    mPageOutput.reset();
+    try (final DataOutputStream output = new DataOutputStream(mByteHandler.serialize(mPageOutput))) {
+      mPagePersister.serializePage(output, modifiedPage, SerializationType.TRANSACTION_INTENT_LOG);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+
+    final byte[] bytes = mPageOutput.toByteArray();
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    header.putInt(bytes.length);
+    header.put(modifiedPage instanceof KeyValuePage && container.getComplete() != modifiedPage
+        ? SEPARATE_PAGE
+        : SHARED_PAGE);
+
+    final long offset = mTail;
+    write(offset, header.array());
+    write(offset + HEADER_SIZE, bytes);
+    mTail += HEADER_SIZE + bytes.length;
+
+    reference.setPersistentLogKey(offset);
+
     return this;
   }
 
+  private void write(final long offset, final byte[] bytes) {
+    int written = 0;
+    while (written < bytes.length) {
+      final long position = offset + written;
+      final ByteBuffer segment = getSegment(position).duplicate();
+      segment.position((int) (position % SEGMENT_SIZE));
+      final int length = Math.min(bytes.length - written, segment.remaining());
+      segment.put(bytes, written, length);
+      written += length;
+    }
+  }
+
+  private void read(final long offset, final byte[] bytes) {
+    int read = 0;
+    while (read < bytes.length) {
+      final long position = offset + read;
+      final ByteBuffer segment = getSegment(position).duplicate();
+      segment.position((int) (position % SEGMENT_SIZE));
+      final int length = Math.min(bytes.length - read, segment.remaining());
+      segment.get(bytes, read, length);
+      read += length;
+    }
+  }
+
+  private MappedByteBuffer getSegment(final long position) {
+    final int index = (int) (position / SEGMENT_SIZE);
+    try {
+      while (mSegments.size() <= index) {
+        mSegments.add(mChannel.map(FileChannel.MapMode.READ_WRITE, (long) mSegments.size() * SEGMENT_SIZE,
+            SEGMENT_SIZE));
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    return mSegments.get(index);
+  }
+
+  /**
+   * Remove all spilled pages. The mapped segments are reused.
+   *
+   * @return this cache instance
+   */
   public PersistentFileCache truncate() {
-    mWriter.truncate();
+    mTail = 0;
     return this;
   }
 
   @Override
   public void close() {
-    mWriter.close();
+    mTail = 0;
+    mSegments.clear();
+    try {
+      mChannel.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
   }
 }
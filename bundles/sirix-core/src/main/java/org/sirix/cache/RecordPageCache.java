@@ -11,14 +11,21 @@ public final class RecordPageCache implements Cache<PageReference, PageContainer
 
   private final com.github.benmanes.caffeine.cache.Cache<PageReference, PageContainer> mPageCache;
 
-  public RecordPageCache() {
+  /**
+   * Constructor.
+   *
+   * @param maxWeight the maximum size of the cached pages in bytes, weighed by the size of the
+   *        serialized pages
+   */
+  public RecordPageCache(final long maxWeight) {
     final RemovalListener<PageReference, PageContainer> removalListener;
 
     removalListener =
         (PageReference key, PageContainer value, RemovalCause cause) -> key.setPage(null);
 
     mPageCache = Caffeine.newBuilder()
-                         .maximumSize(1000)
+                         .maximumWeight(maxWeight)
+                         .weigher(PageWeigher.INSTANCE)
                          .expireAfterWrite(5000, TimeUnit.SECONDS)
                          .expireAfterAccess(5000, TimeUnit.SECONDS)
                          .removalListener(removalListener)
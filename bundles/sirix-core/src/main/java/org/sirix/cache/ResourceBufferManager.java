@@ -0,0 +1,165 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.interfaces.Page;
+import org.sirix.settings.Constants;
+
+/**
+ * Buffer manager of a single resource, whose caches are views on the pages of the resource in the
+ * {@link SharedBufferManager}.
+ */
+final class ResourceBufferManager implements BufferManager {
+
+  private final Cache<PageReference, PageContainer> mRecordPageCache;
+
+  private final Cache<PageReference, Page> mPageCache;
+
+  private final Cache<Integer, RevisionRootPage> mRevisionRootPageCache;
+
+  /**
+   * Constructor.
+   *
+   * @param sharedBufferManager the process wide buffer pool
+   * @param resourceId unique identifier of the resource
+   */
+  ResourceBufferManager(final SharedBufferManager sharedBufferManager, final long resourceId) {
+    final com.github.benmanes.caffeine.cache.Cache<BufferKey, Object> pages = sharedBufferManager.getPages();
+    mRecordPageCache = new ResourceCache<>(pages, resourceId, BufferKey.Kind.RECORD_PAGE);
+    mPageCache = new ResourceCache<>(pages, resourceId, BufferKey.Kind.PAGE);
+    mRevisionRootPageCache = new ResourceCache<>(pages, resourceId, BufferKey.Kind.REVISION_ROOT_PAGE);
+  }
+
+  @Override
+  public Cache<PageReference, PageContainer> getRecordPageCache() {
+    return mRecordPageCache;
+  }
+
+  @Override
+  public Cache<PageReference, Page> getPageCache() {
+    return mPageCache;
+  }
+
+  @Override
+  public Cache<Integer, RevisionRootPage> getRevisionRootPageCache() {
+    return mRevisionRootPageCache;
+  }
+
+  /**
+   * View on the pages of one kind of one resource in the shared buffer pool.
+   *
+   * @param <K> the key
+   * @param <V> the value
+   */
+  private static final class ResourceCache<K, V> implements Cache<K, V> {
+
+    /** The pages of all resources. */
+    private final com.github.benmanes.caffeine.cache.Cache<BufferKey, Object> mPages;
+
+    /** Unique identifier of the resource. */
+    private final long mResourceId;
+
+    /** The kind of cache. */
+    private final BufferKey.Kind mKind;
+
+    ResourceCache(final com.github.benmanes.caffeine.cache.Cache<BufferKey, Object> pages, final long resourceId,
+        final BufferKey.Kind kind) {
+      mPages = checkNotNull(pages);
+      mResourceId = resourceId;
+      mKind = checkNotNull(kind);
+    }
+
+    private BufferKey toBufferKey(final Object key) {
+      return toBufferKey(key, null);
+    }
+
+    /**
+     * Get the key of a page in the shared buffer pool. The keys of page references are stored in the
+     * references and reused, as long as the references still point to the same page, such that no
+     * key is created on each lookup.
+     *
+     * @param key the key within the resource
+     * @param value the page, which is put into the pool or {@code null} for lookups
+     * @return the key in the shared buffer pool
+     */
+    private BufferKey toBufferKey(final Object key, final @Nullable Object value) {
+      if (key instanceof PageReference) {
+        final PageReference reference = (PageReference) key;
+        // The offset is shared by the page references of all revisions, which refer to the page.
+        final boolean isStored = reference.getKey() != Constants.NULL_ID_LONG
+            && reference.getLogKey() == Constants.NULL_ID_INT
+            && reference.getPersistentLogKey() == Constants.NULL_ID_LONG;
+        final int weight = PageWeigher.INSTANCE.weigh(reference, value);
+
+        final Object storedKey = reference.getBufferKey();
+        if (storedKey instanceof BufferKey) {
+          final BufferKey bufferKey = (BufferKey) storedKey;
+          // The weight only matters, once the page is put into the pool.
+          if (bufferKey.isKeyOf(mResourceId, mKind, reference, isStored)
+              && (value == null || bufferKey.getWeight() == weight)) {
+            return bufferKey;
+          }
+        }
+
+        final BufferKey bufferKey = isStored
+            ? new BufferKey(mResourceId, mKind, reference.getKey(), weight)
+            : new BufferKey(mResourceId, mKind, reference, weight);
+        reference.setBufferKey(bufferKey);
+        return bufferKey;
+      }
+
+      return new BufferKey(mResourceId, mKind, key, PageWeigher.UNKNOWN_PAGE_WEIGHT);
+    }
+
+    @Override
+    public void clear() {
+      mPages.asMap().keySet().removeIf(key -> key.getResourceId() == mResourceId && key.getKind() == mKind);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final K key) {
+      return (V) mPages.getIfPresent(toBufferKey(key));
+    }
+
+    @Override
+    public void put(final K key, final V value) {
+      mPages.put(toBufferKey(key, value), value);
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+      map.forEach(this::put);
+    }
+
+    @Override
+    public void toSecondCache() {
+      throw new UnsupportedOperationException();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Map<K, V> getAll(final Iterable<? extends K> keys) {
+      final Map<K, V> values = new HashMap<>();
+      for (final K key : keys) {
+        final Object value = mPages.getIfPresent(toBufferKey(key));
+        if (value != null) {
+          values.put(key, (V) value);
+        }
+      }
+      return values;
+    }
+
+    @Override
+    public void remove(final K key) {
+      mPages.invalidate(toBufferKey(key));
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,116 @@
+package org.sirix.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnegative;
+import org.sirix.page.PageReference;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+/**
+ * Process wide buffer pool, which is shared by all resources of all databases. All pages are kept
+ * in a single cache with one byte budget, whereas the pages are weighed by the size of the
+ * serialized pages. The cache uses W-TinyLFU admission and eviction, such that frequently used
+ * resources get more of the budget than idle ones.
+ *
+ * <p>
+ * Each opened resource gets its own {@link BufferManager} view by means of
+ * {@link #newResourceBufferManager()}, which scopes the keys by a unique resource identifier.
+ * </p>
+ */
+public final class SharedBufferManager {
+
+  /** Standard size of the buffer pool in bytes. */
+  public static final long DEFAULT_MAX_SIZE = 512L << 20;
+
+  /** The process wide instance. */
+  private static final SharedBufferManager INSTANCE = new SharedBufferManager(DEFAULT_MAX_SIZE);
+
+  /** The pages of all resources. */
+  private final com.github.benmanes.caffeine.cache.Cache<BufferKey, Object> mPages;
+
+  /** Generates the unique resource identifiers. */
+  private final AtomicLong mResourceIds;
+
+  /**
+   * Constructor.
+   *
+   * @param maxSize the maximum size of all cached pages in bytes
+   */
+  SharedBufferManager(final @Nonnegative long maxSize) {
+    checkArgument(maxSize > 0, "The maximum size must be > 0.");
+    final RemovalListener<BufferKey, Object> removalListener = (BufferKey key, Object value, RemovalCause cause) -> {
+      if (key.getKey() instanceof PageReference) {
+        ((PageReference) key.getKey()).setPage(null);
+      }
+    };
+
+    mPages = Caffeine.newBuilder()
+                     .maximumWeight(maxSize)
+                     .weigher((BufferKey key, Object value) -> key.getWeight())
+                     .expireAfterWrite(5000, TimeUnit.SECONDS)
+                     .expireAfterAccess(5000, TimeUnit.SECONDS)
+                     .removalListener(removalListener)
+                     .build();
+    mResourceIds = new AtomicLong();
+  }
+
+  /**
+   * Get the process wide instance.
+   *
+   * @return the process wide instance
+   */
+  public static SharedBufferManager getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Set the maximum size of all cached pages. Pages are evicted immediately, if the new size is
+   * smaller than the current one.
+   *
+   * @param maxSize the maximum size of all cached pages in bytes, weighed by the size of the
+   *        serialized pages (default: 512 MiB)
+   */
+  public void setMaximumSize(final @Nonnegative long maxSize) {
+    checkArgument(maxSize > 0, "The maximum size must be > 0.");
+    mPages.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxSize));
+  }
+
+  /**
+   * Get the maximum size of all cached pages.
+   *
+   * @return the maximum size of all cached pages in bytes
+   */
+  public long getMaximumSize() {
+    return mPages.policy().eviction().map(eviction -> eviction.getMaximum()).orElse(Long.MAX_VALUE);
+  }
+
+  /**
+   * Get the size of all cached pages.
+   *
+   * @return the size of all cached pages in bytes, weighed by the size of the serialized pages
+   */
+  public long getWeightedSize() {
+    return mPages.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  /**
+   * Create a buffer manager for a resource, which has just been opened.
+   *
+   * @return a new buffer manager, whose caches are views on the shared pool
+   */
+  public BufferManager newResourceBufferManager() {
+    return new ResourceBufferManager(this, mResourceIds.getAndIncrement());
+  }
+
+  /**
+   * Get the pages of all resources.
+   *
+   * @return the pages of all resources
+   */
+  com.github.benmanes.caffeine.cache.Cache<BufferKey, Object> getPages() {
+    return mPages;
+  }
+}
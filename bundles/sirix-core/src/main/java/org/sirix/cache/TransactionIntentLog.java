@@ -1,13 +1,18 @@
 package org.sirix.cache;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import javax.annotation.Nullable;
+import javax.annotation.Nonnegative;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.KeyValuePage;
+import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.BiMap;
@@ -21,15 +26,41 @@ import com.google.common.collect.HashBiMap;
  */
 public final class TransactionIntentLog implements AutoCloseable {
   /**
-   * Capacity of the cache. Number of stored pages.
+   * Maximum size, which denotes that pages are never spilled, for instance during bulk loads.
    */
-  private static final int CACHE_CAPACITY = 16 << 1;
+  public static final long UNBOUNDED = Long.MAX_VALUE;
+
+  /**
+   * Standard maximum size of the pages kept in memory in bytes.
+   */
+  public static final long DEFAULT_MAX_SIZE = 64L << 20;
+
+  /**
+   * Estimated in-memory size of a page without its references or records in bytes.
+   */
+  private static final int PAGE_WEIGHT = 256;
+
+  /**
+   * Estimated in-memory size of a page reference in bytes.
+   */
+  private static final int REFERENCE_WEIGHT = 32;
 
   /**
    * The collection to hold the maps.
    */
   private final Map<PageReference, PageContainer> mMap;
 
+  /**
+   * The estimated sizes of the pages kept in memory, when they have been weighed the last time.
+   */
+  private final Map<PageReference, Long> mWeights;
+
+  /**
+   * The key of the page, which has been accessed last, and which is weighed again once another page
+   * is accessed, as it has most probably been modified in the meantime.
+   */
+  private PageReference mLastAccessedKey;
+
   /**
    * Maps in-memory key to persistent key and vice versa.
    */
@@ -46,38 +77,130 @@ public final class TransactionIntentLog implements AutoCloseable {
   private int mLogKey;
 
   /**
-   * Creates a new LRU cache.
+   * The estimated size of the pages kept in memory in bytes.
+   */
+  private long mSize;
+
+  /**
+   * The maximum size of the pages kept in memory in bytes.
+   */
+  private long mMaxSize;
+
+  /**
+   * Creates a new transaction intent log.
    *
    * @param secondCache the reference to the second {@link Cache} where the data is stored when it
    *        gets removed from the first one.
+   * @param maxSize the maximum size of the pages kept in memory in bytes or {@link #UNBOUNDED}
    */
-  public TransactionIntentLog(final PersistentFileCache secondCache) {
+  public TransactionIntentLog(final PersistentFileCache secondCache, final @Nonnegative long maxSize) {
     // Assertion instead of checkNotNull(...).
     assert secondCache != null;
+    checkArgument(maxSize > 0, "The maximum size must be > 0.");
     mLogKey = 0;
     mSecondCache = secondCache;
+    mMaxSize = maxSize;
     mMapToPersistentLogKey = HashBiMap.create();
-    mMap = new LinkedHashMap<>(CACHE_CAPACITY) {
-      private static final long serialVersionUID = 1;
-
-      @Override
-      protected boolean removeEldestEntry(final @Nullable Map.Entry<PageReference, PageContainer> eldest) {
-        boolean returnVal = false;
-        if (size() > CACHE_CAPACITY) {
-          if (eldest != null) {
-            final PageReference key = eldest.getKey();
-            assert key.getLogKey() != Constants.NULL_ID_INT;
-            final PageContainer value = eldest.getValue();
-            if (key != null && value != null) {
-              mSecondCache.put(key, value);
-              mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
-            }
-          }
-          returnVal = true;
-        }
-        return returnVal;
-      }
-    };
+    mMap = new LinkedHashMap<>();
+    mWeights = new HashMap<>();
+  }
+
+  /**
+   * Set the maximum size of the pages kept in memory. Pages are spilled in the order they have been
+   * added, once the size is exceeded.
+   *
+   * @param maxSize the maximum size of the pages kept in memory in bytes or {@link #UNBOUNDED}, such
+   *        that pages are never spilled
+   * @return this log instance
+   */
+  public TransactionIntentLog setMaxSize(final @Nonnegative long maxSize) {
+    checkArgument(maxSize > 0, "The maximum size must be > 0.");
+    mMaxSize = maxSize;
+    spillIfNeeded();
+    return this;
+  }
+
+  /**
+   * Get the maximum size of the pages kept in memory.
+   *
+   * @return the maximum size of the pages kept in memory in bytes
+   */
+  public long getMaxSize() {
+    return mMaxSize;
+  }
+
+  /**
+   * Get the estimated size of the pages kept in memory. The page, which has been accessed last, is
+   * weighed again.
+   *
+   * @return the estimated size of the pages kept in memory in bytes
+   */
+  public long getSize() {
+    reweighLastAccessed(null);
+    return mSize;
+  }
+
+  /**
+   * Estimate the in-memory size of a page container. Record pages are weighed by the serialized
+   * length of their records, other pages by their number of references.
+   *
+   * @param container the page container
+   * @return the estimated size in bytes
+   */
+  private static long weigh(final PageContainer container) {
+    final Page modified = container.getModified();
+    final Page complete = container.getComplete();
+    return complete == modified
+        ? weigh(modified)
+        : weigh(modified) + weigh(complete);
+  }
+
+  private static long weigh(final Page page) {
+    if (page instanceof KeyValuePage) {
+      return PAGE_WEIGHT + ((KeyValuePage<?, ?>) page).getEstimatedSize();
+    }
+    return PAGE_WEIGHT + (long) page.getReferences().size() * REFERENCE_WEIGHT;
+  }
+
+  /**
+   * Weigh the page, which has been accessed last, again, once another page is accessed. Pages are
+   * mostly filled after they have been added, such that their weight would be outdated otherwise.
+   *
+   * @param key the key of the page, which is accessed, or {@code null}
+   */
+  private void reweighLastAccessed(final PageReference key) {
+    final PageReference lastAccessedKey = mLastAccessedKey;
+    mLastAccessedKey = key;
+    if (lastAccessedKey == null || lastAccessedKey == key) {
+      return;
+    }
+    final PageContainer container = mMap.get(lastAccessedKey);
+    if (container != null) {
+      final long weight = weigh(container);
+      final Long previousWeight = mWeights.put(lastAccessedKey, weight);
+      mSize += weight - (previousWeight == null
+          ? 0
+          : previousWeight);
+    }
+  }
+
+  /**
+   * Spill the eldest pages to the second cache, until the maximum size isn't exceeded anymore. The
+   * most recently added page is always kept in memory, as it's about to be modified.
+   */
+  private void spillIfNeeded() {
+    final Iterator<Map.Entry<PageReference, PageContainer>> iterator = mMap.entrySet().iterator();
+    while (mSize > mMaxSize && mMap.size() > 1) {
+      final Map.Entry<PageReference, PageContainer> eldest = iterator.next();
+      final PageReference key = eldest.getKey();
+      assert key.getLogKey() != Constants.NULL_ID_INT;
+      final PageContainer value = eldest.getValue();
+      // Removed first, as the hash code of the key changes, once the page is spilled.
+      mSize -= mWeights.remove(key);
+      mSecondCache.put(key, value);
+      mMapToPersistentLogKey.put(key.getLogKey(), key.getPersistentLogKey());
+      iterator.remove();
+    }
   }
 
   /**
@@ -90,7 +213,9 @@ public final class TransactionIntentLog implements AutoCloseable {
    */
   public PageContainer get(final PageReference key, final PageReadOnlyTrx pageRtx) {
     PageContainer value = mMap.get(key);
-    if (value == null) {
+    if (value != null) {
+      reweighLastAccessed(key);
+    } else {
       if (key.getLogKey() != Constants.NULL_ID_INT) {
         final Long persistentKey = mMapToPersistentLogKey.get(key.getLogKey());
         if (persistentKey != null)
@@ -107,20 +232,25 @@ public final class TransactionIntentLog implements AutoCloseable {
 
   /**
    *
-   * Adds an entry to this cache. If the cache is full, the LRU (least recently used) entry is
-   * dropped.
+   * Adds an entry to this cache. If the maximum size is exceeded, the eldest entries are spilled to
+   * the second cache.
    *
    * @param key the key with which the specified value is to be associated
    * @param value a value to be associated with the specified key
    */
   public void put(final PageReference key, final PageContainer value) {
-    if (mMap.containsKey(key)) {
-      mMap.remove(key);
+    if (mMap.remove(key) != null) {
+      mSize -= mWeights.remove(key);
     }
 
     key.setKey(Constants.NULL_ID_LONG);
     key.setLogKey(mLogKey++);
+    reweighLastAccessed(key);
     mMap.put(key, value);
+    final long weight = weigh(value);
+    mWeights.put(key, weight);
+    mSize += weight;
+    spillIfNeeded();
   }
 
   /**
@@ -128,7 +258,10 @@ public final class TransactionIntentLog implements AutoCloseable {
    */
   public void clear() {
     mLogKey = 0;
+    mSize = 0;
     mMap.clear();
+    mWeights.clear();
+    mLastAccessedKey = null;
   }
 
   /**
@@ -171,13 +304,19 @@ public final class TransactionIntentLog implements AutoCloseable {
   public TransactionIntentLog truncate() {
     mSecondCache.close();
     mMapToPersistentLogKey.clear();
+    mSize = 0;
     mMap.clear();
+    mWeights.clear();
+    mLastAccessedKey = null;
     return this;
   }
 
   @Override
   public void close() {
+    mSize = 0;
     mMap.clear();
+    mWeights.clear();
+    mLastAccessedKey = null;
     mSecondCache.close();
   }
 }
@@ -0,0 +1,19 @@
+package org.sirix.index;
+
+/**
+ * An index builder, which buffers the index entries while the resource is traversed and writes them
+ * to the index, once the traversal is finished. It must be closed afterwards, even if the traversal
+ * failed, such that the resources used for buffering are released.
+ */
+public interface BufferingIndexBuilder extends AutoCloseable {
+  /**
+   * Write the buffered index entries to the index.
+   */
+  void finish();
+
+  /**
+   * Discard the index entries, which haven't been written to the index.
+   */
+  @Override
+  void close();
+}
@@ -26,7 +26,7 @@ public final class IndexAxis<K extends Comparable<? super K>>
       final AVLNode<K, NodeReferences> node = mIter.next();
       boolean filterResult = true;
       for (final Filter filter : mFilter) {
-        filterResult = filterResult && filter.filter(node);
+        filterResult = filterResult && filter.filter(node.getKey());
         if (!filterResult) {
           break;
         }
@@ -26,11 +26,16 @@ public final class IndexBuilder {
     final long nodeKey = rtx.getNodeKey();
     rtx.moveToDocumentRoot();
 
-    for (@SuppressWarnings("unused")
-    final long key : new NonStructuralWrapperAxis(new DescendantAxis(rtx))) {
-      for (final XmlNodeVisitor builder : builders) {
-        rtx.acceptVisitor(builder);
+    try {
+      for (@SuppressWarnings("unused")
+      final long key : new NonStructuralWrapperAxis(new DescendantAxis(rtx))) {
+        for (final XmlNodeVisitor builder : builders) {
+          rtx.acceptVisitor(builder);
+        }
       }
+      finish(builders);
+    } finally {
+      close(builders);
     }
     rtx.moveTo(nodeKey);
   }
@@ -45,13 +50,44 @@ public final class IndexBuilder {
     final long nodeKey = rtx.getNodeKey();
     rtx.moveToDocumentRoot();
 
-    for (@SuppressWarnings("unused")
-    final long key : new DescendantAxis(rtx)) {
-      for (final JsonNodeVisitor builder : builders) {
-        rtx.acceptVisitor(builder);
+    try {
+      for (@SuppressWarnings("unused")
+      final long key : new DescendantAxis(rtx)) {
+        for (final JsonNodeVisitor builder : builders) {
+          rtx.acceptVisitor(builder);
+        }
       }
+      finish(builders);
+    } finally {
+      close(builders);
     }
     rtx.moveTo(nodeKey);
   }
 
+  /**
+   * Write the index entries buffered by the builders to the indexes.
+   *
+   * @param builders the index builders
+   */
+  private static void finish(final Set<?> builders) {
+    for (final Object builder : builders) {
+      if (builder instanceof BufferingIndexBuilder) {
+        ((BufferingIndexBuilder) builder).finish();
+      }
+    }
+  }
+
+  /**
+   * Release the buffers of the builders, also if the index couldn't be built.
+   *
+   * @param builders the index builders
+   */
+  private static void close(final Set<?> builders) {
+    for (final Object builder : builders) {
+      if (builder instanceof BufferingIndexBuilder) {
+        ((BufferingIndexBuilder) builder).close();
+      }
+    }
+  }
+
 }
@@ -27,6 +27,8 @@ public final class IndexDef implements Materializable {
 
   private static final QNm UNIQUE_ATTRIBUTE = new QNm("unique");
 
+  private static final QNm STRUCTURE_ATTRIBUTE = new QNm("structure");
+
   private static final QNm CONTENT_TYPE_ATTRIBUTE = new QNm("keyType");
 
   private static final QNm TYPE_ATTRIBUTE = new QNm("type");
@@ -46,6 +48,9 @@ public final class IndexDef implements Materializable {
   // populated when index is built
   private int mID;
 
+  // the tree structure backing the index
+  private IndexStructure mStructure = IndexStructure.AVL_TREE;
+
   private final Set<Path<QNm>> mPaths = new HashSet<>();
 
   private final Set<QNm> mExcluded = new HashSet<>();
@@ -85,6 +90,20 @@ public final class IndexDef implements Materializable {
     mID = indexDefNo;
   }
 
+  /**
+   * Copy of an index definition, which is backed by another tree structure.
+   */
+  IndexDef(final IndexDef indexDef, final IndexStructure structure) {
+    mType = indexDef.mType;
+    mUnique = indexDef.mUnique;
+    mContentType = indexDef.mContentType;
+    mID = indexDef.mID;
+    mPaths.addAll(indexDef.mPaths);
+    mExcluded.addAll(indexDef.mExcluded);
+    mIncluded.addAll(indexDef.mIncluded);
+    mStructure = checkNotNull(structure);
+  }
+
   @Override
   public Node<?> materialize() throws DocumentException {
     final FragmentHelper tmp = new FragmentHelper();
@@ -101,6 +120,10 @@ public final class IndexDef implements Materializable {
       tmp.attribute(UNIQUE_ATTRIBUTE, new Una(Boolean.toString(mUnique)));
     }
 
+    if (mStructure != IndexStructure.AVL_TREE) {
+      tmp.attribute(STRUCTURE_ATTRIBUTE, new Una(mStructure.toString()));
+    }
+
     if (mPaths != null && !mPaths.isEmpty()) {
       for (final Path<QNm> path : mPaths) {
         tmp.openElement(PATH_TAG);
@@ -173,6 +196,11 @@ public final class IndexDef implements Materializable {
       mUnique = (Boolean.valueOf(attribute.getValue().stringValue()));
     }
 
+    attribute = root.getAttribute(STRUCTURE_ATTRIBUTE);
+    if (attribute != null) {
+      mStructure = (IndexStructure.valueOf(attribute.getValue().stringValue()));
+    }
+
     final Stream<? extends Node<?>> children = root.getChildren();
 
     try {
@@ -246,6 +274,10 @@ public final class IndexDef implements Materializable {
     return mType;
   }
 
+  public IndexStructure getStructure() {
+    return mStructure;
+  }
+
   public Set<Path<QNm>> getPaths() {
     return Collections.unmodifiableSet(mPaths);
   }
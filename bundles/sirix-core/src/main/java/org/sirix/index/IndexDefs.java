@@ -101,4 +101,15 @@ public final class IndexDefs {
         throw new IllegalStateException("Type " + type + " not known.");
     }
   }
+
+  /**
+   * Create a copy of an {@link IndexDef}, which is backed by the given tree structure.
+   *
+   * @param indexDef the index definition to copy
+   * @param structure the tree structure backing the index
+   * @return a new {@link IndexDef} instance
+   */
+  public static IndexDef withStructure(final IndexDef indexDef, final IndexStructure structure) {
+    return new IndexDef(indexDef, structure);
+  }
 }
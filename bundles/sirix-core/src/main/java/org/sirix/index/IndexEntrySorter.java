@@ -0,0 +1,305 @@
+package org.sirix.index;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.annotation.Nonnegative;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.KeyKind;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Maps;
+
+/**
+ * Sorts the {@code (key, nodeKey)} pairs collected while an index is built, such that the index
+ * entries are written to the index structure in key order afterwards instead of being inserted one
+ * node at a time. If more pairs are buffered than fit into memory, the buffer is sorted and spilled
+ * to a run file, and the runs are merged once all pairs have been added.
+ *
+ * @param <K> the key
+ */
+public final class IndexEntrySorter<K extends Comparable<? super K>> implements AutoCloseable {
+
+  /** Default maximum number of pairs buffered in memory. */
+  public static final int DEFAULT_MAX_BUFFERED_ENTRIES = 1 << 20;
+
+  /** The kind of keys, which determines how keys are spilled. */
+  private final KeyKind mKeyKind;
+
+  /** The directory, in which the run files are created. */
+  private final Path mSpillDirectory;
+
+  /** Maximum number of pairs buffered in memory. */
+  private final int mMaxBufferedEntries;
+
+  /** The buffered pairs. */
+  private List<Pair<K>> mBuffer;
+
+  /** The run files. */
+  private final List<Path> mRuns;
+
+  /** The open run readers. */
+  private final List<DataInputStream> mRunReaders;
+
+  /**
+   * Constructor.
+   *
+   * @param keyKind the kind of keys
+   * @param spillDirectory the directory, in which the run files are created
+   * @param maxBufferedEntries maximum number of pairs buffered in memory
+   */
+  public IndexEntrySorter(final KeyKind keyKind, final Path spillDirectory,
+      final @Nonnegative int maxBufferedEntries) {
+    checkArgument(maxBufferedEntries > 0, "maxBufferedEntries must be > 0!");
+    mKeyKind = checkNotNull(keyKind);
+    mSpillDirectory = checkNotNull(spillDirectory);
+    mMaxBufferedEntries = maxBufferedEntries;
+    mBuffer = new ArrayList<>();
+    mRuns = new ArrayList<>();
+    mRunReaders = new ArrayList<>();
+  }
+
+  /**
+   * Get a new instance, which spills to the transaction log directory of the resource.
+   *
+   * @param pageTrx the page transaction, which builds the index
+   * @param type the type of the index
+   * @return new sorter instance
+   */
+  public static <K extends Comparable<? super K>> IndexEntrySorter<K> getInstance(final PageReadOnlyTrx pageTrx,
+      final IndexType type) {
+    final Path spillDirectory = pageTrx.getResourceManager()
+                                       .getResourceConfig()
+                                       .getResource()
+                                       .resolve(ResourceConfiguration.ResourcePaths.TRANSACTION_INTENT_LOG.getPath());
+    return new IndexEntrySorter<>(KeyKind.getKind(type), spillDirectory, DEFAULT_MAX_BUFFERED_ENTRIES);
+  }
+
+  /**
+   * Add a pair.
+   *
+   * @param key the key
+   * @param nodeKey the node key, which is referenced by the key
+   * @throws SirixIOException if the buffer couldn't be spilled
+   */
+  public void add(final K key, final @Nonnegative long nodeKey) {
+    mBuffer.add(new Pair<>(checkNotNull(key), nodeKey));
+    if (mBuffer.size() >= mMaxBufferedEntries) {
+      spill();
+    }
+  }
+
+  /**
+   * Get the index entries in ascending key order, whereas the node keys of equal keys are grouped
+   * into one entry. Must only be called once, after all pairs have been added.
+   *
+   * @return the index entries
+   * @throws SirixIOException if the runs couldn't be read
+   */
+  public Iterator<Map.Entry<K, NodeReferences>> sortedEntries() {
+    final List<Iterator<Pair<K>>> runs = new ArrayList<>(mRuns.size() + 1);
+    try {
+      for (final Path run : mRuns) {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+        mRunReaders.add(input);
+        runs.add(new RunIterator(input));
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mBuffer.sort(Pair::compareTo);
+    runs.add(mBuffer.iterator());
+    mBuffer = new ArrayList<>();
+
+    return new GroupingIterator(runs.size() == 1
+        ? runs.get(0)
+        : new MergingIterator<>(runs));
+  }
+
+  /**
+   * Delete the run files.
+   *
+   * @throws SirixIOException if a run file couldn't be deleted
+   */
+  @Override
+  public void close() {
+    try {
+      for (final DataInputStream input : mRunReaders) {
+        input.close();
+      }
+      mRunReaders.clear();
+      for (final Path run : mRuns) {
+        Files.deleteIfExists(run);
+      }
+      mRuns.clear();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private void spill() {
+    mBuffer.sort(Pair::compareTo);
+    try {
+      Files.createDirectories(mSpillDirectory);
+      final Path run = Files.createTempFile(mSpillDirectory, "index-build", ".run");
+      mRuns.add(run);
+      try (final DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+        output.writeInt(mBuffer.size());
+        for (final Pair<K> pair : mBuffer) {
+          mKeyKind.serialize(output, pair.mKey);
+          putVarLong(output, pair.mNodeKey);
+        }
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    mBuffer.clear();
+  }
+
+  /**
+   * A key and a node key.
+   */
+  private static final class Pair<K extends Comparable<? super K>> implements Comparable<Pair<K>> {
+    private final K mKey;
+
+    private final long mNodeKey;
+
+    Pair(final K key, final long nodeKey) {
+      mKey = key;
+      mNodeKey = nodeKey;
+    }
+
+    @Override
+    public int compareTo(final Pair<K> other) {
+      final int result = mKey.compareTo(other.mKey);
+      return result == 0
+          ? Long.compare(mNodeKey, other.mNodeKey)
+          : result;
+    }
+  }
+
+  /**
+   * Reads the sorted pairs of a run file.
+   */
+  private final class RunIterator extends AbstractIterator<Pair<K>> {
+    private final DataInputStream mInput;
+
+    private int mRemaining;
+
+    RunIterator(final DataInputStream input) throws IOException {
+      mInput = input;
+      mRemaining = input.readInt();
+    }
+
+    @Override
+    protected Pair<K> computeNext() {
+      if (mRemaining == 0) {
+        return endOfData();
+      }
+      mRemaining--;
+      try {
+        @SuppressWarnings("unchecked")
+        final K key = (K) mKeyKind.deserialize(mInput);
+        return new Pair<>(key, getVarLong(mInput));
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted runs.
+   */
+  private static final class MergingIterator<K extends Comparable<? super K>> extends AbstractIterator<Pair<K>> {
+    /** The runs ordered by their next pair. */
+    private final PriorityQueue<Head<K>> mHeads;
+
+    MergingIterator(final List<Iterator<Pair<K>>> runs) {
+      mHeads = new PriorityQueue<>(runs.size(), Comparator.comparing((Head<K> head) -> head.mPair));
+      for (final Iterator<Pair<K>> run : runs) {
+        if (run.hasNext()) {
+          mHeads.add(new Head<>(run.next(), run));
+        }
+      }
+    }
+
+    @Override
+    protected Pair<K> computeNext() {
+      final Head<K> head = mHeads.poll();
+      if (head == null) {
+        return endOfData();
+      }
+      final Pair<K> pair = head.mPair;
+      if (head.mRun.hasNext()) {
+        mHeads.add(new Head<>(head.mRun.next(), head.mRun));
+      }
+      return pair;
+    }
+  }
+
+  /**
+   * The next pair of a run.
+   */
+  private static final class Head<K extends Comparable<? super K>> {
+    private final Pair<K> mPair;
+
+    private final Iterator<Pair<K>> mRun;
+
+    Head(final Pair<K> pair, final Iterator<Pair<K>> run) {
+      mPair = pair;
+      mRun = run;
+    }
+  }
+
+  /**
+   * Groups the node keys of equal keys.
+   */
+  private final class GroupingIterator extends AbstractIterator<Map.Entry<K, NodeReferences>> {
+    private final Iterator<Pair<K>> mPairs;
+
+    private Pair<K> mNext;
+
+    GroupingIterator(final Iterator<Pair<K>> pairs) {
+      mPairs = pairs;
+      mNext = pairs.hasNext()
+          ? pairs.next()
+          : null;
+    }
+
+    @Override
+    protected Map.Entry<K, NodeReferences> computeNext() {
+      if (mNext == null) {
+        return endOfData();
+      }
+      final K key = mNext.mKey;
+      final NodeReferences nodeKeys = new NodeReferences().addNodeKey(mNext.mNodeKey);
+      mNext = null;
+      while (mPairs.hasNext()) {
+        final Pair<K> pair = mPairs.next();
+        if (pair.mKey.compareTo(key) != 0) {
+          mNext = pair;
+          break;
+        }
+        nodeKeys.addNodeKey(pair.mNodeKey);
+      }
+      return Maps.immutableEntry(key, nodeKeys.optimize());
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package org.sirix.index;
+
+/**
+ * The tree structure, which backs an index.
+ */
+public enum IndexStructure {
+  /** Balanced binary search tree, one record per index entry. */
+  AVL_TREE,
+
+  /** B+-tree with high fan-out nodes and sibling-linked leaves. */
+  BPLUS_TREE;
+}
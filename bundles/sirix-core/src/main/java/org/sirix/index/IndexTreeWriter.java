@@ -0,0 +1,99 @@
+package org.sirix.index;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import org.sirix.api.PageTrx;
+import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.avltree.interfaces.References;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeWriter;
+import org.sirix.node.interfaces.Record;
+import org.sirix.page.UnorderedKeyValuePage;
+
+/**
+ * Writes the entries of an index to the tree structure backing the index.
+ *
+ * @param <K> the key to search for or insert
+ * @param <V> the value
+ */
+public interface IndexTreeWriter<K extends Comparable<? super K>, V extends References> {
+
+  /**
+   * Get a new writer for the tree structure of the given index definition.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param indexDef the index definition
+   * @return new writer instance
+   */
+  static <K extends Comparable<? super K>> IndexTreeWriter<K, NodeReferences> getInstance(
+      final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexDef indexDef) {
+    switch (indexDef.getStructure()) {
+      case BPLUS_TREE:
+        return BPlusTreeWriter.getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+      case AVL_TREE:
+        return AVLTreeWriter.getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+      default:
+        throw new IllegalStateException("Index structure " + indexDef.getStructure() + " not known.");
+    }
+  }
+
+  /**
+   * Finds the specified key in the index and returns its value.
+   *
+   * @param key key to be found
+   * @param mode the search mode
+   * @return {@link Optional} reference (with the found value, or a reference which indicates that the
+   *         value hasn't been found)
+   */
+  Optional<V> get(K key, SearchMode mode);
+
+  /**
+   * Stores the value of a key. The key is inserted, if it isn't indexed yet.
+   *
+   * @param key the key to index
+   * @param value node key references
+   * @return indexed node key references
+   */
+  V index(K key, V value);
+
+  /**
+   * Add a node key to the value of a key. The key is inserted, if it isn't indexed yet.
+   *
+   * @param key the key to index
+   * @param nodeKey the node key to add to the value
+   */
+  void add(K key, @Nonnegative long nodeKey);
+
+  /**
+   * Remove a node key from the value of a key.
+   *
+   * @param key the key for which to search the value
+   * @param nodeKey the nodeKey to remove from the value
+   * @return {@code true}, if the node key has been removed, {@code false} otherwise
+   */
+  boolean remove(K key, @Nonnegative long nodeKey);
+
+  /**
+   * Stores index entries, whose keys are unique and sorted in ascending order. The node keys of
+   * already indexed keys are added to the stored values.
+   *
+   * @param entries the index entries
+   */
+  default void bulkLoad(final Iterator<Map.Entry<K, V>> entries) {
+    while (entries.hasNext()) {
+      final Map.Entry<K, V> entry = entries.next();
+      final Optional<V> indexedValue = get(entry.getKey(), SearchMode.EQUAL);
+      if (indexedValue.isPresent()) {
+        final V value = indexedValue.get();
+        for (final long nodeKey : entry.getValue().getNodeKeys()) {
+          value.addNodeKey(nodeKey);
+        }
+        index(entry.getKey(), value);
+      } else {
+        index(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+}
@@ -2,6 +2,9 @@ package org.sirix.index.avltree;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
@@ -10,10 +13,12 @@ import org.sirix.api.NodeCursor;
 import org.sirix.api.PageTrx;
 import org.sirix.cache.PageContainer;
 import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
 import org.sirix.index.avltree.interfaces.References;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.interfaces.Node;
 import org.sirix.node.interfaces.Record;
@@ -37,7 +42,7 @@ import org.slf4j.LoggerFactory;
  * @param <V> the value
  */
 public final class AVLTreeWriter<K extends Comparable<? super K>, V extends References>
-    extends AbstractForwardingNodeCursor {
+    extends AbstractForwardingNodeCursor implements IndexTreeWriter<K, V> {
   /** Logger. */
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(AVLTreeWriter.class));
 
@@ -103,6 +108,21 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
     return new AVLTreeWriter<K, V>(pageWriteTrx, type, index);
   }
 
+  /**
+   * Checks if the specified token is already indexed; if yes, returns its reference. Otherwise,
+   * creates a new index entry and returns a reference of the indexed token. The cursor isn't moved
+   * before, that is the search starts at the node found by the last {@link #get(Comparable, SearchMode)}.
+   *
+   * @param key token to be indexed
+   * @param value node key references
+   * @return indexed node key references
+   * @throws SirixIOException if an I/O error occurs
+   */
+  @Override
+  public V index(final K key, final V value) throws SirixIOException {
+    return index(key, value, MoveCursor.NO_MOVE);
+  }
+
   /**
    * Checks if the specified token is already indexed; if yes, returns its reference. Otherwise,
    * creates a new index entry and returns a reference of the indexed token.
@@ -181,6 +201,105 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
     }
   }
 
+  /**
+   * Stores index entries, whose keys are unique and sorted in ascending order. If the index is
+   * empty, the entries are stored in ascending node key order and linked afterwards to a balanced
+   * tree, whose nodes on the last level are marked as changed, that is without any key comparisons
+   * and rotations. Otherwise the entries are inserted one by one.
+   *
+   * @param entries the index entries
+   * @throws SirixIOException if an I/O error occurs
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public void bulkLoad(final Iterator<Map.Entry<K, V>> entries) {
+    checkNotNull(entries);
+    moveToDocumentRoot();
+    if (((XmlDocumentRootNode) getNode()).hasFirstChild()) {
+      IndexTreeWriter.super.bulkLoad(entries);
+      return;
+    }
+
+    final RevisionRootPage root = mPageWriteTrx.getActualRevisionRootPage();
+    final long firstNodeKey = getNewNodeKey(root);
+    long size = 0;
+    while (entries.hasNext()) {
+      final Map.Entry<K, V> entry = entries.next();
+      final long nodeKey = getNewNodeKey(root);
+      checkState(nodeKey == firstNodeKey + size, "Node keys of the index entries are not consecutive.");
+      mPageWriteTrx.createEntry(nodeKey,
+          new AVLNode<>(entry.getKey(), entry.getValue(),
+              new NodeDelegate(nodeKey, Fixed.NULL_NODE_KEY.getStandardProperty(), null, null, 0, null)),
+          mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
+      size++;
+    }
+    if (size == 0) {
+      return;
+    }
+
+    // Only the nodes on the last level are marked as changed, if it isn't complete.
+    final int lastLevel = 63 - Long.numberOfLeadingZeros(size);
+    final int changedLevel = Long.bitCount(size + 1) == 1
+        ? -1
+        : lastLevel;
+    final long rootKey = link(firstNodeKey, 0, size, Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), 0, changedLevel);
+
+    final XmlDocumentRootNode document =
+        (XmlDocumentRootNode) mPageWriteTrx.prepareEntryForModification(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(),
+            mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
+    document.setFirstChildKey(rootKey);
+    document.incrementChildCount();
+    document.setDescendantCount(document.getDescendantCount() + size);
+  }
+
+  /**
+   * Link the nodes of a range of index entries to a balanced subtree, whereas the middle entry
+   * becomes the root of the subtree.
+   *
+   * @param firstNodeKey the node key of the first index entry
+   * @param from the index of the first entry of the range (inclusive)
+   * @param to the index of the last entry of the range (exclusive)
+   * @param parentKey the node key of the parent node of the subtree
+   * @param level the level of the root of the subtree
+   * @param changedLevel the level of the nodes, which are marked as changed
+   * @return the node key of the root of the subtree
+   * @throws SirixIOException if an I/O error occurs
+   */
+  @SuppressWarnings("unchecked")
+  private long link(final long firstNodeKey, final long from, final long to, final long parentKey, final int level,
+      final int changedLevel) {
+    final long middle = (from + to) >>> 1;
+    final long nodeKey = firstNodeKey + middle;
+    final long leftChildKey = from < middle
+        ? link(firstNodeKey, from, middle, nodeKey, level + 1, changedLevel)
+        : Fixed.NULL_NODE_KEY.getStandardProperty();
+    final long rightChildKey = middle + 1 < to
+        ? link(firstNodeKey, middle + 1, to, nodeKey, level + 1, changedLevel)
+        : Fixed.NULL_NODE_KEY.getStandardProperty();
+    final AVLNode<K, V> node = (AVLNode<K, V>) mPageWriteTrx.prepareEntryForModification(nodeKey,
+        mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
+    node.setParentKey(parentKey);
+    node.setChanged(level == changedLevel);
+    node.setLeftChildKey(leftChildKey);
+    node.setRightChildKey(rightChildKey);
+    return nodeKey;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public void add(final K key, final @Nonnegative long nodeKey) {
+    checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+    final Optional<V> value = mAVLTreeReader.get(checkNotNull(key), SearchMode.EQUAL);
+    if (!value.isPresent()) {
+      // The cursor is located at the node, below which the key has to be inserted.
+      index(key, (V) new NodeReferences().addNodeKey(nodeKey));
+    } else if (!value.get().isPresent(nodeKey)) {
+      final AVLNode<K, V> node = (AVLNode<K, V>) mPageWriteTrx.prepareEntryForModification(
+          mAVLTreeReader.getNodeKey(), mAVLTreeReader.mPageKind, mAVLTreeReader.mIndex);
+      node.getValue().addNodeKey(nodeKey);
+    }
+  }
+
   /**
    * Get the new maximum node key.
    *
@@ -211,6 +330,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
    * @param nodeKey the nodeKey to remove from the value
    * @throws SirixIOException if an I/O error occured
    */
+  @Override
   public boolean remove(final K key, final @Nonnegative long nodeKey) throws SirixIOException {
     checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
     final Optional<V> searchedValue = mAVLTreeReader.get(checkNotNull(key), SearchMode.EQUAL);
@@ -478,6 +598,7 @@ public final class AVLTreeWriter<K extends Comparable<? super K>, V extends Refe
    * @return {@link Optional} reference (with the found value, or a reference which indicates that the
    *         value hasn't been found)
    */
+  @Override
   public Optional<V> get(final K key, final SearchMode mode) {
     return mAVLTreeReader.get(checkNotNull(key), checkNotNull(mode));
   }
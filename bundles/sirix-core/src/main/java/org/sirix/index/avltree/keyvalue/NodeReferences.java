@@ -1,29 +1,38 @@
 package org.sirix.index.avltree.keyvalue;
 
-import java.util.Collections;
-import java.util.HashSet;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Set;
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
 import org.sirix.index.avltree.interfaces.References;
 import com.google.common.base.MoreObjects;
-import com.google.common.base.Objects;
 
 /**
- * Text node-ID references.
+ * Text node-ID references. The node keys are stored in a compressed 64-bit bitmap, such that dense
+ * ranges of node keys take only a few bits per key and index intersections and unions are bitmap
+ * operations.
  *
  * @author Johannes Lichtenberger
  *
  */
 public final class NodeReferences implements References {
-  /** A {@link Set} of node-keys. */
-  private final Set<Long> mNodeKeys;
+  /** The node keys. */
+  private final Roaring64NavigableMap mNodeKeys;
 
   /**
    * Default constructor.
    */
   public NodeReferences() {
-    mNodeKeys = new HashSet<>();
+    mNodeKeys = new Roaring64NavigableMap();
   }
 
   /**
@@ -32,6 +41,14 @@ public final class NodeReferences implements References {
    * @param nodeKeys node keys
    */
   public NodeReferences(final Set<Long> nodeKeys) {
+    this();
+    for (final long nodeKey : nodeKeys) {
+      mNodeKeys.addLong(nodeKey);
+    }
+    mNodeKeys.runOptimize();
+  }
+
+  private NodeReferences(final Roaring64NavigableMap nodeKeys) {
     mNodeKeys = nodeKeys;
   }
 
@@ -40,25 +57,206 @@ public final class NodeReferences implements References {
     return mNodeKeys.contains(nodeKey);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The view is backed by the bitmap and iterates over the node keys in ascending order. Use
+   * {@link #nodeKeyIterator()} to avoid boxing the node keys.
+   * </p>
+   */
   @Override
   public Set<Long> getNodeKeys() {
-    return Collections.unmodifiableSet(mNodeKeys);
+    return new AbstractSet<Long>() {
+      @Override
+      public Iterator<Long> iterator() {
+        return nodeKeyIterator();
+      }
+
+      @Override
+      public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, mNodeKeys.getLongCardinality());
+      }
+
+      @Override
+      public boolean contains(final Object o) {
+        return o instanceof Long && mNodeKeys.contains((Long) o);
+      }
+
+      @Override
+      public boolean isEmpty() {
+        return mNodeKeys.isEmpty();
+      }
+    };
+  }
+
+  /**
+   * Get an iterator over the node keys in ascending order.
+   *
+   * @return the node key iterator
+   */
+  public PrimitiveIterator.OfLong nodeKeyIterator() {
+    final LongIterator iterator = mNodeKeys.getLongIterator();
+    return new PrimitiveIterator.OfLong() {
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public long nextLong() {
+        if (!iterator.hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return iterator.next();
+      }
+    };
+  }
+
+  /**
+   * Get the number of node keys.
+   *
+   * @return the number of node keys
+   */
+  public long getCardinality() {
+    return mNodeKeys.getLongCardinality();
   }
 
   @Override
   public NodeReferences addNodeKey(final @Nonnegative long nodeKey) {
-    mNodeKeys.add(nodeKey);
+    mNodeKeys.addLong(nodeKey);
     return this;
   }
 
   @Override
   public boolean removeNodeKey(@Nonnegative long nodeKey) {
-    return mNodeKeys.remove(nodeKey);
+    if (!mNodeKeys.contains(nodeKey)) {
+      return false;
+    }
+    mNodeKeys.removeLong(nodeKey);
+    return true;
+  }
+
+  /**
+   * Get a copy of the node references, which can be modified independently.
+   *
+   * @return the copy
+   */
+  public NodeReferences copy() {
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    nodeKeys.or(mNodeKeys);
+    return new NodeReferences(nodeKeys);
+  }
+
+  /**
+   * Get the node keys, which are referenced by these and by other node references.
+   *
+   * @param other the other node references
+   * @return new node references with the intersection of the node keys
+   */
+  public NodeReferences and(final NodeReferences other) {
+    final NodeReferences result = copy();
+    result.mNodeKeys.and(checkNotNull(other).mNodeKeys);
+    return result;
+  }
+
+  /**
+   * Get the node keys, which are referenced by these or by other node references.
+   *
+   * @param other the other node references
+   * @return new node references with the union of the node keys
+   */
+  public NodeReferences or(final NodeReferences other) {
+    final NodeReferences result = copy();
+    result.mNodeKeys.or(checkNotNull(other).mNodeKeys);
+    return result;
+  }
+
+  /**
+   * Get the node keys, which are referenced by these but not by other node references.
+   *
+   * @param other the other node references
+   * @return new node references with the difference of the node keys
+   */
+  public NodeReferences andNot(final NodeReferences other) {
+    final NodeReferences result = copy();
+    result.mNodeKeys.andNot(checkNotNull(other).mNodeKeys);
+    return result;
+  }
+
+  /**
+   * Get the union of the node keys of several node references, for instance of all index entries
+   * in a range of keys.
+   *
+   * @param references the node references
+   * @return new node references with the union of the node keys
+   */
+  public static NodeReferences union(final Iterator<NodeReferences> references) {
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    while (references.hasNext()) {
+      nodeKeys.or(references.next().mNodeKeys);
+    }
+    return new NodeReferences(nodeKeys);
+  }
+
+  /**
+   * Get the intersection of the node keys of several node references, for instance of the results
+   * of several index lookups.
+   *
+   * @param references the node references
+   * @return new node references with the intersection of the node keys
+   */
+  public static NodeReferences intersection(final Iterator<NodeReferences> references) {
+    if (!references.hasNext()) {
+      return new NodeReferences();
+    }
+    final NodeReferences result = references.next().copy();
+    while (references.hasNext() && result.hasNodeKeys()) {
+      result.mNodeKeys.and(references.next().mNodeKeys);
+    }
+    return result;
+  }
+
+  /**
+   * Run-length encode the containers of the bitmap, if that's smaller. Should be called once, after
+   * the node references of an index entry have been built from many node keys, as the serialization
+   * doesn't optimize the bitmap.
+   *
+   * @return this instance
+   */
+  public NodeReferences optimize() {
+    mNodeKeys.runOptimize();
+    return this;
+  }
+
+  /**
+   * Serialize the node references in the format of {@link Roaring64NavigableMap}, that is the
+   * 32-bit high parts of the node keys, each followed by the bitmap of its low parts. The layout is
+   * specific to the Java implementation of the bitmap.
+   *
+   * @param sink the output to write to
+   * @throws IOException if an I/O error occurs
+   */
+  public void serialize(final DataOutput sink) throws IOException {
+    mNodeKeys.serialize(sink);
+  }
+
+  /**
+   * Deserialize node references, which have been serialized with {@link #serialize(DataOutput)}.
+   *
+   * @param source the input to read from
+   * @return the node references
+   * @throws IOException if an I/O error occurs
+   */
+  public static NodeReferences deserialize(final DataInput source) throws IOException {
+    final Roaring64NavigableMap nodeKeys = new Roaring64NavigableMap();
+    nodeKeys.deserialize(source);
+    return new NodeReferences(nodeKeys);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(mNodeKeys);
+    return mNodeKeys.hashCode();
   }
 
   @Override
@@ -72,11 +270,9 @@ public final class NodeReferences implements References {
 
   @Override
   public String toString() {
-    final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
-    for (final long nodeKey : mNodeKeys) {
-      helper.add("referenced node key", nodeKey);
-    }
-    return helper.toString();
+    return MoreObjects.toStringHelper(this)
+                      .add("number of referenced node keys", mNodeKeys.getLongCardinality())
+                      .toString();
   }
 
   @Override
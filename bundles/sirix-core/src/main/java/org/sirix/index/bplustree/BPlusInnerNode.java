@@ -0,0 +1,174 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnegative;
+import org.sirix.node.NodeKind;
+import org.sirix.node.interfaces.Record;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Inner node of a B+-tree. It stores separator keys and the node keys of its children, whereas the
+ * child at position {@code i} contains all keys, which are greater than or equal to the separator at
+ * position {@code i - 1} and less than the separator at position {@code i}.
+ *
+ * @param <K> the key
+ */
+public final class BPlusInnerNode<K extends Comparable<? super K>> implements Record {
+
+  /** The node key. */
+  private final long mNodeKey;
+
+  /** The revision, in which the node has been created. */
+  private final long mRevision;
+
+  /** The kind of keys. */
+  private final KeyKind mKeyKind;
+
+  /** The sorted separator keys. */
+  private final List<K> mKeys;
+
+  /** The node keys of the children, one more than separator keys. */
+  private long[] mChildKeys;
+
+  /**
+   * Constructor.
+   *
+   * @param nodeKey the node key
+   * @param revision the revision, in which the node has been created
+   * @param keyKind the kind of keys
+   * @param keys the sorted separator keys
+   * @param childKeys the node keys of the children
+   */
+  public BPlusInnerNode(final @Nonnegative long nodeKey, final @Nonnegative long revision, final KeyKind keyKind,
+      final List<K> keys, final long[] childKeys) {
+    assert keys.size() + 1 == childKeys.length;
+    mNodeKey = nodeKey;
+    mRevision = revision;
+    mKeyKind = checkNotNull(keyKind);
+    mKeys = checkNotNull(keys);
+    mChildKeys = checkNotNull(childKeys);
+  }
+
+  @Override
+  public long getNodeKey() {
+    return mNodeKey;
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BPLUS_INNER;
+  }
+
+  @Override
+  public long getRevision() {
+    return mRevision;
+  }
+
+  /**
+   * Get the kind of keys.
+   *
+   * @return the kind of keys
+   */
+  public KeyKind getKeyKind() {
+    return mKeyKind;
+  }
+
+  /**
+   * Get the number of separator keys.
+   *
+   * @return the number of separator keys
+   */
+  public int size() {
+    return mKeys.size();
+  }
+
+  /**
+   * Get the separator key at a position.
+   *
+   * @param position the position
+   * @return the separator key
+   */
+  public K getKey(final int position) {
+    return mKeys.get(position);
+  }
+
+  /**
+   * Get the node key of the child at a position.
+   *
+   * @param position the position
+   * @return the node key of the child
+   */
+  public long getChildKey(final int position) {
+    return mChildKeys[position];
+  }
+
+  /**
+   * Get the position of the child, which contains a key.
+   *
+   * @param key the key
+   * @return the position of the child
+   */
+  public int getChildPosition(final K key) {
+    final int position = Collections.binarySearch(mKeys, key);
+    return position >= 0
+        ? position + 1
+        : -(position + 1);
+  }
+
+  /**
+   * Insert a separator key and the node key of the child, which contains the keys greater than or
+   * equal to the separator.
+   *
+   * @param position the position of the separator key
+   * @param key the separator key
+   * @param childKey the node key of the child
+   */
+  public void insert(final int position, final K key, final long childKey) {
+    mKeys.add(position, checkNotNull(key));
+    final long[] childKeys = new long[mChildKeys.length + 1];
+    System.arraycopy(mChildKeys, 0, childKeys, 0, position + 1);
+    childKeys[position + 1] = childKey;
+    System.arraycopy(mChildKeys, position + 1, childKeys, position + 2, mChildKeys.length - position - 1);
+    mChildKeys = childKeys;
+  }
+
+  /**
+   * Get the separator key, which is moved to the parent, if the node is split.
+   *
+   * @return the separator key
+   */
+  public K getSplitKey() {
+    return mKeys.get(mKeys.size() >>> 1);
+  }
+
+  /**
+   * Move the upper half of the separator keys and children to a new node. The separator in the middle
+   * ({@link #getSplitKey()}) is removed and has to be inserted into the parent by the caller.
+   *
+   * @param nodeKey the node key of the new node
+   * @param revision the revision, in which the new node is created
+   * @return the new node
+   */
+  public BPlusInnerNode<K> split(final @Nonnegative long nodeKey, final @Nonnegative long revision) {
+    final int middle = mKeys.size() >>> 1;
+    final List<K> keys = mKeys.subList(middle + 1, mKeys.size());
+    final BPlusInnerNode<K> right = new BPlusInnerNode<>(nodeKey, revision, mKeyKind, new ArrayList<>(keys),
+        Arrays.copyOfRange(mChildKeys, middle + 1, mChildKeys.length));
+    mKeys.subList(middle, mKeys.size()).clear();
+    mChildKeys = Arrays.copyOf(mChildKeys, middle + 1);
+    return right;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node key", mNodeKey)
+                      .add("keys", mKeys)
+                      .add("children", Arrays.toString(mChildKeys))
+                      .toString();
+  }
+}
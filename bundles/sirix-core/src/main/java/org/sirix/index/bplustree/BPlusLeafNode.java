@@ -0,0 +1,274 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.NodeKind;
+import org.sirix.node.interfaces.Record;
+import org.sirix.settings.Fixed;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Leaf node of a B+-tree. It stores the sorted keys of an index together with their node references
+ * and is linked to its left and right sibling leaves, such that ranges are scanned without
+ * ascending the tree. The node references of an entry, which references too many nodes, are stored
+ * in {@link BPlusReferencesChunk}s instead, in which case the leaf stores a chunk directory, that is
+ * the IDs of the chunks in ascending order, each followed by the node key of the chunk record.
+ *
+ * @param <K> the key
+ */
+public final class BPlusLeafNode<K extends Comparable<? super K>> implements Record {
+
+  /** The node key. */
+  private final long mNodeKey;
+
+  /** The revision, in which the node has been created. */
+  private final long mRevision;
+
+  /** The kind of keys. */
+  private final KeyKind mKeyKind;
+
+  /** The sorted keys. */
+  private final List<K> mKeys;
+
+  /** The node references of the keys, which are empty for chunked entries. */
+  private final List<NodeReferences> mValues;
+
+  /** The chunk directories of the keys, which are {@code null} for entries stored inline. */
+  private final List<long[]> mChunkDirectories;
+
+  /** The node key of the left sibling leaf. */
+  private long mLeftSiblingKey;
+
+  /** The node key of the right sibling leaf. */
+  private long mRightSiblingKey;
+
+  /**
+   * Constructor.
+   *
+   * @param nodeKey the node key
+   * @param revision the revision, in which the node has been created
+   * @param keyKind the kind of keys
+   * @param keys the sorted keys
+   * @param values the node references of the keys
+   * @param chunkDirectories the chunk directories of the keys
+   * @param leftSiblingKey the node key of the left sibling leaf
+   * @param rightSiblingKey the node key of the right sibling leaf
+   */
+  public BPlusLeafNode(final @Nonnegative long nodeKey, final @Nonnegative long revision, final KeyKind keyKind,
+      final List<K> keys, final List<NodeReferences> values, final List<long[]> chunkDirectories,
+      final long leftSiblingKey, final long rightSiblingKey) {
+    assert keys.size() == values.size() && keys.size() == chunkDirectories.size();
+    mNodeKey = nodeKey;
+    mRevision = revision;
+    mKeyKind = checkNotNull(keyKind);
+    mKeys = checkNotNull(keys);
+    mValues = checkNotNull(values);
+    mChunkDirectories = checkNotNull(chunkDirectories);
+    mLeftSiblingKey = leftSiblingKey;
+    mRightSiblingKey = rightSiblingKey;
+  }
+
+  @Override
+  public long getNodeKey() {
+    return mNodeKey;
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BPLUS_LEAF;
+  }
+
+  @Override
+  public long getRevision() {
+    return mRevision;
+  }
+
+  /**
+   * Get the kind of keys.
+   *
+   * @return the kind of keys
+   */
+  public KeyKind getKeyKind() {
+    return mKeyKind;
+  }
+
+  /**
+   * Get the number of keys.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    return mKeys.size();
+  }
+
+  /**
+   * Search a key.
+   *
+   * @param key the key to search
+   * @return the position of the key, if it's stored, otherwise {@code (-(insertion point) - 1)}
+   */
+  public int search(final K key) {
+    return Collections.binarySearch(mKeys, key);
+  }
+
+  /**
+   * Get the key at a position.
+   *
+   * @param position the position
+   * @return the key
+   */
+  public K getKey(final int position) {
+    return mKeys.get(position);
+  }
+
+  /**
+   * Get the node references at a position, which are stored inline.
+   *
+   * @param position the position
+   * @return the node references, which are empty, if the entry is chunked
+   */
+  public NodeReferences getValue(final int position) {
+    return mValues.get(position);
+  }
+
+  /**
+   * Set the node references at a position.
+   *
+   * @param position the position
+   * @param value the node references
+   */
+  public void setValue(final int position, final NodeReferences value) {
+    mValues.set(position, checkNotNull(value));
+    mChunkDirectories.set(position, null);
+  }
+
+  /**
+   * Determines if the node references at a position are stored in chunks.
+   *
+   * @param position the position
+   * @return {@code true}, if the node references are chunked, {@code false} otherwise
+   */
+  public boolean isChunked(final int position) {
+    return mChunkDirectories.get(position) != null;
+  }
+
+  /**
+   * Get the chunk directory at a position.
+   *
+   * @param position the position
+   * @return the chunk directory or {@code null}, if the node references are stored inline
+   */
+  @Nullable
+  public long[] getChunkDirectory(final int position) {
+    return mChunkDirectories.get(position);
+  }
+
+  /**
+   * Set the chunk directory at a position, such that the node references are stored in chunks.
+   *
+   * @param position the position
+   * @param chunkDirectory the chunk directory
+   */
+  public void setChunkDirectory(final int position, final long[] chunkDirectory) {
+    mValues.set(position, new NodeReferences());
+    mChunkDirectories.set(position, checkNotNull(chunkDirectory));
+  }
+
+  /**
+   * Insert a key and its node references.
+   *
+   * @param position the insertion point
+   * @param key the key
+   * @param value the node references
+   */
+  public void insert(final int position, final K key, final NodeReferences value) {
+    mKeys.add(position, checkNotNull(key));
+    mValues.add(position, checkNotNull(value));
+    mChunkDirectories.add(position, null);
+  }
+
+  /**
+   * Insert a key, whose node references are stored in chunks.
+   *
+   * @param position the insertion point
+   * @param key the key
+   * @param chunkDirectory the chunk directory
+   */
+  public void insertChunked(final int position, final K key, final long[] chunkDirectory) {
+    mKeys.add(position, checkNotNull(key));
+    mValues.add(position, new NodeReferences());
+    mChunkDirectories.add(position, checkNotNull(chunkDirectory));
+  }
+
+  /**
+   * Remove a key and its node references.
+   *
+   * @param position the position
+   */
+  public void remove(final int position) {
+    mKeys.remove(position);
+    mValues.remove(position);
+    mChunkDirectories.remove(position);
+  }
+
+  /**
+   * Move the upper half of the keys to a new right sibling leaf. The left sibling key of the former
+   * right sibling has to be adapted by the caller.
+   *
+   * @param nodeKey the node key of the new leaf
+   * @param revision the revision, in which the new leaf is created
+   * @return the new leaf
+   */
+  public BPlusLeafNode<K> split(final @Nonnegative long nodeKey, final @Nonnegative long revision) {
+    final int middle = mKeys.size() >>> 1;
+    final List<K> keys = mKeys.subList(middle, mKeys.size());
+    final List<NodeReferences> values = mValues.subList(middle, mValues.size());
+    final List<long[]> chunkDirectories = mChunkDirectories.subList(middle, mChunkDirectories.size());
+    final BPlusLeafNode<K> right = new BPlusLeafNode<>(nodeKey, revision, mKeyKind, new ArrayList<>(keys),
+        new ArrayList<>(values), new ArrayList<>(chunkDirectories), mNodeKey, mRightSiblingKey);
+    keys.clear();
+    values.clear();
+    chunkDirectories.clear();
+    mRightSiblingKey = nodeKey;
+    return right;
+  }
+
+  public boolean hasLeftSibling() {
+    return mLeftSiblingKey != Fixed.NULL_NODE_KEY.getStandardProperty();
+  }
+
+  public boolean hasRightSibling() {
+    return mRightSiblingKey != Fixed.NULL_NODE_KEY.getStandardProperty();
+  }
+
+  public long getLeftSiblingKey() {
+    return mLeftSiblingKey;
+  }
+
+  public long getRightSiblingKey() {
+    return mRightSiblingKey;
+  }
+
+  public void setLeftSiblingKey(final long leftSiblingKey) {
+    mLeftSiblingKey = leftSiblingKey;
+  }
+
+  public void setRightSiblingKey(final long rightSiblingKey) {
+    mRightSiblingKey = rightSiblingKey;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node key", mNodeKey)
+                      .add("left sibling", mLeftSiblingKey)
+                      .add("right sibling", mRightSiblingKey)
+                      .add("keys", mKeys)
+                      .toString();
+  }
+}
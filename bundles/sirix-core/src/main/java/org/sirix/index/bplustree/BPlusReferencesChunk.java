@@ -0,0 +1,94 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nonnegative;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.NodeKind;
+import org.sirix.node.interfaces.Record;
+import com.google.common.base.MoreObjects;
+
+/**
+ * A chunk of the node references of a B+-tree entry, which references too many nodes to be stored
+ * inline in its leaf. The node keys of an entry are partitioned into chunks by their high bits,
+ * such that each chunk is stored as a separate record and a change of the entry only copies the
+ * affected chunk instead of the whole posting list.
+ */
+public final class BPlusReferencesChunk implements Record {
+
+  /** The number of low bits of the node keys, which are stored in one chunk. */
+  public static final int CHUNK_BITS = 16;
+
+  /** The node key. */
+  private final long mNodeKey;
+
+  /** The revision, in which the chunk has been created. */
+  private final long mRevision;
+
+  /** The node references of the chunk. */
+  private NodeReferences mReferences;
+
+  /**
+   * Constructor.
+   *
+   * @param nodeKey the node key
+   * @param revision the revision, in which the chunk has been created
+   * @param references the node references of the chunk
+   */
+  public BPlusReferencesChunk(final @Nonnegative long nodeKey, final @Nonnegative long revision,
+      final NodeReferences references) {
+    mNodeKey = nodeKey;
+    mRevision = revision;
+    mReferences = checkNotNull(references);
+  }
+
+  /**
+   * Get the chunk ID of a node key.
+   *
+   * @param nodeKey the node key
+   * @return the ID of the chunk, which stores the node key
+   */
+  public static long getChunkId(final long nodeKey) {
+    return nodeKey >>> CHUNK_BITS;
+  }
+
+  @Override
+  public long getNodeKey() {
+    return mNodeKey;
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.BPLUS_REFERENCES_CHUNK;
+  }
+
+  @Override
+  public long getRevision() {
+    return mRevision;
+  }
+
+  /**
+   * Get the node references of the chunk.
+   *
+   * @return the node references
+   */
+  public NodeReferences getReferences() {
+    return mReferences;
+  }
+
+  /**
+   * Set the node references of the chunk.
+   *
+   * @param references the node references
+   */
+  public void setReferences(final NodeReferences references) {
+    mReferences = checkNotNull(references);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node key", mNodeKey)
+                      .add("references", mReferences)
+                      .toString();
+  }
+}
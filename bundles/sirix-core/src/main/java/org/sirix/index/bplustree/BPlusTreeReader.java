@@ -0,0 +1,350 @@
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.index.Filter;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.page.PageKind;
+import org.sirix.settings.Fixed;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+
+/**
+ * Reads a B+-tree, which is stored in the record pages of an index. The document root node of the
+ * index references the root node of the tree and counts the index entries. A lookup fetches one
+ * node per level of the tree, ranges are scanned by following the sibling links of the leaves.
+ *
+ * @param <K> the key to search for
+ */
+public final class BPlusTreeReader<K extends Comparable<? super K>> {
+
+  /** {@link PageReadOnlyTrx} for persistent storage. */
+  final PageReadOnlyTrx mPageReadTrx;
+
+  /** Page kind. */
+  final PageKind mPageKind;
+
+  /** Index number. */
+  final int mIndex;
+
+  /**
+   * Private constructor.
+   *
+   * @param pageReadTrx {@link PageReadOnlyTrx} for persistent storage
+   * @param type kind of index
+   * @param index the index number
+   */
+  private BPlusTreeReader(final PageReadOnlyTrx pageReadTrx, final IndexType type, final int index) {
+    mPageReadTrx = checkNotNull(pageReadTrx);
+    switch (type) {
+      case PATH:
+        mPageKind = PageKind.PATHPAGE;
+        break;
+      case CAS:
+        mPageKind = PageKind.CASPAGE;
+        break;
+      case NAME:
+        mPageKind = PageKind.NAMEPAGE;
+        break;
+      default:
+        throw new IllegalStateException();
+    }
+    mIndex = index;
+  }
+
+  /**
+   * Get a new instance.
+   *
+   * @param pageReadTrx {@link PageReadOnlyTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   * @return new tree instance
+   */
+  public static <K extends Comparable<? super K>> BPlusTreeReader<K> getInstance(final PageReadOnlyTrx pageReadTrx,
+      final IndexType type, final @Nonnegative int index) {
+    return new BPlusTreeReader<>(pageReadTrx, type, index);
+  }
+
+  /**
+   * Finds the specified key in the index and returns its value. If the search mode isn't
+   * {@link SearchMode#EQUAL}, the value of the nearest key satisfying the search mode is returned.
+   *
+   * @param key key to be found
+   * @param mode the search mode
+   * @return {@link Optional} reference (with the found value, or a reference which indicates that the
+   *         value hasn't been found)
+   */
+  public Optional<NodeReferences> get(final K key, final SearchMode mode) {
+    final Iterator<Map.Entry<K, NodeReferences>> entries = iterator(key, mode, k -> true);
+    return entries.hasNext()
+        ? Optional.of(entries.next().getValue())
+        : Optional.empty();
+  }
+
+  /**
+   * Returns the number of index entries.
+   *
+   * @return number of index entries
+   */
+  public long size() {
+    final StructNode document = getDocument();
+    return document == null
+        ? 0
+        : document.getDescendantCount();
+  }
+
+  /**
+   * Iterate over all index entries in ascending key order.
+   *
+   * @return the index entries
+   */
+  public Iterator<Map.Entry<K, NodeReferences>> iterator() {
+    final long rootKey = getRootKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return Collections.emptyIterator();
+    }
+    Record node = getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      node = getNode(((BPlusInnerNode<?>) node).getChildKey(0));
+    }
+    @SuppressWarnings("unchecked")
+    final BPlusLeafNode<K> leaf = (BPlusLeafNode<K>) node;
+    return new EntryIterator(leaf, 0, true, k -> true);
+  }
+
+  /**
+   * Iterate over the index entries, which satisfy a search mode with respect to a key, that is all
+   * entries for which {@code mode.compare(key, entryKey) == 0}. Entries with greater keys are
+   * returned in ascending order, entries with smaller keys in descending order, starting with the
+   * entry nearest to the key. The iteration stops at the first entry, whose key is out of scope.
+   *
+   * @param key the key to search
+   * @param mode the search mode
+   * @param inScope determines if the iteration continues with a key
+   * @return the index entries
+   */
+  public Iterator<Map.Entry<K, NodeReferences>> iterator(final K key, final SearchMode mode,
+      final Predicate<? super K> inScope) {
+    checkNotNull(key);
+    checkNotNull(mode);
+    checkNotNull(inScope);
+    final BPlusLeafNode<K> leaf = getLeaf(key);
+    if (leaf == null) {
+      return Collections.emptyIterator();
+    }
+    final int position = leaf.search(key);
+    final int insertionPoint = position >= 0
+        ? position
+        : -(position + 1);
+    switch (mode) {
+      case EQUAL:
+        return position >= 0 && inScope.test(key)
+            ? Collections.singletonList(Maps.immutableEntry(leaf.getKey(position), getValue(leaf, position)))
+                         .iterator()
+            : Collections.emptyIterator();
+      case LESS:
+        // Entries with keys greater than the key.
+        return new EntryIterator(leaf, position >= 0
+            ? position + 1
+            : insertionPoint, true, inScope);
+      case LESS_OR_EQUAL:
+        // Entries with keys greater than or equal to the key.
+        return new EntryIterator(leaf, insertionPoint, true, inScope);
+      case GREATER:
+        // Entries with keys less than the key.
+        return new EntryIterator(leaf, insertionPoint - 1, false, inScope);
+      case GREATER_OR_EQUAL:
+        // Entries with keys less than or equal to the key.
+        return new EntryIterator(leaf, position >= 0
+            ? position
+            : insertionPoint - 1, false, inScope);
+      default:
+        throw new IllegalStateException("Search mode " + mode + " not known.");
+    }
+  }
+
+  /**
+   * Get the node references of the index entries, whose keys pass a filter.
+   *
+   * @param entries the index entries
+   * @param filter the filter
+   * @return the node references of the filtered entries
+   */
+  public static <K extends Comparable<? super K>> Iterator<NodeReferences> filter(
+      final Iterator<Map.Entry<K, NodeReferences>> entries, final Filter filter) {
+    checkNotNull(filter);
+    return Iterators.transform(Iterators.filter(entries, entry -> filter.filter(entry.getKey())), Map.Entry::getValue);
+  }
+
+  /**
+   * Get the leaf, which contains a key, if it's indexed.
+   *
+   * @param key the key
+   * @return the leaf or {@code null}, if the tree is empty
+   */
+  @Nullable
+  BPlusLeafNode<K> getLeaf(final K key) {
+    final long rootKey = getRootKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return null;
+    }
+    Record node = getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      @SuppressWarnings("unchecked")
+      final BPlusInnerNode<K> innerNode = (BPlusInnerNode<K>) node;
+      node = getNode(innerNode.getChildKey(innerNode.getChildPosition(key)));
+    }
+    @SuppressWarnings("unchecked")
+    final BPlusLeafNode<K> leaf = (BPlusLeafNode<K>) node;
+    return leaf;
+  }
+
+  /**
+   * Get the node references of an entry of a leaf, whereas the chunks of a chunked entry are
+   * combined.
+   *
+   * @param leaf the leaf
+   * @param position the position of the entry
+   * @return the node references
+   */
+  NodeReferences getValue(final BPlusLeafNode<K> leaf, final int position) {
+    final long[] chunkDirectory = leaf.getChunkDirectory(position);
+    return chunkDirectory == null
+        ? leaf.getValue(position)
+        : getChunkedValue(chunkDirectory);
+  }
+
+  /**
+   * Get the node references of a chunked entry, that is the union of its chunks.
+   *
+   * @param chunkDirectory the chunk directory of the entry
+   * @return the node references
+   */
+  NodeReferences getChunkedValue(final long[] chunkDirectory) {
+    final List<NodeReferences> chunks = new ArrayList<>(chunkDirectory.length >>> 1);
+    for (int i = 1; i < chunkDirectory.length; i += 2) {
+      chunks.add(getChunk(chunkDirectory[i]).getReferences());
+    }
+    return NodeReferences.union(chunks.iterator());
+  }
+
+  /**
+   * Get a chunk of the node references of an entry.
+   *
+   * @param nodeKey the node key of the chunk
+   * @return the chunk
+   * @throws IllegalStateException if the chunk couldn't be fetched from persistent storage
+   */
+  BPlusReferencesChunk getChunk(final long nodeKey) {
+    return (BPlusReferencesChunk) getNode(nodeKey);
+  }
+
+  /**
+   * Get the node key of the root node.
+   *
+   * @return the node key of the root node or {@code Fixed.NULL_NODE_KEY}, if the tree is empty
+   */
+  long getRootKey() {
+    final StructNode document = getDocument();
+    return document == null
+        ? Fixed.NULL_NODE_KEY.getStandardProperty()
+        : document.getFirstChildKey();
+  }
+
+  /**
+   * Get a node of the tree.
+   *
+   * @param nodeKey the node key
+   * @return the node
+   * @throws IllegalStateException if the node couldn't be fetched from persistent storage
+   */
+  Record getNode(final long nodeKey) {
+    final Optional<? extends Record> node = mPageReadTrx.getRecord(nodeKey, mPageKind, mIndex);
+    return node.orElseThrow(() -> new IllegalStateException("Node couldn't be fetched from persistent storage!"));
+  }
+
+  @Nullable
+  private StructNode getDocument() {
+    final Optional<? extends Record> document =
+        mPageReadTrx.getRecord(Fixed.DOCUMENT_NODE_KEY.getStandardProperty(), mPageKind, mIndex);
+    return (StructNode) document.orElse(null);
+  }
+
+  /**
+   * Iterates over the entries of the leaves following the sibling links.
+   */
+  private final class EntryIterator extends AbstractIterator<Map.Entry<K, NodeReferences>> {
+
+    /** Determines if the keys are iterated in ascending order. */
+    private final boolean mAscending;
+
+    /** Determines if the iteration continues with a key. */
+    private final Predicate<? super K> mInScope;
+
+    /** The current leaf. */
+    private BPlusLeafNode<K> mLeaf;
+
+    /** The position of the next entry in the current leaf. */
+    private int mPosition;
+
+    /**
+     * Constructor.
+     *
+     * @param leaf the leaf to start with
+     * @param position the position of the first entry in the leaf, which might be out of the bounds
+     *        of the leaf
+     * @param ascending determines if the keys are iterated in ascending order
+     * @param inScope determines if the iteration continues with a key
+     */
+    EntryIterator(final BPlusLeafNode<K> leaf, final int position, final boolean ascending,
+        final Predicate<? super K> inScope) {
+      mLeaf = leaf;
+      mPosition = position;
+      mAscending = ascending;
+      mInScope = inScope;
+    }
+
+    @Override
+    protected Map.Entry<K, NodeReferences> computeNext() {
+      while (mPosition < 0 || mPosition >= mLeaf.size()) {
+        if (mAscending && mLeaf.hasRightSibling()) {
+          @SuppressWarnings("unchecked")
+          final BPlusLeafNode<K> leaf = (BPlusLeafNode<K>) getNode(mLeaf.getRightSiblingKey());
+          mLeaf = leaf;
+          mPosition = 0;
+        } else if (!mAscending && mLeaf.hasLeftSibling()) {
+          @SuppressWarnings("unchecked")
+          final BPlusLeafNode<K> leaf = (BPlusLeafNode<K>) getNode(mLeaf.getLeftSiblingKey());
+          mLeaf = leaf;
+          mPosition = leaf.size() - 1;
+        } else {
+          return endOfData();
+        }
+      }
+
+      final K key = mLeaf.getKey(mPosition);
+      if (!mInScope.test(key)) {
+        return endOfData();
+      }
+      final Map.Entry<K, NodeReferences> entry = Maps.immutableEntry(key, getValue(mLeaf, mPosition));
+      mPosition = mAscending
+          ? mPosition + 1
+          : mPosition - 1;
+      return entry;
+    }
+  }
+}
@@ -1,146 +1,696 @@
-// package org.sirix.index.bplustree;
-//
-// import static com.google.common.base.Preconditions.checkNotNull;
-//
-// import javax.annotation.Nonnull;
-//
-// import org.sirix.api.PageWriteTrx;
-// import org.sirix.exception.SirixIOException;
-// import org.sirix.page.PageKind;
-//
-// public final class BPlusTreeWriter<K extends Comparable<? super K>, V> implements
-// AutoCloseable {
-//
-// private final BPlusTreePageWriteTrx mPageWriteTrx;
-// private final PageKind mKind;
-//
-// private BPlusTreeWriter(final BPlusTreePageWriteTrx pageWriteTrx,
-// final PageKind kind) {
-// mPageWriteTrx = pageWriteTrx;
-// mKind = kind;
-// }
-//
-// /**
-// * Get a new instance.
-// *
-// * @param pageWriteTrx
-// * {@link PageWriteTrx} for persistent storage
-// * @param kind
-// * kind of page
-// * @return new tree instance
-// */
-// public static <KE extends Comparable<? super KE>, VA> BPlusTreeWriter<KE, VA> getInstance(
-// final BPlusTreePageWriteTrx pageWriteTrx, final PageKind kind) {
-// return new BPlusTreeWriter<KE, VA>(checkNotNull(pageWriteTrx), checkNotNull(kind));
-// }
-//
-// /**
-// * Closes the tree storage.
-// *
-// * @throws SirixIOException
-// * I/O exception if closing the BPlusTree fails
-// */
-// @Override
-// public void close() throws SirixIOException {
-//
-// }
-//
-// //
-// // /* ======================== Class Methods ======================== */
-// //
-// // /**
-// // * Returns true if the specified value was found.
-// // * @param value value to be found
-// // * @return true if the value was found
-// // * @throws IOException I/O exception
-// // */
-// // public boolean contains(final V value) throws IOException {
-// // return contains(value, 0);
-// // }
-// //
-// // /**
-// // * Inserts a value into the tree structure.
-// // * If -1 is returned, everything went alright.
-// // * If -2 is returned, the value is already stored.
-// // * @param value value to be added
-// // * @throws IOException I/O exception
-// // */
-// // public void insert(final V value) throws IOException {
-// // if(insert(value, 0) == -1) storage.nrValues++;
-// // }
-// //
-// // /**
-// // * Deletes a value from the tree structure.
-// // * If -1 is returned, everything went alright.
-// // * If -2 is returned, the value was not found.
-// // * @param value value to be deleted
-// // * @throws IOException I/O exception
-// // */
-// // public void delete(final V value) throws IOException {
-// // if(delete(value, storage.root) == -1) storage.nrValues--;
-// // }
-// //
-// // /**
-// // * Returns the number of currently stored values.
-// // * @return number of stored values
-// // */
-// // public int nrValues() {
-// // return storage.nrValues;
-// // }
-// //
-// //
-// // /**
-// // * Dumps the contents of the disk storage to the specified output stream.
-// // * @param out output stream
-// // * @throws IOException I/O exception
-// // */
-// // public void dump(final PrintStream out) throws IOException {
-// // storage.dump(out);
-// // }
-// //
-// // /**
-// // * Recursive method for finding the specified value. The boolean
-// // * value <code>true</code> is returned if the specified value was found
-// // * in a leaf node.
-// // * @param value value to be found
-// // * @param pointer pointer to the current block
-// // * @return true if value has been found; false otherwise
-// // * @throws IOException I/O exception
-// // */
-// // private boolean contains(final V value, final long pointer) throws
-// // IOException {
-// // // get block from disk
-// // mPageWriteTrx.
-// // final BTreeBlock block = storage.read(pointer);
-// // final int size = block.nrValues;
-// //
-// // // check if the current block is a leaf node
-// // if(block.leaf) {
-// // // check if the leaf value is found
-// // int pos = -1;
-// // while(++pos < size) {
-// // // value was found - unpin block and return true
-// // if(value == block.getLeaf(pos)) {
-// // block.unpin();
-// // return true;
-// // }
-// // }
-// // // value was not found - unpin block and return false
-// // block.unpin();
-// // return false;
-// // }
-// //
-// // // no leaf - find child block
-// // int pos = -1;
-// // while(++pos < size) {
-// // // found value is smaller or equal - stop searching
-// // if(value < block.getValue(pos)) break;
-// // }
-// //
-// // // continue with child block
-// // final int child = block.getChild(pos);
-// // block.unpin();
-// // return contains(value, child);
-// // }
-// //
-// }
+package org.sirix.index.bplustree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+import org.sirix.api.PageTrx;
+import org.sirix.cache.PageContainer;
+import org.sirix.exception.SirixIOException;
+import org.sirix.index.IndexTreeWriter;
+import org.sirix.index.IndexType;
+import org.sirix.index.SearchMode;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.StructNode;
+import org.sirix.page.CASPage;
+import org.sirix.page.NamePage;
+import org.sirix.page.PageReference;
+import org.sirix.page.PathPage;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.UnorderedKeyValuePage;
+import org.sirix.settings.Fixed;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a B+-tree, whose nodes are stored as records in the record pages of an index and are thus
+ * versioned just like the AVL tree nodes. Leaves and inner nodes have a high fan-out, such that a
+ * lookup only touches a few records. Entries are removed lazily, that is underfull nodes aren't
+ * merged. The node references of entries, which reference many nodes, are partitioned into
+ * {@link BPlusReferencesChunk}s, such that a change of a huge posting list only copies the changed
+ * chunk in the new revision.
+ *
+ * @param <K> the key to search for or insert
+ */
+public final class BPlusTreeWriter<K extends Comparable<? super K>> implements IndexTreeWriter<K, NodeReferences> {
+  /** Logger. */
+  private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(BPlusTreeWriter.class));
+
+  /** Maximum number of entries of a leaf. */
+  static final int MAX_LEAF_ENTRIES = 64;
+
+  /** Maximum number of children of an inner node. */
+  static final int MAX_CHILDREN = 256;
+
+  /** Maximum number of node references of an entry, which are stored inline in its leaf. */
+  static final int MAX_INLINE_REFERENCES = 4096;
+
+  /** {@link BPlusTreeReader} instance. */
+  private final BPlusTreeReader<K> mReader;
+
+  /** {@link PageTrx} instance. */
+  private final PageTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
+
+  /** The kind of keys. */
+  private final KeyKind mKeyKind;
+
+  /**
+   * Private constructor.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   */
+  private BPlusTreeWriter(final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexType type,
+      final @Nonnegative int index) {
+    try {
+      final RevisionRootPage revisionRootPage = pageWriteTrx.getActualRevisionRootPage();
+      final PageReference reference;
+      switch (type) {
+        case PATH:
+          // Create path index tree if needed.
+          final PathPage pathPage = pageWriteTrx.getPathPage(revisionRootPage);
+          reference = revisionRootPage.getPathPageReference();
+          pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(pathPage, pathPage));
+          pathPage.createPathIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+          break;
+        case CAS:
+          // Create CAS index tree if needed.
+          final CASPage casPage = pageWriteTrx.getCASPage(revisionRootPage);
+          reference = revisionRootPage.getCASPageReference();
+          pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(casPage, casPage));
+          casPage.createCASIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+          break;
+        case NAME:
+          // Create name index tree if needed.
+          final NamePage namePage = pageWriteTrx.getNamePage(revisionRootPage);
+          reference = revisionRootPage.getNamePageReference();
+          pageWriteTrx.appendLogRecord(reference, PageContainer.getInstance(namePage, namePage));
+          namePage.createNameIndexTree(pageWriteTrx, index, pageWriteTrx.getLog());
+          break;
+        default:
+          // Must not happen.
+      }
+    } catch (final SirixIOException e) {
+      LOGGER.error(e.getMessage(), e);
+    }
+    mReader = BPlusTreeReader.getInstance(pageWriteTrx, type, index);
+    mPageWriteTrx = pageWriteTrx;
+    mKeyKind = KeyKind.getKind(type);
+  }
+
+  /**
+   * Get a new instance.
+   *
+   * @param pageWriteTrx {@link PageTrx} for persistent storage
+   * @param type type of index
+   * @param index the index number
+   * @return new tree instance
+   */
+  public static <K extends Comparable<? super K>> BPlusTreeWriter<K> getInstance(
+      final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, final IndexType type, final int index) {
+    return new BPlusTreeWriter<>(checkNotNull(pageWriteTrx), checkNotNull(type), index);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The returned node references are a copy, such that changes have to be stored with
+   * {@link #index(Comparable, NodeReferences)}.
+   * </p>
+   */
+  @Override
+  public Optional<NodeReferences> get(final K key, final SearchMode mode) {
+    return mReader.get(key, mode).map(NodeReferences::copy);
+  }
+
+  @Override
+  public NodeReferences index(final K key, final NodeReferences value) {
+    checkNotNull(key);
+    checkNotNull(value);
+    final long rootKey = mReader.getRootKey();
+    if (rootKey == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      // Index is empty.. create root leaf.
+      final long[] chunkDirectory = isChunked(value, false)
+          ? writeChunks(null, value)
+          : null;
+      final List<K> keys = new ArrayList<>();
+      keys.add(key);
+      final List<NodeReferences> values = new ArrayList<>();
+      values.add(chunkDirectory == null
+          ? value
+          : new NodeReferences());
+      final List<long[]> chunkDirectories = new ArrayList<>();
+      chunkDirectories.add(chunkDirectory);
+      final long nodeKey = getNewNodeKey();
+      mPageWriteTrx.createEntry(nodeKey,
+          new BPlusLeafNode<>(nodeKey, mPageWriteTrx.getRevisionNumber(), mKeyKind, keys, values, chunkDirectories,
+              Fixed.NULL_NODE_KEY.getStandardProperty(), Fixed.NULL_NODE_KEY.getStandardProperty()),
+          mReader.mPageKind, mReader.mIndex);
+      final StructNode document = prepareDocument();
+      document.setFirstChildKey(nodeKey);
+      document.incrementChildCount();
+      document.incrementDescendantCount();
+      return value;
+    }
+
+    // Descend to the leaf and remember the inner nodes on the path.
+    final Deque<Long> path = new ArrayDeque<>();
+    Record node = mReader.getNode(rootKey);
+    while (node instanceof BPlusInnerNode) {
+      @SuppressWarnings("unchecked")
+      final BPlusInnerNode<K> innerNode = (BPlusInnerNode<K>) node;
+      path.push(innerNode.getNodeKey());
+      node = mReader.getNode(innerNode.getChildKey(innerNode.getChildPosition(key)));
+    }
+
+    @SuppressWarnings("unchecked")
+    final BPlusLeafNode<K> indexedLeaf = (BPlusLeafNode<K>) node;
+    final int indexedPosition = indexedLeaf.search(key);
+    final long[] indexedChunkDirectory = indexedPosition >= 0
+        ? indexedLeaf.getChunkDirectory(indexedPosition)
+        : null;
+    final long[] chunkDirectory;
+    if (isChunked(value, indexedChunkDirectory != null)) {
+      chunkDirectory = writeChunks(indexedChunkDirectory, value);
+      if (Arrays.equals(chunkDirectory, indexedChunkDirectory)) {
+        // Only the chunks have changed.
+        return value;
+      }
+    } else {
+      if (indexedChunkDirectory != null) {
+        removeChunks(indexedChunkDirectory);
+      } else if (indexedPosition >= 0 && value.equals(indexedLeaf.getValue(indexedPosition))) {
+        return value;
+      }
+      chunkDirectory = null;
+    }
+
+    final BPlusLeafNode<K> leaf = prepareNode(indexedLeaf.getNodeKey());
+    final int position = leaf.search(key);
+    if (position >= 0) {
+      if (chunkDirectory == null) {
+        leaf.setValue(position, value);
+      } else {
+        leaf.setChunkDirectory(position, chunkDirectory);
+      }
+      return value;
+    }
+
+    if (chunkDirectory == null) {
+      leaf.insert(-(position + 1), key, value);
+    } else {
+      leaf.insertChunked(-(position + 1), key, chunkDirectory);
+    }
+    if (leaf.size() > MAX_LEAF_ENTRIES) {
+      final long nodeKey = getNewNodeKey();
+      final BPlusLeafNode<K> right = leaf.split(nodeKey, mPageWriteTrx.getRevisionNumber());
+      mPageWriteTrx.createEntry(nodeKey, right, mReader.mPageKind, mReader.mIndex);
+      if (right.hasRightSibling()) {
+        final BPlusLeafNode<K> rightSibling = prepareNode(right.getRightSiblingKey());
+        rightSibling.setLeftSiblingKey(nodeKey);
+      }
+      insertIntoParent(path, leaf.getNodeKey(), right.getKey(0), nodeKey);
+    }
+    prepareDocument().incrementDescendantCount();
+    return value;
+  }
+
+  /**
+   * Insert a separator key and the new right node of a split into the parent node, splitting the
+   * parent recursively if it overflows.
+   *
+   * @param path the node keys of the inner nodes on the path from the root to the split node
+   * @param leftKey the node key of the split node
+   * @param separator the smallest key of the new right node
+   * @param rightKey the node key of the new right node
+   */
+  private void insertIntoParent(final Deque<Long> path, final long leftKey, final K separator,
+      final long rightKey) {
+    if (path.isEmpty()) {
+      // The root has been split.. create a new root.
+      final List<K> keys = new ArrayList<>();
+      keys.add(separator);
+      final long nodeKey = getNewNodeKey();
+      mPageWriteTrx.createEntry(nodeKey,
+          new BPlusInnerNode<>(nodeKey, mPageWriteTrx.getRevisionNumber(), mKeyKind, keys,
+              new long[] {leftKey, rightKey}),
+          mReader.mPageKind, mReader.mIndex);
+      prepareDocument().setFirstChildKey(nodeKey);
+      return;
+    }
+
+    final long parentKey = path.pop();
+    final BPlusInnerNode<K> parent = prepareNode(parentKey);
+    parent.insert(parent.getChildPosition(separator), separator, rightKey);
+    if (parent.size() + 1 > MAX_CHILDREN) {
+      final K splitKey = parent.getSplitKey();
+      final long nodeKey = getNewNodeKey();
+      final BPlusInnerNode<K> right = parent.split(nodeKey, mPageWriteTrx.getRevisionNumber());
+      mPageWriteTrx.createEntry(nodeKey, right, mReader.mPageKind, mReader.mIndex);
+      insertIntoParent(path, parentKey, splitKey, nodeKey);
+    }
+  }
+
+  /**
+   * Remove a node key from the value, or remove the whole entry, if no keys are stored anymore.
+   *
+   * @param key the key for which to search the value
+   * @param nodeKey the nodeKey to remove from the value
+   * @return {@code true}, if the node key has been removed, {@code false} otherwise
+   */
+  @Override
+  public boolean remove(final K key, final @Nonnegative long nodeKey) {
+    checkNotNull(key);
+    final BPlusLeafNode<K> indexedLeaf = mReader.getLeaf(key);
+    if (indexedLeaf == null) {
+      return false;
+    }
+    final int indexedPosition = indexedLeaf.search(key);
+    if (indexedPosition < 0) {
+      return false;
+    }
+    final long[] chunkDirectory = indexedLeaf.getChunkDirectory(indexedPosition);
+    if (chunkDirectory != null) {
+      return removeFromChunk(indexedLeaf.getNodeKey(), key, chunkDirectory, nodeKey);
+    }
+    final BPlusLeafNode<K> leaf = prepareNode(indexedLeaf.getNodeKey());
+    final int position = leaf.search(key);
+    final NodeReferences value = leaf.getValue(position);
+    final boolean removed = value.removeNodeKey(nodeKey);
+    if (removed && !value.hasNodeKeys()) {
+      leaf.remove(position);
+      prepareDocument().decrementDescendantCount();
+    }
+    return removed;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * If the node references of the key are stored in chunks, only the chunk of the node key is
+   * modified or created, such that the chunked node references aren't read.
+   * </p>
+   */
+  @Override
+  public void add(final K key, final @Nonnegative long nodeKey) {
+    checkNotNull(key);
+    checkArgument(nodeKey >= 0, "nodeKey must be >= 0!");
+    final BPlusLeafNode<K> indexedLeaf = mReader.getLeaf(key);
+    final int indexedPosition = indexedLeaf == null
+        ? -1
+        : indexedLeaf.search(key);
+    if (indexedPosition < 0) {
+      index(key, new NodeReferences().addNodeKey(nodeKey));
+      return;
+    }
+    final long[] chunkDirectory = indexedLeaf.getChunkDirectory(indexedPosition);
+    if (chunkDirectory == null) {
+      final NodeReferences value = indexedLeaf.getValue(indexedPosition);
+      if (!value.contains(nodeKey)) {
+        index(key, value.copy().addNodeKey(nodeKey));
+      }
+      return;
+    }
+    addToChunk(indexedLeaf.getNodeKey(), key, chunkDirectory, nodeKey);
+  }
+
+  /**
+   * Add a node key to the chunk of a chunked entry, which stores the node keys with the same chunk
+   * ID. If there's no such chunk, it's created and inserted into the chunk directory.
+   *
+   * @param leafKey the node key of the leaf, which stores the entry
+   * @param key the key of the entry
+   * @param chunkDirectory the chunk directory of the entry
+   * @param nodeKey the node key to add
+   */
+  private void addToChunk(final long leafKey, final K key, final long[] chunkDirectory, final long nodeKey) {
+    final long chunkId = BPlusReferencesChunk.getChunkId(nodeKey);
+    final int index = searchChunk(chunkDirectory, chunkId);
+    if (index >= 0) {
+      if (!mReader.getChunk(chunkDirectory[index + 1]).getReferences().contains(nodeKey)) {
+        final BPlusReferencesChunk chunk = prepareNode(chunkDirectory[index + 1]);
+        chunk.getReferences().addNodeKey(nodeKey);
+      }
+      return;
+    }
+
+    // No chunk stores the chunk ID yet.. create a new one.
+    final long chunkKey = getNewNodeKey();
+    mPageWriteTrx.createEntry(chunkKey,
+        new BPlusReferencesChunk(chunkKey, mPageWriteTrx.getRevisionNumber(), new NodeReferences().addNodeKey(nodeKey)),
+        mReader.mPageKind, mReader.mIndex);
+    final int insertionIndex = -(index + 1);
+    final long[] newChunkDirectory = new long[chunkDirectory.length + 2];
+    System.arraycopy(chunkDirectory, 0, newChunkDirectory, 0, insertionIndex);
+    newChunkDirectory[insertionIndex] = chunkId;
+    newChunkDirectory[insertionIndex + 1] = chunkKey;
+    System.arraycopy(chunkDirectory, insertionIndex, newChunkDirectory, insertionIndex + 2,
+        chunkDirectory.length - insertionIndex);
+    final BPlusLeafNode<K> leaf = prepareNode(leafKey);
+    leaf.setChunkDirectory(leaf.search(key), newChunkDirectory);
+  }
+
+  /**
+   * Remove a node key from the chunk of a chunked entry, which stores the node key. Only the chunk is
+   * modified, unless it's empty afterwards, in which case it's removed from the chunk directory.
+   *
+   * @param leafKey the node key of the leaf, which stores the entry
+   * @param key the key of the entry
+   * @param chunkDirectory the chunk directory of the entry
+   * @param nodeKey the node key to remove
+   * @return {@code true}, if the node key has been removed, {@code false} otherwise
+   */
+  private boolean removeFromChunk(final long leafKey, final K key, final long[] chunkDirectory,
+      final long nodeKey) {
+    final int index = searchChunk(chunkDirectory, BPlusReferencesChunk.getChunkId(nodeKey));
+    if (index < 0 || !mReader.getChunk(chunkDirectory[index + 1]).getReferences().contains(nodeKey)) {
+      return false;
+    }
+    final BPlusReferencesChunk chunk = prepareNode(chunkDirectory[index + 1]);
+    chunk.getReferences().removeNodeKey(nodeKey);
+    if (chunk.getReferences().hasNodeKeys()) {
+      return true;
+    }
+
+    // The chunk is empty.. remove it from the chunk directory.
+    mPageWriteTrx.removeEntry(chunkDirectory[index + 1], mReader.mPageKind, mReader.mIndex);
+    final BPlusLeafNode<K> leaf = prepareNode(leafKey);
+    final int position = leaf.search(key);
+    if (chunkDirectory.length == 2) {
+      leaf.remove(position);
+      prepareDocument().decrementDescendantCount();
+    } else {
+      final long[] newChunkDirectory = new long[chunkDirectory.length - 2];
+      System.arraycopy(chunkDirectory, 0, newChunkDirectory, 0, index);
+      System.arraycopy(chunkDirectory, index + 2, newChunkDirectory, index, chunkDirectory.length - index - 2);
+      leaf.setChunkDirectory(position, newChunkDirectory);
+    }
+    return true;
+  }
+
+  /**
+   * Determines if node references are stored in chunks. Chunked entries are only stored inline
+   * again, once they have shrunk to half of the inline limit, such that an entry, whose size varies
+   * around the limit, isn't converted back and forth.
+   *
+   * @param value the node references
+   * @param isChunked determines if the node references are currently stored in chunks
+   * @return {@code true}, if the node references are stored in chunks, {@code false} otherwise
+   */
+  private static boolean isChunked(final NodeReferences value, final boolean isChunked) {
+    return value.getCardinality() > (isChunked
+        ? MAX_INLINE_REFERENCES / 2
+        : MAX_INLINE_REFERENCES);
+  }
+
+  /**
+   * Write the chunks of node references. Only the chunks of the current chunk directory, whose node
+   * keys have changed, are modified, and chunks which have become empty are removed.
+   *
+   * @param chunkDirectory the current chunk directory or {@code null}, if the node references are not
+   *        chunked yet
+   * @param value the node references
+   * @return the new chunk directory
+   */
+  private long[] writeChunks(final @Nullable long[] chunkDirectory, final NodeReferences value) {
+    final NodeReferences currentValue = chunkDirectory == null
+        ? new NodeReferences()
+        : mReader.getChunkedValue(chunkDirectory);
+    final SortedMap<Long, NodeReferences> addedNodeKeys = partition(value.andNot(currentValue));
+    final SortedMap<Long, NodeReferences> removedNodeKeys = partition(currentValue.andNot(value));
+    if (chunkDirectory != null && addedNodeKeys.isEmpty() && removedNodeKeys.isEmpty()) {
+      return chunkDirectory;
+    }
+
+    // The node keys of the chunks by the chunk IDs.
+    final SortedMap<Long, Long> chunkKeys = new TreeMap<>();
+    if (chunkDirectory != null) {
+      for (int i = 0; i < chunkDirectory.length; i += 2) {
+        chunkKeys.put(chunkDirectory[i], chunkDirectory[i + 1]);
+      }
+    }
+
+    for (final Map.Entry<Long, NodeReferences> added : addedNodeKeys.entrySet()) {
+      final Long chunkKey = chunkKeys.get(added.getKey());
+      if (chunkKey == null) {
+        final long nodeKey = getNewNodeKey();
+        mPageWriteTrx.createEntry(nodeKey,
+            new BPlusReferencesChunk(nodeKey, mPageWriteTrx.getRevisionNumber(), added.getValue().optimize()),
+            mReader.mPageKind, mReader.mIndex);
+        chunkKeys.put(added.getKey(), nodeKey);
+      } else {
+        final BPlusReferencesChunk chunk = prepareNode(chunkKey);
+        chunk.setReferences(chunk.getReferences().or(added.getValue()));
+      }
+    }
+
+    for (final Map.Entry<Long, NodeReferences> removed : removedNodeKeys.entrySet()) {
+      final long chunkKey = chunkKeys.get(removed.getKey());
+      final BPlusReferencesChunk chunk = prepareNode(chunkKey);
+      final NodeReferences references = chunk.getReferences().andNot(removed.getValue());
+      if (references.hasNodeKeys()) {
+        chunk.setReferences(references);
+      } else {
+        mPageWriteTrx.removeEntry(chunkKey, mReader.mPageKind, mReader.mIndex);
+        chunkKeys.remove(removed.getKey());
+      }
+    }
+
+    final long[] newChunkDirectory = new long[chunkKeys.size() << 1];
+    int i = 0;
+    for (final Map.Entry<Long, Long> chunkKey : chunkKeys.entrySet()) {
+      newChunkDirectory[i++] = chunkKey.getKey();
+      newChunkDirectory[i++] = chunkKey.getValue();
+    }
+    return newChunkDirectory;
+  }
+
+  /**
+   * Partition node keys by their chunk IDs.
+   *
+   * @param value the node references
+   * @return the node references of each chunk by the chunk IDs
+   */
+  private static SortedMap<Long, NodeReferences> partition(final NodeReferences value) {
+    final SortedMap<Long, NodeReferences> chunks = new TreeMap<>();
+    final PrimitiveIterator.OfLong nodeKeys = value.nodeKeyIterator();
+    while (nodeKeys.hasNext()) {
+      final long nodeKey = nodeKeys.nextLong();
+      chunks.computeIfAbsent(BPlusReferencesChunk.getChunkId(nodeKey), chunkId -> new NodeReferences())
+            .addNodeKey(nodeKey);
+    }
+    return chunks;
+  }
+
+  private void removeChunks(final long[] chunkDirectory) {
+    for (int i = 1; i < chunkDirectory.length; i += 2) {
+      mPageWriteTrx.removeEntry(chunkDirectory[i], mReader.mPageKind, mReader.mIndex);
+    }
+  }
+
+  /**
+   * Search a chunk ID in a chunk directory.
+   *
+   * @param chunkDirectory the chunk directory
+   * @param chunkId the chunk ID
+   * @return the index of the chunk ID in the chunk directory or {@code -(insertion index + 1)}, if
+   *         it's not found
+   */
+  private static int searchChunk(final long[] chunkDirectory, final long chunkId) {
+    int low = 0;
+    int high = (chunkDirectory.length >>> 1) - 1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      final long middleChunkId = chunkDirectory[middle << 1];
+      if (middleChunkId < chunkId) {
+        low = middle + 1;
+      } else if (middleChunkId > chunkId) {
+        high = middle - 1;
+      } else {
+        return middle << 1;
+      }
+    }
+    return -((low << 1) + 1);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * If the tree is empty, it's built bottom-up: the leaves are filled in key order and linked with
+   * each other, and each level of inner nodes is filled with the smallest keys of the nodes of the
+   * level below, such that each node is written only once. The chunks of huge entries are written
+   * before their leaf.
+   * </p>
+   */
+  @Override
+  public void bulkLoad(final Iterator<Map.Entry<K, NodeReferences>> entries) {
+    checkNotNull(entries);
+    if (mReader.getRootKey() != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      IndexTreeWriter.super.bulkLoad(entries);
+      return;
+    }
+    if (!entries.hasNext()) {
+      return;
+    }
+
+    // The inner nodes, which are currently filled, from the lowest level to the highest level.
+    final List<PendingInnerNode<K>> levels = new ArrayList<>();
+    long previousLeafKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    long numberOfEntries = 0;
+    while (entries.hasNext()) {
+      final List<K> keys = new ArrayList<>(MAX_LEAF_ENTRIES);
+      final List<NodeReferences> values = new ArrayList<>(MAX_LEAF_ENTRIES);
+      final List<long[]> chunkDirectories = new ArrayList<>(MAX_LEAF_ENTRIES);
+      while (keys.size() < MAX_LEAF_ENTRIES && entries.hasNext()) {
+        final Map.Entry<K, NodeReferences> entry = entries.next();
+        keys.add(entry.getKey());
+        if (isChunked(entry.getValue(), false)) {
+          values.add(new NodeReferences());
+          chunkDirectories.add(writeChunks(null, entry.getValue()));
+        } else {
+          values.add(entry.getValue());
+          chunkDirectories.add(null);
+        }
+      }
+      numberOfEntries += keys.size();
+
+      final long nodeKey = getNewNodeKey();
+      mPageWriteTrx.createEntry(nodeKey,
+          new BPlusLeafNode<>(nodeKey, mPageWriteTrx.getRevisionNumber(), mKeyKind, keys, values, chunkDirectories,
+              previousLeafKey, Fixed.NULL_NODE_KEY.getStandardProperty()),
+          mReader.mPageKind, mReader.mIndex);
+      if (previousLeafKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+        final BPlusLeafNode<K> previousLeaf = prepareNode(previousLeafKey);
+        previousLeaf.setRightSiblingKey(nodeKey);
+      }
+      previousLeafKey = nodeKey;
+      addChild(levels, 0, keys.get(0), nodeKey);
+    }
+
+    // Write the inner nodes, which are still filled, from the lowest level to the root.
+    long rootKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+    for (int level = 0; level < levels.size(); level++) {
+      final PendingInnerNode<K> node = levels.get(level);
+      final boolean isHighestLevel = level == levels.size() - 1;
+      if (isHighestLevel && node.mChildKeys.size() == 1) {
+        rootKey = node.mChildKeys.get(0);
+        break;
+      }
+      final long nodeKey = writeInnerNode(node);
+      if (isHighestLevel) {
+        rootKey = nodeKey;
+      } else {
+        addChild(levels, level + 1, node.mFirstKey, nodeKey);
+      }
+    }
+
+    final StructNode document = prepareDocument();
+    document.setFirstChildKey(rootKey);
+    document.incrementChildCount();
+    document.setDescendantCount(numberOfEntries);
+  }
+
+  /**
+   * Add a child to the inner node, which is currently filled on a level. If the inner node is full,
+   * it's written and added to the level above.
+   *
+   * @param levels the inner nodes, which are currently filled
+   * @param level the level
+   * @param firstKey the smallest key of the child
+   * @param childKey the node key of the child
+   */
+  private void addChild(final List<PendingInnerNode<K>> levels, final int level, final K firstKey,
+      final long childKey) {
+    if (levels.size() == level) {
+      levels.add(new PendingInnerNode<>(firstKey));
+    } else if (levels.get(level).mChildKeys.size() == MAX_CHILDREN) {
+      final PendingInnerNode<K> fullNode = levels.get(level);
+      levels.set(level, new PendingInnerNode<>(firstKey));
+      addChild(levels, level + 1, fullNode.mFirstKey, writeInnerNode(fullNode));
+    }
+    levels.get(level).add(firstKey, childKey);
+  }
+
+  private long writeInnerNode(final PendingInnerNode<K> node) {
+    final long nodeKey = getNewNodeKey();
+    mPageWriteTrx.createEntry(nodeKey,
+        new BPlusInnerNode<>(nodeKey, mPageWriteTrx.getRevisionNumber(), mKeyKind, node.mKeys,
+            node.mChildKeys.stream().mapToLong(Long::longValue).toArray()),
+        mReader.mPageKind, mReader.mIndex);
+    return nodeKey;
+  }
+
+  /**
+   * An inner node, which is filled during a bulk load.
+   */
+  private static final class PendingInnerNode<K> {
+    /** The smallest key of the subtree. */
+    private final K mFirstKey;
+
+    /** The separator keys. */
+    private final List<K> mKeys;
+
+    /** The node keys of the children. */
+    private final List<Long> mChildKeys;
+
+    PendingInnerNode(final K firstKey) {
+      mFirstKey = firstKey;
+      mKeys = new ArrayList<>();
+      mChildKeys = new ArrayList<>();
+    }
+
+    void add(final K firstKey, final long childKey) {
+      if (!mChildKeys.isEmpty()) {
+        mKeys.add(firstKey);
+      }
+      mChildKeys.add(childKey);
+    }
+  }
+
+  private <N extends Record> N prepareNode(final long nodeKey) {
+    @SuppressWarnings("unchecked")
+    final N node = (N) mPageWriteTrx.prepareEntryForModification(nodeKey, mReader.mPageKind, mReader.mIndex);
+    return node;
+  }
+
+  private StructNode prepareDocument() {
+    return prepareNode(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+  }
+
+  /**
+   * Get the new maximum node key.
+   *
+   * @return maximum node key
+   * @throws SirixIOException if an I/O error occurs
+   */
+  private long getNewNodeKey() {
+    final RevisionRootPage root = mPageWriteTrx.getActualRevisionRootPage();
+    switch (mReader.mPageKind) {
+      case PATHPAGE:
+        return mPageWriteTrx.getPathPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      case CASPAGE:
+        return mPageWriteTrx.getCASPage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      case NAMEPAGE:
+        return mPageWriteTrx.getNamePage(root).getMaxNodeKey(mReader.mIndex) + 1;
+      // $CASES-OMITTED$
+      default:
+        throw new IllegalStateException();
+    }
+  }
+}
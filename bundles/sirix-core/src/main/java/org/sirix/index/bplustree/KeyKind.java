@@ -0,0 +1,164 @@
+package org.sirix.index.bplustree;
+
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.module.Namespaces;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.index.AtomicUtil;
+import org.sirix.index.IndexType;
+import org.sirix.index.avltree.keyvalue.CASValue;
+import org.sirix.settings.Constants;
+
+/**
+ * The kind of keys stored in a B+-tree, which determines how the keys are serialized.
+ */
+public enum KeyKind {
+  /** Keys of CAS indexes. */
+  CAS((byte) 0) {
+    @Override
+    public void serialize(final DataOutput sink, final Object key) throws IOException {
+      final CASValue casValue = (CASValue) key;
+      final byte[] value = casValue.getValue();
+      sink.writeInt(value.length);
+      sink.write(value);
+      writeString(sink, casValue.getType().toString());
+      putVarLong(sink, casValue.getPathNodeKey());
+    }
+
+    @Override
+    public Object deserialize(final DataInput source) throws IOException {
+      final byte[] value = new byte[source.readInt()];
+      source.readFully(value);
+      final Type type = resolveType(readString(source));
+      final long pathNodeKey = getVarLong(source);
+      return new CASValue(AtomicUtil.fromBytes(value, type), type, pathNodeKey);
+    }
+  },
+
+  /** Keys of path indexes. */
+  PATH((byte) 1) {
+    @Override
+    public void serialize(final DataOutput sink, final Object key) throws IOException {
+      putVarLong(sink, (Long) key);
+    }
+
+    @Override
+    public Object deserialize(final DataInput source) throws IOException {
+      return getVarLong(source);
+    }
+  },
+
+  /** Keys of name indexes. */
+  NAME((byte) 2) {
+    @Override
+    public void serialize(final DataOutput sink, final Object key) throws IOException {
+      final QNm name = (QNm) key;
+      writeString(sink, name.getNamespaceURI());
+      writeString(sink, name.getPrefix());
+      writeString(sink, name.getLocalName());
+    }
+
+    @Override
+    public Object deserialize(final DataInput source) throws IOException {
+      final String namespaceURI = readString(source);
+      final String prefix = readString(source);
+      final String localName = readString(source);
+      return new QNm(namespaceURI, prefix, localName);
+    }
+  };
+
+  /** Identifier. */
+  private final byte mId;
+
+  KeyKind(final byte id) {
+    mId = id;
+  }
+
+  /**
+   * Get the unique identifier.
+   *
+   * @return the identifier
+   */
+  public byte getId() {
+    return mId;
+  }
+
+  /**
+   * Serialize a key.
+   *
+   * @param sink the output to write to
+   * @param key the key
+   * @throws IOException if an I/O error occurs
+   */
+  public abstract void serialize(DataOutput sink, Object key) throws IOException;
+
+  /**
+   * Deserialize a key.
+   *
+   * @param source the input to read from
+   * @return the key
+   * @throws IOException if an I/O error occurs
+   */
+  public abstract Object deserialize(DataInput source) throws IOException;
+
+  /**
+   * Get the kind of keys based on the identifier.
+   *
+   * @param id the identifier
+   * @return the kind of keys
+   */
+  public static KeyKind getKind(final byte id) {
+    for (final KeyKind kind : values()) {
+      if (kind.mId == id) {
+        return kind;
+      }
+    }
+    throw new IllegalStateException("Key kind " + id + " not known.");
+  }
+
+  /**
+   * Get the kind of keys stored in an index.
+   *
+   * @param type the type of the index
+   * @return the kind of keys
+   */
+  public static KeyKind getKind(final IndexType type) {
+    switch (type) {
+      case CAS:
+        return CAS;
+      case PATH:
+        return PATH;
+      case NAME:
+        return NAME;
+      default:
+        throw new IllegalStateException("Index type " + type + " not known.");
+    }
+  }
+
+  private static void writeString(final DataOutput sink, final String value) throws IOException {
+    final byte[] bytes = value.getBytes(Constants.DEFAULT_ENCODING);
+    sink.writeInt(bytes.length);
+    sink.write(bytes);
+  }
+
+  private static String readString(final DataInput source) throws IOException {
+    final byte[] bytes = new byte[source.readInt()];
+    source.readFully(bytes);
+    return new String(bytes, Constants.DEFAULT_ENCODING);
+  }
+
+  private static Type resolveType(final String s) {
+    final QNm name =
+        new QNm(Namespaces.XS_NSURI, Namespaces.XS_PREFIX, s.substring(Namespaces.XS_PREFIX.length() + 1));
+    for (final Type type : Type.builtInTypes) {
+      if (type.getName().getLocalName().equals(name.getLocalName())) {
+        return type;
+      }
+    }
+    throw new IllegalStateException("Unknown content type: " + name);
+  }
+}
@@ -6,9 +6,7 @@ import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
 import org.sirix.index.Filter;
-import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.PCRCollector;
 import org.sirix.index.path.PathFilter;
 
@@ -59,12 +57,31 @@ public final class CASFilterRange implements Filter {
     mIncMax = incMax;
   }
 
+  public Set<Long> getPCRs() {
+    return mPathFilter.getPCRs();
+  }
+
+  public Atomic getMin() {
+    return mMin;
+  }
+
+  public Atomic getMax() {
+    return mMax;
+  }
+
+  public boolean isMinIncluded() {
+    return mIncMin;
+  }
+
+  public boolean isMaxIncluded() {
+    return mIncMax;
+  }
+
   @Override
-  public <K extends Comparable<? super K>> boolean filter(final AVLNode<K, NodeReferences> node) {
-    final K key = node.getKey();
+  public <K extends Comparable<? super K>> boolean filter(final K key) {
     if (key instanceof CASValue) {
       final CASValue casValue = (CASValue) key;
-      final boolean filtered = mPathFilter.filter(node);
+      final boolean filtered = mPathFilter.filter(key);
 
       if (filtered) {
         return inRange(casValue.getAtomicValue());
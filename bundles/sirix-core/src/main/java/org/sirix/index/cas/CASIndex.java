@@ -12,11 +12,13 @@ import org.sirix.api.PageTrx;
 import org.sirix.index.ChangeListener;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
+import org.sirix.index.IndexStructure;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.AVLTreeReader;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeReader;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -32,6 +34,26 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
       IndexDef indexDef);
 
   default Iterator<NodeReferences> openIndex(PageReadOnlyTrx pageReadTrx, IndexDef indexDef, CASFilterRange filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<CASValue> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+      final Set<Long> pcrs = filter.getPCRs();
+
+      if (pcrs.isEmpty()) {
+        return BPlusTreeReader.filter(reader.iterator(), filter);
+      }
+
+      // Scan the range of each PCR, starting at the minimum.
+      final Atomic min = filter.getMin();
+      final Atomic max = filter.getMax();
+      final SearchMode mode = filter.isMinIncluded()
+          ? SearchMode.LESS_OR_EQUAL
+          : SearchMode.LESS;
+      return Iterators.concat(Iterators.transform(pcrs.iterator(),
+          pcr -> BPlusTreeReader.filter(reader.iterator(new CASValue(min, min.type(), pcr), mode,
+              key -> key.getPathNodeKey() == pcr && max.compareTo(key.getAtomicValue()) >= 0), filter)));
+    }
+
     final AVLTreeReader<CASValue, NodeReferences> reader =
         AVLTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
 
@@ -42,6 +64,23 @@ public interface CASIndex<B, L extends ChangeListener, R extends NodeReadOnlyTrx
   }
 
   default Iterator<NodeReferences> openIndex(PageReadOnlyTrx pageReadTrx, IndexDef indexDef, CASFilter filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<CASValue> reader =
+          BPlusTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
+      final Set<Long> pcrs = filter.getPCRs();
+
+      if (pcrs.isEmpty()) {
+        return BPlusTreeReader.filter(reader.iterator(), filter);
+      }
+
+      // Seek the nearest entry of each PCR and scan while the PCR doesn't change.
+      final Atomic atomic = filter.getKey();
+      final SearchMode mode = filter.getMode();
+      return Iterators.concat(Iterators.transform(pcrs.iterator(),
+          pcr -> BPlusTreeReader.filter(reader.iterator(new CASValue(atomic, atomic.type(), pcr), mode,
+              key -> key.getPathNodeKey() == pcr), filter)));
+    }
+
     final AVLTreeReader<CASValue, NodeReferences> reader =
         AVLTreeReader.getInstance(pageReadTrx, indexDef.getType(), indexDef.getID());
 
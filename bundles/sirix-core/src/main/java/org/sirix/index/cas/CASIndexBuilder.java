@@ -1,6 +1,5 @@
 package org.sirix.index.cas;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.atomic.Str;
@@ -12,9 +11,8 @@ import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexEntrySorter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -23,10 +21,10 @@ import org.sirix.node.interfaces.immutable.ImmutableValueNode;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-public final class CASIndexBuilder {
+public final class CASIndexBuilder implements AutoCloseable {
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(CASIndexBuilder.class));
 
-  private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<CASValue, NodeReferences> mIndexTreeWriter;
 
   private final PathSummaryReader mPathSummaryReader;
 
@@ -34,12 +32,16 @@ public final class CASIndexBuilder {
 
   private final Type mType;
 
-  public CASIndexBuilder(final AVLTreeWriter<CASValue, NodeReferences> avlTreeWriter,
-      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final Type type) {
+  private final IndexEntrySorter<CASValue> mSorter;
+
+  public CASIndexBuilder(final IndexTreeWriter<CASValue, NodeReferences> indexTreeWriter,
+      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final Type type,
+      final IndexEntrySorter<CASValue> sorter) {
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexTreeWriter = indexTreeWriter;
     mType = type;
+    mSorter = sorter;
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
@@ -57,12 +59,7 @@ public final class CASIndexBuilder {
 
         if (isOfType) {
           final CASValue value = new CASValue(strValue, mType, pathNodeKey);
-          final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(value, SearchMode.EQUAL);
-          if (textReferences.isPresent()) {
-            setNodeReferences(node, textReferences.get(), value);
-          } else {
-            setNodeReferences(node, new NodeReferences(), value);
-          }
+          mSorter.add(value, node.getNodeKey());
         }
       }
     } catch (final PathException | SirixIOException e) {
@@ -71,8 +68,14 @@ public final class CASIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final CASValue value)
-      throws SirixIOException {
-    mAVLTreeWriter.index(value, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  public void finish() {
+    try (final IndexEntrySorter<CASValue> sorter = mSorter) {
+      mIndexTreeWriter.bulkLoad(sorter.sortedEntries());
+    }
+  }
+
+  @Override
+  public void close() {
+    mSorter.close();
   }
 }
@@ -1,6 +1,5 @@
 package org.sirix.index.cas;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.atomic.Str;
@@ -11,9 +10,7 @@ import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
 import org.sirix.exception.SirixIOException;
 import org.sirix.exception.SirixRuntimeException;
 import org.sirix.index.AtomicUtil;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
@@ -21,15 +18,15 @@ import org.sirix.node.interfaces.immutable.ImmutableNode;
 
 public final class CASIndexListener {
 
-  private final AVLTreeWriter<CASValue, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<CASValue, NodeReferences> mIndexTreeWriter;
   private final PathSummaryReader mPathSummaryReader;
   private final Set<Path<QNm>> mPaths;
   private final Type mType;
 
   public CASIndexListener(final PathSummaryReader pathSummaryReader,
-      final AVLTreeWriter<CASValue, NodeReferences> avlTreeWriter, final Set<Path<QNm>> paths, final Type type) {
+      final IndexTreeWriter<CASValue, NodeReferences> indexTreeWriter, final Set<Path<QNm>> paths, final Type type) {
     mPathSummaryReader = pathSummaryReader;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexTreeWriter = indexTreeWriter;
     mPaths = paths;
     mType = type;
   }
@@ -45,7 +42,7 @@ public final class CASIndexListener {
           break;
         case DELETE:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            mAVLTreeWriter.remove(new CASValue(value, mType, pathNodeKey), node.getNodeKey());
+            mIndexTreeWriter.remove(new CASValue(value, mType, pathNodeKey), node.getNodeKey());
           }
           break;
         default:
@@ -64,17 +61,7 @@ public final class CASIndexListener {
     }
 
     if (isOfType) {
-      final CASValue indexValue = new CASValue(value, mType, pathNodeKey);
-      final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(indexValue, SearchMode.EQUAL);
-      if (textReferences.isPresent()) {
-        setNodeReferences(node, textReferences.get(), indexValue);
-      } else {
-        setNodeReferences(node, new NodeReferences(), indexValue);
-      }
+      mIndexTreeWriter.add(new CASValue(value, mType, pathNodeKey), node.getNodeKey());
     }
   }
-
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final CASValue indexValue) {
-    mAVLTreeWriter.index(indexValue, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
-  }
 }
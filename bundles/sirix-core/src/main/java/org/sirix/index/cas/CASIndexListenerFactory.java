@@ -3,9 +3,8 @@ package org.sirix.index.cas;
 import static com.google.common.base.Preconditions.checkNotNull;
 import org.sirix.api.PageTrx;
 import org.sirix.index.IndexDef;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.CASValue;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -15,11 +14,10 @@ public final class CASIndexListenerFactory {
   public CASIndexListener create(final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx,
       final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
     final var pathSummary = checkNotNull(pathSummaryReader);
-    final var avlTreeWriter =
-        AVLTreeWriter.<CASValue, NodeReferences>getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+    final var indexTreeWriter = IndexTreeWriter.<CASValue>getInstance(pageWriteTrx, indexDef);
     final var type = checkNotNull(indexDef.getContentType());
     final var paths = checkNotNull(indexDef.getPaths());
 
-    return new CASIndexListener(pathSummary, avlTreeWriter, paths, type);
+    return new CASIndexListener(pathSummary, indexTreeWriter, paths, type);
   }
 }
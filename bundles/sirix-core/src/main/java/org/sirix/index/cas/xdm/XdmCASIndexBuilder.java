@@ -3,6 +3,7 @@ package org.sirix.index.cas.xdm;
 import org.sirix.access.trx.node.xml.AbstractXdmNodeVisitor;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.index.BufferingIndexBuilder;
 import org.sirix.index.cas.CASIndexBuilder;
 import org.sirix.node.immutable.xdm.ImmutableAttributeNode;
 import org.sirix.node.immutable.xdm.ImmutableText;
@@ -13,7 +14,7 @@ import org.sirix.node.immutable.xdm.ImmutableText;
  * @author Johannes Lichtenberger
  *
  */
-final class XdmCASIndexBuilder extends AbstractXdmNodeVisitor {
+final class XdmCASIndexBuilder extends AbstractXdmNodeVisitor implements BufferingIndexBuilder {
 
   private final CASIndexBuilder mIndexBuilderDelegate;
 
@@ -43,4 +44,13 @@ final class XdmCASIndexBuilder extends AbstractXdmNodeVisitor {
     return mIndexBuilderDelegate.process(node, PCR);
   }
 
+  @Override
+  public void finish() {
+    mIndexBuilderDelegate.finish();
+  }
+
+  @Override
+  public void close() {
+    mIndexBuilderDelegate.close();
+  }
 }
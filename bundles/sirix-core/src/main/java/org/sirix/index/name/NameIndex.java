@@ -10,10 +10,12 @@ import org.sirix.index.ChangeListener;
 import org.sirix.index.Filter;
 import org.sirix.index.IndexDef;
 import org.sirix.index.IndexFilterAxis;
+import org.sirix.index.IndexStructure;
 import org.sirix.index.SearchMode;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.AVLTreeReader;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusTreeReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
 import org.sirix.settings.Fixed;
@@ -26,6 +28,19 @@ public interface NameIndex<B, L extends ChangeListener> {
   L createListener(PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx, IndexDef indexDef);
 
   default Iterator<NodeReferences> openIndex(PageReadOnlyTrx pageRtx, IndexDef indexDef, NameFilter filter) {
+    if (indexDef.getStructure() == IndexStructure.BPLUS_TREE) {
+      final BPlusTreeReader<QNm> reader =
+          BPlusTreeReader.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
+
+      if (filter.getIncludes().size() == 1 && filter.getExcludes().isEmpty()) {
+        final Optional<NodeReferences> optionalNodeReferences =
+            reader.get(filter.getIncludes().iterator().next(), SearchMode.EQUAL);
+        return Iterators.forArray(optionalNodeReferences.orElse(new NodeReferences()));
+      }
+
+      return BPlusTreeReader.filter(reader.iterator(), filter);
+    }
+
     final AVLTreeReader<QNm, NodeReferences> reader =
         AVLTreeReader.getInstance(pageRtx, indexDef.getType(), indexDef.getID());
 
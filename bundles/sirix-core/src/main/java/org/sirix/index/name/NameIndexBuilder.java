@@ -1,30 +1,30 @@
 package org.sirix.index.name;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexEntrySorter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-public final class NameIndexBuilder {
+public final class NameIndexBuilder implements AutoCloseable {
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(NameIndexBuilder.class));
 
   public Set<QNm> mIncludes;
   public Set<QNm> mExcludes;
-  public AVLTreeWriter<QNm, NodeReferences> mAVLTreeWriter;
+  public IndexTreeWriter<QNm, NodeReferences> mIndexTreeWriter;
+  private final IndexEntrySorter<QNm> mSorter;
 
   public NameIndexBuilder(final Set<QNm> includes, final Set<QNm> excludes,
-      final AVLTreeWriter<QNm, NodeReferences> avlTreeWriter) {
+      final IndexTreeWriter<QNm, NodeReferences> indexTreeWriter, final IndexEntrySorter<QNm> sorter) {
     mIncludes = includes;
     mExcludes = excludes;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexTreeWriter = indexTreeWriter;
+    mSorter = sorter;
   }
 
   public VisitResultType build(QNm name, ImmutableNode node) {
@@ -35,11 +35,8 @@ public final class NameIndexBuilder {
       return VisitResultType.CONTINUE;
     }
 
-    final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(name, SearchMode.EQUAL);
-
     try {
-      textReferences.ifPresentOrElse(nodeReferences -> setNodeReferences(node, nodeReferences, name),
-          () -> setNodeReferences(node, new NodeReferences(), name));
+      mSorter.add(name, node.getNodeKey());
     } catch (final SirixIOException e) {
       LOGGER.error(e.getMessage(), e);
     }
@@ -47,7 +44,14 @@ public final class NameIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final QNm name) {
-    mAVLTreeWriter.index(name, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  public void finish() {
+    try (final IndexEntrySorter<QNm> sorter = mSorter) {
+      mIndexTreeWriter.bulkLoad(sorter.sortedEntries());
+    }
+  }
+
+  @Override
+  public void close() {
+    mSorter.close();
   }
 }
@@ -1,6 +1,5 @@
 package org.sirix.index.path;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
@@ -8,41 +7,38 @@ import org.brackit.xquery.util.path.PathException;
 import org.sirix.api.visitor.VisitResult;
 import org.sirix.api.visitor.VisitResultType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexEntrySorter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 import org.sirix.utils.LogWrapper;
 import org.slf4j.LoggerFactory;
 
-public final class PathIndexBuilder {
+public final class PathIndexBuilder implements AutoCloseable {
 
   private static final LogWrapper LOGGER = new LogWrapper(LoggerFactory.getLogger(PathIndexBuilder.class));
 
   private final Set<Path<QNm>> mPaths;
   private final PathSummaryReader mPathSummaryReader;
 
-  private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<Long, NodeReferences> mIndexTreeWriter;
 
-  public PathIndexBuilder(final AVLTreeWriter<Long, NodeReferences> avlTreeWriter,
-      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths) {
+  private final IndexEntrySorter<Long> mSorter;
+
+  public PathIndexBuilder(final IndexTreeWriter<Long, NodeReferences> indexTreeWriter,
+      final PathSummaryReader pathSummaryReader, final Set<Path<QNm>> paths, final IndexEntrySorter<Long> sorter) {
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
-    mAVLTreeWriter = avlTreeWriter;
+    mIndexTreeWriter = indexTreeWriter;
+    mSorter = sorter;
   }
 
   public VisitResult process(final ImmutableNode node, final long pathNodeKey) {
     try {
       final long PCR = pathNodeKey;
       if (mPathSummaryReader.getPCRsForPaths(mPaths, true).contains(PCR) || mPaths.isEmpty()) {
-        final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(PCR, SearchMode.EQUAL);
-        if (textReferences.isPresent()) {
-          setNodeReferences(node, textReferences.get(), PCR);
-        } else {
-          setNodeReferences(node, new NodeReferences(), PCR);
-        }
+        mSorter.add(PCR, node.getNodeKey());
       }
     } catch (final PathException | SirixIOException e) {
       LOGGER.error(e.getMessage(), e);
@@ -50,9 +46,15 @@ public final class PathIndexBuilder {
     return VisitResultType.CONTINUE;
   }
 
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final long pathNodeKey)
-      throws SirixIOException {
-    mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
+  public void finish() {
+    try (final IndexEntrySorter<Long> sorter = mSorter) {
+      mIndexTreeWriter.bulkLoad(sorter.sortedEntries());
+    }
+  }
+
+  @Override
+  public void close() {
+    mSorter.close();
   }
 
 }
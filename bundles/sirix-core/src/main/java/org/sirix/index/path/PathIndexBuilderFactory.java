@@ -3,9 +3,9 @@ package org.sirix.index.path;
 import static com.google.common.base.Preconditions.checkNotNull;
 import org.sirix.api.PageTrx;
 import org.sirix.index.IndexDef;
+import org.sirix.index.IndexEntrySorter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.IndexType;
-import org.sirix.index.avltree.AVLTreeWriter;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -17,9 +17,10 @@ public final class PathIndexBuilderFactory {
     final var pathSummary = checkNotNull(pathSummaryReader);
     final var paths = checkNotNull(indexDef.getPaths());
     assert indexDef.getType() == IndexType.PATH;
-    final var avlTreeWriter =
-        AVLTreeWriter.<Long, NodeReferences>getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+    final var indexTreeWriter = IndexTreeWriter.<Long>getInstance(pageWriteTrx, indexDef);
 
-    return new PathIndexBuilder(avlTreeWriter, pathSummary, paths);
+    final var sorter = IndexEntrySorter.<Long>getInstance(pageWriteTrx, indexDef.getType());
+
+    return new PathIndexBuilder(indexTreeWriter, pathSummary, paths, sorter);
   }
 }
@@ -1,28 +1,25 @@
 package org.sirix.index.path;
 
-import java.util.Optional;
 import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.brackit.xquery.util.path.Path;
 import org.brackit.xquery.util.path.PathException;
 import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
 import org.sirix.exception.SirixIOException;
-import org.sirix.index.SearchMode;
-import org.sirix.index.avltree.AVLTreeReader.MoveCursor;
-import org.sirix.index.avltree.AVLTreeWriter;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.immutable.ImmutableNode;
 
 public final class PathIndexListener {
 
-  private final AVLTreeWriter<Long, NodeReferences> mAVLTreeWriter;
+  private final IndexTreeWriter<Long, NodeReferences> mIndexTreeWriter;
   private final PathSummaryReader mPathSummaryReader;
   private final Set<Path<QNm>> mPaths;
 
   public PathIndexListener(final Set<Path<QNm>> paths, final PathSummaryReader pathSummaryReader,
-      final AVLTreeWriter<Long, NodeReferences> avlTreeWriter) {
-    mAVLTreeWriter = avlTreeWriter;
+      final IndexTreeWriter<Long, NodeReferences> indexTreeWriter) {
+    mIndexTreeWriter = indexTreeWriter;
     mPathSummaryReader = pathSummaryReader;
     mPaths = paths;
   }
@@ -33,17 +30,12 @@ public final class PathIndexListener {
       switch (type) {
         case INSERT:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            final Optional<NodeReferences> textReferences = mAVLTreeWriter.get(pathNodeKey, SearchMode.EQUAL);
-            if (textReferences.isPresent()) {
-              setNodeReferences(node, textReferences.get(), pathNodeKey);
-            } else {
-              setNodeReferences(node, new NodeReferences(), pathNodeKey);
-            }
+            mIndexTreeWriter.add(pathNodeKey, node.getNodeKey());
           }
           break;
         case DELETE:
           if (mPathSummaryReader.getPCRsForPaths(mPaths, false).contains(pathNodeKey)) {
-            mAVLTreeWriter.remove(pathNodeKey, node.getNodeKey());
+            mIndexTreeWriter.remove(pathNodeKey, node.getNodeKey());
           }
           break;
         default:
@@ -52,9 +44,4 @@ public final class PathIndexListener {
       throw new SirixIOException(e);
     }
   }
-
-  private void setNodeReferences(final ImmutableNode node, final NodeReferences references, final long pathNodeKey)
-      throws SirixIOException {
-    mAVLTreeWriter.index(pathNodeKey, references.addNodeKey(node.getNodeKey()), MoveCursor.NO_MOVE);
-  }
 }
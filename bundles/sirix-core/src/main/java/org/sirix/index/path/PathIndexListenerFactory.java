@@ -3,8 +3,7 @@ package org.sirix.index.path;
 import static com.google.common.base.Preconditions.checkNotNull;
 import org.sirix.api.PageTrx;
 import org.sirix.index.IndexDef;
-import org.sirix.index.avltree.AVLTreeWriter;
-import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.IndexTreeWriter;
 import org.sirix.index.path.summary.PathSummaryReader;
 import org.sirix.node.interfaces.Record;
 import org.sirix.page.UnorderedKeyValuePage;
@@ -14,9 +13,8 @@ public final class PathIndexListenerFactory {
       final PathSummaryReader pathSummaryReader, final IndexDef indexDef) {
     final var pathSummary = checkNotNull(pathSummaryReader);
     final var paths = checkNotNull(indexDef.getPaths());
-    final var avlTreeWriter =
-        AVLTreeWriter.<Long, NodeReferences>getInstance(pageWriteTrx, indexDef.getType(), indexDef.getID());
+    final var indexTreeWriter = IndexTreeWriter.<Long>getInstance(pageWriteTrx, indexDef);
 
-    return new PathIndexListener(paths, pathSummary, avlTreeWriter);
+    return new PathIndexListener(paths, pathSummary, indexTreeWriter);
   }
 }
@@ -0,0 +1,231 @@
+package org.sirix.index.path.summary;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Numeric;
+import org.sirix.node.Utils;
+import com.google.common.base.MoreObjects;
+
+/**
+ * Equi-depth histogram of the values of a path class. Each bucket covers a closed range of values
+ * and about the same number of values. A value, which occurs more often than a bucket holds, gets a
+ * bucket of its own, such that frequent values are estimated precisely.
+ */
+public final class EquiDepthHistogram {
+
+  /** Empty histogram. */
+  static final EquiDepthHistogram EMPTY = new EquiDepthHistogram(new Atomic[0], new Atomic[0], new long[0]);
+
+  /** The smallest value of each bucket. */
+  private final Atomic[] mLowerBounds;
+
+  /** The largest value of each bucket. */
+  private final Atomic[] mUpperBounds;
+
+  /** The estimated number of values of each bucket. */
+  private final long[] mCounts;
+
+  private EquiDepthHistogram(final Atomic[] lowerBounds, final Atomic[] upperBounds, final long[] counts) {
+    mLowerBounds = lowerBounds;
+    mUpperBounds = upperBounds;
+    mCounts = counts;
+  }
+
+  /**
+   * Build a histogram from a uniform sample of the values.
+   *
+   * @param sortedSample the sampled values in ascending order
+   * @param count the number of values, which have been sampled
+   * @param maxBuckets the maximum number of buckets
+   * @return the histogram
+   */
+  static EquiDepthHistogram build(final List<Atomic> sortedSample, final long count, final int maxBuckets) {
+    checkNotNull(sortedSample);
+    checkArgument(maxBuckets > 0, "maxBuckets must be > 0!");
+    final int sampleSize = sortedSample.size();
+    if (sampleSize == 0 || count == 0) {
+      return EMPTY;
+    }
+
+    final Atomic[] lowerBounds = new Atomic[Math.min(maxBuckets, sampleSize)];
+    final Atomic[] upperBounds = new Atomic[lowerBounds.length];
+    final long[] counts = new long[lowerBounds.length];
+    final double depth = (double) sampleSize / lowerBounds.length;
+    int buckets = 0;
+    int first = 0;
+    for (int i = 0; i < sampleSize; i++) {
+      // Close the bucket once it is deep enough, but never between equal values.
+      final boolean last = i == sampleSize - 1;
+      if (last || (i + 1 - first >= depth && sortedSample.get(i).compareTo(sortedSample.get(i + 1)) != 0)) {
+        lowerBounds[buckets] = sortedSample.get(first);
+        upperBounds[buckets] = sortedSample.get(i);
+        counts[buckets] = Math.max(1, Math.round((double) count * (i + 1 - first) / sampleSize));
+        buckets++;
+        first = i + 1;
+        if (buckets == lowerBounds.length - 1 && !last) {
+          // The last bucket takes all remaining values.
+          i = sampleSize - 2;
+        }
+      }
+    }
+
+    return new EquiDepthHistogram(Arrays.copyOf(lowerBounds, buckets), Arrays.copyOf(upperBounds, buckets),
+        Arrays.copyOf(counts, buckets));
+  }
+
+  /**
+   * Get the number of buckets.
+   *
+   * @return the number of buckets
+   */
+  public int getBucketCount() {
+    return mCounts.length;
+  }
+
+  /**
+   * Get the smallest value of a bucket.
+   *
+   * @param bucket the bucket index
+   * @return the smallest value
+   */
+  public Atomic getLowerBound(final int bucket) {
+    return mLowerBounds[bucket];
+  }
+
+  /**
+   * Get the largest value of a bucket.
+   *
+   * @param bucket the bucket index
+   * @return the largest value
+   */
+  public Atomic getUpperBound(final int bucket) {
+    return mUpperBounds[bucket];
+  }
+
+  /**
+   * Get the estimated number of values of a bucket.
+   *
+   * @param bucket the bucket index
+   * @return the estimated number of values
+   */
+  public long getCount(final int bucket) {
+    return mCounts[bucket];
+  }
+
+  /**
+   * Get the bucket, which only holds the given value.
+   *
+   * @param value the value
+   * @return the bucket index or {@code -1}, if the value has no bucket of its own
+   */
+  public int getSingleValueBucket(final Atomic value) {
+    final int bucket = findBucket(value);
+    return bucket >= 0 && mLowerBounds[bucket].compareTo(value) == 0 && mUpperBounds[bucket].compareTo(value) == 0
+        ? bucket
+        : -1;
+  }
+
+  /**
+   * Estimate the number of values less than (or equal to) the given value. Within a bucket, numeric
+   * values are assumed to be distributed uniformly, other values are assumed to cover half of the
+   * bucket.
+   *
+   * @param value the value to compare with
+   * @param inclusive determines if values equal to the given value are included
+   * @return the estimated number of values
+   */
+  public long estimateLessThan(final Atomic value, final boolean inclusive) {
+    long result = 0;
+    for (int i = 0; i < mCounts.length; i++) {
+      final int cmpLower = value.compareTo(mLowerBounds[i]);
+      final int cmpUpper = value.compareTo(mUpperBounds[i]);
+      if (cmpUpper > 0 || (inclusive && cmpUpper == 0)) {
+        result += mCounts[i];
+      } else if (cmpLower > 0 || (inclusive && cmpLower == 0)) {
+        result += Math.round(mCounts[i] * fraction(i, value));
+      } else {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private double fraction(final int bucket, final Atomic value) {
+    if (value instanceof Numeric && mLowerBounds[bucket] instanceof Numeric) {
+      final double lower = ((Numeric) mLowerBounds[bucket]).doubleValue();
+      final double upper = ((Numeric) mUpperBounds[bucket]).doubleValue();
+      if (upper > lower) {
+        return Math.min(1.0, Math.max(0.0, (((Numeric) value).doubleValue() - lower) / (upper - lower)));
+      }
+    }
+    return 0.5;
+  }
+
+  private int findBucket(final Atomic value) {
+    int low = 0;
+    int high = mCounts.length - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      if (mUpperBounds[mid].compareTo(value) < 0) {
+        low = mid + 1;
+      } else if (mLowerBounds[mid].compareTo(value) > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Serialize the histogram.
+   *
+   * @param sink the output to write to
+   * @param type the type of the values
+   * @throws IOException if an I/O error occurs
+   */
+  void serialize(final DataOutput sink, final ValueType type) throws IOException {
+    Utils.putVarLong(sink, mCounts.length);
+    for (int i = 0; i < mCounts.length; i++) {
+      type.serialize(sink, mLowerBounds[i]);
+      type.serialize(sink, mUpperBounds[i]);
+      Utils.putVarLong(sink, mCounts[i]);
+    }
+  }
+
+  /**
+   * Deserialize a histogram, which has been serialized with
+   * {@link #serialize(DataOutput, ValueType)}.
+   *
+   * @param source the input to read from
+   * @param type the type of the values
+   * @return the histogram
+   * @throws IOException if an I/O error occurs
+   */
+  static EquiDepthHistogram deserialize(final DataInput source, final ValueType type) throws IOException {
+    final int buckets = (int) Utils.getVarLong(source);
+    if (buckets == 0) {
+      return EMPTY;
+    }
+    final Atomic[] lowerBounds = new Atomic[buckets];
+    final Atomic[] upperBounds = new Atomic[buckets];
+    final long[] counts = new long[buckets];
+    for (int i = 0; i < buckets; i++) {
+      lowerBounds[i] = type.deserialize(source);
+      upperBounds[i] = type.deserialize(source);
+      counts[i] = Utils.getVarLong(source);
+    }
+    return new EquiDepthHistogram(lowerBounds, upperBounds, counts);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("buckets", mCounts.length).toString();
+  }
+}
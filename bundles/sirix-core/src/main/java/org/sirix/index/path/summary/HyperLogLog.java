@@ -0,0 +1,153 @@
+package org.sirix.index.path.summary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import org.sirix.node.Utils;
+
+/**
+ * HyperLogLog sketch to estimate the number of distinct values with a standard error of about
+ * {@code 1.04 / sqrt(2^PRECISION)}, that is about 3% with 1024 registers. Only additions are
+ * supported, thus the estimate is an upper bound once values have been removed.
+ */
+final class HyperLogLog {
+
+  /** The number of bits of a hash, which select the register. */
+  private static final int PRECISION = 10;
+
+  /** The number of registers. */
+  private static final int REGISTERS = 1 << PRECISION;
+
+  /** Bias correction constant for the number of registers. */
+  private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+  /** The registers, each storing the maximum position of the first set bit. */
+  private final byte[] mRegisters;
+
+  /**
+   * Constructor.
+   */
+  HyperLogLog() {
+    mRegisters = new byte[REGISTERS];
+  }
+
+  private HyperLogLog(final byte[] registers) {
+    mRegisters = registers;
+  }
+
+  /**
+   * Add a value by its 64-bit hash.
+   *
+   * @param hash the hash of the value
+   */
+  void add(final long hash) {
+    final int register = (int) (hash >>> (Long.SIZE - PRECISION));
+    final byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+    if (rank > mRegisters[register]) {
+      mRegisters[register] = rank;
+    }
+  }
+
+  /**
+   * Add all values of another sketch.
+   *
+   * @param other the other sketch
+   */
+  void merge(final HyperLogLog other) {
+    for (int i = 0; i < REGISTERS; i++) {
+      if (other.mRegisters[i] > mRegisters[i]) {
+        mRegisters[i] = other.mRegisters[i];
+      }
+    }
+  }
+
+  /**
+   * Remove all values.
+   */
+  void clear() {
+    Arrays.fill(mRegisters, (byte) 0);
+  }
+
+  /**
+   * Estimate the number of distinct values.
+   *
+   * @return the estimated number of distinct values
+   */
+  long estimate() {
+    double sum = 0;
+    int zeroRegisters = 0;
+    for (final byte register : mRegisters) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeroRegisters++;
+      }
+    }
+    final double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+
+    // Linear counting for small cardinalities.
+    if (estimate <= 2.5 * REGISTERS && zeroRegisters > 0) {
+      return Math.round(REGISTERS * Math.log((double) REGISTERS / zeroRegisters));
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * Get a copy, which can be modified independently.
+   *
+   * @return the copy
+   */
+  HyperLogLog copy() {
+    return new HyperLogLog(mRegisters.clone());
+  }
+
+  /**
+   * Serialize the sketch. Only the non-empty registers are written, if they are few.
+   *
+   * @param sink the output to write to
+   * @throws IOException if an I/O error occurs
+   */
+  void serialize(final DataOutput sink) throws IOException {
+    int usedRegisters = 0;
+    for (final byte register : mRegisters) {
+      if (register != 0) {
+        usedRegisters++;
+      }
+    }
+
+    // A register index and its value take two bytes.
+    if (usedRegisters * 2 < REGISTERS) {
+      sink.writeBoolean(true);
+      Utils.putVarLong(sink, usedRegisters);
+      for (int i = 0; i < REGISTERS; i++) {
+        if (mRegisters[i] != 0) {
+          Utils.putVarLong(sink, i);
+          sink.writeByte(mRegisters[i]);
+        }
+      }
+    } else {
+      sink.writeBoolean(false);
+      sink.write(mRegisters);
+    }
+  }
+
+  /**
+   * Deserialize a sketch, which has been serialized with {@link #serialize(DataOutput)}.
+   *
+   * @param source the input to read from
+   * @return the sketch
+   * @throws IOException if an I/O error occurs
+   */
+  static HyperLogLog deserialize(final DataInput source) throws IOException {
+    final byte[] registers = new byte[REGISTERS];
+    if (source.readBoolean()) {
+      final long usedRegisters = Utils.getVarLong(source);
+      for (long i = 0; i < usedRegisters; i++) {
+        registers[(int) Utils.getVarLong(source)] = source.readByte();
+      }
+    } else {
+      source.readFully(registers);
+    }
+    return new HyperLogLog(registers);
+  }
+}
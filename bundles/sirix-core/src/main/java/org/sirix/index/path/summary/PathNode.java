@@ -13,6 +13,7 @@ import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
 import org.sirix.node.interfaces.NameNode;
 import org.sirix.node.xml.AbstractStructForwardingNode;
+import org.sirix.settings.Fixed;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 
@@ -42,6 +43,9 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
   /** Level of this path node. */
   private int mLevel;
 
+  /** Key of the {@link PathStatistics} of this path node. */
+  private long mStatisticsKey = Fixed.NULL_NODE_KEY.getStandardProperty();
+
   /**
    * Constructor.
    *
@@ -83,7 +87,7 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
     final Path<QNm> p = new Path<QNm>();
     for (final PathNode n : path) {
       reader.moveTo(n.getNodeKey());
-      if (n.getPathKind() == NodeKind.ELEMENT) {
+      if (isChildStep(n.getPathKind())) {
         p.child(reader.getName());
       } else {
         p.attribute(reader.getName());
@@ -93,6 +97,17 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
     return p;
   }
 
+  /**
+   * Determines if a path node of the given kind is a child step of a path. Elements as well as JSON
+   * object keys and arrays are child steps, whereas attributes and namespaces are attribute steps.
+   *
+   * @param pathKind the kind of the path node
+   * @return {@code true}, if the path node is a child step, {@code false} otherwise
+   */
+  static boolean isChildStep(final NodeKind pathKind) {
+    return pathKind == NodeKind.ELEMENT || pathKind == NodeKind.OBJECT_KEY || pathKind == NodeKind.ARRAY;
+  }
+
   /**
    * Level of this path node.
    *
@@ -102,6 +117,25 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
     return mLevel;
   }
 
+  /**
+   * Get the key of the {@link PathStatistics} of this path node.
+   *
+   * @return the key of the statistics or {@code Fixed.NULL_NODE_KEY}, if no values have been stored
+   *         yet
+   */
+  public long getStatisticsKey() {
+    return mStatisticsKey;
+  }
+
+  /**
+   * Set the key of the {@link PathStatistics} of this path node.
+   *
+   * @param statisticsKey the key of the statistics
+   */
+  public void setStatisticsKey(final long statisticsKey) {
+    mStatisticsKey = statisticsKey;
+  }
+
   /**
    * Get the number of references to this path node.
    *
@@ -224,6 +258,7 @@ public class PathNode extends AbstractStructForwardingNode implements NameNode {
                       .add("references", mReferences)
                       .add("kind", mKind)
                       .add("level", mLevel)
+                      .add("statistics key", mStatisticsKey)
                       .toString();
   }
 
@@ -0,0 +1,150 @@
+package org.sirix.index.path.summary;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nonnegative;
+import org.sirix.node.NodeKind;
+import org.sirix.node.Utils;
+import org.sirix.node.interfaces.Record;
+import com.google.common.base.MoreObjects;
+
+/**
+ * The value statistics of a path class, stored as a record of the path summary next to its
+ * {@link PathNode}. The statistics are versioned like the path summary itself, thus they are
+ * available for each revision.
+ */
+public final class PathStatistics implements Record {
+
+  /** The node key. */
+  private final long mNodeKey;
+
+  /** The revision, in which the statistics have been created. */
+  private final long mRevision;
+
+  /** The key of the path node. */
+  private final long mPathNodeKey;
+
+  /** The statistics per type of the values. */
+  private final Map<ValueType, ValueStatistics> mStatistics;
+
+  /**
+   * Constructor.
+   *
+   * @param nodeKey the node key
+   * @param revision the revision, in which the statistics have been created
+   * @param pathNodeKey the key of the path node
+   */
+  public PathStatistics(final @Nonnegative long nodeKey, final @Nonnegative long revision,
+      final @Nonnegative long pathNodeKey) {
+    this(nodeKey, revision, pathNodeKey, new EnumMap<>(ValueType.class));
+  }
+
+  private PathStatistics(final long nodeKey, final long revision, final long pathNodeKey,
+      final Map<ValueType, ValueStatistics> statistics) {
+    mNodeKey = nodeKey;
+    mRevision = revision;
+    mPathNodeKey = pathNodeKey;
+    mStatistics = statistics;
+  }
+
+  @Override
+  public long getNodeKey() {
+    return mNodeKey;
+  }
+
+  @Override
+  public NodeKind getKind() {
+    return NodeKind.PATH_STATISTICS;
+  }
+
+  @Override
+  public long getRevision() {
+    return mRevision;
+  }
+
+  /**
+   * Get the key of the path node.
+   *
+   * @return the key of the path node
+   */
+  public long getPathNodeKey() {
+    return mPathNodeKey;
+  }
+
+  /**
+   * Get the statistics of the values of a type.
+   *
+   * @param type the type of the values
+   * @return the statistics, or nothing if no value of the type has been stored in the path class
+   */
+  public Optional<ValueStatistics> getValueStatistics(final ValueType type) {
+    return Optional.ofNullable(mStatistics.get(checkNotNull(type)));
+  }
+
+  /**
+   * Get the statistics of the values of a type and create them if they don't exist.
+   *
+   * @param type the type of the values
+   * @return the statistics
+   */
+  ValueStatistics getOrCreateValueStatistics(final ValueType type) {
+    return mStatistics.computeIfAbsent(type, ValueStatistics::new);
+  }
+
+  /**
+   * Rebuild the histograms of all value types.
+   */
+  void rebuildHistograms() {
+    mStatistics.values().forEach(ValueStatistics::rebuildHistogram);
+  }
+
+  /**
+   * Serialize the statistics.
+   *
+   * @param sink the output to write to
+   * @throws IOException if an I/O error occurs
+   */
+  public void serialize(final DataOutput sink) throws IOException {
+    Utils.putVarLong(sink, mRevision);
+    Utils.putVarLong(sink, mPathNodeKey);
+    sink.writeByte(mStatistics.size());
+    for (final ValueStatistics statistics : mStatistics.values()) {
+      statistics.serialize(sink);
+    }
+  }
+
+  /**
+   * Deserialize statistics, which have been serialized with {@link #serialize(DataOutput)}.
+   *
+   * @param source the input to read from
+   * @param nodeKey the node key
+   * @return the statistics
+   * @throws IOException if an I/O error occurs
+   */
+  public static PathStatistics deserialize(final DataInput source, final @Nonnegative long nodeKey)
+      throws IOException {
+    final long revision = Utils.getVarLong(source);
+    final long pathNodeKey = Utils.getVarLong(source);
+    final int types = source.readByte();
+    final Map<ValueType, ValueStatistics> statistics = new EnumMap<>(ValueType.class);
+    for (int i = 0; i < types; i++) {
+      final ValueStatistics valueStatistics = ValueStatistics.deserialize(source);
+      statistics.put(valueStatistics.getType(), valueStatistics);
+    }
+    return new PathStatistics(nodeKey, revision, pathNodeKey, statistics);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("node key", mNodeKey)
+                      .add("path node key", mPathNodeKey)
+                      .add("statistics", mStatistics.values())
+                      .toString();
+  }
+}
@@ -0,0 +1,175 @@
+package org.sirix.index.path.summary;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Bool;
+import org.brackit.xquery.atomic.Dbl;
+import org.brackit.xquery.atomic.Str;
+import org.sirix.access.trx.node.xml.XmlIndexController.ChangeType;
+import org.sirix.api.PageTrx;
+import org.sirix.index.ChangeListener;
+import org.sirix.node.immutable.json.ImmutableBooleanNode;
+import org.sirix.node.immutable.json.ImmutableNumberNode;
+import org.sirix.node.interfaces.Record;
+import org.sirix.node.interfaces.ValueNode;
+import org.sirix.node.interfaces.immutable.ImmutableNode;
+import org.sirix.node.interfaces.immutable.ImmutableValueNode;
+import org.sirix.node.json.BooleanNode;
+import org.sirix.node.json.NumberNode;
+import org.sirix.page.PageKind;
+import org.sirix.page.PathSummaryPage;
+import org.sirix.page.UnorderedKeyValuePage;
+
+/**
+ * Maintains the {@link PathStatistics} of the path classes incrementally. It is notified about
+ * each indexed value change of a node transaction, updates the count, bounds, distinct count
+ * sketch and sample of the path class of the value and rebuilds the histograms of the changed path
+ * classes, once the transaction commits.
+ */
+public final class PathStatisticsWriter implements ChangeListener {
+
+  /** The page transaction. */
+  private final PageTrx<Long, Record, UnorderedKeyValuePage> mPageWriteTrx;
+
+  /** The keys of the statistics, which have been changed since the last commit. */
+  private final Set<Long> mChangedStatistics;
+
+  /**
+   * Constructor.
+   *
+   * @param pageWriteTrx the page transaction
+   */
+  public PathStatisticsWriter(final PageTrx<Long, Record, UnorderedKeyValuePage> pageWriteTrx) {
+    mPageWriteTrx = checkNotNull(pageWriteTrx);
+    mChangedStatistics = new HashSet<>();
+  }
+
+  @Override
+  public void listen(final ChangeType type, final @Nonnull ImmutableNode node, final long pathNodeKey) {
+    if (pathNodeKey <= 0) {
+      return;
+    }
+
+    final ValueType valueType;
+    final Atomic value;
+    Dbl numericValue = null;
+    switch (node.getKind()) {
+      case ATTRIBUTE:
+      case TEXT:
+        final String text = getStringValue(node);
+        valueType = ValueType.STRING;
+        value = new Str(text);
+        numericValue = ValueType.toNumber(text);
+        break;
+      case STRING_VALUE:
+        valueType = ValueType.STRING;
+        value = new Str(getStringValue(node));
+        break;
+      case NUMBER_VALUE:
+        valueType = ValueType.NUMBER;
+        value = new Dbl(getNumberValue(node).doubleValue());
+        break;
+      case BOOLEAN_VALUE:
+        valueType = ValueType.BOOLEAN;
+        value = getBooleanValue(node)
+            ? Bool.TRUE
+            : Bool.FALSE;
+        break;
+      default:
+        return;
+    }
+
+    final PathStatistics statistics = getStatistics(pathNodeKey, type == ChangeType.INSERT);
+    if (statistics == null) {
+      return;
+    }
+    update(statistics, type, node.getNodeKey(), valueType, value);
+    if (numericValue != null) {
+      update(statistics, type, node.getNodeKey(), ValueType.NUMBER, numericValue);
+    }
+  }
+
+  private static void update(final PathStatistics statistics, final ChangeType type, final long nodeKey,
+      final ValueType valueType, final Atomic value) {
+    if (type == ChangeType.INSERT) {
+      statistics.getOrCreateValueStatistics(valueType).add(nodeKey, value);
+    } else {
+      statistics.getValueStatistics(valueType).ifPresent(valueStatistics -> valueStatistics.remove(nodeKey, value));
+    }
+  }
+
+  /**
+   * Get the statistics of a path class prepared for modification.
+   *
+   * @param pathNodeKey the key of the path node
+   * @param create determines if the statistics are created, if the path class has none yet
+   * @return the statistics or {@code null}, if the path class has none
+   */
+  private @Nullable PathStatistics getStatistics(final long pathNodeKey, final boolean create) {
+    final Optional<? extends Record> pathNode = mPageWriteTrx.getRecord(pathNodeKey, PageKind.PATHSUMMARYPAGE, 0);
+    if (!pathNode.isPresent() || !(pathNode.get() instanceof PathNode)) {
+      return null;
+    }
+
+    final long statisticsKey = ((PathNode) pathNode.get()).getStatisticsKey();
+    if (statisticsKey >= 0) {
+      mChangedStatistics.add(statisticsKey);
+      return (PathStatistics) mPageWriteTrx.prepareEntryForModification(statisticsKey, PageKind.PATHSUMMARYPAGE, 0);
+    }
+    if (!create) {
+      return null;
+    }
+
+    final long newStatisticsKey = ((PathSummaryPage) mPageWriteTrx.getActualRevisionRootPage()
+                                                                  .getPathSummaryPageReference()
+                                                                  .getPage()).getMaxNodeKey(0)
+        + 1;
+    final PathStatistics statistics = (PathStatistics) mPageWriteTrx.createEntry(newStatisticsKey,
+        new PathStatistics(newStatisticsKey, mPageWriteTrx.getRevisionNumber(), pathNodeKey), PageKind.PATHSUMMARYPAGE,
+        0);
+    final PathNode modifiedPathNode =
+        (PathNode) mPageWriteTrx.prepareEntryForModification(pathNodeKey, PageKind.PATHSUMMARYPAGE, 0);
+    modifiedPathNode.setStatisticsKey(newStatisticsKey);
+    mChangedStatistics.add(newStatisticsKey);
+    return statistics;
+  }
+
+  /**
+   * Rebuild the histograms of all statistics, which have been changed since the last commit. Must be
+   * called before the page transaction commits.
+   */
+  public void flush() {
+    for (final long statisticsKey : mChangedStatistics) {
+      // The path class might have been removed in the meantime.
+      final Optional<? extends Record> record = mPageWriteTrx.getRecord(statisticsKey, PageKind.PATHSUMMARYPAGE, 0);
+      if (record.isPresent() && record.get() instanceof PathStatistics) {
+        ((PathStatistics) mPageWriteTrx.prepareEntryForModification(statisticsKey, PageKind.PATHSUMMARYPAGE,
+            0)).rebuildHistograms();
+      }
+    }
+    mChangedStatistics.clear();
+  }
+
+  private static String getStringValue(final ImmutableNode node) {
+    return node instanceof ValueNode
+        ? ((ValueNode) node).getValue()
+        : ((ImmutableValueNode) node).getValue();
+  }
+
+  private static Number getNumberValue(final ImmutableNode node) {
+    return node instanceof NumberNode
+        ? ((NumberNode) node).getValue()
+        : ((ImmutableNumberNode) node).getValue();
+  }
+
+  private static boolean getBooleanValue(final ImmutableNode node) {
+    return node instanceof BooleanNode
+        ? ((BooleanNode) node).getValue()
+        : ((ImmutableBooleanNode) node).getValue();
+  }
+}
@@ -341,10 +341,9 @@ public final class PathSummaryReader implements NodeReadOnlyTrx, NodeCursor {
     Optional<? extends StructNode> newNode;
     try {
       // Immediately return node from item list if node key negative.
-      @SuppressWarnings("unchecked")
-      final Optional<? extends StructNode> node =
-          (Optional<? extends StructNode>) mPageReadTrx.getRecord(nodeKey, PageKind.PATHSUMMARYPAGE, 0);
-      newNode = node;
+      final Optional<? extends Record> node = mPageReadTrx.getRecord(nodeKey, PageKind.PATHSUMMARYPAGE, 0);
+      // Path statistics are stored in the same pages, but aren't part of the tree.
+      newNode = node.filter(record -> record instanceof StructNode).map(record -> (StructNode) record);
     } catch (final SirixIOException e) {
       newNode = Optional.empty();
     }
@@ -549,7 +548,7 @@ public final class PathSummaryReader implements NodeReadOnlyTrx, NodeCursor {
     final Path<QNm> path = new Path<QNm>();
     for (final PathNode pathNode : paths) {
       moveTo(pathNode.getNodeKey());
-      if (pathNode.getPathKind() == NodeKind.ELEMENT) {
+      if (PathNode.isChildStep(pathNode.getPathKind())) {
         path.child(getName());
       } else {
         path.attribute(getName());
@@ -559,6 +558,55 @@ public final class PathSummaryReader implements NodeReadOnlyTrx, NodeCursor {
     return path;
   }
 
+  /**
+   * Get the value statistics of the current path node.
+   *
+   * @return the value statistics, or nothing if no value has been stored in the path class
+   */
+  public Optional<PathStatistics> getStatistics() {
+    assertNotClosed();
+    final PathNode pathNode = getPathNode();
+    if (pathNode == null || pathNode.getStatisticsKey() == Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      return Optional.empty();
+    }
+    final Optional<? extends Record> statistics =
+        mPageReadTrx.getRecord(pathNode.getStatisticsKey(), PageKind.PATHSUMMARYPAGE, 0);
+    return statistics.filter(PathStatistics.class::isInstance).map(PathStatistics.class::cast);
+  }
+
+  /**
+   * Get the statistics of the values of a type of all path classes matching the specified path. This
+   * allows to estimate the selectivity of a value predicate on the path or to answer count, min and
+   * max aggregates without touching the data.
+   *
+   * @param path the path for which to get the statistics
+   * @param type the type of the values
+   * @return the merged value statistics, or nothing if no value of the type has been stored in one of
+   *         the path classes
+   * @throws PathException if the path is not valid
+   */
+  public Optional<ValueStatistics> getStatistics(final Path<QNm> path, final ValueType type) throws PathException {
+    assertNotClosed();
+    checkNotNull(path);
+    checkNotNull(type);
+    final long nodeKey = mCurrentNode.getNodeKey();
+    ValueStatistics result = null;
+    for (final long pcr : getPCRsForPath(path, false)) {
+      moveTo(pcr);
+      final Optional<ValueStatistics> statistics =
+          getStatistics().flatMap(pathStatistics -> pathStatistics.getValueStatistics(type));
+      if (statistics.isPresent()) {
+        if (result == null) {
+          result = statistics.get().copy();
+        } else {
+          result.merge(statistics.get());
+        }
+      }
+    }
+    moveTo(nodeKey);
+    return Optional.ofNullable(result);
+  }
+
   @Override
   public String toString() {
     final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this);
@@ -600,6 +600,7 @@ public final class PathSummaryWriter<R extends NodeCursor & NodeReadOnlyTrx>
         axis.next();
         mPathSummaryReader.removeMapping(mPathSummaryReader.getNodeKey());
         mPathSummaryReader.removeQNameMapping(mPathSummaryReader.getPathNode(), mPathSummaryReader.getName());
+        removeStatistics();
         mPageWriteTrx.removeEntry(mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
       }
     }
@@ -631,9 +632,20 @@ public final class PathSummaryWriter<R extends NodeCursor & NodeReadOnlyTrx>
     // Remove node.
     mPathSummaryReader.removeMapping(mPathSummaryReader.getNodeKey());
     mPathSummaryReader.removeQNameMapping(mPathSummaryReader.getPathNode(), mPathSummaryReader.getName());
+    removeStatistics();
     mPageWriteTrx.removeEntry(mPathSummaryReader.getNodeKey(), PageKind.PATHSUMMARYPAGE, 0);
   }
 
+  /**
+   * Remove the {@link PathStatistics} of the current path node, if it has any.
+   */
+  private void removeStatistics() {
+    final long statisticsKey = mPathSummaryReader.getPathNode().getStatisticsKey();
+    if (statisticsKey != Fixed.NULL_NODE_KEY.getStandardProperty()) {
+      mPageWriteTrx.removeEntry(statisticsKey, PageKind.PATHSUMMARYPAGE, 0);
+    }
+  }
+
   private void deleteOrDecrement() {
     if (mNodeRtx.getNode() instanceof ImmutableNameNode) {
       movePathSummary();
@@ -0,0 +1,370 @@
+package org.sirix.index.path.summary;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Str;
+import org.sirix.node.Utils;
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+/**
+ * Statistics of the values of one type of a path class: the exact number of values, the minimum and
+ * maximum value, an estimate of the number of distinct values and an equi-depth histogram.
+ *
+ * <p>
+ * The statistics are maintained incrementally. The histogram is derived from a deterministic sample
+ * of the values (the values of the nodes with the smallest hashes of their node keys), which is
+ * kept up-to-date on inserts and removals and from which the histogram is rebuilt on commit. The
+ * distinct count can't forget removed values and the minimum and maximum can't be tightened after
+ * the removal of a bound, both are upper bounds in this case (see {@link #hasExactBounds()}), until
+ * all values of the path class are removed.
+ * </p>
+ */
+public final class ValueStatistics {
+
+  /** The maximum number of sampled values. */
+  static final int SAMPLE_SIZE = 256;
+
+  /** The maximum number of buckets of the histogram. */
+  static final int HISTOGRAM_BUCKETS = 16;
+
+  /** Sampled strings are truncated to this length. */
+  private static final int MAX_SAMPLED_STRING_LENGTH = 128;
+
+  /** Hash function for node keys and values. */
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  /** The type of the values. */
+  private final ValueType mType;
+
+  /** The number of values. */
+  private long mCount;
+
+  /** The minimum value. */
+  private Atomic mMin;
+
+  /** The maximum value. */
+  private Atomic mMax;
+
+  /** Determines if minimum and maximum are values of the path class. */
+  private boolean mExactBounds;
+
+  /** The distinct count sketch. */
+  private final HyperLogLog mDistinctValues;
+
+  /** The sampled values, keyed by the hashes of their node keys. */
+  private final TreeMap<Long, Atomic> mSample;
+
+  /** The histogram. */
+  private EquiDepthHistogram mHistogram;
+
+  /**
+   * Constructor.
+   *
+   * @param type the type of the values
+   */
+  ValueStatistics(final ValueType type) {
+    this(type, 0, null, null, true, new HyperLogLog(), new TreeMap<>(), EquiDepthHistogram.EMPTY);
+  }
+
+  private ValueStatistics(final ValueType type, final long count, final @Nullable Atomic min,
+      final @Nullable Atomic max, final boolean exactBounds, final HyperLogLog distinctValues,
+      final TreeMap<Long, Atomic> sample, final EquiDepthHistogram histogram) {
+    mType = checkNotNull(type);
+    mCount = count;
+    mMin = min;
+    mMax = max;
+    mExactBounds = exactBounds;
+    mDistinctValues = distinctValues;
+    mSample = sample;
+    mHistogram = histogram;
+  }
+
+  /**
+   * Get the type of the values.
+   *
+   * @return the type
+   */
+  public ValueType getType() {
+    return mType;
+  }
+
+  /**
+   * Get the number of values.
+   *
+   * @return the number of values
+   */
+  public long getCount() {
+    return mCount;
+  }
+
+  /**
+   * Get the minimum value.
+   *
+   * @return the minimum value, or nothing if there are no values
+   */
+  public Optional<Atomic> getMin() {
+    return Optional.ofNullable(mMin);
+  }
+
+  /**
+   * Get the maximum value.
+   *
+   * @return the maximum value, or nothing if there are no values
+   */
+  public Optional<Atomic> getMax() {
+    return Optional.ofNullable(mMax);
+  }
+
+  /**
+   * Determines if the minimum and maximum are values of the path class. Otherwise a bound has been
+   * removed and they are only lower and upper bounds of the values.
+   *
+   * @return {@code true}, if the bounds are exact, {@code false} otherwise
+   */
+  public boolean hasExactBounds() {
+    return mExactBounds;
+  }
+
+  /**
+   * Estimate the number of distinct values.
+   *
+   * @return the estimated number of distinct values
+   */
+  public long estimateDistinctCount() {
+    return Math.min(mCount, mDistinctValues.estimate());
+  }
+
+  /**
+   * Get the histogram as of the last commit.
+   *
+   * @return the histogram
+   */
+  public EquiDepthHistogram getHistogram() {
+    return mHistogram;
+  }
+
+  /**
+   * Estimate the number of values equal to the given value.
+   *
+   * @param value the value
+   * @return the estimated number of values
+   */
+  public long estimateEqual(final Atomic value) {
+    checkNotNull(value);
+    if (mCount == 0 || (mExactBounds && (value.compareTo(mMin) < 0 || value.compareTo(mMax) > 0))) {
+      return 0;
+    }
+    final int bucket = mHistogram.getSingleValueBucket(value);
+    if (bucket >= 0) {
+      return mHistogram.getCount(bucket);
+    }
+    return Math.max(1, mCount / Math.max(1, estimateDistinctCount()));
+  }
+
+  /**
+   * Estimate the number of values less than (or equal to) the given value.
+   *
+   * @param value the value
+   * @param inclusive determines if values equal to the given value are included
+   * @return the estimated number of values
+   */
+  public long estimateLessThan(final Atomic value, final boolean inclusive) {
+    checkNotNull(value);
+    return Math.min(mCount, mHistogram.estimateLessThan(value, inclusive));
+  }
+
+  /**
+   * Estimate the number of values greater than (or equal to) the given value.
+   *
+   * @param value the value
+   * @param inclusive determines if values equal to the given value are included
+   * @return the estimated number of values
+   */
+  public long estimateGreaterThan(final Atomic value, final boolean inclusive) {
+    return Math.max(0, mCount - estimateLessThan(value, !inclusive));
+  }
+
+  /**
+   * Add a value.
+   *
+   * @param nodeKey the key of the node of the value
+   * @param value the value
+   */
+  void add(final long nodeKey, final Atomic value) {
+    if (mCount == 0) {
+      mMin = value;
+      mMax = value;
+    } else if (value.compareTo(mMin) < 0) {
+      mMin = value;
+    } else if (value.compareTo(mMax) > 0) {
+      mMax = value;
+    }
+    mCount++;
+    mDistinctValues.add(hashValue(value));
+
+    final long hash = hashNodeKey(nodeKey);
+    if (mSample.size() < SAMPLE_SIZE) {
+      mSample.put(hash, toSampledValue(value));
+    } else if (hash < mSample.lastKey()) {
+      mSample.pollLastEntry();
+      mSample.put(hash, toSampledValue(value));
+    }
+  }
+
+  /**
+   * Remove a value.
+   *
+   * @param nodeKey the key of the node of the value
+   * @param value the value
+   */
+  void remove(final long nodeKey, final Atomic value) {
+    if (mCount <= 1) {
+      mCount = 0;
+      mMin = null;
+      mMax = null;
+      mExactBounds = true;
+      mDistinctValues.clear();
+      mSample.clear();
+      return;
+    }
+    mCount--;
+    if (value.compareTo(mMin) == 0 || value.compareTo(mMax) == 0) {
+      mExactBounds = false;
+    }
+    mSample.remove(hashNodeKey(nodeKey));
+  }
+
+  /**
+   * Rebuild the histogram from the sample.
+   */
+  void rebuildHistogram() {
+    final List<Atomic> sortedSample = new ArrayList<>(mSample.values());
+    sortedSample.sort(Atomic::compareTo);
+    mHistogram = EquiDepthHistogram.build(sortedSample, mCount, HISTOGRAM_BUCKETS);
+  }
+
+  /**
+   * Add the values of other statistics of the same type, for instance of another path class.
+   *
+   * @param other the other statistics
+   */
+  void merge(final ValueStatistics other) {
+    if (other.mCount == 0) {
+      return;
+    }
+    if (mCount == 0 || other.mMin.compareTo(mMin) < 0) {
+      mMin = other.mMin;
+    }
+    if (mCount == 0 || other.mMax.compareTo(mMax) > 0) {
+      mMax = other.mMax;
+    }
+    mExactBounds &= other.mExactBounds;
+    mCount += other.mCount;
+    mDistinctValues.merge(other.mDistinctValues);
+    mSample.putAll(other.mSample);
+    while (mSample.size() > SAMPLE_SIZE) {
+      mSample.pollLastEntry();
+    }
+    rebuildHistogram();
+  }
+
+  /**
+   * Get a copy, which can be modified independently.
+   *
+   * @return the copy
+   */
+  ValueStatistics copy() {
+    return new ValueStatistics(mType, mCount, mMin, mMax, mExactBounds, mDistinctValues.copy(),
+        new TreeMap<>(mSample), mHistogram);
+  }
+
+  private Atomic toSampledValue(final Atomic value) {
+    if (mType == ValueType.STRING && value.stringValue().length() > MAX_SAMPLED_STRING_LENGTH) {
+      return new Str(value.stringValue().substring(0, MAX_SAMPLED_STRING_LENGTH));
+    }
+    return value;
+  }
+
+  private static long hashNodeKey(final long nodeKey) {
+    return HASH_FUNCTION.hashLong(nodeKey).asLong();
+  }
+
+  private static long hashValue(final Atomic value) {
+    return HASH_FUNCTION.hashUnencodedChars(value.stringValue()).asLong();
+  }
+
+  /**
+   * Serialize the statistics.
+   *
+   * @param sink the output to write to
+   * @throws IOException if an I/O error occurs
+   */
+  void serialize(final DataOutput sink) throws IOException {
+    sink.writeByte(mType.getId());
+    Utils.putVarLong(sink, mCount);
+    if (mCount > 0) {
+      mType.serialize(sink, mMin);
+      mType.serialize(sink, mMax);
+    }
+    sink.writeBoolean(mExactBounds);
+    mDistinctValues.serialize(sink);
+    Utils.putVarLong(sink, mSample.size());
+    for (final Map.Entry<Long, Atomic> entry : mSample.entrySet()) {
+      sink.writeLong(entry.getKey());
+      mType.serialize(sink, entry.getValue());
+    }
+    mHistogram.serialize(sink, mType);
+  }
+
+  /**
+   * Deserialize statistics, which have been serialized with {@link #serialize(DataOutput)}.
+   *
+   * @param source the input to read from
+   * @return the statistics
+   * @throws IOException if an I/O error occurs
+   */
+  static ValueStatistics deserialize(final DataInput source) throws IOException {
+    final ValueType type = ValueType.getValueType(source.readByte());
+    final long count = Utils.getVarLong(source);
+    final Atomic min = count > 0
+        ? type.deserialize(source)
+        : null;
+    final Atomic max = count > 0
+        ? type.deserialize(source)
+        : null;
+    final boolean exactBounds = source.readBoolean();
+    final HyperLogLog distinctValues = HyperLogLog.deserialize(source);
+    final long sampleSize = Utils.getVarLong(source);
+    final TreeMap<Long, Atomic> sample = new TreeMap<>();
+    for (long i = 0; i < sampleSize; i++) {
+      final long hash = source.readLong();
+      sample.put(hash, type.deserialize(source));
+    }
+    final EquiDepthHistogram histogram = EquiDepthHistogram.deserialize(source, type);
+    return new ValueStatistics(type, count, min, max, exactBounds, distinctValues, sample, histogram);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+                      .add("type", mType)
+                      .add("count", mCount)
+                      .add("min", mMin)
+                      .add("max", mMax)
+                      .add("exact bounds", mExactBounds)
+                      .add("distinct count", estimateDistinctCount())
+                      .add("histogram", mHistogram)
+                      .toString();
+  }
+}
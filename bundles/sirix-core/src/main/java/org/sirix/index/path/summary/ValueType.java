@@ -0,0 +1,135 @@
+package org.sirix.index.path.summary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.Atomic;
+import org.brackit.xquery.atomic.Bool;
+import org.brackit.xquery.atomic.Dbl;
+import org.brackit.xquery.atomic.Numeric;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.node.Utils;
+import org.sirix.settings.Constants;
+
+/**
+ * The types of values, for which {@link ValueStatistics} are maintained per path class.
+ */
+public enum ValueType {
+  /** String values. */
+  STRING((byte) 0, Type.STR) {
+    @Override
+    void serialize(final DataOutput sink, final Atomic value) throws IOException {
+      final byte[] bytes = value.stringValue().getBytes(Constants.DEFAULT_ENCODING);
+      Utils.putVarLong(sink, bytes.length);
+      sink.write(bytes);
+    }
+
+    @Override
+    Atomic deserialize(final DataInput source) throws IOException {
+      final byte[] bytes = new byte[(int) Utils.getVarLong(source)];
+      source.readFully(bytes);
+      return new Str(new String(bytes, Constants.DEFAULT_ENCODING));
+    }
+  },
+
+  /** Numeric values, which are compared as doubles. */
+  NUMBER((byte) 1, Type.DBL) {
+    @Override
+    void serialize(final DataOutput sink, final Atomic value) throws IOException {
+      sink.writeDouble(((Numeric) value).doubleValue());
+    }
+
+    @Override
+    Atomic deserialize(final DataInput source) throws IOException {
+      return new Dbl(source.readDouble());
+    }
+  },
+
+  /** Boolean values. */
+  BOOLEAN((byte) 2, Type.BOOL) {
+    @Override
+    void serialize(final DataOutput sink, final Atomic value) throws IOException {
+      sink.writeBoolean(value.booleanValue());
+    }
+
+    @Override
+    Atomic deserialize(final DataInput source) throws IOException {
+      return source.readBoolean()
+          ? Bool.TRUE
+          : Bool.FALSE;
+    }
+  };
+
+  /** The unique identifier. */
+  private final byte mId;
+
+  /** The corresponding atomic type. */
+  private final Type mType;
+
+  ValueType(final byte id, final Type type) {
+    mId = id;
+    mType = type;
+  }
+
+  /**
+   * Get the unique identifier.
+   *
+   * @return the identifier
+   */
+  public byte getId() {
+    return mId;
+  }
+
+  /**
+   * Get the corresponding atomic type.
+   *
+   * @return the atomic type
+   */
+  public Type getType() {
+    return mType;
+  }
+
+  /**
+   * Get the value type of an identifier.
+   *
+   * @param id the identifier
+   * @return the value type
+   */
+  public static ValueType getValueType(final byte id) {
+    for (final ValueType type : values()) {
+      if (type.mId == id) {
+        return type;
+      }
+    }
+    throw new IllegalStateException("Unknown value type: " + id);
+  }
+
+  /**
+   * Convert a string to a numeric value, if it denotes a number.
+   *
+   * @param value the string value
+   * @return the numeric value or {@code null}, if the string doesn't denote a number
+   */
+  static @Nullable Dbl toNumber(final String value) {
+    final String trimmed = value.trim();
+    if (trimmed.isEmpty()) {
+      return null;
+    }
+    // Avoid the exception for the common case of text values.
+    final char first = trimmed.charAt(0);
+    if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.') {
+      return null;
+    }
+    try {
+      return new Dbl(Double.parseDouble(trimmed));
+    } catch (final NumberFormatException e) {
+      return null;
+    }
+  }
+
+  abstract void serialize(DataOutput sink, Atomic value) throws IOException;
+
+  abstract Atomic deserialize(DataInput source) throws IOException;
+}
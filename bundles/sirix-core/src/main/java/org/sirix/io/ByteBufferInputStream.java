@@ -0,0 +1,61 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link InputStream} reading from a {@link ByteBuffer} without copying the underlying bytes.
+ * The stream advances the position of the buffer, thus callers should hand in a duplicate or a
+ * slice if the buffer is shared.
+ */
+public final class ByteBufferInputStream extends InputStream {
+
+  /** The buffer to read from. */
+  private final ByteBuffer mBuffer;
+
+  /**
+   * Constructor.
+   *
+   * @param buffer the buffer to read from (between its position and limit)
+   */
+  public ByteBufferInputStream(final ByteBuffer buffer) {
+    mBuffer = checkNotNull(buffer);
+  }
+
+  @Override
+  public int read() {
+    if (!mBuffer.hasRemaining()) {
+      return -1;
+    }
+    return mBuffer.get() & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (!mBuffer.hasRemaining()) {
+      return -1;
+    }
+    final int toRead = Math.min(length, mBuffer.remaining());
+    mBuffer.get(bytes, offset, toRead);
+    return toRead;
+  }
+
+  @Override
+  public long skip(final long n) {
+    if (n <= 0) {
+      return 0;
+    }
+    final int toSkip = (int) Math.min(n, mBuffer.remaining());
+    mBuffer.position(mBuffer.position() + toSkip);
+    return toSkip;
+  }
+
+  @Override
+  public int available() {
+    return mBuffer.remaining();
+  }
+}
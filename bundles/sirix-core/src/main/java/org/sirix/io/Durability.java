@@ -0,0 +1,48 @@
+package org.sirix.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Determines if and how commits are forced to the storage device. If commits are forced, the
+ * pages of a revision are forced before the uber page beacon is written, and the beacon is forced
+ * before the commit returns, such that a crash never exposes a partially written revision.
+ */
+public enum Durability {
+  /** Never force, the operating system decides when pages hit the device. */
+  NONE {
+    @Override
+    public void force(final FileChannel... channels) {
+    }
+  },
+
+  /** Force the files of a resource on every commit. */
+  FSYNC_ON_COMMIT {
+    @Override
+    public void force(final FileChannel... channels) throws IOException {
+      for (final FileChannel channel : channels) {
+        channel.force(false);
+      }
+    }
+  },
+
+  /**
+   * Force the files of a resource on every commit, but coalesce concurrent commits of all resources
+   * (also of different databases) into one sync window, which is shared by all committing threads.
+   */
+  GROUP_COMMIT {
+    @Override
+    public void force(final FileChannel... channels) throws IOException {
+      GroupCommit.INSTANCE.force(channels);
+    }
+  };
+
+  /**
+   * Force the content of the given channels to the storage device, according to this durability
+   * mode. The method returns once the content is durable.
+   *
+   * @param channels the channels to force
+   * @throws IOException if an I/O error occurs
+   */
+  public abstract void force(FileChannel... channels) throws IOException;
+}
@@ -0,0 +1,129 @@
+package org.sirix.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces the forces of concurrently committing transactions. The first thread, which requests
+ * a force, becomes the leader of a batch. It waits for a short window, in which other threads add
+ * their channels to the batch, then forces every distinct channel of the batch once and wakes up
+ * all threads of the batch. Threads arriving while a batch is forced join the next batch.
+ */
+final class GroupCommit {
+
+  /** Process wide instance shared by all resources. */
+  static final GroupCommit INSTANCE = new GroupCommit(TimeUnit.MICROSECONDS.toNanos(500));
+
+  /** The time the leader waits for other commits to join the batch. */
+  private final long mWindowNanos;
+
+  /** Guards the state below. */
+  private final Lock mLock;
+
+  /** Signaled, once a batch has been forced. */
+  private final Condition mSynced;
+
+  /** Used by the leader to wait for the window to pass. */
+  private final Condition mWindow;
+
+  /** The current batch, which collects the channels of arriving threads. */
+  private Batch mPending;
+
+  /** Determines if a leader currently collects or forces a batch. */
+  private boolean mSyncing;
+
+  /**
+   * The channels of a batch and its outcome. Each thread keeps a reference to the batch it has
+   * joined, such that it learns the outcome of its own batch, even if further batches have been
+   * forced before it wakes up.
+   */
+  private static final class Batch {
+    /** The distinct channels of the batch. */
+    private final Set<FileChannel> mChannels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Determines if the batch has been forced. */
+    private boolean mSynced;
+
+    /** The failure of the batch, or {@code null}, if forcing it succeeded. */
+    private IOException mFailure;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param windowNanos the time the leader waits for other commits to join a batch
+   */
+  GroupCommit(final long windowNanos) {
+    mWindowNanos = windowNanos;
+    mLock = new ReentrantLock();
+    mSynced = mLock.newCondition();
+    mWindow = mLock.newCondition();
+    mPending = new Batch();
+  }
+
+  /**
+   * Force the given channels. Returns once the batch, the channels have been added to, is forced.
+   *
+   * @param channels the channels to force
+   * @throws IOException if forcing the batch failed
+   */
+  void force(final FileChannel... channels) throws IOException {
+    mLock.lock();
+    try {
+      final Batch batch = mPending;
+      Collections.addAll(batch.mChannels, channels);
+
+      while (!batch.mSynced) {
+        if (mSyncing) {
+          mSynced.awaitUninterruptibly();
+          continue;
+        }
+
+        // Lead the current batch, which contains the channels of this thread.
+        assert batch == mPending;
+        mSyncing = true;
+        long remaining = mWindowNanos;
+        while (remaining > 0) {
+          try {
+            remaining = mWindow.awaitNanos(remaining);
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            break;
+          }
+        }
+
+        mPending = new Batch();
+
+        IOException failure = null;
+        mLock.unlock();
+        try {
+          for (final FileChannel channel : batch.mChannels) {
+            channel.force(false);
+          }
+        } catch (final IOException e) {
+          failure = e;
+        } finally {
+          mLock.lock();
+        }
+
+        batch.mFailure = failure;
+        batch.mSynced = true;
+        mSyncing = false;
+        mSynced.signalAll();
+      }
+
+      if (batch.mFailure != null) {
+        throw new IOException("Group commit failed.", batch.mFailure);
+      }
+    } finally {
+      mLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.sirix.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import javax.annotation.Nullable;
+import org.sirix.exception.SirixIOException;
+import org.sirix.page.PageReference;
+import com.google.common.hash.Hashing;
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+/**
+ * The checksum of the serialized pages, which is stored in the {@link PageReference}s pointing to
+ * the pages. If verification on read is enabled, the checksum of a page is verified whenever it's
+ * read from the storage device.
+ */
+public enum PageChecksum {
+  /** No checksum is computed. */
+  NONE {
+    @Override
+    public byte[] compute(final ByteBuffer page) {
+      return null;
+    }
+  },
+
+  /** SHA-256, a cryptographic, but slow hash function. */
+  SHA256 {
+    @Override
+    public byte[] compute(final ByteBuffer page) {
+      return Hashing.sha256().hashBytes(page.duplicate()).asBytes();
+    }
+  },
+
+  /** CRC32C, which is computed with hardware support on most platforms. */
+  CRC32C {
+    @Override
+    public byte[] compute(final ByteBuffer page) {
+      final CRC32C crc = new CRC32C();
+      crc.update(page.duplicate());
+      return ByteBuffer.allocate(Integer.BYTES).putInt((int) crc.getValue()).array();
+    }
+  },
+
+  /** xxHash64, a very fast non-cryptographic hash function. */
+  XXHASH64 {
+    @Override
+    public byte[] compute(final ByteBuffer page) {
+      final long hash = XXHASH_64.hash(page, page.position(), page.remaining(), 0);
+      return ByteBuffer.allocate(Long.BYTES).putLong(hash).array();
+    }
+  };
+
+  /** The fastest available xxHash64 implementation. */
+  private static final XXHash64 XXHASH_64 = XXHashFactory.fastestInstance().hash64();
+
+  /**
+   * Compute the checksum of the remaining bytes of a serialized page. The position of the buffer is
+   * not changed.
+   *
+   * @param page the serialized page
+   * @return the checksum or {@code null}, if no checksum is computed
+   */
+  public abstract @Nullable byte[] compute(ByteBuffer page);
+
+  /**
+   * Verify the checksum of a serialized page, if the reference stores one.
+   *
+   * @param reference the reference pointing to the page
+   * @param page the serialized page
+   * @throws SirixIOException if the checksum doesn't match
+   */
+  public void verify(final PageReference reference, final ByteBuffer page) {
+    final byte[] expected = reference.getHash();
+    if (this == NONE || expected == null) {
+      return;
+    }
+
+    if (!Arrays.equals(expected, compute(page))) {
+      throw new SirixIOException("Checksum of page at offset " + reference.getKey() + " doesn't match.");
+    }
+  }
+}
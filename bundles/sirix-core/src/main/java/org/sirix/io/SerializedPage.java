@@ -0,0 +1,63 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+/**
+ * A page, which has been serialized by the byte handler pipeline of a {@link Writer}, but hasn't
+ * been written yet. Serialized pages are independent of the position they are written to, such that
+ * they can be serialized concurrently and written in order by a single thread.
+ */
+public final class SerializedPage {
+  /** The serialized page, which might be followed by unused bytes. */
+  private final byte[] mData;
+
+  /** The length of the serialized page. */
+  private final int mLength;
+
+  /** The checksum of the serialized page or {@code null}. */
+  private final byte[] mChecksum;
+
+  /**
+   * Constructor.
+   *
+   * @param data the serialized page, which might be followed by unused bytes
+   * @param length the length of the serialized page
+   * @param checksum the checksum of the serialized page or {@code null}, if no checksum is stored
+   */
+  public SerializedPage(final byte[] data, final @Nonnegative int length, final @Nullable byte[] checksum) {
+    mData = checkNotNull(data);
+    checkArgument(length >= 0 && length <= data.length, "The length must be between 0 and %s.", data.length);
+    mLength = length;
+    mChecksum = checksum;
+  }
+
+  /**
+   * Get the serialized page, which might be followed by unused bytes.
+   *
+   * @return the serialized page
+   */
+  public byte[] getData() {
+    return mData;
+  }
+
+  /**
+   * Get the length of the serialized page.
+   *
+   * @return the length in bytes
+   */
+  public int getLength() {
+    return mLength;
+  }
+
+  /**
+   * Get the checksum of the serialized page.
+   *
+   * @return the checksum or {@code null}, if no checksum is stored
+   */
+  public @Nullable byte[] getChecksum() {
+    return mChecksum;
+  }
+}
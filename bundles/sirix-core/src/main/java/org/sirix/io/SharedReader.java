@@ -0,0 +1,39 @@
+package org.sirix.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A thread safe {@link Reader}, which is shared amongst all read-only transactions of a resource.
+ * Closing it is a no-op, as the underlying reader is owned and closed by the {@link Storage}.
+ */
+public final class SharedReader extends AbstractForwardingReader {
+
+  /** The thread safe reader, which is shared. */
+  private final Reader mReader;
+
+  /**
+   * Constructor.
+   *
+   * @param reader the thread safe reader to share
+   */
+  public SharedReader(final Reader reader) {
+    mReader = checkNotNull(reader);
+  }
+
+  @Override
+  public void close() {
+    // Closed by the storage.
+  }
+
+  /**
+   * Close the underlying reader.
+   */
+  public void closeShared() {
+    mReader.close();
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+}
@@ -24,6 +24,7 @@ import java.io.RandomAccessFile;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.file.FileStorage;
+import org.sirix.io.memorymapped.MemoryMappedStorage;
 import org.sirix.io.ram.RAMStorage;
 
 /**
@@ -48,6 +49,14 @@ public enum StorageType {
     public Storage getInstance(final ResourceConfiguration resourceConf) {
       return new FileStorage(resourceConf);
     }
+  },
+
+  /** Memory mapped file backend. */
+  MEMORY_MAPPED {
+    @Override
+    public Storage getInstance(final ResourceConfiguration resourceConf) {
+      return new MemoryMappedStorage(resourceConf);
+    }
   };
 
   /**
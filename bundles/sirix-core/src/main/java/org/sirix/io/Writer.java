@@ -21,8 +21,10 @@
 
 package org.sirix.io;
 
+import javax.annotation.Nullable;
 import org.sirix.exception.SirixIOException;
 import org.sirix.page.PageReference;
+import org.sirix.page.interfaces.Page;
 
 /**
  * Interface to provide the abstract layer related to write access of the Sirix-backend.
@@ -40,6 +42,33 @@ public interface Writer extends Reader {
    */
   Writer write(PageReference pageReference) throws SirixIOException;
 
+  /**
+   * Serialize a page, such that it's written later on by {@link #write(PageReference, SerializedPage)}.
+   * Pages may be serialized concurrently by several threads, whereas all other methods must only be
+   * called by a single thread.
+   *
+   * @param page the page to serialize
+   * @return the serialized page or {@code null}, if the writer stores pages as they are
+   * @throws SirixIOException if the page couldn't be serialized
+   */
+  default @Nullable SerializedPage serialize(final Page page) throws SirixIOException {
+    return null;
+  }
+
+  /**
+   * Write a page related to the reference, which has been serialized by {@link #serialize(Page)}.
+   *
+   * @param pageReference that points to the page
+   * @param serializedPage the serialized page
+   * @throws SirixIOException if an I/O error occured
+   * @throws UnsupportedOperationException if the writer doesn't serialize pages
+   * @return this writer instance
+   */
+  default Writer write(final PageReference pageReference, final SerializedPage serializedPage)
+      throws SirixIOException {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Write beacon for the first reference.
    *
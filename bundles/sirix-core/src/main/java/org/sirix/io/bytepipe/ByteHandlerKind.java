@@ -36,6 +36,7 @@ import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 /**
@@ -66,6 +67,56 @@ public enum ByteHandlerKind {
     }
   },
 
+  LZ4_COMPRESSOR(Lz4Compressor.class) {
+    @Override
+    public ByteHandler deserialize(JsonReader reader) {
+      return callDefaultConstructor(reader, Lz4Compressor.class.getName());
+    }
+
+    @Override
+    public void serialize(ByteHandler byteHandler, JsonWriter writer) throws IOException {
+      serializeDefaultConstructor(byteHandler, writer);
+    }
+  },
+
+  ZSTD_COMPRESSOR(ZstdCompressor.class) {
+    @Override
+    public ByteHandler deserialize(JsonReader reader) throws IOException {
+      reader.beginObject();
+      final String levelName = reader.nextName();
+      assert levelName.equals("level");
+      final int level = reader.nextInt();
+      final String dictionaryName = reader.nextName();
+      assert dictionaryName.equals("dictionary");
+      final Path resourcePath;
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        resourcePath = null;
+      } else {
+        resourcePath = Paths.get(reader.nextString());
+      }
+      reader.endObject();
+      return resourcePath == null ? new ZstdCompressor(level) : new ZstdCompressor(resourcePath, level);
+    }
+
+    @Override
+    public void serialize(ByteHandler byteHandler, JsonWriter writer) throws IOException {
+      final ZstdCompressor compressor = (ZstdCompressor) byteHandler;
+      writer.beginObject();
+      writer.name(byteHandler.getClass().getName());
+      writer.beginObject();
+      writer.name("level").value(compressor.getLevel());
+      writer.name("dictionary");
+      if (compressor.getResourcePath().isPresent()) {
+        writer.value(compressor.getResourcePath().get().toString());
+      } else {
+        writer.nullValue();
+      }
+      writer.endObject();
+      writer.endObject();
+    }
+  },
+
   ENCRYPTOR(Encryptor.class) {
     @Override
     public ByteHandler deserialize(JsonReader reader) {
@@ -0,0 +1,31 @@
+package org.sirix.io.bytepipe;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+
+/**
+ * LZ4 compression/decompression. Compresses with a lower ratio than {@link DeflateCompressor}, but
+ * much faster, and decompresses faster than {@link SnappyCompressor}.
+ *
+ * @author Johannes Lichtenberger <johannes.lichtenberger@sirix.io>
+ *
+ */
+public final class Lz4Compressor implements ByteHandler {
+
+  @Override
+  public OutputStream serialize(final OutputStream toSerialize) {
+    return new LZ4BlockOutputStream(toSerialize);
+  }
+
+  @Override
+  public InputStream deserialize(final InputStream toDeserialize) {
+    return new LZ4BlockInputStream(toDeserialize);
+  }
+
+  @Override
+  public ByteHandler getInstance() {
+    return new Lz4Compressor();
+  }
+}
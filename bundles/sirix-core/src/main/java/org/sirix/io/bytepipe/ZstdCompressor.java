@@ -0,0 +1,183 @@
+package org.sirix.io.bytepipe;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * Zstandard compression/decompression.
+ *
+ * <p>
+ * Optionally a dictionary is used, which is trained from sample pages once the resource is created
+ * and stored in the resource folder. Record pages usually are small, such that a dictionary shared
+ * by all pages of a resource greatly improves the compression ratio.
+ * </p>
+ *
+ * @author Johannes Lichtenberger <johannes.lichtenberger@sirix.io>
+ *
+ */
+public final class ZstdCompressor implements ByteHandler {
+
+  /** The default compression level. */
+  public static final int DEFAULT_LEVEL = 3;
+
+  /** The name of the file in the resource folder, which stores the dictionary. */
+  public static final String DICTIONARY_FILE = "zstd.dictionary";
+
+  /** The maximum size of a trained dictionary in bytes. */
+  private static final int MAX_DICTIONARY_SIZE = 64 * 1024;
+
+  /** The compression level. */
+  private final int mLevel;
+
+  /** The resource path, if a dictionary is used, {@code null} otherwise. */
+  private final Path mResourcePath;
+
+  /** The samples to train the dictionary from, if it still has to be trained. */
+  private final List<byte[]> mSamples;
+
+  /** The dictionary, loaded lazily, as pages are serialized and deserialized concurrently. */
+  private volatile byte[] mDictionary;
+
+  /**
+   * Constructor, which doesn't use a dictionary and the default compression level.
+   */
+  public ZstdCompressor() {
+    this(DEFAULT_LEVEL);
+  }
+
+  /**
+   * Constructor, which doesn't use a dictionary.
+   *
+   * @param level the compression level
+   */
+  public ZstdCompressor(final int level) {
+    mLevel = level;
+    mResourcePath = null;
+    mSamples = List.of();
+  }
+
+  /**
+   * Constructor, which uses the dictionary stored in the given resource.
+   *
+   * @param resourcePath the path of the resource
+   * @param level the compression level
+   */
+  public ZstdCompressor(final Path resourcePath, final int level) {
+    mLevel = level;
+    mResourcePath = checkNotNull(resourcePath);
+    mSamples = List.of();
+  }
+
+  /**
+   * Constructor, which uses a dictionary trained from the given samples once the resource is created.
+   *
+   * @param resourcePath the path of the resource
+   * @param level the compression level
+   * @param samples the samples, for instance serialized record pages of similar data
+   */
+  public ZstdCompressor(final Path resourcePath, final int level, final List<byte[]> samples) {
+    checkArgument(!samples.isEmpty(), "At least one sample must be given to train the dictionary.");
+    mLevel = level;
+    mResourcePath = checkNotNull(resourcePath);
+    mSamples = List.copyOf(samples);
+  }
+
+  private ZstdCompressor(final int level, final @Nullable Path resourcePath, final @Nullable byte[] dictionary) {
+    mLevel = level;
+    mResourcePath = resourcePath;
+    mSamples = List.of();
+    mDictionary = dictionary;
+  }
+
+  /**
+   * Get the compression level.
+   *
+   * @return the compression level
+   */
+  public int getLevel() {
+    return mLevel;
+  }
+
+  /**
+   * Get the path of the resource, if a dictionary is used.
+   *
+   * @return the resource path or an empty optional, if no dictionary is used
+   */
+  public Optional<Path> getResourcePath() {
+    return Optional.ofNullable(mResourcePath);
+  }
+
+  /**
+   * Train the dictionary from the samples and store it in the resource folder, if samples have been
+   * given.
+   *
+   * @throws IOException if the dictionary can't be stored
+   */
+  public void storeDictionary() throws IOException {
+    if (mResourcePath == null || mSamples.isEmpty()) {
+      return;
+    }
+
+    final int samplesSize = mSamples.stream().mapToInt(sample -> sample.length).sum();
+    final ZstdDictTrainer trainer = new ZstdDictTrainer(samplesSize, MAX_DICTIONARY_SIZE);
+    for (final byte[] sample : mSamples) {
+      trainer.addSample(sample);
+    }
+    mDictionary = trainer.trainSamples();
+    Files.write(mResourcePath.resolve(DICTIONARY_FILE), mDictionary);
+  }
+
+  private byte[] getDictionary() throws IOException {
+    if (mDictionary == null) {
+      final Path dictionaryPath = mResourcePath.resolve(DICTIONARY_FILE);
+      if (!Files.exists(dictionaryPath)) {
+        throw new IllegalStateException("No dictionary found in " + mResourcePath + ".");
+      }
+      mDictionary = Files.readAllBytes(dictionaryPath);
+    }
+    return mDictionary;
+  }
+
+  @Override
+  public OutputStream serialize(final OutputStream toSerialize) {
+    try {
+      final ZstdOutputStream output = new ZstdOutputStream(toSerialize, mLevel);
+      if (mResourcePath != null) {
+        output.setDict(getDictionary());
+      }
+      return output;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public InputStream deserialize(final InputStream toDeserialize) {
+    try {
+      final ZstdInputStream input = new ZstdInputStream(toDeserialize);
+      if (mResourcePath != null) {
+        input.setDict(getDictionary());
+      }
+      return input;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public ByteHandler getInstance() {
+    return new ZstdCompressor(mLevel, mResourcePath, mDictionary);
+  }
+}
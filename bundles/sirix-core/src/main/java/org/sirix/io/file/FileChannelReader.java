@@ -0,0 +1,224 @@
+package org.sirix.io.file;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.cache.OffHeapPageCache;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageChecksum;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * File reader, which uses positional reads ({@link FileChannel#read(ByteBuffer, long)}) instead of
+ * seeking. As it doesn't hold a file pointer, a single instance is safely shared amongst all
+ * read-only transactions of a resource, which are running in different threads.
+ */
+public final class FileChannelReader implements Reader {
+
+  /** Inflater to decompress. */
+  private final ByteHandler mByteHandler;
+
+  /** Data file. */
+  private final FileChannel mDataFile;
+
+  /** Revisions offset file. */
+  private final FileChannel mRevisionsOffsetFile;
+
+  /** The type of data to serialize. */
+  private final SerializationType mType;
+
+  /** Used to serialize/deserialze pages. */
+  private final PagePersister mPagePersister;
+
+  /** The checksum to verify read pages with ({@link PageChecksum#NONE} to skip verification). */
+  private final PageChecksum mChecksum;
+
+  /** The cache of serialized pages, or {@code null}, if pages are always read from the data file. */
+  private final OffHeapPageCache mOffHeapCache;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   */
+  public FileChannelReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister) {
+    this(dataFile, revisionsOffsetFile, handler, type, pagePersister, PageChecksum.NONE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param checksum the checksum to verify read pages with ({@link PageChecksum#NONE} to skip
+   *        verification)
+   */
+  public FileChannelReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister,
+      final PageChecksum checksum) {
+    this(dataFile, revisionsOffsetFile, handler, type, pagePersister, checksum, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param checksum the checksum to verify read pages with ({@link PageChecksum#NONE} to skip
+   *        verification)
+   * @param offHeapCache the cache of serialized pages or {@code null}, if pages are always read from
+   *        the data file
+   */
+  public FileChannelReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister,
+      final PageChecksum checksum, final @Nullable OffHeapPageCache offHeapCache) {
+    mChecksum = checkNotNull(checksum);
+    mOffHeapCache = type == SerializationType.DATA
+        ? offHeapCache
+        : null;
+    mDataFile = checkNotNull(dataFile);
+    mType = checkNotNull(type);
+    mRevisionsOffsetFile = type == SerializationType.DATA
+        ? checkNotNull(revisionsOffsetFile)
+        : null;
+    mByteHandler = checkNotNull(handler);
+    mPagePersister = checkNotNull(pagePersister);
+  }
+
+  @Override
+  public Page read(final @Nonnull PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long offset;
+      switch (mType) {
+        case DATA:
+          offset = reference.getKey();
+          break;
+        case TRANSACTION_INTENT_LOG:
+          offset = reference.getPersistentLogKey();
+          break;
+        default:
+          throw new IllegalStateException("Serialization type not known.");
+      }
+
+      ByteBuffer page = mOffHeapCache == null
+          ? null
+          : mOffHeapCache.get(offset);
+
+      if (page == null) {
+        final int dataLength = read(mDataFile, offset, Integer.BYTES).getInt();
+        page = read(mDataFile, offset + FileReader.OTHER_BEACON, dataLength);
+
+        if (mOffHeapCache != null) {
+          mOffHeapCache.put(offset, page);
+        }
+      }
+
+      reference.setLength(page.remaining() + FileReader.OTHER_BEACON);
+
+      if (mType == SerializationType.DATA) {
+        mChecksum.verify(reference, page);
+      }
+
+      return deserialize(page, pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    final PageReference uberPageReference = new PageReference();
+    try {
+      // Read primary beacon.
+      uberPageReference.setKey(read(mDataFile, 0, Long.BYTES).getLong());
+
+      final UberPage page = (UberPage) read(uberPageReference, null);
+      uberPageReference.setPage(page);
+      return uberPageReference;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long offset = read(mRevisionsOffsetFile, (long) revision * Long.BYTES, Long.BYTES).getLong();
+      final int dataLength = read(mDataFile, offset, Integer.BYTES).getInt();
+
+      return (RevisionRootPage) deserialize(read(mDataFile, offset + FileReader.OTHER_BEACON, dataLength),
+          pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private Page deserialize(final ByteBuffer page, final PageReadOnlyTrx pageReadTrx) throws IOException {
+    // Perform byte operations.
+    final DataInputStream input =
+        new DataInputStream(mByteHandler.deserialize(new ByteBufferInputStream(page)));
+
+    // Return reader required to instantiate and deserialize page.
+    return mPagePersister.deserializePage(input, pageReadTrx, mType);
+  }
+
+  /**
+   * Read {@code length} bytes starting at the absolute file {@code position}.
+   *
+   * @param channel the channel to read from
+   * @param position the absolute file position
+   * @param length the number of bytes to read
+   * @return a buffer, which is ready to be read from
+   * @throws IOException if an I/O error occurs or the end of the file is reached
+   */
+  private static ByteBuffer read(final FileChannel channel, final long position, final int length)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    long currentPosition = position;
+    while (buffer.hasRemaining()) {
+      final int read = channel.read(buffer, currentPosition);
+      if (read == -1) {
+        throw new EOFException("Read beyond end of file at position " + currentPosition + ".");
+      }
+      currentPosition += read;
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.close();
+      }
+      mDataFile.close();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+}
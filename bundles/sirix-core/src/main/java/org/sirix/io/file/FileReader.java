@@ -26,10 +26,12 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.PageChecksum;
 import org.sirix.io.Reader;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PagePersister;
@@ -38,8 +40,6 @@ import org.sirix.page.RevisionRootPage;
 import org.sirix.page.SerializationType;
 import org.sirix.page.UberPage;
 import org.sirix.page.interfaces.Page;
-import com.google.common.hash.HashFunction;
-import com.google.common.hash.Hashing;
 
 /**
  * File Reader. Used for {@link PageReadOnlyTrx} to provide read only access on a RandomAccessFile.
@@ -52,16 +52,16 @@ import com.google.common.hash.Hashing;
 public final class FileReader implements Reader {
 
   /** Beacon of first references. */
-  final static int FIRST_BEACON = 12;
+  public final static int FIRST_BEACON = 12;
 
   /** Beacon of the other references. */
-  final static int OTHER_BEACON = 4;
+  public final static int OTHER_BEACON = 4;
 
   /** Inflater to decompress. */
   final ByteHandler mByteHandler;
 
-  /** The hash function used to hash pages/page fragments. */
-  final HashFunction mHashFunction;
+  /** The checksum to verify read pages with ({@link PageChecksum#NONE} to skip verification). */
+  private final PageChecksum mChecksum;
 
   /** Data file. */
   private final RandomAccessFile mDataFile;
@@ -86,7 +86,24 @@ public final class FileReader implements Reader {
   public FileReader(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType type,
       final PagePersister pagePersistenter) {
-    mHashFunction = Hashing.sha256();
+    this(dataFile, revisionsOffsetFile, handler, type, pagePersistenter, PageChecksum.NONE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersistenter transforms in-memory pages into byte-arrays and back
+   * @param checksum the checksum to verify read pages with ({@link PageChecksum#NONE} to skip
+   *        verification)
+   */
+  public FileReader(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type,
+      final PagePersister pagePersistenter, final PageChecksum checksum) {
+    mChecksum = checkNotNull(checksum);
     mDataFile = checkNotNull(dataFile);
     mRevisionsOffsetFile = type == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
@@ -115,7 +132,11 @@ public final class FileReader implements Reader {
       final int dataLength = mDataFile.readInt();
       reference.setLength(dataLength + FileReader.OTHER_BEACON);
       final byte[] page = new byte[dataLength];
-      mDataFile.read(page);
+      mDataFile.readFully(page);
+
+      if (mType == SerializationType.DATA) {
+        mChecksum.verify(reference, ByteBuffer.wrap(page));
+      }
 
       // Perform byte operations.
       final DataInputStream input =
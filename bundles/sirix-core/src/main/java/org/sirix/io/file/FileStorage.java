@@ -23,11 +23,17 @@ package org.sirix.io.file;
 
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import org.sirix.access.ResourceConfiguration;
+import org.sirix.cache.OffHeapPageCache;
 import org.sirix.exception.SirixIOException;
+import org.sirix.io.Durability;
+import org.sirix.io.PageChecksum;
 import org.sirix.io.Reader;
+import org.sirix.io.SharedReader;
 import org.sirix.io.Storage;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandlePipeline;
@@ -44,10 +50,10 @@ import org.sirix.page.SerializationType;
 public final class FileStorage implements Storage {
 
   /** Data file name. */
-  private static final String FILENAME = "sirix.data";
+  public static final String FILENAME = "sirix.data";
 
   /** Revisions file name. */
-  private static final String REVISIONS_FILENAME = "sirix.revisions";
+  public static final String REVISIONS_FILENAME = "sirix.revisions";
 
   /** Instance to storage. */
   private final Path mFile;
@@ -55,6 +61,21 @@ public final class FileStorage implements Storage {
   /** Byte handler pipeline. */
   private final ByteHandlePipeline mByteHandler;
 
+  /** Determines if and how commits are forced to the device. */
+  private final Durability mDurability;
+
+  /** The checksum of pages. */
+  private final PageChecksum mPageChecksum;
+
+  /** Determines if the checksums of pages are verified, when pages are read. */
+  private final boolean mVerifyChecksums;
+
+  /** The reader shared amongst all read-only transactions of the resource. */
+  private volatile SharedReader mSharedReader;
+
+  /** The off-heap cache of serialized pages or {@code null}, if it's disabled. */
+  private final OffHeapPageCache mOffHeapCache;
+
   /**
    * Constructor.
    *
@@ -65,20 +86,55 @@ public final class FileStorage implements Storage {
     assert resourceConfig != null : "resourceConfig must not be null!";
     mFile = resourceConfig.resourcePath;
     mByteHandler = resourceConfig.byteHandlePipeline;
+    mDurability = resourceConfig.durability;
+    mPageChecksum = resourceConfig.pageChecksum;
+    mVerifyChecksums = resourceConfig.verifyChecksumsOnRead;
+    mOffHeapCache = resourceConfig.offHeapCacheSize > 0
+        ? new OffHeapPageCache(resourceConfig.offHeapCacheSize)
+        : null;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The returned reader is thread safe and shared amongst all callers, such that beginning a
+   * read-only transaction doesn't open any files. Closing it is a no-op, the files are closed once
+   * this storage is closed.
+   * </p>
+   */
   @Override
   public Reader createReader() throws SirixIOException {
-    try {
-      final Path dataFilePath = createDirectoriesAndFile();
-      final Path revisionsOffsetFilePath = getRevisionFilePath();
+    // Avoid acquiring the lock, once the shared reader has been opened.
+    final SharedReader sharedReader = mSharedReader;
+    if (sharedReader != null) {
+      return sharedReader;
+    }
 
-      return new FileReader(new RandomAccessFile(dataFilePath.toFile(), "r"),
-          new RandomAccessFile(revisionsOffsetFilePath.toFile(), "r"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
-    } catch (final IOException e) {
-      throw new SirixIOException(e);
+    return openSharedReader();
+  }
+
+  private synchronized Reader openSharedReader() {
+    if (mSharedReader == null) {
+      try {
+        final Path dataFilePath = createDirectoriesAndFile();
+        final Path revisionsOffsetFilePath = getRevisionFilePath();
+
+        if (!Files.exists(revisionsOffsetFilePath)) {
+          Files.createFile(revisionsOffsetFilePath);
+        }
+
+        mSharedReader = new SharedReader(new FileChannelReader(
+            FileChannel.open(dataFilePath, StandardOpenOption.READ),
+            FileChannel.open(revisionsOffsetFilePath, StandardOpenOption.READ),
+            new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(),
+            mVerifyChecksums ? mPageChecksum : PageChecksum.NONE, mOffHeapCache));
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
     }
+
+    return mSharedReader;
   }
 
   private Path createDirectoriesAndFile() throws IOException {
@@ -100,15 +156,22 @@ public final class FileStorage implements Storage {
 
       return new FileWriter(new RandomAccessFile(dataFilePath.toFile(), "rw"),
           new RandomAccessFile(revisionsOffsetFilePath.toFile(), "rw"),
-          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister());
+          new ByteHandlePipeline(mByteHandler), SerializationType.DATA, new PagePersister(),
+          mDurability, mPageChecksum, mVerifyChecksums, mOffHeapCache);
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
   }
 
   @Override
-  public void close() {
-    // not used over here
+  public synchronized void close() {
+    if (mSharedReader != null) {
+      mSharedReader.closeShared();
+      mSharedReader = null;
+    }
+    if (mOffHeapCache != null) {
+      mOffHeapCache.clear();
+    }
   }
 
   /**
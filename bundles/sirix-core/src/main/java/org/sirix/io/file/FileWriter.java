@@ -28,9 +28,21 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.cache.OffHeapPageCache;
 import org.sirix.exception.SirixIOException;
 import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.Durability;
+import org.sirix.io.PageChecksum;
 import org.sirix.io.Reader;
+import org.sirix.io.SerializedPage;
 import org.sirix.io.Writer;
 import org.sirix.io.bytepipe.ByteHandler;
 import org.sirix.page.PagePersister;
@@ -43,12 +55,30 @@ import org.sirix.page.interfaces.Page;
 /**
  * File Writer for providing read/write access for file as a Sirix backend.
  *
+ * <p>
+ * Pages are not written one by one, but appended to large direct buffers. The writer keeps track of
+ * the tail of the file itself, such that the offsets of the {@link PageReference}s are assigned
+ * once a page is buffered. The buffers are written with a single gathering write once they are
+ * full, before the uber page beacon is written and before pages are read back.
+ * </p>
+ *
+ * <p>
+ * Depending on the {@link Durability}, the pages of a revision are forced to the device before the
+ * uber page beacon is written, and the beacon itself is forced before a commit returns.
+ * </p>
+ *
  * @author Marc Kramis, Seabix
  * @author Sebastian Graf, University of Konstanz
  *
  */
 public final class FileWriter extends AbstractForwardingReader implements Writer {
 
+  /** Size of a single direct buffer. */
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  /** Maximum number of buffered bytes, before the buffers are written to the file. */
+  private static final int MAX_BUFFERED_BYTES = BUFFER_SIZE << 3;
+
   /** Random access to work on. */
   private final RandomAccessFile mDataFile;
 
@@ -61,8 +91,50 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
 
   private final PagePersister mPagePersister;
 
+  /** Channel of the data file, used for gathering writes. */
+  private final FileChannel mDataChannel;
+
+  /** Reused to serialize a single page. */
+  private final PageOutputStream mPageOutput;
+
+  /** Buffers, which are full and haven't been written yet. */
+  private final List<ByteBuffer> mPendingBuffers;
+
+  /** Direct buffers, which are available for reuse. */
+  private final Deque<ByteBuffer> mFreeBuffers;
+
+  /** The buffer, pages are currently appended to. */
+  private ByteBuffer mCurrentBuffer;
+
+  /** Number of buffered bytes, which haven't been written yet. */
+  private long mBufferedBytes;
+
+  /** Offset of the next page to append. */
+  private long mTail;
+
+  /** Offset, up to which the buffered pages have been written. */
+  private long mWrittenTail;
+
+  /** Offsets of buffered revision root pages. */
+  private long[] mRevisionRootOffsets;
+
+  /** Number of buffered revision root page offsets. */
+  private int mRevisionRootOffsetsCount;
+
+  /** Offset of the next entry in the revisions offset file. */
+  private long mRevisionsOffsetTail;
+
+  /** Determines if and how commits are forced to the device. */
+  private final Durability mDurability;
+
+  /** The checksum of written pages. */
+  private final PageChecksum mChecksum;
+
+  /** The cache of serialized pages, which is cleared once the data file is truncated. */
+  private final OffHeapPageCache mOffHeapCache;
+
   /**
-   * Constructor.
+   * Constructor, which never forces commits.
    *
    * @param dataFile the data file
    * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
@@ -73,18 +145,109 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
       final ByteHandler handler, final SerializationType serializationType,
       final PagePersister pagePersister) {
+    this(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister, Durability.NONE);
+  }
+
+  /**
+   * Constructor, which computes SHA-256 checksums, but doesn't verify them on read.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler the byte handler
+   * @param serializationType the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param durability determines if and how commits are forced to the device
+   */
+  public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType serializationType,
+      final PagePersister pagePersister, final Durability durability) {
+    this(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister, durability,
+        PageChecksum.SHA256, false);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler the byte handler
+   * @param serializationType the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param durability determines if and how commits are forced to the device
+   * @param checksum the checksum of written pages
+   * @param verifyChecksums determines if the checksums of pages are verified, when pages are read
+   */
+  public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType serializationType,
+      final PagePersister pagePersister, final Durability durability, final PageChecksum checksum,
+      final boolean verifyChecksums) {
+    this(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister, durability, checksum,
+        verifyChecksums, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the data file
+   * @param revisionsOffsetFile the file, which holds pointers to the revision root pages
+   * @param handler the byte handler
+   * @param serializationType the serialization type (for the transaction log or the data file)
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param durability determines if and how commits are forced to the device
+   * @param checksum the checksum of written pages
+   * @param verifyChecksums determines if the checksums of pages are verified, when pages are read
+   * @param offHeapCache the cache of serialized pages, which are read from the data file, or
+   *        {@code null}, if there's no such cache
+   */
+  public FileWriter(final RandomAccessFile dataFile, final RandomAccessFile revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType serializationType,
+      final PagePersister pagePersister, final Durability durability, final PageChecksum checksum,
+      final boolean verifyChecksums, final @Nullable OffHeapPageCache offHeapCache) {
+    mOffHeapCache = offHeapCache;
+    mDurability = checkNotNull(durability);
+    mChecksum = checkNotNull(checksum);
     mDataFile = checkNotNull(dataFile);
     mType = checkNotNull(serializationType);
     mRevisionsOffsetFile = mType == SerializationType.DATA
         ? checkNotNull(revisionsOffsetFile)
         : null;
     mPagePersister = checkNotNull(pagePersister);
-    mReader =
-        new FileReader(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister);
+    mReader = new FileReader(dataFile, revisionsOffsetFile, handler, serializationType, pagePersister,
+        verifyChecksums ? checksum : PageChecksum.NONE);
+    mDataChannel = dataFile.getChannel();
+    mPageOutput = new PageOutputStream();
+    mPendingBuffers = new ArrayList<>();
+    mFreeBuffers = new ArrayDeque<>();
+    mRevisionRootOffsets = new long[4];
+
+    try {
+      resetTail();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private void clearOffHeapCache() {
+    if (mOffHeapCache != null) {
+      mOffHeapCache.clear();
+    }
+  }
+
+  private void resetTail() throws IOException {
+    final long fileSize = mDataFile.length();
+    mTail = fileSize == 0
+        ? FileReader.FIRST_BEACON
+        : fileSize;
+    mWrittenTail = mTail;
+    mRevisionsOffsetTail = mRevisionsOffsetFile == null
+        ? 0
+        : mRevisionsOffsetFile.length();
   }
 
   @Override
   public Writer truncateTo(final int revision) {
+    flush();
+
     UberPage uberPage = (UberPage) mReader.readUberPageReference().getPage();
 
     while (uberPage.getRevisionNumber() != revision) {
@@ -93,6 +256,9 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
       if (uberPage.getRevisionNumber() == revision) {
         try {
           mDataFile.setLength(uberPage.getPreviousUberPageKey());
+          resetTail();
+          // The offsets of the truncated pages are reused by the next commit.
+          clearOffHeapCache();
         } catch (final IOException e) {
           throw new UncheckedIOException(e);
         }
@@ -104,62 +270,182 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   }
 
   /**
-   * Write page contained in page reference to storage.
+   * Append the page contained in the page reference to the buffers. The page coordinates are set
+   * immediately, whereas the page is written to the file later on.
    *
    * @param pageReference page reference to write
    * @throws SirixIOException if errors during writing occur
    */
   @Override
   public FileWriter write(final PageReference pageReference) throws SirixIOException {
-    // Perform byte operations.
+    final Page page = pageReference.getPage();
+    assert page != null;
+
+    mPageOutput.reset();
+    final int dataLength = serialize(page, mPageOutput);
+
+    // The transaction intent log is never verified, and the data file gets a checksum on commit.
+    final byte[] checksum = mType == SerializationType.DATA
+        ? mChecksum.compute(ByteBuffer.wrap(mPageOutput.getBuffer(), 0, dataLength))
+        : null;
+
+    return append(pageReference, mPageOutput.getBuffer(), dataLength, checksum);
+  }
+
+  /**
+   * Serialize a page into a new buffer. Pages may be serialized concurrently, as the byte handler
+   * pipeline creates new streams for each page.
+   *
+   * @param page the page to serialize
+   * @return the serialized page including its checksum
+   * @throws SirixIOException if the page couldn't be serialized
+   */
+  @Override
+  public SerializedPage serialize(final Page page) throws SirixIOException {
+    final PageOutputStream output = new PageOutputStream();
+    final int dataLength = serialize(checkNotNull(page), output);
+    final byte[] checksum = mType == SerializationType.DATA
+        ? mChecksum.compute(ByteBuffer.wrap(output.getBuffer(), 0, dataLength))
+        : null;
+    return new SerializedPage(output.getBuffer(), dataLength, checksum);
+  }
+
+  @Override
+  public FileWriter write(final PageReference pageReference, final SerializedPage serializedPage)
+      throws SirixIOException {
+    assert pageReference.getPage() != null;
+    return append(pageReference, serializedPage.getData(), serializedPage.getLength(),
+        serializedPage.getChecksum());
+  }
+
+  private int serialize(final Page page, final PageOutputStream output) {
+    try (final DataOutputStream dataOutput = new DataOutputStream(mReader.mByteHandler.serialize(output))) {
+      mPagePersister.serializePage(dataOutput, page, mType);
+      dataOutput.flush();
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    return output.size();
+  }
+
+  /**
+   * Append a serialized page to the buffers and set the coordinates of the page reference.
+   *
+   * @param pageReference page reference to write
+   * @param data the serialized page
+   * @param dataLength the length of the serialized page
+   * @param checksum the checksum of the serialized page or {@code null}
+   * @return this writer instance
+   */
+  private FileWriter append(final PageReference pageReference, final byte[] data, final int dataLength,
+      final @Nullable byte[] checksum) {
+    final int length = dataLength + FileReader.OTHER_BEACON;
+    final ByteBuffer buffer = getBuffer(length);
+    buffer.putInt(dataLength);
+    buffer.put(data, 0, dataLength);
+
+    // Remember page coordinates.
+    final long offset = mTail;
+    switch (mType) {
+      case DATA:
+        pageReference.setKey(offset);
+        pageReference.setHash(checksum);
+        break;
+      case TRANSACTION_INTENT_LOG:
+        pageReference.setPersistentLogKey(offset);
+        break;
+      default:
+        // Must not happen.
+    }
+
+    pageReference.setLength(length);
+
+    mTail += length;
+    mBufferedBytes += length;
+
+    if (mType == SerializationType.DATA && pageReference.getPage() instanceof RevisionRootPage) {
+      if (mRevisionRootOffsetsCount == mRevisionRootOffsets.length) {
+        mRevisionRootOffsets = Arrays.copyOf(mRevisionRootOffsets, mRevisionRootOffsetsCount << 1);
+      }
+      mRevisionRootOffsets[mRevisionRootOffsetsCount++] = offset;
+    }
+
+    if (mBufferedBytes >= MAX_BUFFERED_BYTES) {
+      flush();
+    }
+
+    return this;
+  }
+
+  /**
+   * Get a buffer with at least {@code length} remaining bytes.
+   *
+   * @param length the number of bytes to append
+   * @return the buffer to append the bytes to
+   */
+  private ByteBuffer getBuffer(final int length) {
+    if (mCurrentBuffer != null && mCurrentBuffer.remaining() >= length) {
+      return mCurrentBuffer;
+    }
+
+    if (mCurrentBuffer != null) {
+      mPendingBuffers.add(mCurrentBuffer);
+      mCurrentBuffer = null;
+    }
+
+    if (length > BUFFER_SIZE) {
+      // Huge page, which gets its own buffer.
+      final ByteBuffer buffer = ByteBuffer.allocate(length);
+      mPendingBuffers.add(buffer);
+      return buffer;
+    }
+
+    mCurrentBuffer = mFreeBuffers.isEmpty()
+        ? ByteBuffer.allocateDirect(BUFFER_SIZE)
+        : mFreeBuffers.pop();
+    return mCurrentBuffer;
+  }
+
+  /**
+   * Write all buffered pages and revision root page offsets to the files.
+   *
+   * @return this writer instance
+   * @throws SirixIOException if an I/O error occurs
+   */
+  public FileWriter flush() {
     try {
-      // Serialize page.
-      final Page page = pageReference.getPage();
-      assert page != null;
-
-      final byte[] serializedPage;
-
-      try (final ByteArrayOutputStream output = new ByteArrayOutputStream();
-          final DataOutputStream dataOutput =
-              new DataOutputStream(mReader.mByteHandler.serialize(output))) {
-        mPagePersister.serializePage(dataOutput, page, mType);
-        dataOutput.flush();
-        serializedPage = output.toByteArray();
+      if (mCurrentBuffer != null) {
+        mPendingBuffers.add(mCurrentBuffer);
+        mCurrentBuffer = null;
       }
 
-      final byte[] writtenPage = new byte[serializedPage.length + FileReader.OTHER_BEACON];
-      final ByteBuffer buffer = ByteBuffer.allocate(writtenPage.length);
-      buffer.putInt(serializedPage.length);
-      buffer.put(serializedPage);
-      buffer.position(0);
-      buffer.get(writtenPage, 0, writtenPage.length);
-
-      // Getting actual offset and appending to the end of the current file.
-      final long fileSize = mDataFile.length();
-      final long offset = fileSize == 0
-          ? FileReader.FIRST_BEACON
-          : fileSize;
-      mDataFile.seek(offset);
-      mDataFile.write(writtenPage);
-
-      // Remember page coordinates.
-      switch (mType) {
-        case DATA:
-          pageReference.setKey(offset);
-          break;
-        case TRANSACTION_INTENT_LOG:
-          pageReference.setPersistentLogKey(offset);
-          break;
-        default:
-          // Must not happen.
+      if (!mPendingBuffers.isEmpty()) {
+        final ByteBuffer[] buffers = mPendingBuffers.toArray(new ByteBuffer[mPendingBuffers.size()]);
+        for (final ByteBuffer buffer : buffers) {
+          buffer.flip();
+        }
+
+        mDataChannel.position(mWrittenTail);
+        long remaining = mBufferedBytes;
+        while (remaining > 0) {
+          remaining -= mDataChannel.write(buffers);
+        }
+
+        recycle();
       }
 
-      pageReference.setLength(writtenPage.length);
-      pageReference.setHash(mReader.mHashFunction.hashBytes(writtenPage).asBytes());
+      mWrittenTail = mTail;
+      mBufferedBytes = 0;
 
-      if (mType == SerializationType.DATA && page instanceof RevisionRootPage) {
-        mRevisionsOffsetFile.seek(mRevisionsOffsetFile.length());
-        mRevisionsOffsetFile.writeLong(offset);
+      if (mRevisionRootOffsetsCount > 0) {
+        final ByteBuffer offsets = ByteBuffer.allocate(mRevisionRootOffsetsCount * Long.BYTES);
+        for (int i = 0; i < mRevisionRootOffsetsCount; i++) {
+          offsets.putLong(mRevisionRootOffsets[i]);
+        }
+        offsets.flip();
+        writeFully(mRevisionsOffsetFile.getChannel(), offsets, mRevisionsOffsetTail);
+        mRevisionsOffsetTail += mRevisionRootOffsetsCount * Long.BYTES;
+        mRevisionRootOffsetsCount = 0;
       }
 
       return this;
@@ -168,9 +454,41 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
     }
   }
 
+  /**
+   * Discard all buffered pages.
+   */
+  private void discard() {
+    if (mCurrentBuffer != null) {
+      mPendingBuffers.add(mCurrentBuffer);
+      mCurrentBuffer = null;
+    }
+    recycle();
+    mBufferedBytes = 0;
+    mRevisionRootOffsetsCount = 0;
+  }
+
+  private void recycle() {
+    for (final ByteBuffer buffer : mPendingBuffers) {
+      if (buffer.isDirect()) {
+        buffer.clear();
+        mFreeBuffers.push(buffer);
+      }
+    }
+    mPendingBuffers.clear();
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    long currentPosition = position;
+    while (buffer.hasRemaining()) {
+      currentPosition += channel.write(buffer, currentPosition);
+    }
+  }
+
   @Override
   public void close() throws SirixIOException {
     try {
+      flush();
       if (mDataFile != null) {
         mDataFile.close();
       }
@@ -189,8 +507,21 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   public Writer writeUberPageReference(final PageReference pageReference) throws SirixIOException {
     try {
       write(pageReference);
-      mDataFile.seek(0);
-      mDataFile.writeLong(pageReference.getKey());
+      flush();
+
+      // The pages of the revision must be durable, before the beacon refers to them.
+      if (mRevisionsOffsetFile == null) {
+        mDurability.force(mDataChannel);
+      } else {
+        mDurability.force(mDataChannel, mRevisionsOffsetFile.getChannel());
+      }
+
+      final ByteBuffer beacon = ByteBuffer.allocate(Long.BYTES);
+      beacon.putLong(pageReference.getKey());
+      beacon.flip();
+      writeFully(mDataChannel, beacon, 0);
+
+      mDurability.force(mDataChannel);
 
       return this;
     } catch (final IOException e) {
@@ -198,6 +529,24 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
     }
   }
 
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    flush();
+    return mReader.read(reference, pageReadTrx);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    flush();
+    return mReader.readUberPageReference();
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    flush();
+    return mReader.readRevisionRootPage(revision, pageReadTrx);
+  }
+
   @Override
   protected Reader delegate() {
     return mReader;
@@ -206,12 +555,35 @@ public final class FileWriter extends AbstractForwardingReader implements Writer
   @Override
   public Writer truncate() {
     try {
+      discard();
       mDataFile.setLength(0);
-      mRevisionsOffsetFile.setLength(0);
+      if (mRevisionsOffsetFile != null) {
+        mRevisionsOffsetFile.setLength(0);
+      }
+      resetTail();
+      clearOffHeapCache();
     } catch (final IOException e) {
       throw new SirixIOException(e);
     }
 
     return this;
   }
+
+  /**
+   * Byte array output stream, which exposes its internal buffer to avoid copying it.
+   */
+  private static final class PageOutputStream extends ByteArrayOutputStream {
+    PageOutputStream() {
+      super(BUFFER_SIZE >> 4);
+    }
+
+    byte[] getBuffer() {
+      return buf;
+    }
+
+    @Override
+    public void close() {
+      // Reused for every page.
+    }
+  }
 }
@@ -0,0 +1,145 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Read-only view of a file, which is mapped into memory in fixed-size segments. A segment is
+ * remapped lazily once a read hits a region, which has been appended to the file after the last
+ * mapping, thus the view follows the file as it grows on commits. Reads are thread safe.
+ */
+final class MappedSegments {
+
+  /** Default size of a single mapped segment (1 GiB). */
+  static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+  /** The channel of the mapped file. */
+  private final FileChannel mChannel;
+
+  /** The size of a single segment. */
+  private final int mSegmentSize;
+
+  /** The mapped segments, the last one might only be partially mapped. */
+  private volatile MappedByteBuffer[] mSegments;
+
+  /** The number of bytes currently mapped. */
+  private volatile long mMappedSize;
+
+  /**
+   * Constructor.
+   *
+   * @param channel the channel of the file to map
+   * @param segmentSize the size of a single segment
+   */
+  MappedSegments(final FileChannel channel, final int segmentSize) {
+    mChannel = checkNotNull(channel);
+    checkArgument(segmentSize > 0, "segmentSize must be > 0!");
+    mSegmentSize = segmentSize;
+    mSegments = new MappedByteBuffer[0];
+  }
+
+  /**
+   * Get a read-only buffer containing the bytes between {@code position} and
+   * {@code position + length}. The returned buffer is a view of the mapped region if the bytes are
+   * located in a single segment, otherwise the bytes are copied.
+   *
+   * @param position the absolute file position
+   * @param length the number of bytes
+   * @return a buffer, which has its position set to {@code 0} and its limit set to {@code length}
+   * @throws IOException if the file couldn't be mapped
+   */
+  ByteBuffer slice(final long position, final int length) throws IOException {
+    ensureMapped(position + length);
+
+    final MappedByteBuffer[] segments = mSegments;
+    final int segmentIndex = (int) (position / mSegmentSize);
+    final int offsetInSegment = (int) (position % mSegmentSize);
+
+    if (offsetInSegment + length <= mSegmentSize) {
+      return segments[segmentIndex].slice(offsetInSegment, length).asReadOnlyBuffer();
+    }
+
+    // Crosses a segment boundary, which is rare, so simply copy the bytes.
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    int index = segmentIndex;
+    int offset = offsetInSegment;
+    while (buffer.hasRemaining()) {
+      final ByteBuffer segment = segments[index].duplicate();
+      final int toCopy = Math.min(buffer.remaining(), segment.limit() - offset);
+      segment.position(offset).limit(offset + toCopy);
+      buffer.put(segment);
+      index++;
+      offset = 0;
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Read an integer at the given absolute file position.
+   *
+   * @param position the absolute file position
+   * @return the integer
+   * @throws IOException if the file couldn't be mapped
+   */
+  int getInt(final long position) throws IOException {
+    return slice(position, Integer.BYTES).getInt(0);
+  }
+
+  /**
+   * Read a long at the given absolute file position.
+   *
+   * @param position the absolute file position
+   * @return the long
+   * @throws IOException if the file couldn't be mapped
+   */
+  long getLong(final long position) throws IOException {
+    return slice(position, Long.BYTES).getLong(0);
+  }
+
+  /**
+   * Drop all mappings, for instance after the file has been truncated. Regions are mapped again on
+   * the next read.
+   */
+  synchronized void invalidate() {
+    mSegments = new MappedByteBuffer[0];
+    mMappedSize = 0;
+  }
+
+  private void ensureMapped(final long end) throws IOException {
+    if (end > mMappedSize) {
+      remap(end);
+    }
+  }
+
+  private synchronized void remap(final long end) throws IOException {
+    if (end <= mMappedSize) {
+      return;
+    }
+
+    final long fileSize = mChannel.size();
+    if (end > fileSize) {
+      throw new IOException("Read beyond end of file (" + end + " > " + fileSize + ").");
+    }
+
+    final int numberOfSegments = (int) ((fileSize + mSegmentSize - 1) / mSegmentSize);
+    final MappedByteBuffer[] oldSegments = mSegments;
+    final MappedByteBuffer[] newSegments = Arrays.copyOf(oldSegments, numberOfSegments);
+
+    // Keep all completely mapped segments, remap the last partially mapped one and map new ones.
+    for (int i = 0; i < numberOfSegments; i++) {
+      final long segmentStart = (long) i * mSegmentSize;
+      final long segmentSize = Math.min(mSegmentSize, fileSize - segmentStart);
+      if (newSegments[i] == null || newSegments[i].capacity() < segmentSize) {
+        newSegments[i] = mChannel.map(FileChannel.MapMode.READ_ONLY, segmentStart, segmentSize);
+      }
+    }
+
+    mSegments = newSegments;
+    mMappedSize = fileSize;
+  }
+}
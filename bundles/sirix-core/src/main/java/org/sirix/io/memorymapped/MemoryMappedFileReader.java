@@ -0,0 +1,205 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.ByteBufferInputStream;
+import org.sirix.io.PageChecksum;
+import org.sirix.io.Reader;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileReader;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Reader, which maps the data file and the revisions offset file into memory. Pages are handed to
+ * the {@link PagePersister} directly from the mapped regions, thus reading a page neither involves
+ * a system call nor copying the page into an intermediate byte-array. The file format is the same
+ * as the one of the {@link FileReader}.
+ */
+public final class MemoryMappedFileReader implements Reader {
+
+  /** Inflater to decompress. */
+  private final ByteHandler mByteHandler;
+
+  /** Mapped data file. */
+  private final MappedSegments mDataFile;
+
+  /** Mapped revisions offset file. */
+  private final MappedSegments mRevisionsOffsetFile;
+
+  /** The channels to close, once the reader is closed. */
+  private final FileChannel[] mChannels;
+
+  /** The type of data to serialize. */
+  private final SerializationType mType;
+
+  /** Used to serialize/deserialze pages. */
+  private final PagePersister mPagePersister;
+
+  /** The checksum to verify read pages with ({@link PageChecksum#NONE} to skip verification). */
+  private final PageChecksum mChecksum;
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the channel of the data file
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   */
+  public MemoryMappedFileReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister) {
+    this(dataFile, revisionsOffsetFile, handler, type, pagePersister, PageChecksum.NONE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the channel of the data file
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param checksum the checksum to verify read pages with ({@link PageChecksum#NONE} to skip
+   *        verification)
+   */
+  public MemoryMappedFileReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister,
+      final PageChecksum checksum) {
+    this(dataFile, revisionsOffsetFile, handler, type, pagePersister, checksum,
+        MappedSegments.DEFAULT_SEGMENT_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param dataFile the channel of the data file
+   * @param revisionsOffsetFile the channel of the file, which holds pointers to the revision root
+   *        pages
+   * @param handler {@link ByteHandler} instance
+   * @param type the serialization type
+   * @param pagePersister transforms in-memory pages into byte-arrays and back
+   * @param checksum the checksum to verify read pages with ({@link PageChecksum#NONE} to skip
+   *        verification)
+   * @param segmentSize the size of a single mapped segment
+   */
+  MemoryMappedFileReader(final FileChannel dataFile, final FileChannel revisionsOffsetFile,
+      final ByteHandler handler, final SerializationType type, final PagePersister pagePersister,
+      final PageChecksum checksum, final int segmentSize) {
+    mChecksum = checkNotNull(checksum);
+    mType = checkNotNull(type);
+    mDataFile = new MappedSegments(checkNotNull(dataFile), segmentSize);
+    mRevisionsOffsetFile = type == SerializationType.DATA
+        ? new MappedSegments(checkNotNull(revisionsOffsetFile), segmentSize)
+        : null;
+    mChannels = type == SerializationType.DATA
+        ? new FileChannel[] {dataFile, revisionsOffsetFile}
+        : new FileChannel[] {dataFile};
+    mByteHandler = checkNotNull(handler);
+    mPagePersister = checkNotNull(pagePersister);
+  }
+
+  @Override
+  public Page read(final @Nonnull PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long offset;
+      switch (mType) {
+        case DATA:
+          offset = reference.getKey();
+          break;
+        case TRANSACTION_INTENT_LOG:
+          offset = reference.getPersistentLogKey();
+          break;
+        default:
+          throw new IllegalStateException("Serialization type not known.");
+      }
+
+      final int dataLength = mDataFile.getInt(offset);
+      reference.setLength(dataLength + FileReader.OTHER_BEACON);
+
+      final ByteBuffer page = mDataFile.slice(offset + FileReader.OTHER_BEACON, dataLength);
+
+      if (mType == SerializationType.DATA) {
+        mChecksum.verify(reference, page);
+      }
+
+      return deserialize(page, pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    final PageReference uberPageReference = new PageReference();
+    try {
+      // Read primary beacon.
+      uberPageReference.setKey(mDataFile.getLong(0));
+
+      final UberPage page = (UberPage) read(uberPageReference, null);
+      uberPageReference.setPage(page);
+      return uberPageReference;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    try {
+      final long offset = mRevisionsOffsetFile.getLong((long) revision * Long.BYTES);
+      final int dataLength = mDataFile.getInt(offset);
+
+      return (RevisionRootPage) deserialize(mDataFile.slice(offset + FileReader.OTHER_BEACON, dataLength),
+          pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  private Page deserialize(final ByteBuffer page, final PageReadOnlyTrx pageReadTrx) throws IOException {
+    // Perform byte operations.
+    final DataInputStream input =
+        new DataInputStream(mByteHandler.deserialize(new ByteBufferInputStream(page)));
+
+    // Return reader required to instantiate and deserialize page.
+    return mPagePersister.deserializePage(input, pageReadTrx, mType);
+  }
+
+  /**
+   * Drop all mappings, such that they are recreated on the next read. Must be called once the
+   * underlying files have been truncated.
+   */
+  void invalidate() {
+    mDataFile.invalidate();
+    if (mRevisionsOffsetFile != null) {
+      mRevisionsOffsetFile.invalidate();
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      // Mapped regions stay valid until they are garbage collected.
+      for (final FileChannel channel : mChannels) {
+        channel.close();
+      }
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package org.sirix.io.memorymapped;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nullable;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.AbstractForwardingReader;
+import org.sirix.io.Reader;
+import org.sirix.io.SerializedPage;
+import org.sirix.io.Writer;
+import org.sirix.io.file.FileWriter;
+import org.sirix.page.PageReference;
+import org.sirix.page.RevisionRootPage;
+import org.sirix.page.interfaces.Page;
+
+/**
+ * Writer for the memory mapped storage. Pages are appended through a {@link FileWriter}, whereas
+ * all reads are served by a {@link MemoryMappedFileReader}, which remaps the files as they grow.
+ * Buffered pages are flushed before reading.
+ */
+public final class MemoryMappedFileWriter extends AbstractForwardingReader implements Writer {
+
+  /** The writer to append pages. */
+  private final FileWriter mWriter;
+
+  /** The reader to read pages from the mapped files. */
+  private final MemoryMappedFileReader mReader;
+
+  /**
+   * Constructor.
+   *
+   * @param writer the writer used to append pages
+   * @param reader the reader used to read pages
+   */
+  public MemoryMappedFileWriter(final FileWriter writer, final MemoryMappedFileReader reader) {
+    mWriter = checkNotNull(writer);
+    mReader = checkNotNull(reader);
+  }
+
+  @Override
+  public Writer write(final PageReference pageReference) throws SirixIOException {
+    mWriter.write(pageReference);
+    return this;
+  }
+
+  @Override
+  public SerializedPage serialize(final Page page) throws SirixIOException {
+    return mWriter.serialize(page);
+  }
+
+  @Override
+  public Writer write(final PageReference pageReference, final SerializedPage serializedPage)
+      throws SirixIOException {
+    mWriter.write(pageReference, serializedPage);
+    return this;
+  }
+
+  @Override
+  public Writer writeUberPageReference(final PageReference pageReference) throws SirixIOException {
+    mWriter.writeUberPageReference(pageReference);
+    return this;
+  }
+
+  @Override
+  public Page read(final PageReference reference, final @Nullable PageReadOnlyTrx pageReadTrx) {
+    mWriter.flush();
+    return mReader.read(reference, pageReadTrx);
+  }
+
+  @Override
+  public PageReference readUberPageReference() {
+    mWriter.flush();
+    return mReader.readUberPageReference();
+  }
+
+  @Override
+  public RevisionRootPage readRevisionRootPage(final int revision, final PageReadOnlyTrx pageReadTrx) {
+    mWriter.flush();
+    return mReader.readRevisionRootPage(revision, pageReadTrx);
+  }
+
+  @Override
+  public Writer truncateTo(final int revision) {
+    mWriter.truncateTo(revision);
+    mReader.invalidate();
+    return this;
+  }
+
+  @Override
+  public Writer truncate() {
+    mWriter.truncate();
+    mReader.invalidate();
+    return this;
+  }
+
+  @Override
+  public void close() throws SirixIOException {
+    mWriter.close();
+    mReader.close();
+  }
+
+  @Override
+  protected Reader delegate() {
+    return mReader;
+  }
+}
@@ -0,0 +1,180 @@
+package org.sirix.io.memorymapped;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.Durability;
+import org.sirix.io.PageChecksum;
+import org.sirix.io.Reader;
+import org.sirix.io.SharedReader;
+import org.sirix.io.Storage;
+import org.sirix.io.Writer;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.bytepipe.ByteHandler;
+import org.sirix.io.file.FileWriter;
+import org.sirix.page.PagePersister;
+import org.sirix.page.SerializationType;
+
+/**
+ * Factory to provide memory mapped file access as a backend. Uses the same files and file format
+ * as the {@link org.sirix.io.file.FileStorage}.
+ */
+public final class MemoryMappedStorage implements Storage {
+
+  /** Data file name. */
+  private static final String FILENAME = "sirix.data";
+
+  /** Revisions file name. */
+  private static final String REVISIONS_FILENAME = "sirix.revisions";
+
+  /** Instance to storage. */
+  private final Path mFile;
+
+  /** Byte handler pipeline. */
+  private final ByteHandlePipeline mByteHandler;
+
+  /** Determines if and how commits are forced to the device. */
+  private final Durability mDurability;
+
+  /** The checksum of pages. */
+  private final PageChecksum mPageChecksum;
+
+  /** Determines if the checksums of pages are verified, when pages are read. */
+  private final boolean mVerifyChecksums;
+
+  /** The reader shared amongst all read-only transactions of the resource. */
+  private volatile SharedReader mSharedReader;
+
+  /**
+   * Constructor.
+   *
+   * @param resourceConfig the resource configuration
+   */
+  public MemoryMappedStorage(final ResourceConfiguration resourceConfig) {
+    assert resourceConfig != null : "resourceConfig must not be null!";
+    mFile = resourceConfig.resourcePath;
+    mByteHandler = resourceConfig.byteHandlePipeline;
+    mDurability = resourceConfig.durability;
+    mPageChecksum = resourceConfig.pageChecksum;
+    mVerifyChecksums = resourceConfig.verifyChecksumsOnRead;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * The returned reader is thread safe and shared amongst all callers. Closing it is a no-op, the
+   * files are closed once this storage is closed.
+   * </p>
+   */
+  @Override
+  public Reader createReader() throws SirixIOException {
+    // Avoid acquiring the lock, once the shared reader has been opened.
+    final SharedReader sharedReader = mSharedReader;
+    if (sharedReader != null) {
+      return sharedReader;
+    }
+
+    return openSharedReader();
+  }
+
+  private synchronized Reader openSharedReader() {
+    if (mSharedReader == null) {
+      try {
+        final Path dataFilePath = createDirectoriesAndFile();
+        final Path revisionsOffsetFilePath = getRevisionFilePath();
+
+        mSharedReader = new SharedReader(createMemoryMappedReader(dataFilePath, revisionsOffsetFilePath));
+      } catch (final IOException e) {
+        throw new SirixIOException(e);
+      }
+    }
+
+    return mSharedReader;
+  }
+
+  private MemoryMappedFileReader createMemoryMappedReader(final Path dataFilePath,
+      final Path revisionsOffsetFilePath) throws IOException {
+    if (!Files.exists(revisionsOffsetFilePath)) {
+      Files.createFile(revisionsOffsetFilePath);
+    }
+
+    return new MemoryMappedFileReader(FileChannel.open(dataFilePath, StandardOpenOption.READ),
+        FileChannel.open(revisionsOffsetFilePath, StandardOpenOption.READ), new ByteHandlePipeline(mByteHandler),
+        SerializationType.DATA, new PagePersister(),
+        mVerifyChecksums ? mPageChecksum : PageChecksum.NONE);
+  }
+
+  private Path createDirectoriesAndFile() throws IOException {
+    final Path concreteStorage = getDataFilePath();
+
+    if (!Files.exists(concreteStorage)) {
+      Files.createDirectories(concreteStorage.getParent());
+      Files.createFile(concreteStorage);
+    }
+
+    return concreteStorage;
+  }
+
+  @Override
+  public Writer createWriter() throws SirixIOException {
+    try {
+      final Path dataFilePath = createDirectoriesAndFile();
+      final Path revisionsOffsetFilePath = getRevisionFilePath();
+
+      final FileWriter writer = new FileWriter(new RandomAccessFile(dataFilePath.toFile(), "rw"),
+          new RandomAccessFile(revisionsOffsetFilePath.toFile(), "rw"), new ByteHandlePipeline(mByteHandler),
+          SerializationType.DATA, new PagePersister(), mDurability, mPageChecksum, mVerifyChecksums);
+
+      return new MemoryMappedFileWriter(writer, createMemoryMappedReader(dataFilePath, revisionsOffsetFilePath));
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (mSharedReader != null) {
+      mSharedReader.closeShared();
+      mSharedReader = null;
+    }
+  }
+
+  /**
+   * Getting path for data file.
+   *
+   * @return the path for this data file
+   */
+  private Path getDataFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(FILENAME);
+  }
+
+  /**
+   * Getting concrete storage for this file.
+   *
+   * @return the concrete storage for this database
+   */
+  private Path getRevisionFilePath() {
+    return mFile.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath()).resolve(REVISIONS_FILENAME);
+  }
+
+  @Override
+  public boolean exists() throws SirixIOException {
+    final Path storage = getDataFilePath();
+    try {
+      return Files.exists(storage) && Files.size(storage) > 0;
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+  }
+
+  @Override
+  public ByteHandler getByteHandler() {
+    return mByteHandler;
+  }
+}
@@ -0,0 +1,5 @@
+/**
+ * Memory mapped file backend, which shares the file format with the {@link org.sirix.io.file}
+ * backend.
+ */
+package org.sirix.io.memorymapped;
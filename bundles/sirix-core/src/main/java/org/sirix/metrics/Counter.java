@@ -0,0 +1,37 @@
+package org.sirix.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing counter, which is cheap to update concurrently.
+ */
+public final class Counter {
+
+  /** The count. */
+  private final LongAdder mCount = new LongAdder();
+
+  /**
+   * Increment the counter by one.
+   */
+  public void increment() {
+    mCount.increment();
+  }
+
+  /**
+   * Increment the counter.
+   *
+   * @param amount the amount to add, which must not be negative
+   */
+  public void increment(final long amount) {
+    mCount.add(amount);
+  }
+
+  /**
+   * Get the count.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    return mCount.sum();
+  }
+}
@@ -0,0 +1,115 @@
+package org.sirix.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram with fixed buckets, which is cheap to update concurrently. The buckets are denoted by
+ * their inclusive upper bounds, whereas an implicit last bucket holds all larger values.
+ */
+public final class Histogram {
+
+  /** The inclusive upper bounds of the buckets in ascending order. */
+  private final double[] mUpperBounds;
+
+  /** The number of observations per bucket (not cumulative). */
+  private final LongAdder[] mBuckets;
+
+  /** The number of observations. */
+  private final LongAdder mCount;
+
+  /** The sum of all observations. */
+  private final DoubleAdder mSum;
+
+  /**
+   * Constructor.
+   *
+   * @param upperBounds the inclusive upper bounds of the buckets in ascending order
+   */
+  public Histogram(final double... upperBounds) {
+    checkNotNull(upperBounds);
+    for (int i = 1; i < upperBounds.length; i++) {
+      checkArgument(upperBounds[i - 1] < upperBounds[i], "The upper bounds must be in ascending order.");
+    }
+    mUpperBounds = upperBounds.clone();
+    mBuckets = new LongAdder[upperBounds.length + 1];
+    for (int i = 0; i < mBuckets.length; i++) {
+      mBuckets[i] = new LongAdder();
+    }
+    mCount = new LongAdder();
+    mSum = new DoubleAdder();
+  }
+
+  /**
+   * Record an observation.
+   *
+   * @param value the observed value
+   */
+  public void observe(final double value) {
+    int bucket = 0;
+    while (bucket < mUpperBounds.length && value > mUpperBounds[bucket]) {
+      bucket++;
+    }
+    mBuckets[bucket].increment();
+    mCount.increment();
+    mSum.add(value);
+  }
+
+  /**
+   * Get the inclusive upper bounds of the buckets, without the implicit last bucket.
+   *
+   * @return the upper bounds of the buckets
+   */
+  public double[] getUpperBounds() {
+    return mUpperBounds.clone();
+  }
+
+  /**
+   * Get the cumulative number of observations per bucket, that is for each upper bound the number
+   * of observations, which are less than or equal to the bound. The last element holds the number of
+   * all observations.
+   *
+   * @return the cumulative number of observations per bucket
+   */
+  public long[] getCumulativeCounts() {
+    final long[] counts = new long[mBuckets.length];
+    long count = 0;
+    for (int i = 0; i < mBuckets.length; i++) {
+      count += mBuckets[i].sum();
+      counts[i] = count;
+    }
+    return counts;
+  }
+
+  /**
+   * Get the number of observations.
+   *
+   * @return the number of observations
+   */
+  public long getCount() {
+    return mCount.sum();
+  }
+
+  /**
+   * Get the sum of all observations.
+   *
+   * @return the sum of all observations
+   */
+  public double getSum() {
+    return mSum.sum();
+  }
+
+  /**
+   * Get the mean of all observations.
+   *
+   * @return the mean of all observations or {@code 0}, if nothing has been observed
+   */
+  public double getMean() {
+    final long count = getCount();
+    return count == 0
+        ? 0
+        : getSum() / count;
+  }
+}
@@ -0,0 +1,238 @@
+package org.sirix.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.cache.SharedBufferManager;
+import org.sirix.utils.LogWrapper;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process wide registry of the metrics of all resources. The metrics of each resource are
+ * registered with the platform MBean server under the name
+ * {@code org.sirix:type=ResourceMetrics,database=<database>,resource=<resource>} and all metrics
+ * can be rendered in the Prometheus text exposition format.
+ */
+public final class MetricsRegistry {
+
+  /** {@link LogWrapper} reference. */
+  private static final LogWrapper LOGWRAPPER = new LogWrapper(LoggerFactory.getLogger(MetricsRegistry.class));
+
+  /** The content type of the Prometheus text exposition format. */
+  public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  /** The process wide instance. */
+  private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+  /** The metrics of all resources, keyed by the path of the resource. */
+  private final ConcurrentMap<Path, ResourceMetrics> mResourceMetrics;
+
+  /**
+   * Constructor.
+   */
+  MetricsRegistry() {
+    mResourceMetrics = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Get the process wide instance.
+   *
+   * @return the process wide instance
+   */
+  public static MetricsRegistry getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the metrics of a resource, which are created and registered with the platform MBean server
+   * if they don't exist yet.
+   *
+   * @param resourceConfig the configuration of the resource
+   * @return the metrics of the resource
+   */
+  public ResourceMetrics getResourceMetrics(final ResourceConfiguration resourceConfig) {
+    final Path resourcePath = checkNotNull(resourceConfig).resourcePath;
+    return mResourceMetrics.computeIfAbsent(resourcePath, path -> {
+      // The resource is stored in the data directory of the database.
+      final Path databasePath = path.getParent() == null
+          ? null
+          : path.getParent().getParent();
+      final String databaseName = databasePath == null || databasePath.getFileName() == null
+          ? ""
+          : databasePath.getFileName().toString();
+      final ResourceMetrics metrics = new ResourceMetrics(databaseName, String.valueOf(path.getFileName()));
+      registerMBean(metrics);
+      return metrics;
+    });
+  }
+
+  /**
+   * Remove the metrics of a resource, for instance because the resource has been removed.
+   *
+   * @param resourcePath the path of the resource
+   */
+  public void removeResourceMetrics(final Path resourcePath) {
+    final ResourceMetrics metrics = mResourceMetrics.remove(checkNotNull(resourcePath));
+    if (metrics != null) {
+      unregisterMBean(metrics);
+    }
+  }
+
+  /**
+   * Get the metrics of all resources.
+   *
+   * @return the metrics of all resources
+   */
+  public Collection<ResourceMetrics> getAllResourceMetrics() {
+    return mResourceMetrics.values();
+  }
+
+  private static ObjectName getObjectName(final ResourceMetrics metrics) throws JMException {
+    return new ObjectName("org.sirix:type=ResourceMetrics,database=" + ObjectName.quote(metrics.getDatabaseName())
+        + ",resource=" + ObjectName.quote(metrics.getResourceName()));
+  }
+
+  private static void registerMBean(final ResourceMetrics metrics) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName name = getObjectName(metrics);
+      // Two databases with the same name in different directories are not distinguishable.
+      if (!server.isRegistered(name)) {
+        server.registerMBean(metrics, name);
+      }
+    } catch (final JMException e) {
+      LOGWRAPPER.error(e.getMessage(), e);
+    }
+  }
+
+  private static void unregisterMBean(final ResourceMetrics metrics) {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName name = getObjectName(metrics);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (final JMException e) {
+      LOGWRAPPER.error(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Render the metrics of all resources and of the shared buffer pool in the Prometheus text
+   * exposition format.
+   *
+   * @return the metrics in the Prometheus text exposition format
+   */
+  public String toPrometheusFormat() {
+    final StringBuilder builder = new StringBuilder();
+    final Collection<ResourceMetrics> allMetrics = mResourceMetrics.values();
+
+    final SharedBufferManager bufferPool = SharedBufferManager.getInstance();
+    appendHeader(builder, "sirix_buffer_pool_max_bytes", "Maximum size of the shared buffer pool.", "gauge");
+    appendSample(builder, "sirix_buffer_pool_max_bytes", "", bufferPool.getMaximumSize());
+    appendHeader(builder, "sirix_buffer_pool_bytes", "Size of the pages in the shared buffer pool.", "gauge");
+    appendSample(builder, "sirix_buffer_pool_bytes", "", bufferPool.getWeightedSize());
+
+    appendMetric(builder, allMetrics, "sirix_page_cache_hits_total",
+        "Indirect pages found in the buffer pool.", "counter", ResourceMetrics::getPageCacheHits);
+    appendMetric(builder, allMetrics, "sirix_page_cache_misses_total",
+        "Indirect pages read from the storage.", "counter", ResourceMetrics::getPageCacheMisses);
+    appendMetric(builder, allMetrics, "sirix_page_cache_hit_ratio",
+        "Ratio of indirect pages found in the buffer pool.", "gauge", ResourceMetrics::getPageCacheHitRatio);
+    appendMetric(builder, allMetrics, "sirix_record_page_cache_hits_total",
+        "Record pages found in the buffer pool.", "counter", ResourceMetrics::getRecordPageCacheHits);
+    appendMetric(builder, allMetrics, "sirix_record_page_cache_misses_total",
+        "Record pages reconstructed from their fragments.", "counter", ResourceMetrics::getRecordPageCacheMisses);
+    appendMetric(builder, allMetrics, "sirix_record_page_cache_hit_ratio",
+        "Ratio of record pages found in the buffer pool.", "gauge", ResourceMetrics::getRecordPageCacheHitRatio);
+    appendMetric(builder, allMetrics, "sirix_concurrent_fragment_reads_total",
+        "Record pages reconstructed from fragments read concurrently.", "counter",
+        ResourceMetrics::getConcurrentFragmentReads);
+    appendHistogram(builder, allMetrics, "sirix_page_read_seconds",
+        "Latency of reading and deserializing a page from the storage.", ResourceMetrics::getPageReadLatency);
+    appendHistogram(builder, allMetrics, "sirix_record_page_fragments",
+        "Number of fragments read to reconstruct a record page.", ResourceMetrics::getFragments);
+    appendHistogram(builder, allMetrics, "sirix_commit_seconds", "Duration of commits.",
+        ResourceMetrics::getCommitDuration);
+
+    final String phaseMetric = "sirix_commit_phase_seconds";
+    appendHeader(builder, phaseMetric, "Duration of the phases of commits.", "histogram");
+    for (final ResourceMetrics.CommitPhase phase : ResourceMetrics.CommitPhase.values()) {
+      final String phaseLabel = ",phase=\"" + phase.getName() + "\"";
+      for (final ResourceMetrics metrics : allMetrics) {
+        appendHistogramSamples(builder, phaseMetric, labels(metrics) + phaseLabel,
+            metrics.getCommitPhaseDuration(phase));
+      }
+    }
+
+    return builder.toString();
+  }
+
+  private static void appendMetric(final StringBuilder builder, final Collection<ResourceMetrics> allMetrics,
+      final String name, final String help, final String type, final ToDoubleFunction<ResourceMetrics> value) {
+    appendHeader(builder, name, help, type);
+    for (final ResourceMetrics metrics : allMetrics) {
+      appendSample(builder, name, labels(metrics), value.applyAsDouble(metrics));
+    }
+  }
+
+  private static void appendHistogram(final StringBuilder builder, final Collection<ResourceMetrics> allMetrics,
+      final String name, final String help, final Function<ResourceMetrics, Histogram> histogram) {
+    appendHeader(builder, name, help, "histogram");
+    for (final ResourceMetrics metrics : allMetrics) {
+      appendHistogramSamples(builder, name, labels(metrics), histogram.apply(metrics));
+    }
+  }
+
+  private static void appendHistogramSamples(final StringBuilder builder, final String name, final String labels,
+      final Histogram histogram) {
+    final double[] upperBounds = histogram.getUpperBounds();
+    final long[] counts = histogram.getCumulativeCounts();
+    for (int i = 0; i < upperBounds.length; i++) {
+      appendSample(builder, name + "_bucket", labels + ",le=\"" + format(upperBounds[i]) + "\"", counts[i]);
+    }
+    appendSample(builder, name + "_bucket", labels + ",le=\"+Inf\"", counts[counts.length - 1]);
+    appendSample(builder, name + "_sum", labels, histogram.getSum());
+    appendSample(builder, name + "_count", labels, counts[counts.length - 1]);
+  }
+
+  private static void appendHeader(final StringBuilder builder, final String name, final String help,
+      final String type) {
+    builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void appendSample(final StringBuilder builder, final String name, final String labels,
+      final double value) {
+    builder.append(name);
+    if (!labels.isEmpty()) {
+      builder.append('{').append(labels).append('}');
+    }
+    builder.append(' ').append(format(value)).append('\n');
+  }
+
+  private static String labels(final ResourceMetrics metrics) {
+    return "database=\"" + escape(metrics.getDatabaseName()) + "\",resource=\"" + escape(metrics.getResourceName())
+        + "\"";
+  }
+
+  private static String escape(final String labelValue) {
+    return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String format(final double value) {
+    if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+      return String.valueOf((long) value);
+    }
+    return Double.toString(value);
+  }
+}
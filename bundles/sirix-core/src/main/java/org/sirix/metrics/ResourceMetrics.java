@@ -0,0 +1,287 @@
+package org.sirix.metrics;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counters and histograms of the hot paths of the storage layer of a single resource.
+ */
+public final class ResourceMetrics implements ResourceMetricsMXBean {
+
+  /** The phases of a commit, which are timed separately. */
+  public enum CommitPhase {
+    /** Writing the modified pages of the transaction intent log. */
+    WRITE_PAGES("write_pages"),
+
+    /** Writing the uber page, which includes flushing the data to the storage device. */
+    WRITE_UBER_PAGE("write_uber_page"),
+
+    /** Serializing the index definitions. */
+    SERIALIZE_INDEXES("serialize_indexes"),
+
+    /** Clearing the transaction intent log. */
+    TRUNCATE_LOG("truncate_log");
+
+    /** The name used as a label value. */
+    private final String mName;
+
+    CommitPhase(final String name) {
+      mName = name;
+    }
+
+    /**
+     * Get the name, which is used as a label value.
+     *
+     * @return the name
+     */
+    public String getName() {
+      return mName;
+    }
+  }
+
+  /** Upper bounds of the latency buckets in seconds. */
+  private static final double[] LATENCY_BUCKETS =
+      {0.00001, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.05, 0.1, 0.5, 1};
+
+  /** Upper bounds of the commit duration buckets in seconds. */
+  private static final double[] DURATION_BUCKETS = {0.001, 0.005, 0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30};
+
+  /** Upper bounds of the fragment count buckets. */
+  private static final double[] FRAGMENT_BUCKETS = {1, 2, 3, 4, 5, 6, 8, 10, 16, 32};
+
+  /** Number of nanoseconds per second. */
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  /** The name of the database. */
+  private final String mDatabaseName;
+
+  /** The name of the resource. */
+  private final String mResourceName;
+
+  private final Counter mPageCacheHits = new Counter();
+
+  private final Counter mPageCacheMisses = new Counter();
+
+  private final Counter mRecordPageCacheHits = new Counter();
+
+  private final Counter mRecordPageCacheMisses = new Counter();
+
+  /** Number of record pages, whose fragments have been read concurrently. */
+  private final Counter mConcurrentFragmentReads = new Counter();
+
+  /** Latency of reading and deserializing pages from the storage in seconds. */
+  private final Histogram mPageReadLatency = new Histogram(LATENCY_BUCKETS);
+
+  /** Number of fragments read to reconstruct a record page. */
+  private final Histogram mFragments = new Histogram(FRAGMENT_BUCKETS);
+
+  /** Duration of whole commits in seconds. */
+  private final Histogram mCommitDuration = new Histogram(DURATION_BUCKETS);
+
+  /** Duration of the phases of commits in seconds. */
+  private final Map<CommitPhase, Histogram> mCommitPhaseDurations;
+
+  /**
+   * Constructor.
+   *
+   * @param databaseName the name of the database
+   * @param resourceName the name of the resource
+   */
+  public ResourceMetrics(final String databaseName, final String resourceName) {
+    mDatabaseName = checkNotNull(databaseName);
+    mResourceName = checkNotNull(resourceName);
+    mCommitPhaseDurations = new EnumMap<>(CommitPhase.class);
+    for (final CommitPhase phase : CommitPhase.values()) {
+      mCommitPhaseDurations.put(phase, new Histogram(DURATION_BUCKETS));
+    }
+  }
+
+  /**
+   * Get the name of the database.
+   *
+   * @return the name of the database
+   */
+  public String getDatabaseName() {
+    return mDatabaseName;
+  }
+
+  /**
+   * Get the name of the resource.
+   *
+   * @return the name of the resource
+   */
+  public String getResourceName() {
+    return mResourceName;
+  }
+
+  /**
+   * Record a lookup of an indirect page in the buffer pool.
+   *
+   * @param hit {@code true}, if the page has been found
+   */
+  public void recordPageCacheLookup(final boolean hit) {
+    (hit
+        ? mPageCacheHits
+        : mPageCacheMisses).increment();
+  }
+
+  /**
+   * Record a lookup of a record page in the buffer pool.
+   *
+   * @param hit {@code true}, if the page has been found
+   */
+  public void recordRecordPageCacheLookup(final boolean hit) {
+    (hit
+        ? mRecordPageCacheHits
+        : mRecordPageCacheMisses).increment();
+  }
+
+  /**
+   * Record reading a page from the storage.
+   *
+   * @param nanos the time needed to read and deserialize the page in nanoseconds
+   */
+  public void recordPageRead(final long nanos) {
+    mPageReadLatency.observe(nanos / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Record reconstructing a record page.
+   *
+   * @param fragments the number of fragments read
+   */
+  public void recordFragments(final int fragments) {
+    mFragments.observe(fragments);
+  }
+
+  /**
+   * Record reconstructing a record page from fragments, which have been read concurrently.
+   */
+  public void recordConcurrentFragmentRead() {
+    mConcurrentFragmentReads.increment();
+  }
+
+  /**
+   * Record a phase of a commit.
+   *
+   * @param phase the phase
+   * @param nanos the duration of the phase in nanoseconds
+   */
+  public void recordCommitPhase(final CommitPhase phase, final long nanos) {
+    mCommitPhaseDurations.get(phase).observe(nanos / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Record a commit.
+   *
+   * @param nanos the duration of the commit in nanoseconds
+   */
+  public void recordCommit(final long nanos) {
+    mCommitDuration.observe(nanos / NANOS_PER_SECOND);
+  }
+
+  /**
+   * Get the histogram of page read latencies in seconds.
+   *
+   * @return the histogram
+   */
+  public Histogram getPageReadLatency() {
+    return mPageReadLatency;
+  }
+
+  /**
+   * Get the histogram of the number of fragments read to reconstruct a record page.
+   *
+   * @return the histogram
+   */
+  public Histogram getFragments() {
+    return mFragments;
+  }
+
+  /**
+   * Get the histogram of commit durations in seconds.
+   *
+   * @return the histogram
+   */
+  public Histogram getCommitDuration() {
+    return mCommitDuration;
+  }
+
+  /**
+   * Get the histogram of the durations of a commit phase in seconds.
+   *
+   * @param phase the phase
+   * @return the histogram
+   */
+  public Histogram getCommitPhaseDuration(final CommitPhase phase) {
+    return mCommitPhaseDurations.get(checkNotNull(phase));
+  }
+
+  @Override
+  public long getPageCacheHits() {
+    return mPageCacheHits.getCount();
+  }
+
+  @Override
+  public long getPageCacheMisses() {
+    return mPageCacheMisses.getCount();
+  }
+
+  @Override
+  public double getPageCacheHitRatio() {
+    return ratio(getPageCacheHits(), getPageCacheMisses());
+  }
+
+  @Override
+  public long getRecordPageCacheHits() {
+    return mRecordPageCacheHits.getCount();
+  }
+
+  @Override
+  public long getRecordPageCacheMisses() {
+    return mRecordPageCacheMisses.getCount();
+  }
+
+  @Override
+  public double getRecordPageCacheHitRatio() {
+    return ratio(getRecordPageCacheHits(), getRecordPageCacheMisses());
+  }
+
+  @Override
+  public long getConcurrentFragmentReads() {
+    return mConcurrentFragmentReads.getCount();
+  }
+
+  @Override
+  public long getPageReads() {
+    return mPageReadLatency.getCount();
+  }
+
+  @Override
+  public double getMeanPageReadLatency() {
+    return mPageReadLatency.getMean();
+  }
+
+  @Override
+  public double getMeanFragmentsPerRecordPage() {
+    return mFragments.getMean();
+  }
+
+  @Override
+  public long getCommits() {
+    return mCommitDuration.getCount();
+  }
+
+  @Override
+  public double getMeanCommitDuration() {
+    return mCommitDuration.getMean();
+  }
+
+  private static double ratio(final long hits, final long misses) {
+    final long lookups = hits + misses;
+    return lookups == 0
+        ? 0
+        : (double) hits / lookups;
+  }
+}
@@ -0,0 +1,91 @@
+package org.sirix.metrics;
+
+/**
+ * Management interface of the metrics of a resource, which is registered with the platform MBean
+ * server.
+ */
+public interface ResourceMetricsMXBean {
+  /**
+   * Get the number of indirect pages found in the buffer pool.
+   *
+   * @return the number of hits
+   */
+  long getPageCacheHits();
+
+  /**
+   * Get the number of indirect pages, which had to be read from the storage.
+   *
+   * @return the number of misses
+   */
+  long getPageCacheMisses();
+
+  /**
+   * Get the ratio of indirect pages found in the buffer pool.
+   *
+   * @return the hit ratio or {@code 0}, if no page has been requested
+   */
+  double getPageCacheHitRatio();
+
+  /**
+   * Get the number of reconstructed record pages found in the buffer pool.
+   *
+   * @return the number of hits
+   */
+  long getRecordPageCacheHits();
+
+  /**
+   * Get the number of record pages, which had to be reconstructed from their fragments.
+   *
+   * @return the number of misses
+   */
+  long getRecordPageCacheMisses();
+
+  /**
+   * Get the ratio of record pages found in the buffer pool.
+   *
+   * @return the hit ratio or {@code 0}, if no page has been requested
+   */
+  double getRecordPageCacheHitRatio();
+
+  /**
+   * Get the number of pages read from the storage.
+   *
+   * @return the number of page reads
+   */
+  long getPageReads();
+
+  /**
+   * Get the mean latency of reading and deserializing a page from the storage.
+   *
+   * @return the mean latency in seconds
+   */
+  double getMeanPageReadLatency();
+
+  /**
+   * Get the number of record pages, whose fragments have been read concurrently.
+   *
+   * @return the number of record pages
+   */
+  long getConcurrentFragmentReads();
+
+  /**
+   * Get the mean number of fragments read to reconstruct a record page.
+   *
+   * @return the mean number of fragments
+   */
+  double getMeanFragmentsPerRecordPage();
+
+  /**
+   * Get the number of commits.
+   *
+   * @return the number of commits
+   */
+  long getCommits();
+
+  /**
+   * Get the mean duration of a commit.
+   *
+   * @return the mean duration in seconds
+   */
+  double getMeanCommitDuration();
+}
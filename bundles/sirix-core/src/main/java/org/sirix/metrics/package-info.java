@@ -0,0 +1,5 @@
+/**
+ * Counters and histograms for the storage layer of each resource, which are exposed over JMX and
+ * in the Prometheus text format.
+ */
+package org.sirix.metrics;
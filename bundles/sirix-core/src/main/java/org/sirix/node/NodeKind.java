@@ -30,13 +30,11 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.PrimitiveIterator;
 import javax.annotation.Nonnegative;
 import org.brackit.xquery.atomic.Atomic;
 import org.brackit.xquery.atomic.QNm;
@@ -49,7 +47,12 @@ import org.sirix.index.AtomicUtil;
 import org.sirix.index.avltree.AVLNode;
 import org.sirix.index.avltree.keyvalue.CASValue;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusInnerNode;
+import org.sirix.index.bplustree.BPlusLeafNode;
+import org.sirix.index.bplustree.BPlusReferencesChunk;
+import org.sirix.index.bplustree.KeyKind;
 import org.sirix.index.path.summary.PathNode;
+import org.sirix.index.path.summary.PathStatistics;
 import org.sirix.node.delegates.NameNodeDelegate;
 import org.sirix.node.delegates.NodeDelegate;
 import org.sirix.node.delegates.StructNodeDelegate;
@@ -551,8 +554,13 @@ public enum NodeKind implements NodePersistenter {
       // Name delegate.
       final NameNodeDelegate nameDel = deserializeNameDelegate(nodeDel, source);
 
-      return new PathNode(nodeDel, structDel, nameDel, NodeKind.getKind(source.readByte()), source.readInt(),
-          source.readInt());
+      final PathNode node = new PathNode(nodeDel, structDel, nameDel, NodeKind.getKind(source.readByte()),
+          source.readInt(), source.readInt());
+      // Resources stored in format version 1 or older store no statistics keys.
+      if (pageReadTrx.getResourceManager().getResourceConfig().storageFormatVersion > 1) {
+        node.setStatisticsKey(getVarLong(source) - 1);
+      }
+      return node;
     }
 
     @Override
@@ -565,6 +573,9 @@ public enum NodeKind implements NodePersistenter {
       sink.writeByte(node.getPathKind().getId());
       sink.writeInt(node.getReferences());
       sink.writeInt(node.getLevel());
+      if (pageReadTrx.getResourceManager().getResourceConfig().storageFormatVersion > 1) {
+        putVarLong(sink, node.getStatisticsKey() + 1);
+      }
     };
 
     @Override
@@ -591,16 +602,7 @@ public enum NodeKind implements NodePersistenter {
       final int typeSize = source.readInt();
       final byte[] type = new byte[typeSize];
       source.readFully(type, 0, typeSize);
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      long key = getVarLong(source);
-      nodeKeys.add(key);
-      for (int i = 1; i < keySize; i++) {
-        if (i + 1 < keySize) {
-          key += getVarLong(source);
-          nodeKeys.add(key);
-        }
-      }
+      final NodeReferences nodeReferences = deserializeAVLNodeReferences(source, pageReadTrx, true);
       final Type atomicType = resolveType(new String(type, Constants.DEFAULT_ENCODING));
 
       // Node delegate.
@@ -612,8 +614,8 @@ public enum NodeKind implements NodePersistenter {
 
       final Atomic atomic = AtomicUtil.fromBytes(value, atomicType);
       AVLNode<CASValue, NodeReferences> node;
-      node = new AVLNode<CASValue, NodeReferences>(new CASValue(atomic, atomicType, pathNodeKey),
-          new NodeReferences(nodeKeys), nodeDel);
+      node = new AVLNode<CASValue, NodeReferences>(new CASValue(atomic, atomicType, pathNodeKey), nodeReferences,
+          nodeDel);
 
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
@@ -633,20 +635,7 @@ public enum NodeKind implements NodePersistenter {
       final byte[] type = key.getType().toString().getBytes(Constants.DEFAULT_ENCODING);
       sink.writeInt(type.length);
       sink.write(type);
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-
-      // Store in a list and sort the list.
-      final List<Long> listNodeKeys = new ArrayList<>(nodeKeys);
-      Collections.sort(listNodeKeys);
-      sink.writeInt(listNodeKeys.size());
-      putVarLong(sink, listNodeKeys.get(0));
-      for (int i = 0; i < listNodeKeys.size(); i++) {
-        if (i + 1 < listNodeKeys.size()) {
-          final long diff = listNodeKeys.get(i + 1) - listNodeKeys.get(i);
-          putVarLong(sink, diff);
-        }
-      }
+      serializeAVLNodeReferences(sink, node.getValue(), pageReadTrx, true);
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -684,17 +673,13 @@ public enum NodeKind implements NodePersistenter {
     public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
         final PageReadOnlyTrx pageReadTrx) throws IOException {
       final long key = getVarLong(source);
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      for (int i = 0; i < keySize; i++) {
-        nodeKeys.add(source.readLong());
-      }
+      final NodeReferences nodeReferences = deserializeAVLNodeReferences(source, pageReadTrx, false);
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
       final long leftChild = getVarLong(source);
       final long rightChild = getVarLong(source);
       final boolean isChanged = source.readBoolean();
-      final AVLNode<Long, NodeReferences> node = new AVLNode<>(key, new NodeReferences(nodeKeys), nodeDel);
+      final AVLNode<Long, NodeReferences> node = new AVLNode<>(key, nodeReferences, nodeDel);
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
       node.setChanged(isChanged);
@@ -707,12 +692,7 @@ public enum NodeKind implements NodePersistenter {
       @SuppressWarnings("unchecked")
       final AVLNode<Long, NodeReferences> node = (AVLNode<Long, NodeReferences>) record;
       putVarLong(sink, node.getKey().longValue());
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-      sink.writeInt(nodeKeys.size());
-      for (final long nodeKey : nodeKeys) {
-        sink.writeLong(nodeKey);
-      }
+      serializeAVLNodeReferences(sink, node.getValue(), pageReadTrx, false);
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -745,17 +725,13 @@ public enum NodeKind implements NodePersistenter {
       source.readFully(localNameBytes);
       final QNm name = new QNm(new String(nspBytes, Constants.DEFAULT_ENCODING),
           new String(prefixBytes, Constants.DEFAULT_ENCODING), new String(localNameBytes, Constants.DEFAULT_ENCODING));
-      final int keySize = source.readInt();
-      final Set<Long> nodeKeys = new HashSet<>(keySize);
-      for (int i = 0; i < keySize; i++) {
-        nodeKeys.add(source.readLong());
-      }
+      final NodeReferences nodeReferences = deserializeAVLNodeReferences(source, pageReadTrx, false);
       // Node delegate.
       final NodeDelegate nodeDel = deserializeNodeDelegateWithoutIDs(source, recordID, pageReadTrx);
       final long leftChild = getVarLong(source);
       final long rightChild = getVarLong(source);
       final boolean isChanged = source.readBoolean();
-      final AVLNode<QNm, NodeReferences> node = new AVLNode<>(name, new NodeReferences(nodeKeys), nodeDel);
+      final AVLNode<QNm, NodeReferences> node = new AVLNode<>(name, nodeReferences, nodeDel);
       node.setLeftChildKey(leftChild);
       node.setRightChildKey(rightChild);
       node.setChanged(isChanged);
@@ -776,12 +752,7 @@ public enum NodeKind implements NodePersistenter {
       final byte[] localNameBytes = node.getKey().getLocalName().getBytes();
       sink.writeInt(localNameBytes.length);
       sink.write(localNameBytes);
-      final NodeReferences value = node.getValue();
-      final Set<Long> nodeKeys = value.getNodeKeys();
-      sink.writeInt(nodeKeys.size());
-      for (final long nodeKey : nodeKeys) {
-        sink.writeLong(nodeKey);
-      }
+      serializeAVLNodeReferences(sink, node.getValue(), pageReadTrx, false);
       serializeDelegate(node.getNodeDelegate(), sink);
       putVarLong(sink, node.getLeftChildKey());
       putVarLong(sink, node.getRightChildKey());
@@ -1294,6 +1265,184 @@ public enum NodeKind implements NodePersistenter {
         ResourceConfiguration resourceConfig) throws IOException {}
   },
 
+  /** Node kind is a B+-tree leaf node. */
+  BPLUS_LEAF((byte) 34, BPlusLeafNode.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      final KeyKind keyKind = KeyKind.getKind(source.readByte());
+      final long revision = getVarLong(source);
+      final long leftSiblingKey = getVarLong(source);
+      final long rightSiblingKey = getVarLong(source);
+      final int size = source.readInt();
+      final List<Comparable<Object>> keys = new ArrayList<>(size);
+      final List<NodeReferences> values = new ArrayList<>(size);
+      final List<long[]> chunkDirectories = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        @SuppressWarnings("unchecked")
+        final Comparable<Object> key = (Comparable<Object>) keyKind.deserialize(source);
+        keys.add(key);
+        if (source.readBoolean()) {
+          final long[] chunkDirectory = new long[source.readInt()];
+          for (int j = 0; j < chunkDirectory.length; j++) {
+            chunkDirectory[j] = getVarLong(source);
+          }
+          values.add(new NodeReferences());
+          chunkDirectories.add(chunkDirectory);
+        } else {
+          values.add(deserializeNodeReferences(source));
+          chunkDirectories.add(null);
+        }
+      }
+      return new BPlusLeafNode<>(recordID, revision, keyKind, keys, values, chunkDirectories, leftSiblingKey,
+          rightSiblingKey);
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      final BPlusLeafNode<?> node = (BPlusLeafNode<?>) record;
+      final KeyKind keyKind = node.getKeyKind();
+      sink.writeByte(keyKind.getId());
+      putVarLong(sink, node.getRevision());
+      putVarLong(sink, node.getLeftSiblingKey());
+      putVarLong(sink, node.getRightSiblingKey());
+      sink.writeInt(node.size());
+      for (int i = 0; i < node.size(); i++) {
+        keyKind.serialize(sink, node.getKey(i));
+        final long[] chunkDirectory = node.getChunkDirectory(i);
+        sink.writeBoolean(chunkDirectory != null);
+        if (chunkDirectory == null) {
+          serializeNodeReferences(sink, node.getValue(i));
+        } else {
+          sink.writeInt(chunkDirectory.length);
+          for (final long value : chunkDirectory) {
+            putVarLong(sink, value);
+          }
+        }
+      }
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
+  /** Node kind is a B+-tree inner node. */
+  BPLUS_INNER((byte) 35, BPlusInnerNode.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      final KeyKind keyKind = KeyKind.getKind(source.readByte());
+      final long revision = getVarLong(source);
+      final int size = source.readInt();
+      final List<Comparable<Object>> keys = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        @SuppressWarnings("unchecked")
+        final Comparable<Object> key = (Comparable<Object>) keyKind.deserialize(source);
+        keys.add(key);
+      }
+      final long[] childKeys = new long[size + 1];
+      for (int i = 0; i <= size; i++) {
+        childKeys[i] = getVarLong(source);
+      }
+      return new BPlusInnerNode<>(recordID, revision, keyKind, keys, childKeys);
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      final BPlusInnerNode<?> node = (BPlusInnerNode<?>) record;
+      final KeyKind keyKind = node.getKeyKind();
+      sink.writeByte(keyKind.getId());
+      putVarLong(sink, node.getRevision());
+      sink.writeInt(node.size());
+      for (int i = 0; i < node.size(); i++) {
+        keyKind.serialize(sink, node.getKey(i));
+      }
+      for (int i = 0; i <= node.size(); i++) {
+        putVarLong(sink, node.getChildKey(i));
+      }
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
+  /** Node kind is a chunk of the node references of a B+-tree entry. */
+  BPLUS_REFERENCES_CHUNK((byte) 36, BPlusReferencesChunk.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      final long revision = getVarLong(source);
+      return new BPlusReferencesChunk(recordID, revision, deserializeNodeReferences(source));
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      final BPlusReferencesChunk chunk = (BPlusReferencesChunk) record;
+      putVarLong(sink, chunk.getRevision());
+      serializeNodeReferences(sink, chunk.getReferences());
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
+  /** Node kind is the value statistics of a path node. */
+  PATH_STATISTICS((byte) 37, PathStatistics.class) {
+    @Override
+    public Record deserialize(final DataInput source, final @Nonnegative long recordID, final SirixDeweyID deweyID,
+        final PageReadOnlyTrx pageReadTrx) throws IOException {
+      return PathStatistics.deserialize(source, recordID);
+    }
+
+    @Override
+    public void serialize(final DataOutput sink, final Record record, final PageReadOnlyTrx pageReadTrx)
+        throws IOException {
+      ((PathStatistics) record).serialize(sink);
+    }
+
+    @Override
+    public Optional<SirixDeweyID> deserializeDeweyID(DataInput source, SirixDeweyID previousDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void serializeDeweyID(DataOutput sink, NodeKind nodeKind, SirixDeweyID deweyID, SirixDeweyID prevDeweyID,
+        ResourceConfiguration resourceConfig) throws IOException {
+      throw new UnsupportedOperationException();
+    }
+  },
+
   /** Node type not known. */
   UNKNOWN((byte) 22, null) {
     @Override
@@ -1617,6 +1766,81 @@ public enum NodeKind implements NodePersistenter {
     sink.write(bigIntegerBytes);
   }
 
+  /**
+   * Serializes node references as a compressed bitmap.
+   *
+   * @param sink the output to write to
+   * @param references the node references
+   * @throws IOException if an I/O error occurs
+   */
+  private static void serializeNodeReferences(final DataOutput sink, final NodeReferences references)
+      throws IOException {
+    references.serialize(sink);
+  }
+
+  private static NodeReferences deserializeNodeReferences(final DataInput source) throws IOException {
+    return NodeReferences.deserialize(source);
+  }
+
+  /**
+   * Serializes the node references of an AVL node. Resources of storage format version {@code 0}
+   * store the node keys as a list instead of a bitmap.
+   *
+   * @param sink the output to write to
+   * @param references the node references
+   * @param pageReadTrx the page transaction of the resource
+   * @param deltaEncoded determines if the list stores the differences of the sorted node keys
+   * @throws IOException if an I/O error occurs
+   */
+  private static void serializeAVLNodeReferences(final DataOutput sink, final NodeReferences references,
+      final PageReadOnlyTrx pageReadTrx, final boolean deltaEncoded) throws IOException {
+    if (pageReadTrx.getResourceManager().getResourceConfig().storageFormatVersion > 0) {
+      serializeNodeReferences(sink, references);
+      return;
+    }
+    sink.writeInt((int) references.getCardinality());
+    final PrimitiveIterator.OfLong nodeKeys = references.nodeKeyIterator();
+    long previousNodeKey = 0;
+    while (nodeKeys.hasNext()) {
+      final long nodeKey = nodeKeys.nextLong();
+      if (deltaEncoded) {
+        putVarLong(sink, nodeKey - previousNodeKey);
+        previousNodeKey = nodeKey;
+      } else {
+        sink.writeLong(nodeKey);
+      }
+    }
+  }
+
+  /**
+   * Deserializes the node references of an AVL node, which have been serialized with
+   * {@link #serializeAVLNodeReferences(DataOutput, NodeReferences, PageReadOnlyTrx, boolean)}.
+   *
+   * @param source the input to read from
+   * @param pageReadTrx the page transaction of the resource
+   * @param deltaEncoded determines if the list stores the differences of the sorted node keys
+   * @return the node references
+   * @throws IOException if an I/O error occurs
+   */
+  private static NodeReferences deserializeAVLNodeReferences(final DataInput source,
+      final PageReadOnlyTrx pageReadTrx, final boolean deltaEncoded) throws IOException {
+    if (pageReadTrx.getResourceManager().getResourceConfig().storageFormatVersion > 0) {
+      return deserializeNodeReferences(source);
+    }
+    final int size = source.readInt();
+    final NodeReferences references = new NodeReferences();
+    long nodeKey = 0;
+    for (int i = 0; i < size; i++) {
+      if (deltaEncoded) {
+        nodeKey += getVarLong(source);
+      } else {
+        nodeKey = source.readLong();
+      }
+      references.addNodeKey(nodeKey);
+    }
+    return references;
+  }
+
   /**
    * Simple DumbNode just for testing the {@link UnorderedKeyValuePage}s.
    *
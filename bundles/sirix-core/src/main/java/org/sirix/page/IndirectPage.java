@@ -21,8 +21,14 @@
 
 package org.sirix.page;
 
+import static org.sirix.node.Utils.getVarLong;
+import static org.sirix.node.Utils.putVarLong;
 import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.sirix.access.ResourceConfiguration;
 import org.sirix.page.delegates.PageDelegate;
 import org.sirix.page.interfaces.Page;
 import org.sirix.settings.Constants;
@@ -39,21 +45,46 @@ public final class IndirectPage extends AbstractForwardingPage {
   /** {@link PageDelegate} reference. */
   private final PageDelegate mDelegate;
 
+  /**
+   * Determines if the keys of the previous fragments of the referenced record pages are stored,
+   * which is the case for resources of storage format version {@code 3} and higher.
+   */
+  private final boolean mPageFragmentKeysStored;
+
   /**
    * Create indirect page.
    *
+   * @param resourceConfig the configuration of the resource
    */
-  public IndirectPage() {
+  public IndirectPage(final ResourceConfiguration resourceConfig) {
     mDelegate = new PageDelegate(Constants.INP_REFERENCE_COUNT);
+    mPageFragmentKeysStored = arePageFragmentKeysStored(resourceConfig);
   }
 
   /**
    * Read indirect page.
    *
    * @param in input source
+   * @param type the serialization type
+   * @param resourceConfig the configuration of the resource
    */
-  public IndirectPage(final DataInput in, final SerializationType type) throws IOException {
+  public IndirectPage(final DataInput in, final SerializationType type, final ResourceConfiguration resourceConfig)
+      throws IOException {
     mDelegate = new PageDelegate(Constants.INP_REFERENCE_COUNT, in, type);
+    mPageFragmentKeysStored = arePageFragmentKeysStored(resourceConfig);
+
+    if (mPageFragmentKeysStored && type == SerializationType.DATA) {
+      for (final PageReference reference : mDelegate.getReferences()) {
+        final int pageFragmentKeysSize = (int) getVarLong(in);
+        if (pageFragmentKeysSize > 0) {
+          final List<PageFragmentKey> pageFragmentKeys = new ArrayList<>(pageFragmentKeysSize);
+          for (int i = 0; i < pageFragmentKeysSize; i++) {
+            pageFragmentKeys.add(new PageFragmentKey(getVarLong(in)));
+          }
+          reference.setPageFragmentKeys(pageFragmentKeys);
+        }
+      }
+    }
   }
 
   /**
@@ -63,6 +94,27 @@ public final class IndirectPage extends AbstractForwardingPage {
    */
   public IndirectPage(final IndirectPage page) {
     mDelegate = new PageDelegate(page, page.mDelegate.getBitmap());
+    mPageFragmentKeysStored = page.mPageFragmentKeysStored;
+  }
+
+  private static boolean arePageFragmentKeysStored(final ResourceConfiguration resourceConfig) {
+    return resourceConfig.storageFormatVersion > 2;
+  }
+
+  @Override
+  public void serialize(final DataOutput out, final SerializationType type) throws IOException {
+    super.serialize(out, type);
+
+    if (mPageFragmentKeysStored && type == SerializationType.DATA) {
+      // Only the keys are stored, the checksums of the fragments are stored in the most recent fragment.
+      for (final PageReference reference : mDelegate.getReferences()) {
+        final List<PageFragmentKey> pageFragmentKeys = reference.getPageFragmentKeys();
+        putVarLong(out, pageFragmentKeys.size());
+        for (final PageFragmentKey pageFragmentKey : pageFragmentKeys) {
+          putVarLong(out, pageFragmentKey.getKey());
+        }
+      }
+    }
   }
 
   @Override
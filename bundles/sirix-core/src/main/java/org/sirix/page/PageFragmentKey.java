@@ -0,0 +1,51 @@
+package org.sirix.page;
+
+import javax.annotation.Nullable;
+import com.google.common.base.MoreObjects;
+
+/**
+ * The key of a previous fragment of a record page in persistent storage. The checksum of the
+ * fragment isn't part of the key, as it's stored in the most recent fragment of the record page.
+ */
+public final class PageFragmentKey {
+
+  /** Key in persistent storage. */
+  private final long mKey;
+
+  /**
+   * Constructor.
+   *
+   * @param key the key of the fragment in persistent storage
+   */
+  public PageFragmentKey(final long key) {
+    mKey = key;
+  }
+
+  /**
+   * Get the key of the fragment in persistent storage.
+   *
+   * @return the key
+   */
+  public long getKey() {
+    return mKey;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("key", mKey).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(mKey);
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (other instanceof PageFragmentKey) {
+      final PageFragmentKey otherKey = (PageFragmentKey) other;
+      return otherKey.mKey == mKey;
+    }
+    return false;
+  }
+}
@@ -113,7 +113,7 @@ public enum PageKind {
     @Nonnull
     Page deserializePage(final DataInput source, final PageReadOnlyTrx pageReadTrx, final SerializationType type)
         throws IOException {
-      return new IndirectPage(source, type);
+      return new IndirectPage(source, type, pageReadTrx.getResourceManager().getResourceConfig());
     }
 
     @Override
@@ -124,7 +124,7 @@ public enum PageKind {
 
     @Override
     public @Nonnull Page getInstance(final Page page, final PageReadOnlyTrx pageReadTrx) {
-      return new IndirectPage();
+      return new IndirectPage(pageReadTrx.getResourceManager().getResourceConfig());
     }
   },
 
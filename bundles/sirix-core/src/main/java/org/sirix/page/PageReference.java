@@ -22,6 +22,9 @@
 package org.sirix.page;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nullable;
 import org.sirix.page.interfaces.Page;
@@ -36,6 +39,10 @@ import com.google.common.base.MoreObjects;
  * a file, including the length in bytes, and the checksum of the serialized page. Or it might be an
  * immediate reference to an in-memory instance of the deserialized page.
  * </p>
+ * <p>
+ * References to record pages furthermore store the keys of the previous fragments of the page,
+ * such that all fragments, which are needed to reconstruct the page, can be read concurrently.
+ * </p>
  */
 public final class PageReference {
 
@@ -56,6 +63,12 @@ public final class PageReference {
 
   private byte[] mHashInBytes;
 
+  /** Keys of the previous fragments of the referenced page, the most recent one first. */
+  private List<PageFragmentKey> mPageFragmentKeys = Collections.emptyList();
+
+  /** The key of the referenced page in the buffer pool, once the page has been looked up. */
+  private Object mBufferKey;
+
   /**
    * Default constructor setting up an uninitialized page reference.
    */
@@ -72,6 +85,8 @@ public final class PageReference {
     mKey = reference.mKey;
     mPersistentLogKey = reference.mPersistentLogKey;
     mLength = reference.mLength;
+    mHashInBytes = reference.mHashInBytes;
+    mPageFragmentKeys = reference.mPageFragmentKeys;
   }
 
   /**
@@ -170,12 +185,57 @@ public final class PageReference {
     return this;
   }
 
+  /**
+   * Get the keys of the previous fragments of the referenced page in persistent storage, the most
+   * recent one first.
+   *
+   * @return the keys of the previous fragments (might be empty, if the page has no previous
+   *         fragments or the keys are not known)
+   */
+  public List<PageFragmentKey> getPageFragmentKeys() {
+    return mPageFragmentKeys;
+  }
+
+  /**
+   * Set the keys of the previous fragments of the referenced page in persistent storage, the most
+   * recent one first.
+   *
+   * @param pageFragmentKeys the keys of the previous fragments
+   * @return this page reference
+   */
+  public PageReference setPageFragmentKeys(final List<PageFragmentKey> pageFragmentKeys) {
+    mPageFragmentKeys = Collections.unmodifiableList(checkNotNull(pageFragmentKeys));
+    return this;
+  }
+
+  /**
+   * Get the key of the referenced page in the buffer pool, which has been stored by the buffer pool
+   * to look up the page without creating a new key each time.
+   *
+   * @return the key or {@code null}, if the page hasn't been looked up so far
+   */
+  public Object getBufferKey() {
+    return mBufferKey;
+  }
+
+  /**
+   * Set the key of the referenced page in the buffer pool.
+   *
+   * @param bufferKey the key
+   * @return this page reference
+   */
+  public PageReference setBufferKey(final @Nullable Object bufferKey) {
+    mBufferKey = bufferKey;
+    return this;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
                       .add("logKey", mLogKey)
                       .add("persistentLogKey", mPersistentLogKey)
                       .add("key", mKey)
+                      .add("pageFragmentKeys", mPageFragmentKeys)
                       .add("page", mPage)
                       .toString();
   }
@@ -34,7 +34,7 @@ public final class PageUtils {
    */
   public static void createTree(@Nonnull PageReference reference, final PageKind pageKind, final int index,
       final PageReadOnlyTrx pageReadTrx, final TransactionIntentLog log) {
-    final Page page = new IndirectPage();
+    final Page page = new IndirectPage(pageReadTrx.getResourceManager().getResourceConfig());
     log.put(reference, PageContainer.getInstance(page, page));
     reference = page.getReference(0);
 
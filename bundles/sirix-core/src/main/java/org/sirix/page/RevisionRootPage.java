@@ -229,13 +229,13 @@ public final class RevisionRootPage extends AbstractForwardingPage {
   public <K extends Comparable<? super K>, V extends Record, S extends KeyValuePage<K, V>> void commit(
       @Nonnull final PageTrx<K, V, S> pageWriteTrx) {
     if (mRevision == pageWriteTrx.getUberPage().getRevision()) {
+      mRevisionTimestamp = Instant.now().toEpochMilli();
       super.commit(pageWriteTrx);
     }
   }
 
   @Override
   public void serialize(final DataOutput out, final SerializationType type) throws IOException {
-    mRevisionTimestamp = Instant.now().toEpochMilli();
     mDelegate.serialize(checkNotNull(out), checkNotNull(type));
     out.writeInt(mRevision);
     out.writeLong(mMaxNodeKey);
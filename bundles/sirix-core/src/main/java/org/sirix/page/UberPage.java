@@ -133,6 +133,16 @@ public final class UberPage extends AbstractForwardingPage {
     return mPreviousUberPageKey;
   }
 
+  /**
+   * Set the key of the previous uber page, for instance once the previous uber page has been moved
+   * to another offset.
+   *
+   * @param previousUberPageKey the key of the previous uber page in persistent storage
+   */
+  public void setPreviousUberPageKey(final long previousUberPageKey) {
+    mPreviousUberPageKey = previousUberPageKey;
+  }
+
   /**
    * Get indirect page reference.
    *
@@ -212,15 +222,15 @@ public final class UberPage extends AbstractForwardingPage {
   /**
    * Create revision tree.
    *
-   * @param pageReadTrx {@link PageReadOnlyTrx} instance
-   * @param revisionRoot {@link RevisionRootPage} instance
+   * @param log the transaction intent log
+   * @param resourceConfig the configuration of the resource
    */
-  public void createRevisionTree(final TransactionIntentLog log) {
+  public void createRevisionTree(final TransactionIntentLog log, final ResourceConfiguration resourceConfig) {
     // Initialize revision tree to guarantee that there is a revision root page.
     Page page = null;
     PageReference reference = getIndirectPageReference();
 
-    page = new IndirectPage();
+    page = new IndirectPage(resourceConfig);
     log.put(reference, PageContainer.getInstance(page, page));
     reference = page.getReference(0);
 
@@ -33,6 +33,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -51,6 +53,7 @@ import org.sirix.node.SirixDeweyID;
 import org.sirix.node.interfaces.NodePersistenter;
 import org.sirix.node.interfaces.Record;
 import org.sirix.node.interfaces.RecordPersister;
+import org.sirix.node.interfaces.ValueNode;
 import org.sirix.node.interfaces.immutable.ImmutableXmlNode;
 import org.sirix.page.interfaces.KeyValuePage;
 import org.sirix.settings.Constants;
@@ -66,11 +69,22 @@ import com.google.common.collect.PeekingIterator;
  * An UnorderedKeyValuePage stores a set of records, commonly nodes in an unordered datastructure.
  * </p>
  * <p>
- * The page currently is not thread safe (might have to be for concurrent write-transactions)!
+ * Once read from the storage, the records are not deserialized immediately. Instead the raw bytes
+ * of each record are kept in its slot and a record is only deserialized once it is accessed for
+ * the first time. Records, which are never touched, are written back from their slots without
+ * being deserialized and serialized again.
+ * </p>
+ * <p>
+ * The page currently is not thread safe for modifications (might have to be for concurrent
+ * write-transactions)! Reading records is thread safe, as records are deserialized lazily from pages,
+ * which are shared amongst read-only transactions.
  * </p>
  */
 public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
+  /** Estimated in-memory size of a record without its value in bytes. */
+  private static final int RECORD_WEIGHT = 64;
+
   private boolean mAddedReferences;
 
   /** References to overflow pages. */
@@ -82,9 +96,12 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** Records (must be a {@link LinkedHashMap} to provide consistent iteration order). */
   private final LinkedHashMap<Long, Record> mRecords;
 
-  /** Slots which have to be serialized. */
+  /** Slots which have to be serialized, or which haven't been deserialized yet. */
   private final Map<Long, byte[]> mSlots;
 
+  /** Dewey IDs of the records, which haven't been deserialized from their slots yet. */
+  private final Map<Long, SirixDeweyID> mSlotDeweyIDs;
+
   /** Dewey IDs which have to be serialized. */
   private final Map<SirixDeweyID, Long> mDeweyIDs;
 
@@ -100,6 +117,15 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   /** Reference key to the previous page if any. */
   private long mPreviousPageRefKey;
 
+  /** The checksums of the previous fragments, the most recent one first. */
+  private List<byte[]> mPreviousFragmentHashes = Collections.emptyList();
+
+  /** The summed length of the slots. */
+  private long mSlotsSize;
+
+  /** The estimated size of the records, when they have been added or deserialized. */
+  private long mRecordsSize;
+
   /** The resource configuration. */
   private final ResourceConfiguration mResourceConfig;
 
@@ -131,13 +157,16 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     if (mPageReadTrx.getResourceManager().getResourceConfig().areDeweyIDsStored
         && mRecordPersister instanceof NodePersistenter) {
       mDeweyIDs = new LinkedHashMap<>();
+      mSlotDeweyIDs = new HashMap<>();
     } else {
       mDeweyIDs = Collections.emptyMap();
+      mSlotDeweyIDs = Collections.emptyMap();
     }
   }
 
   /**
-   * Constructor which reads the {@link UnorderedKeyValuePage} from the storage.
+   * Constructor which reads the {@link UnorderedKeyValuePage} from the storage. The records are
+   * deserialized lazily.
    *
    * @param in input bytes to read page from
    * @param pageReadTrx {@link PageReadOnlyTrx} implementation
@@ -148,13 +177,14 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     mRecordPersister = mResourceConfig.recordPersister;
     mPageReadTrx = pageReadTrx;
     mSlots = new LinkedHashMap<>();
+    mRecords = new LinkedHashMap<>();
 
     if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
       mDeweyIDs = new LinkedHashMap<>();
+      mSlotDeweyIDs = new HashMap<>();
       final NodePersistenter persistenter = (NodePersistenter) mRecordPersister;
       final int deweyIDSize = in.readInt();
 
-      mRecords = new LinkedHashMap<>(deweyIDSize);
       Optional<SirixDeweyID> id = Optional.empty();
 
       for (int index = 0; index < deweyIDSize; index++) {
@@ -163,12 +193,9 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         id.ifPresent(deweyId -> {
           try {
             final long key = getVarLong(in);
-            final int dataSize = in.readInt();
-            final byte[] data = new byte[dataSize];
-            in.readFully(data);
-            final Record record = mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key,
-                deweyId, mPageReadTrx);
-            mRecords.put(key, record);
+            putSlot(key, readSlot(in));
+            mDeweyIDs.put(deweyId, key);
+            mSlotDeweyIDs.put(key, deweyId);
           } catch (final IOException e) {
             throw new SirixIOException(e);
           }
@@ -176,18 +203,13 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     } else {
       mDeweyIDs = Collections.emptyMap();
-      mRecords = new LinkedHashMap<>();
+      mSlotDeweyIDs = Collections.emptyMap();
     }
 
     final int normalEntrySize = in.readInt();
     for (int index = 0; index < normalEntrySize; index++) {
       final long key = getVarLong(in);
-      final int dataSize = in.readInt();
-      final byte[] data = new byte[dataSize];
-      in.readFully(data);
-      final Record record =
-          mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key, null, mPageReadTrx);
-      mRecords.put(key, record);
+      putSlot(key, readSlot(in));
     }
     final int overlongEntrySize = in.readInt();
     mReferences = new LinkedHashMap<>(overlongEntrySize);
@@ -205,6 +227,80 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       mPreviousPageRefKey = Constants.NULL_ID_LONG;
     }
     mPageKind = PageKind.getKind(in.readByte());
+    if (mResourceConfig.storageFormatVersion > 2) {
+      final int previousFragmentHashesSize = (int) getVarLong(in);
+      if (previousFragmentHashesSize > 0) {
+        mPreviousFragmentHashes = new ArrayList<>(previousFragmentHashesSize);
+        for (int i = 0; i < previousFragmentHashesSize; i++) {
+          final byte[] hash = new byte[(int) getVarLong(in)];
+          in.readFully(hash);
+          mPreviousFragmentHashes.add(hash);
+        }
+      }
+    }
+  }
+
+  private void putSlot(final long key, final byte[] slot) {
+    final byte[] previousSlot = mSlots.put(key, slot);
+    mSlotsSize += slot.length - (previousSlot == null
+        ? 0
+        : previousSlot.length);
+  }
+
+  private void removeSlot(final long key) {
+    final byte[] slot = mSlots.remove(key);
+    if (slot != null) {
+      mSlotsSize -= slot.length;
+    }
+  }
+
+  private static byte[] readSlot(final DataInput in) throws IOException {
+    final int dataSize = in.readInt();
+    final byte[] data = new byte[dataSize];
+    in.readFully(data);
+    return data;
+  }
+
+  /**
+   * Deserialize the record of a slot. The slot is removed afterwards, as the record might be
+   * modified in place and thus has to be serialized again.
+   *
+   * @param key the record key
+   * @param data the raw bytes of the slot
+   * @param pageReadTrx the transaction used to deserialize the record
+   * @return the deserialized record
+   */
+  private Record deserializeSlot(final long key, final byte[] data, final PageReadOnlyTrx pageReadTrx) {
+    final Record record;
+    try {
+      record = mRecordPersister.deserialize(new DataInputStream(new ByteArrayInputStream(data)), key,
+          mSlotDeweyIDs.remove(key), pageReadTrx);
+    } catch (final IOException e) {
+      throw new SirixIOException(e);
+    }
+    removeSlot(key);
+    mRecords.put(key, record);
+    mRecordsSize += data.length;
+    mAddedReferences = false;
+    return record;
+  }
+
+  /**
+   * Deserialize the records of all slots, which haven't been accessed so far.
+   */
+  private synchronized void deserializeSlots() {
+    if (mSlots.isEmpty()) {
+      return;
+    }
+    final List<Long> keys = new ArrayList<>();
+    for (final Long key : mSlots.keySet()) {
+      if (!mRecords.containsKey(key)) {
+        keys.add(key);
+      }
+    }
+    for (final Long key : keys) {
+      deserializeSlot(key, mSlots.get(key), mPageReadTrx);
+    }
   }
 
   @Override
@@ -214,14 +310,31 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
 
   @Override
   public Record getValue(final Long key) {
+    return getValue(key, mPageReadTrx);
+  }
+
+  /**
+   * Get the record with the given key. Records, which haven't been accessed so far, are
+   * deserialized with the given transaction, as pages are shared amongst transactions through the
+   * caches and the transaction, which read this page, might be closed already.
+   *
+   * @param key the record key
+   * @param pageReadTrx the transaction, which accesses the record
+   * @return the record with the given key, or {@code null} if not present
+   */
+  public synchronized Record getValue(final Long key, final PageReadOnlyTrx pageReadTrx) {
     assert key != null : "key must not be null!";
     Record record = mRecords.get(key);
     if (record == null) {
+      final byte[] slot = mSlots.get(key);
+      if (slot != null) {
+        return deserializeSlot(key, slot, pageReadTrx);
+      }
       byte[] data = null;
       try {
         final PageReference reference = mReferences.get(key);
         if (reference != null && reference.getKey() != Constants.NULL_ID_LONG) {
-          data = ((OverflowPage) mPageReadTrx.getReader().read(reference, mPageReadTrx)).getData();
+          data = ((OverflowPage) pageReadTrx.getReader().read(reference, pageReadTrx)).getData();
         } else {
           return null;
         }
@@ -235,29 +348,93 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
         return null;
       }
       mRecords.put(key, record);
+      mRecordsSize += data.length;
     }
     return record;
   }
 
+  /**
+   * {@inheritDoc} The returned set is a snapshot, which isn't backed by the page, as records might be
+   * deserialized or added concurrently.
+   */
   @Override
-  public void setEntry(final Long key, final Record value) {
+  public synchronized Set<Long> keySet() {
+    final Set<Long> keys = new HashSet<>(mRecords.keySet());
+    keys.addAll(mSlots.keySet());
+    return Collections.unmodifiableSet(keys);
+  }
+
+  @Override
+  public synchronized boolean containsKey(final Long key) {
+    return mRecords.containsKey(key) || mSlots.containsKey(key);
+  }
+
+  @Override
+  public synchronized void copyEntry(final Long key, final KeyValuePage<Long, Record> page) {
+    if (page instanceof UnorderedKeyValuePage) {
+      final UnorderedKeyValuePage other = (UnorderedKeyValuePage) page;
+      synchronized (other) {
+        final byte[] slot = other.mRecords.containsKey(key)
+            ? null
+            : other.mSlots.get(key);
+        if (slot != null) {
+          // Copy the serialized record, which is deserialized once it's accessed.
+          mAddedReferences = false;
+          mRecords.remove(key);
+          putSlot(key, slot);
+          final SirixDeweyID deweyID = other.mSlotDeweyIDs.get(key);
+          if (deweyID != null) {
+            mSlotDeweyIDs.put(key, deweyID);
+            mDeweyIDs.put(deweyID, key);
+          }
+          return;
+        }
+      }
+    }
+    setEntry(key, page.getValue(key));
+  }
+
+  @Override
+  public synchronized void setEntry(final Long key, final Record value) {
     assert value != null : "record must not be null!";
     mAddedReferences = false;
-    mRecords.put(key, value);
+    // The serialized form of a previous record is outdated.
+    removeSlot(key);
+    final SirixDeweyID deweyID = mSlotDeweyIDs.remove(key);
+    if (deweyID != null) {
+      mDeweyIDs.remove(deweyID);
+    }
+    if (mRecords.put(key, value) == null) {
+      mRecordsSize += RECORD_WEIGHT + (value instanceof ValueNode
+          ? ((ValueNode) value).getRawValue().length
+          : 0);
+    }
   }
 
+  /**
+   * Serialize the page. It's synchronized, as the page might be serialized in the background during
+   * a commit, while the transaction intent log spills it.
+   */
   @Override
-  public void serialize(final DataOutput out, final SerializationType type) throws IOException {
+  public synchronized void serialize(final DataOutput out, final SerializationType type) throws IOException {
     if (!mAddedReferences) {
       addReferences();
     }
     // Write page key.
     putVarLong(out, mRecordPageKey);
     // Write dewey IDs.
+    final Set<Long> deweyRecordKeys = new HashSet<>();
     if (mResourceConfig.areDeweyIDsStored && mRecordPersister instanceof NodePersistenter) {
       final NodePersistenter persistenter = (NodePersistenter) mRecordPersister;
-      out.writeInt(mDeweyIDs.size());
-      final List<SirixDeweyID> ids = new ArrayList<>(mDeweyIDs.keySet());
+      // Only records with a slot are written with their dewey ID. Overlong records are stored in
+      // overflow pages and a stale dewey ID must not write a record twice.
+      final List<SirixDeweyID> ids = new ArrayList<>(mDeweyIDs.size());
+      for (final Entry<SirixDeweyID, Long> entry : mDeweyIDs.entrySet()) {
+        if (mSlots.containsKey(entry.getValue()) && deweyRecordKeys.add(entry.getValue())) {
+          ids.add(entry.getKey());
+        }
+      }
+      out.writeInt(ids.size());
       ids.sort((SirixDeweyID first, SirixDeweyID second) -> Integer.valueOf(first.toBytes().length)
                                                                    .compareTo(second.toBytes().length));
       final PeekingIterator<SirixDeweyID> iter = Iterators.peekingIterator(ids.iterator());
@@ -275,8 +452,14 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       }
     }
     // Write normal entries.
-    out.writeInt(mSlots.size());
+    final List<Entry<Long, byte[]>> entries = new ArrayList<>(mSlots.size());
     for (final Entry<Long, byte[]> entry : mSlots.entrySet()) {
+      if (!deweyRecordKeys.contains(entry.getKey())) {
+        entries.add(entry);
+      }
+    }
+    out.writeInt(entries.size());
+    for (final Entry<Long, byte[]> entry : entries) {
       putVarLong(out, entry.getKey());
       final byte[] data = entry.getValue();
       final int length = data.length;
@@ -298,6 +481,13 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
       out.writeLong(mPreviousPageRefKey);
     }
     out.writeByte(mPageKind.getID());
+    if (mResourceConfig.storageFormatVersion > 2) {
+      putVarLong(out, mPreviousFragmentHashes.size());
+      for (final byte[] hash : mPreviousFragmentHashes) {
+        putVarLong(out, hash.length);
+        out.write(hash);
+      }
+    }
   }
 
   private void serializeDeweyRecord(SirixDeweyID id, DataOutput out) throws IOException {
@@ -307,11 +497,11 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     final int length = data.length;
     out.writeInt(length);
     out.write(data);
-    mSlots.remove(recordKey);
   }
 
   @Override
   public String toString() {
+    deserializeSlots();
     final MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this).add("pagekey", mRecordPageKey);
     for (final Record record : mRecords.values()) {
       helper.add("record", record);
@@ -323,12 +513,14 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   }
 
   @Override
-  public Set<Entry<Long, Record>> entrySet() {
+  public synchronized Set<Entry<Long, Record>> entrySet() {
+    deserializeSlots();
     return mRecords.entrySet();
   }
 
   @Override
   public int hashCode() {
+    deserializeSlots();
     return Objects.hashCode(mRecordPageKey, mRecords, mReferences);
   }
 
@@ -336,6 +528,8 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   public boolean equals(final @Nullable Object obj) {
     if (obj instanceof UnorderedKeyValuePage) {
       final UnorderedKeyValuePage other = (UnorderedKeyValuePage) obj;
+      deserializeSlots();
+      other.deserializeSlots();
       return mRecordPageKey == other.mRecordPageKey && Objects.equal(mRecords, other.mRecords)
           && Objects.equal(mReferences, other.mReferences);
     }
@@ -391,7 +585,7 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
           if (storeDeweyIDs && mRecordPersister instanceof NodePersistenter && record instanceof ImmutableXmlNode
               && ((ImmutableXmlNode) record).getDeweyID().isPresent() && record.getNodeKey() != 0)
             mDeweyIDs.put(((ImmutableXmlNode) record).getDeweyID().get(), record.getNodeKey());
-          mSlots.put(recordID, data);
+          putSlot(recordID, data);
         }
       }
     }
@@ -430,7 +624,8 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   }
 
   @Override
-  public Collection<Record> values() {
+  public synchronized Collection<Record> values() {
+    deserializeSlots();
     return mRecords.values();
   }
 
@@ -462,8 +657,24 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
   }
 
   @Override
-  public int size() {
-    return mRecords.size() + mReferences.size();
+  public synchronized int size() {
+    int size = mRecords.size() + mReferences.size();
+    for (final Long key : mSlots.keySet()) {
+      if (!mRecords.containsKey(key)) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * {@inheritDoc} Records are weighed by the length of their slot, once they have been deserialized,
+   * or by their value and a fixed overhead, once they have been added, as they might be modified in
+   * place afterwards.
+   */
+  @Override
+  public synchronized long getEstimatedSize() {
+    return mSlotsSize + mRecordsSize;
   }
 
   @Override
@@ -488,4 +699,30 @@ public final class UnorderedKeyValuePage implements KeyValuePage<Long, Record> {
     return mPreviousPageRefKey;
   }
 
+  /**
+   * Set the key of the previous fragment of this page in persistent storage.
+   *
+   * @param previousPageRefKey the key of the previous fragment or {@link Constants#NULL_ID_LONG}, if
+   *        the page is complete on its own
+   */
+  public void setPreviousReferenceKey(final long previousPageRefKey) {
+    mPreviousPageRefKey = previousPageRefKey;
+  }
+
+  @Override
+  public List<byte[]> getPreviousFragmentHashes() {
+    return mPreviousFragmentHashes;
+  }
+
+  /**
+   * Set the checksums of the previous fragments of this page, which are needed to reconstruct the
+   * page, the most recent one first. They are only stored in resources of storage format version
+   * {@code 3} and higher.
+   *
+   * @param previousFragmentHashes the checksums of the previous fragments
+   */
+  public void setPreviousFragmentHashes(final List<byte[]> previousFragmentHashes) {
+    mPreviousFragmentHashes = Collections.unmodifiableList(new ArrayList<>(previousFragmentHashes));
+  }
+
 }
@@ -109,7 +109,10 @@ public final class PageDelegate implements Page {
 
     for (int offset = 0; offset < length; offset++) {
       final PageReference reference = new PageReference();
-      reference.setKey(commitedPage.getReferences().get(offset).getKey());
+      final PageReference commitedReference = commitedPage.getReferences().get(offset);
+      reference.setKey(commitedReference.getKey());
+      reference.setHash(commitedReference.getHash());
+      reference.setPageFragmentKeys(commitedReference.getPageFragmentKeys());
       mReferences.add(offset, reference);
     }
   }
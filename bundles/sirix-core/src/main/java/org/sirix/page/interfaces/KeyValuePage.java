@@ -1,6 +1,7 @@
 package org.sirix.page.interfaces;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import javax.annotation.Nonnegative;
@@ -56,6 +57,32 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    */
   void setEntry(K key, @Nonnull V value);
 
+  /**
+   * Get the keys of all records stored in the page (without the keys of overlong entries). The
+   * records are not deserialized.
+   *
+   * @return an unmodifiable view of the record keys
+   */
+  Set<K> keySet();
+
+  /**
+   * Determines if a record with the given key is stored in the page (without the keys of overlong
+   * entries). The record is not deserialized.
+   *
+   * @param key the key
+   * @return {@code true}, if the page stores a record with the key, {@code false} otherwise
+   */
+  boolean containsKey(K key);
+
+  /**
+   * Store or overwrite a single entry with the entry of another page. Implementations might copy
+   * the serialized entry, such that it is only deserialized once it's accessed.
+   *
+   * @param key key of the entry to copy
+   * @param page the page to copy the entry from
+   */
+  void copyEntry(K key, @Nonnull KeyValuePage<K, V> page);
+
   Set<Entry<K, PageReference>> referenceEntrySet();
 
   /**
@@ -109,4 +136,20 @@ public interface KeyValuePage<K extends Comparable<? super K>, V extends Record>
    * @return optional {@link PageReference} pointing to the previous version of the page
    */
   long getPreviousReferenceKey();
+
+  /**
+   * Get the checksums of the previous fragments of the page, which are needed to reconstruct the
+   * page, the most recent one first. A checksum, which isn't known, ends the list.
+   *
+   * @return the checksums of the previous fragments
+   */
+  List<byte[]> getPreviousFragmentHashes();
+
+  /**
+   * Get the estimated in-memory size of the page, which is based on the serialized length of its
+   * records.
+   *
+   * @return the estimated size in bytes
+   */
+  long getEstimatedSize();
 }
@@ -105,8 +105,8 @@ public enum VersioningType {
       assert latest.getPageKey() == recordPageKey;
       assert fullDump.getPageKey() == recordPageKey;
 
-      for (final Map.Entry<K, V> entry : latest.entrySet()) {
-        returnVal.setEntry(entry.getKey(), entry.getValue());
+      for (final K recordKey : latest.keySet()) {
+        returnVal.copyEntry(recordKey, latest);
       }
       for (final Map.Entry<K, PageReference> entry : latest.referenceEntrySet()) {
         returnVal.setPageReference(entry.getKey(), entry.getValue());
@@ -114,9 +114,9 @@ public enum VersioningType {
 
       // Skip full dump if not needed (fulldump equals latest page).
       if (pages.size() == 2) {
-        for (final Entry<K, V> entry : fullDump.entrySet()) {
-          if (returnVal.getValue(entry.getKey()) == null) {
-            returnVal.setEntry(entry.getKey(), entry.getValue());
+        for (final K recordKey : fullDump.keySet()) {
+          if (!returnVal.containsKey(recordKey) && returnVal.getPageReference(recordKey) == null) {
+            returnVal.copyEntry(recordKey, fullDump);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               break;
             }
@@ -241,10 +241,9 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (!returnVal.containsKey(recordKey) && returnVal.getPageReference(recordKey) == null) {
+            returnVal.copyEntry(recordKey, page);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
@@ -375,10 +374,9 @@ public enum VersioningType {
         if (filledPage) {
           break;
         }
-        for (final Entry<K, V> entry : page.entrySet()) {
-          final K recordKey = entry.getKey();
-          if (returnVal.getValue(recordKey) == null) {
-            returnVal.setEntry(recordKey, entry.getValue());
+        for (final K recordKey : page.keySet()) {
+          if (!returnVal.containsKey(recordKey) && returnVal.getPageReference(recordKey) == null) {
+            returnVal.copyEntry(recordKey, page);
             if (returnVal.size() == Constants.NDP_NODE_COUNT) {
               filledPage = true;
               break;
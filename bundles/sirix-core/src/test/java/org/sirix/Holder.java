@@ -86,13 +86,28 @@ public class Holder {
    * @throws SirixException if an error occurs
    */
   public static Holder generatePathSummary() throws SirixException {
+    return generatePathSummary(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).buildPathSummary(true));
+  }
+
+  /**
+   * Generate a resource with a path summary, which maintains value statistics of the path classes.
+   *
+   * @return this holder instance
+   * @throws SirixException if an error occurs
+   */
+  public static Holder generatePathSummaryWithStatistics() throws SirixException {
+    return generatePathSummary(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).buildPathSummary(true).buildPathStatistics(true));
+  }
+
+  private static Holder generatePathSummary(final ResourceConfiguration.Builder builder) throws SirixException {
     final Path file = PATHS.PATH1.getFile();
     final DatabaseConfiguration config = new DatabaseConfiguration(file);
     if (!Files.exists(file)) {
       Databases.createXmlDatabase(config);
     }
     final var database = Databases.openXmlDatabase(PATHS.PATH1.getFile());
-    database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).buildPathSummary(true).build());
+    database.createResource(builder.build());
     final XmlResourceManager resourceManager = database.openResourceManager(XmlTestHelper.RESOURCE);
     final Holder holder = new Holder();
     holder.setDatabase(database);
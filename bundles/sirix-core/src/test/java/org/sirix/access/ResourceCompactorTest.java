@@ -0,0 +1,160 @@
+package org.sirix.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.metrics.Histogram;
+import org.sirix.metrics.MetricsRegistry;
+import org.sirix.settings.VersioningType;
+
+public final class ResourceCompactorTest {
+
+  /** Number of child elements, which span several record pages. */
+  private static final int CHILDREN = 1_500;
+
+  /** Number of revisions. */
+  private static final int REVISIONS = 12;
+
+  /** The maximum number of fragments a record page is reconstructed from after the compaction. */
+  private static final int MAX_PAGE_FRAGMENTS = 2;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testIncremental() {
+    compactAndVerify(VersioningType.INCREMENTAL);
+  }
+
+  @Test
+  public void testSlidingSnapshot() {
+    compactAndVerify(VersioningType.SLIDING_SNAPSHOT);
+  }
+
+  private static void compactAndVerify(final VersioningType versioningType) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(
+          versioningType).revisionsToRestore(6).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+          final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertElementAsFirstChild(new QNm("foo0"));
+        for (int i = 1; i < CHILDREN; i++) {
+          wtx.insertElementAsRightSibling(new QNm("foo" + i));
+        }
+        wtx.commit("revision 1");
+
+        // Modify a few records of every record page in each revision.
+        for (int revision = 2; revision <= REVISIONS; revision++) {
+          for (long nodeKey = 2 + revision; nodeKey < CHILDREN + 2; nodeKey += 97) {
+            assertTrue(wtx.moveTo(nodeKey).hasMoved());
+            wtx.setName(new QNm("bar" + revision));
+          }
+          wtx.commit("revision " + revision);
+        }
+      }
+
+      final Path resourcePath =
+          XmlTestHelper.PATHS.PATH1.getFile().resolve(DatabaseConfiguration.DatabasePaths.DATA.getFile()).resolve(
+              XmlTestHelper.RESOURCE);
+      final List<List<String>> expectedNames = new ArrayList<>();
+      final List<Instant> expectedTimestamps = new ArrayList<>();
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        final Histogram fragments =
+            MetricsRegistry.getInstance().getResourceMetrics(manager.getResourceConfig()).getFragments();
+        final long reconstructions = fragments.getCount();
+        final long boundedReconstructions = fragments.getCumulativeCounts()[MAX_PAGE_FRAGMENTS - 1];
+
+        for (int revision = 0; revision <= REVISIONS; revision++) {
+          try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+            expectedNames.add(getNames(rtx));
+            expectedTimestamps.add(rtx.getRevisionTimestamp());
+          }
+        }
+
+        // Before the compaction some pages are reconstructed from more fragments.
+        assertTrue(fragments.getCount() - reconstructions > fragments.getCumulativeCounts()[MAX_PAGE_FRAGMENTS - 1]
+            - boundedReconstructions);
+      }
+
+      database.compactResource(XmlTestHelper.RESOURCE, MAX_PAGE_FRAGMENTS);
+
+      assertFalse(Files.exists(resourcePath.resolve(ResourceCompactor.COMPACTED_DATA)));
+      assertFalse(Files.exists(resourcePath.resolve(ResourceCompactor.OLD_DATA)));
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        assertEquals(REVISIONS, manager.getMostRecentRevisionNumber());
+
+        final Histogram fragments =
+            MetricsRegistry.getInstance().getResourceMetrics(manager.getResourceConfig()).getFragments();
+        final long reconstructions = fragments.getCount();
+        final long boundedReconstructions = fragments.getCumulativeCounts()[MAX_PAGE_FRAGMENTS - 1];
+
+        for (int revision = 0; revision <= REVISIONS; revision++) {
+          try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+            assertEquals(expectedNames.get(revision), getNames(rtx));
+            assertEquals(expectedTimestamps.get(revision), rtx.getRevisionTimestamp());
+            if (revision > 0) {
+              assertEquals("revision " + revision, rtx.getCommitCredentials().getMessage());
+            }
+          }
+        }
+
+        // No record page is reconstructed from more than the maximum number of fragments.
+        assertTrue(fragments.getCount() > reconstructions);
+        assertEquals(fragments.getCount() - reconstructions,
+            fragments.getCumulativeCounts()[MAX_PAGE_FRAGMENTS - 1] - boundedReconstructions);
+
+        // The compacted resource can be modified.
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          assertTrue(wtx.moveTo(2).hasMoved());
+          wtx.setName(new QNm("baz"));
+          wtx.commit();
+        }
+
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(REVISIONS + 1)) {
+          final List<String> names = getNames(rtx);
+          assertEquals("baz", names.get(0));
+          assertEquals(expectedNames.get(REVISIONS).subList(1, CHILDREN), names.subList(1, CHILDREN));
+        }
+      }
+    }
+  }
+
+  private static List<String> getNames(final XmlNodeReadOnlyTrx rtx) {
+    final List<String> names = new ArrayList<>();
+    rtx.moveToDocumentRoot();
+    if (rtx.moveToFirstChild().hasMoved()) {
+      for (boolean hasMoved = rtx.moveToFirstChild().hasMoved(); hasMoved; hasMoved =
+          rtx.moveToRightSibling().hasMoved()) {
+        names.add(rtx.getName().getLocalName());
+      }
+    }
+    return names;
+  }
+}
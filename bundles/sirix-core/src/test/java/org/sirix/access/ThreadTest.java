@@ -22,9 +22,12 @@
 package org.sirix.access;
 
 import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
@@ -32,8 +35,10 @@ import org.junit.Test;
 import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.api.Axis;
+import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.axis.DescendantAxis;
 import org.sirix.exception.SirixException;
 
@@ -74,6 +79,34 @@ public class ThreadTest {
     taskExecutor.awaitTermination(1000000, TimeUnit.SECONDS);
   }
 
+  @Test
+  public void testConcurrentBeginOfReadOnlyTrxs() throws Exception {
+    final XmlResourceManager manager = holder.getResourceManager();
+    final int availableNodeReadTrx = manager.getAvailableNodeReadTrx();
+    final ExecutorService taskExecutor = Executors.newFixedThreadPool(WORKER_COUNT);
+    final List<Future<Void>> results = new ArrayList<>();
+    for (int i = 0; i < WORKER_COUNT * 20; i++) {
+      results.add(taskExecutor.submit(() -> {
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+          rtx.moveTo(12L);
+          assertEquals("bar", rtx.getValue());
+        }
+        try (final PageReadOnlyTrx pageRtx = manager.beginPageReadOnlyTrx(manager.getMostRecentRevisionNumber())) {
+          assertEquals(manager.getMostRecentRevisionNumber(), pageRtx.getRevisionNumber());
+        }
+        return null;
+      }));
+    }
+    for (final Future<Void> result : results) {
+      result.get();
+    }
+    taskExecutor.shutdown();
+    taskExecutor.awaitTermination(1000000, TimeUnit.SECONDS);
+
+    // All permits must have been released.
+    assertEquals(availableNodeReadTrx, manager.getAvailableNodeReadTrx());
+  }
+
   private class Task implements Callable<Void> {
 
     private XmlNodeReadOnlyTrx mRTX;
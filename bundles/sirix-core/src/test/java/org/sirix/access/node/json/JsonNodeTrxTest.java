@@ -4,11 +4,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.util.path.Path;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.sirix.JsonTestHelper;
 import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.axis.DescendantAxis;
 import org.sirix.service.json.shredder.JsonShredder;
 
 public final class JsonNodeTrxTest {
@@ -115,4 +119,33 @@ public final class JsonNodeTrxTest {
       assertEquals("bar", wtx.getValue());
     }
   }
+
+  @Test
+  public void testPathSummaryOfObjectKeysAndArrays() {
+    try (final var database = JsonTestHelper.getDatabase(PATHS.PATH1.getFile());
+        final var manager = database.openResourceManager(JsonTestHelper.RESOURCE)) {
+      try (final var wtx = manager.beginNodeTrx()) {
+        wtx.insertSubtreeAsFirstChild(JsonShredder.createStringReader("{\"foo\": [{\"bar\": \"baz\"}]}"));
+        wtx.commit();
+      }
+
+      final var expectedPath = new Path<QNm>();
+      expectedPath.child(new QNm("foo"));
+      expectedPath.child(new QNm("array"));
+      expectedPath.child(new QNm("bar"));
+
+      try (final var pathSummary = manager.openPathSummary()) {
+        final var paths = new ArrayList<String>();
+        final var axis = new DescendantAxis(pathSummary);
+        while (axis.hasNext()) {
+          axis.next();
+          paths.add(pathSummary.getPath().toString());
+        }
+
+        // Object keys and arrays are child steps, not attribute steps.
+        assertTrue(paths.contains(expectedPath.toString()));
+        assertTrue(paths.stream().noneMatch(path -> path.contains("@")));
+      }
+    }
+  }
 }
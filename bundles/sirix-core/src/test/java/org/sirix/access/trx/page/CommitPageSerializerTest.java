@@ -0,0 +1,101 @@
+package org.sirix.access.trx.page;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+
+public final class CommitPageSerializerTest {
+
+  /** Number of child elements, which span many record pages. */
+  private static final int CHILDREN = 20_000;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testCommit() {
+    commitAndVerify(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+  }
+
+  @Test
+  public void testCommitWithSpilledPages() {
+    commitAndVerify(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).intentLogSize(1).build());
+  }
+
+  private static void commitAndVerify(final ResourceConfiguration resourceConfig) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(resourceConfig);
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+          final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertElementAsFirstChild(new QNm("foo0"));
+        for (int i = 1; i < CHILDREN; i++) {
+          wtx.insertElementAsRightSibling(new QNm("foo" + i));
+        }
+        wtx.commit();
+
+        // Modify a few pages only.
+        for (long nodeKey = 2; nodeKey < CHILDREN + 2; nodeKey += 1000) {
+          assertTrue(wtx.moveTo(nodeKey).hasMoved());
+          wtx.setName(new QNm("bar" + (nodeKey - 2)));
+        }
+        wtx.commit();
+      }
+
+      // Reopen the resource, such that the pages are read from the data file.
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        verify(manager, 1, "foo");
+
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(2)) {
+          assertTrue(rtx.moveTo(1).hasMoved());
+          int child = 0;
+          for (boolean hasMoved = rtx.moveToFirstChild().hasMoved(); hasMoved; hasMoved =
+              rtx.moveToRightSibling().hasMoved()) {
+            final String prefix = child % 1000 == 0
+                ? "bar"
+                : "foo";
+            assertEquals(prefix + child, rtx.getName().getLocalName());
+            child++;
+          }
+          assertEquals(CHILDREN, child);
+        }
+      }
+    }
+  }
+
+  private static void verify(final XmlResourceManager manager, final int revision, final String prefix) {
+    try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+      assertTrue(rtx.moveTo(1).hasMoved());
+      assertEquals(CHILDREN, rtx.getChildCount());
+      int child = 0;
+      for (boolean hasMoved = rtx.moveToFirstChild().hasMoved(); hasMoved; hasMoved =
+          rtx.moveToRightSibling().hasMoved()) {
+        assertEquals(prefix + child, rtx.getName().getLocalName());
+        child++;
+      }
+      assertEquals(CHILDREN, child);
+    }
+  }
+}
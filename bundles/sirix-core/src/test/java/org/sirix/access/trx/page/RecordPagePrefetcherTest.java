@@ -0,0 +1,87 @@
+package org.sirix.access.trx.page;
+
+import static org.junit.Assert.assertEquals;
+import java.util.concurrent.Semaphore;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.access.trx.node.InternalResourceManager;
+import org.sirix.api.Axis;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.exception.SirixException;
+
+public final class RecordPagePrefetcherTest {
+
+  /** Number of elements, which span several record pages. */
+  private static final int ELEMENTS = 10_000;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testReadAhead() throws InterruptedException {
+    traverse(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).readAheadPages(4).build());
+  }
+
+  @Test
+  public void testReadAheadDisabled() throws InterruptedException {
+    traverse(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).readAheadPages(0).build());
+  }
+
+  private static void traverse(final ResourceConfiguration resourceConfig) throws InterruptedException {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(resourceConfig);
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+          final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        for (int i = 1; i < ELEMENTS; i++) {
+          wtx.insertElementAsRightSibling(new QNm("foo"));
+        }
+        wtx.commit();
+      }
+
+      // Reopen the resource, such that the record pages are read from the data file.
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        final Semaphore permits = ((InternalResourceManager<?, ?>) manager).getReadAheadPermits();
+        final int availablePermits = permits.availablePermits();
+
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+          int elements = 0;
+          for (final Axis axis = new DescendantAxis(rtx); axis.hasNext();) {
+            axis.next();
+            if ("foo".equals(rtx.getName().getLocalName())) {
+              elements++;
+            }
+          }
+          assertEquals(ELEMENTS, elements);
+        }
+
+        // All permits are released once the pages, which are still read ahead, have been read.
+        for (int i = 0; i < 100 && permits.availablePermits() < availablePermits; i++) {
+          Thread.sleep(50);
+        }
+        assertEquals(availablePermits, permits.availablePermits());
+      }
+    }
+  }
+}
@@ -41,6 +41,7 @@ import org.sirix.exception.SirixException;
 import org.sirix.exception.SirixXPathException;
 import org.sirix.service.xml.shredder.XmlShredder;
 import org.sirix.service.xml.xpath.XPathAxis;
+import org.sirix.settings.Fixed;
 
 /** Test {@link ConcurrentAxis}. */
 public final class ConcurrentAxisTest {
@@ -218,6 +219,35 @@ public final class ConcurrentAxisTest {
     assertEquals(axis.hasNext(), false);
   }
 
+  /**
+   * Test closing a concurrent axis, whose producer still computes results, and resetting it.
+   */
+  @Test
+  public void testCloseAndReset() throws Exception {
+    int resultNumber = 0;
+    for (final Axis axis = new DescendantAxis(holder.getXdmNodeReadTrx()); axis.hasNext(); axis.next()) {
+      resultNumber++;
+    }
+
+    final var firstConcurrRtx = holder.getResourceManager().beginNodeReadOnlyTrx();
+    final var axis = new ConcurrentAxis<>(firstConcurrRtx, new DescendantAxis(holder.getXdmNodeReadTrx()));
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(true, axis.hasNext());
+      axis.next();
+    }
+    axis.close();
+    assertEquals(true, axis.isFinished());
+    assertEquals(false, axis.hasNext());
+
+    axis.reset(Fixed.DOCUMENT_NODE_KEY.getStandardProperty());
+    for (int i = 0; i < resultNumber; i++) {
+      assertEquals(true, axis.hasNext());
+      axis.next();
+    }
+    assertEquals(false, axis.hasNext());
+  }
+
   /*
    * ########################################################################## ###############
    */
@@ -0,0 +1,113 @@
+package org.sirix.axis.concurrent;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.access.trx.node.HashType;
+import org.sirix.api.Axis;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.axis.DescendantAxis;
+import org.sirix.axis.IncludeSelf;
+import org.sirix.exception.SirixException;
+
+public final class ParallelDescendantStreamTest {
+
+  /** Number of child elements of the root element. */
+  private static final int CHILDREN = 40;
+
+  /** Number of child elements of each child of the root element. */
+  private static final int GRANDCHILDREN = 50;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testHashed() {
+    traverse(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).hashKind(HashType.ROLLING).build());
+  }
+
+  @Test
+  public void testNotHashed() {
+    traverse(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).hashKind(HashType.NONE).build());
+  }
+
+  private static void traverse(final ResourceConfiguration resourceConfig) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(resourceConfig);
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int i = 0; i < CHILDREN; i++) {
+            if (i == 0) {
+              wtx.insertElementAsFirstChild(new QNm("foo"));
+            } else {
+              wtx.insertElementAsRightSibling(new QNm("foo"));
+            }
+            wtx.insertElementAsFirstChild(new QNm("bar"));
+            for (int j = 1; j < GRANDCHILDREN; j++) {
+              wtx.insertElementAsRightSibling(new QNm("bar"));
+            }
+            wtx.moveToParent();
+          }
+          wtx.commit();
+        }
+
+        final int revision = manager.getMostRecentRevisionNumber();
+        final long rootKey;
+        final long[] expectedNodeKeys;
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+          rtx.moveToDocumentRoot();
+          rtx.moveToFirstChild();
+          rootKey = rtx.getNodeKey();
+          final List<Long> nodeKeys = new ArrayList<>();
+          for (final Axis axis = new DescendantAxis(rtx, IncludeSelf.YES); axis.hasNext();) {
+            nodeKeys.add(axis.next());
+          }
+          expectedNodeKeys = nodeKeys.stream().mapToLong(Long::longValue).toArray();
+        }
+        assertEquals(1 + CHILDREN + CHILDREN * GRANDCHILDREN, expectedNodeKeys.length);
+
+        try (final LongStream nodeKeys =
+            ParallelDescendantStream.nodeKeys(manager, revision, rootKey, IncludeSelf.YES)) {
+          assertArrayEquals(expectedNodeKeys, nodeKeys.toArray());
+        }
+
+        try (final LongStream nodeKeys =
+            ParallelDescendantStream.nodeKeys(manager, revision, rootKey, IncludeSelf.NO)) {
+          assertEquals(expectedNodeKeys.length - 1, nodeKeys.count());
+        }
+
+        try (final Stream<String> names = ParallelDescendantStream.map(manager, revision, rootKey, IncludeSelf.NO,
+            rtx -> rtx.getName().getLocalName())) {
+          assertEquals(CHILDREN * GRANDCHILDREN,
+              names.filter("bar"::equals).collect(Collectors.counting()).longValue());
+        }
+      }
+    }
+  }
+}
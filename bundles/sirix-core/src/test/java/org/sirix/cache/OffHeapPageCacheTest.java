@@ -0,0 +1,157 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.io.Reader;
+import org.sirix.io.Storage;
+import org.sirix.io.StorageType;
+import org.sirix.io.Writer;
+import org.sirix.page.PageReference;
+import org.sirix.page.UberPage;
+
+public final class OffHeapPageCacheTest {
+
+  /** Number of revisions to commit. */
+  private static final int REVISIONS = 5;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testPutAndGet() {
+    final OffHeapPageCache cache = new OffHeapPageCache(1 << 20);
+    final ByteBuffer page = ByteBuffer.wrap("page".getBytes(StandardCharsets.UTF_8));
+
+    assertNull(cache.get(12));
+    cache.put(12, page);
+    assertEquals(0, page.position());
+
+    final ByteBuffer cachedPage = cache.get(12);
+    assertEquals(page, cachedPage);
+
+    cache.clear();
+    assertNull(cache.get(12));
+  }
+
+  @Test
+  public void testEviction() {
+    final OffHeapPageCache cache = new OffHeapPageCache(10);
+
+    cache.put(0, ByteBuffer.wrap(new byte[] {0, 1, 2, 3}));
+    cache.put(4, ByteBuffer.wrap(new byte[] {4, 5, 6, 7}));
+    assertEquals(ByteBuffer.wrap(new byte[] {0, 1, 2, 3}), cache.get(0));
+
+    // Wraps around and overwrites the first page only.
+    cache.put(8, ByteBuffer.wrap(new byte[] {8, 9, 10, 11}));
+    assertNull(cache.get(0));
+    assertEquals(ByteBuffer.wrap(new byte[] {4, 5, 6, 7}), cache.get(4));
+    assertEquals(ByteBuffer.wrap(new byte[] {8, 9, 10, 11}), cache.get(8));
+
+    // Larger than the cache.
+    cache.put(12, ByteBuffer.allocate(11));
+    assertNull(cache.get(12));
+  }
+
+  @Test
+  public void testTruncateClearsOffHeapCache() {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).offHeapCacheSize(1 << 20)
+                                                                                       .build());
+
+      final ResourceConfiguration resourceConfig;
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        resourceConfig = manager.getResourceConfig();
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int revision = 1; revision <= 3; revision++) {
+            wtx.moveTo(1);
+            wtx.insertElementAsFirstChild(new QNm("foo"));
+            wtx.commit();
+          }
+        }
+      }
+
+      final Storage storage = StorageType.getStorage(resourceConfig);
+      try {
+        final Reader reader = storage.createReader();
+        final UberPage lastUberPage = (UberPage) reader.readUberPageReference().getPage();
+        final UberPage previousUberPage =
+            (UberPage) reader.read(new PageReference().setKey(lastUberPage.getPreviousUberPageKey()), null);
+        final long truncatedOffset = previousUberPage.getPreviousUberPageKey();
+
+        // Caches the first uber page, which is truncated.
+        assertEquals(1, ((UberPage) reader.read(new PageReference().setKey(truncatedOffset), null)).getRevisionNumber());
+
+        final Writer writer = storage.createWriter();
+        writer.truncateTo(2);
+        final PageReference uberPageReference = new PageReference();
+        uberPageReference.setPage(new UberPage());
+        writer.writeUberPageReference(uberPageReference);
+        writer.close();
+
+        assertEquals(truncatedOffset, uberPageReference.getKey());
+        assertEquals(0, ((UberPage) reader.readUberPageReference().getPage()).getRevisionNumber());
+      } finally {
+        storage.close();
+      }
+    }
+  }
+
+  @Test
+  public void testReadThroughOffHeapCache() {
+    // Tiny buffer pool, such that pages are evicted and read from the off-heap cache again.
+    SharedBufferManager.getInstance().setMaximumSize(1 << 12);
+
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).offHeapCacheSize(1 << 20)
+                                                                                       .build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int revision = 1; revision <= REVISIONS; revision++) {
+            wtx.moveTo(1);
+            wtx.insertElementAsFirstChild(new QNm("foo"));
+            wtx.commit();
+          }
+        }
+
+        for (int i = 0; i < 2; i++) {
+          for (int revision = 1; revision <= REVISIONS; revision++) {
+            try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+              rtx.moveTo(1);
+              assertEquals(revision, rtx.getChildCount());
+            }
+          }
+        }
+      }
+    } finally {
+      SharedBufferManager.getInstance().setMaximumSize(SharedBufferManager.DEFAULT_MAX_SIZE);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+import org.sirix.page.PageReference;
+import org.sirix.page.UberPage;
+import org.sirix.page.interfaces.Page;
+
+public final class SharedBufferManagerTest {
+
+  @Test
+  public void testResourcesDontShareKeys() {
+    final SharedBufferManager sharedBufferManager = new SharedBufferManager(1 << 20);
+    final BufferManager first = sharedBufferManager.newResourceBufferManager();
+    final BufferManager second = sharedBufferManager.newResourceBufferManager();
+
+    // Page references of different resources are equal, if the pages are stored at the same offset.
+    final PageReference firstReference = new PageReference().setKey(12);
+    final PageReference secondReference = new PageReference().setKey(12);
+    final Page firstPage = new UberPage();
+    final Page secondPage = new UberPage();
+
+    first.getPageCache().put(firstReference, firstPage);
+    assertNull(second.getPageCache().get(secondReference));
+    assertNull(first.getRecordPageCache().get(firstReference));
+
+    second.getPageCache().put(secondReference, secondPage);
+    assertSame(firstPage, first.getPageCache().get(firstReference));
+    assertSame(secondPage, second.getPageCache().get(secondReference));
+
+    first.clearAllCaches();
+    assertNull(first.getPageCache().get(firstReference));
+    assertSame(secondPage, second.getPageCache().get(secondReference));
+  }
+
+  @Test
+  public void testPagesAreKeyedByOffset() {
+    final SharedBufferManager sharedBufferManager = new SharedBufferManager(1 << 20);
+    final BufferManager bufferManager = sharedBufferManager.newResourceBufferManager();
+
+    // The references of two revisions to the same unchanged page.
+    final PageReference firstReference = new PageReference().setKey(12);
+    firstReference.setLength(1 << 10);
+    final PageReference secondReference = new PageReference().setKey(12);
+    final Page page = new UberPage();
+
+    bufferManager.getPageCache().put(firstReference, page);
+    assertSame(page, bufferManager.getPageCache().get(secondReference));
+
+    // The cache doesn't depend on the reference, which has been used to put the page.
+    firstReference.setKey(24);
+    assertSame(page, bufferManager.getPageCache().get(secondReference));
+    assertNull(bufferManager.getPageCache().get(firstReference));
+    sharedBufferManager.getPages().cleanUp();
+    assertEquals(1 << 10, sharedBufferManager.getWeightedSize());
+
+    // Modified pages aren't shared with other references.
+    final PageReference logReference = new PageReference().setKey(12);
+    logReference.setLogKey(1);
+    assertNull(bufferManager.getPageCache().get(logReference));
+  }
+
+  @Test
+  public void testRecordPagesOfRevisionsSharingAnOffset() {
+    final SharedBufferManager sharedBufferManager = new SharedBufferManager(1 << 20);
+    final BufferManager bufferManager = sharedBufferManager.newResourceBufferManager();
+
+    // The references of three revisions to the same unchanged record page.
+    final PageReference firstReference = new PageReference().setKey(12);
+    final PageReference secondReference = new PageReference().setKey(12);
+    final PageReference thirdReference = new PageReference().setKey(12);
+    final PageContainer container = PageContainer.getInstance(new UberPage(), 1 << 10);
+
+    bufferManager.getRecordPageCache().put(firstReference, container);
+    assertSame(container, bufferManager.getRecordPageCache().get(secondReference));
+    assertSame(container, bufferManager.getRecordPageCache().get(thirdReference));
+
+    // Further lookups reuse the key of the first lookup.
+    final Object bufferKey = secondReference.getBufferKey();
+    assertNotNull(bufferKey);
+    assertSame(container, bufferManager.getRecordPageCache().get(secondReference));
+    assertSame(bufferKey, secondReference.getBufferKey());
+    sharedBufferManager.getPages().cleanUp();
+    assertEquals(1 << 10, sharedBufferManager.getWeightedSize());
+
+    // A reference, which points to a new fragment, doesn't reuse the key of the former one.
+    secondReference.setKey(24);
+    assertNull(bufferManager.getRecordPageCache().get(secondReference));
+    assertNotSame(bufferKey, secondReference.getBufferKey());
+    assertSame(container, bufferManager.getRecordPageCache().get(thirdReference));
+
+    // Nor does a reference, which has been modified in a transaction.
+    thirdReference.setLogKey(1);
+    assertNull(bufferManager.getRecordPageCache().get(thirdReference));
+    assertSame(container, bufferManager.getRecordPageCache().get(firstReference));
+  }
+
+  @Test
+  public void testSetMaximumSize() {
+    final SharedBufferManager sharedBufferManager = new SharedBufferManager(1 << 20);
+    final BufferManager bufferManager = sharedBufferManager.newResourceBufferManager();
+
+    for (int i = 0; i < 100; i++) {
+      final PageReference reference = new PageReference().setKey(i);
+      reference.setLength(1 << 12);
+      bufferManager.getPageCache().put(reference, new UberPage());
+    }
+
+    sharedBufferManager.setMaximumSize(1 << 14);
+    sharedBufferManager.getPages().cleanUp();
+    assertEquals(1 << 14, sharedBufferManager.getMaximumSize());
+    assertEquals(4, sharedBufferManager.getPages().estimatedSize());
+  }
+}
@@ -0,0 +1,158 @@
+package org.sirix.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.settings.VersioningType;
+
+public final class TransactionIntentLogTest {
+
+  /** Number of child elements, which span several record pages. */
+  private static final int CHILDREN = 1500;
+
+  /** Every n-th child element is renamed in the second revision. */
+  private static final int RENAMED = 3;
+
+  /** Number of text nodes, whose values are weighed. */
+  private static final int TEXTS = 100;
+
+  /** Length of the long text values. */
+  private static final int TEXT_LENGTH = 1000;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testSpillToIntentLogFile() {
+    for (final VersioningType versioningType : VersioningType.values()) {
+      // Spill all pages but the most recently added one.
+      final String resource = XmlTestHelper.RESOURCE + versioningType;
+      final int renamed = modify(resource, new ResourceConfiguration.Builder(resource).versioningApproach(versioningType)
+                                                                                      .intentLogSize(1)
+                                                                                      .build(),
+          false);
+      verify(resource, renamed);
+    }
+  }
+
+  @Test
+  public void testUnbounded() {
+    final String resource = XmlTestHelper.RESOURCE;
+    final int renamed = modify(resource,
+        new ResourceConfiguration.Builder(resource).intentLogSize(TransactionIntentLog.UNBOUNDED).build(), true);
+    verify(resource, renamed);
+  }
+
+  @Test
+  public void testWeighedByRecordSize() {
+    final long shortValuesSize = insertTexts(XmlTestHelper.RESOURCE + "short", "a");
+    final long longValuesSize = insertTexts(XmlTestHelper.RESOURCE + "long", "a".repeat(TEXT_LENGTH));
+
+    assertTrue(longValuesSize - shortValuesSize >= (long) TEXTS * (TEXT_LENGTH - 1));
+  }
+
+  private static long insertTexts(final String resource, final String value) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(
+          new ResourceConfiguration.Builder(resource).intentLogSize(TransactionIntentLog.UNBOUNDED).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(resource);
+          final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+        wtx.insertElementAsFirstChild(new QNm("root"));
+        for (int i = 0; i < TEXTS; i++) {
+          wtx.moveTo(1);
+          wtx.insertElementAsFirstChild(new QNm("foo"));
+          wtx.insertTextAsFirstChild(value);
+        }
+        final long size = wtx.getPageWtx().getLog().getSize();
+        wtx.rollback();
+        return size;
+      }
+    }
+  }
+
+  private static int modify(final String resource, final ResourceConfiguration resourceConfig,
+      final boolean checkUnbounded) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(resourceConfig);
+
+      try (final XmlResourceManager manager = database.openResourceManager(resource)) {
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          wtx.insertElementAsFirstChild(new QNm("foo"));
+          for (int i = 1; i < CHILDREN; i++) {
+            wtx.insertElementAsRightSibling(new QNm("foo"));
+          }
+          wtx.commit();
+        }
+
+        // Modify records stored in pages of the former revision, which are rebuilt from their fragments
+        // once they have been spilled.
+        int renamed = 0;
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          if (checkUnbounded) {
+            assertEquals(TransactionIntentLog.UNBOUNDED, wtx.getPageWtx().getLog().getMaxSize());
+          }
+          for (long nodeKey = 2; nodeKey < CHILDREN + 2; nodeKey += RENAMED) {
+            assertTrue(wtx.moveTo(nodeKey).hasMoved());
+            wtx.setName(new QNm("bar"));
+            renamed++;
+          }
+          assertTrue(wtx.moveTo(CHILDREN + 1).hasMoved());
+          if ("bar".equals(wtx.getName().getLocalName())) {
+            renamed--;
+          }
+          wtx.remove();
+          wtx.commit();
+        }
+        return renamed;
+      }
+    }
+  }
+
+  private static void verify(final String resource, final int renamed) {
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+        final XmlResourceManager manager = database.openResourceManager(resource);
+        final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+      assertTrue(rtx.moveTo(1).hasMoved());
+      assertEquals(CHILDREN - 1, rtx.getChildCount());
+
+      int children = 0;
+      int renamedChildren = 0;
+      boolean hasMoved = rtx.moveToFirstChild().hasMoved();
+      while (hasMoved) {
+        children++;
+        if ("bar".equals(rtx.getName().getLocalName())) {
+          renamedChildren++;
+        }
+        hasMoved = rtx.moveToRightSibling().hasMoved();
+      }
+
+      assertEquals(CHILDREN - 1, children);
+      assertEquals(renamed, renamedChildren);
+    }
+  }
+}
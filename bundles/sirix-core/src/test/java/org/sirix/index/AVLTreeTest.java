@@ -2,6 +2,8 @@ package org.sirix.index;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
@@ -36,6 +38,9 @@ import com.google.common.collect.ImmutableSet;
  */
 public class AVLTreeTest {
 
+  /** Number of indexed attributes. */
+  private static final int ATTRIBUTES = 1_000;
+
   /** {@link Holder} reference. */
   private Holder holder;
 
@@ -86,6 +91,98 @@ public class AVLTreeTest {
     check(bazRefs2, ImmutableSet.of(8L));
   }
 
+  @Test
+  public void testBulkLoad() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    // Insert the values in descending order, such that the builder has to sort them.
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final long[] attributeKeys = new long[ATTRIBUTES];
+    long pathNodeKey = 0;
+    for (int i = ATTRIBUTES - 1; i >= 0; i--) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), value(i), Movement.NONE);
+      attributeKeys[i] = wtx.getNodeKey();
+      pathNodeKey = wtx.getPathNodeKey();
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final IndexDef idxDef = IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    // The tree built from the sorted entries is extended by later inserts.
+    wtx.moveToDocumentRoot();
+    wtx.moveToFirstChild();
+    wtx.insertElementAsFirstChild(new QNm("bla"));
+    wtx.insertAttribute(new QNm("foobar"), value(ATTRIBUTES), Movement.NONE);
+    final long lastAttributeKey = wtx.getNodeKey();
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.CAS);
+    final AVLTreeReader<CASValue, NodeReferences> reader =
+        AVLTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      check(reader.get(new CASValue(new Str(value(i)), Type.STR, pathNodeKey), SearchMode.EQUAL),
+          ImmutableSet.of(attributeKeys[i]));
+    }
+    check(reader.get(new CASValue(new Str(value(ATTRIBUTES)), Type.STR, pathNodeKey), SearchMode.EQUAL),
+        ImmutableSet.of(lastAttributeKey));
+  }
+
+  @Test
+  public void testLegacyStorageFormat() throws SirixException, PathException, IOException {
+    // Resources of older versions don't store the version of the storage format.
+    final java.nio.file.Path configFile = holder.getResourceManager().getResourceConfig().getConfigFile();
+    holder.close();
+    XmlTestHelper.closeEverything();
+    Files.writeString(configFile, Files.readString(configFile).replaceFirst(",\"storageFormatVersion\":\\d+", ""));
+
+    holder = Holder.openResourceManager();
+    assertEquals(0, holder.getResourceManager().getResourceConfig().storageFormatVersion);
+
+    final NodeReferences attributeKeys = new NodeReferences();
+    long pathNodeKey = 0;
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      final XmlIndexController indexController =
+          holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+      indexController.createIndexes(ImmutableSet.of(IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+          Collections.singleton(Path.parse("//bla/@foobar")), 0)), wtx);
+
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < 3; i++) {
+        wtx.insertElementAsFirstChild(new QNm("bla"));
+        wtx.insertAttribute(new QNm("foobar"), "baz", Movement.NONE);
+        attributeKeys.addNodeKey(wtx.getNodeKey());
+        pathNodeKey = wtx.getPathNodeKey();
+        wtx.moveToParent();
+        wtx.moveToParent();
+      }
+      wtx.commit();
+    }
+    holder.close();
+    XmlTestHelper.closeEverything();
+
+    // The index entries are read in the format they have been written in.
+    holder = Holder.openResourceManager();
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      final IndexDef indexDef = holder.getResourceManager()
+                                      .getWtxIndexController(wtx.getRevisionNumber() - 1)
+                                      .getIndexes()
+                                      .getIndexDef(0, IndexType.CAS);
+      final AVLTreeReader<CASValue, NodeReferences> reader =
+          AVLTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+      assertEquals(attributeKeys,
+          reader.get(new CASValue(new Str("baz"), Type.STR, pathNodeKey), SearchMode.EQUAL).get());
+    }
+  }
+
   @Test
   public void testTextIndex() throws SirixException {
     // final NodeWriteTrx wtx = holder.getSession().beginNodeWriteTrx();
@@ -98,6 +195,10 @@ public class AVLTreeTest {
     // .getTextValueIndex();
   }
 
+  private static String value(final int i) {
+    return String.format("v%04d", i);
+  }
+
   private void check(final Optional<NodeReferences> barRefs, final Set<Long> keys) {
     assertTrue(barRefs.isPresent());
     assertEquals(keys, barRefs.get().getNodeKeys());
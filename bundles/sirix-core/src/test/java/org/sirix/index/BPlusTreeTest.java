@@ -0,0 +1,350 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.util.path.PathException;
+import org.brackit.xquery.xdm.DocumentException;
+import org.brackit.xquery.xdm.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.trx.node.xml.XmlIndexController;
+import org.sirix.api.Movement;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.avltree.keyvalue.CASValue;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.BPlusReferencesChunk;
+import org.sirix.index.bplustree.BPlusTreeReader;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the B+-tree implementation.
+ */
+public class BPlusTreeTest {
+
+  /** Number of indexed attributes, such that leaves are split and a new root is created. */
+  private static final int ATTRIBUTES = 1_000;
+
+  /** Number of attributes with the same value, such that their node references are chunked. */
+  private static final int CHUNKED_ATTRIBUTES = 5_000;
+
+  /** {@link Holder} reference. */
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    holder = Holder.openResourceManager();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testAttributeIndex() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    final IndexDef idxDef = IndexDefs.withStructure(IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0), IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final long[] attributeKeys = new long[ATTRIBUTES];
+    long pathNodeKey = 0;
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), value(i), Movement.NONE);
+      attributeKeys[i] = wtx.getNodeKey();
+      pathNodeKey = wtx.getPathNodeKey();
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.CAS);
+    assertEquals(IndexStructure.BPLUS_TREE, indexDef.getStructure());
+
+    final BPlusTreeReader<CASValue> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(ATTRIBUTES, reader.size());
+
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      final Optional<NodeReferences> refs = reader.get(key(i, pathNodeKey), SearchMode.EQUAL);
+      assertTrue(refs.isPresent());
+      assertEquals(ImmutableSet.of(attributeKeys[i]), refs.get().getNodeKeys());
+    }
+
+    // All entries in ascending order.
+    final Iterator<Map.Entry<CASValue, NodeReferences>> entries = reader.iterator();
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      assertTrue(entries.hasNext());
+      assertEquals(key(i, pathNodeKey), entries.next().getKey());
+    }
+    assertFalse(entries.hasNext());
+
+    // Range of keys greater than or equal to the key and less than or equal to an upper bound.
+    final Str max = new Str(value(109));
+    final Iterator<Map.Entry<CASValue, NodeReferences>> range = reader.iterator(key(100, pathNodeKey),
+        SearchMode.LESS_OR_EQUAL, k -> max.compareTo(k.getAtomicValue()) >= 0);
+    for (int i = 100; i < 110; i++) {
+      assertEquals(key(i, pathNodeKey), range.next().getKey());
+    }
+    assertFalse(range.hasNext());
+
+    // Keys less than the key in descending order.
+    final Iterator<Map.Entry<CASValue, NodeReferences>> lower =
+        reader.iterator(key(100, pathNodeKey), SearchMode.GREATER, k -> true);
+    assertEquals(key(99, pathNodeKey), lower.next().getKey());
+    assertEquals(key(98, pathNodeKey), lower.next().getKey());
+
+    // Removing the attribute removes the index entry.
+    wtx.moveTo(attributeKeys[0]);
+    wtx.remove();
+    wtx.commit();
+
+    final BPlusTreeReader<CASValue> readerAfterRemoval =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(ATTRIBUTES - 1, readerAfterRemoval.size());
+    assertTrue(readerAfterRemoval.get(key(0, pathNodeKey), SearchMode.EQUAL).isEmpty());
+    assertEquals(key(1, pathNodeKey), readerAfterRemoval.iterator().next().getKey());
+  }
+
+  @Test
+  public void testBulkLoad() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    // Insert the values in descending order, such that the builder has to sort them.
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final long[] attributeKeys = new long[ATTRIBUTES];
+    long pathNodeKey = 0;
+    for (int i = ATTRIBUTES - 1; i >= 0; i--) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), value(i / 2), Movement.NONE);
+      attributeKeys[i] = wtx.getNodeKey();
+      pathNodeKey = wtx.getPathNodeKey();
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final IndexDef idxDef = IndexDefs.withStructure(IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0), IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.CAS);
+    final BPlusTreeReader<CASValue> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(ATTRIBUTES / 2, reader.size());
+
+    final Iterator<Map.Entry<CASValue, NodeReferences>> entries = reader.iterator();
+    for (int i = 0; i < ATTRIBUTES / 2; i++) {
+      final Map.Entry<CASValue, NodeReferences> entry = entries.next();
+      assertEquals(key(i, pathNodeKey), entry.getKey());
+      assertEquals(ImmutableSet.of(attributeKeys[2 * i], attributeKeys[2 * i + 1]), entry.getValue().getNodeKeys());
+      assertEquals(entry.getValue(), reader.get(key(i, pathNodeKey), SearchMode.EQUAL).get());
+    }
+    assertFalse(entries.hasNext());
+  }
+
+  @Test
+  public void testChunkedEntry() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    final IndexDef idxDef = IndexDefs.withStructure(IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0), IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    // All attributes have the same value and the node keys span more than one chunk.
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final NodeReferences attributeKeys = new NodeReferences();
+    final NodeReferences lowerAttributeKeys = new NodeReferences();
+    long pathNodeKey = 0;
+    for (int i = 0; i < CHUNKED_ATTRIBUTES; i++) {
+      if (i == CHUNKED_ATTRIBUTES / 2) {
+        long fillerKey;
+        do {
+          wtx.insertElementAsFirstChild(new QNm("filler"));
+          fillerKey = wtx.getNodeKey();
+          wtx.moveToParent();
+        } while (fillerKey < 1 << BPlusReferencesChunk.CHUNK_BITS);
+      }
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), value(0), Movement.NONE);
+      attributeKeys.addNodeKey(wtx.getNodeKey());
+      if (i < CHUNKED_ATTRIBUTES / 2) {
+        lowerAttributeKeys.addNodeKey(wtx.getNodeKey());
+      }
+      pathNodeKey = wtx.getPathNodeKey();
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.CAS);
+    final BPlusTreeReader<CASValue> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(1, reader.size());
+    assertEquals(attributeKeys, reader.get(key(0, pathNodeKey), SearchMode.EQUAL).get());
+
+    // Removing all attributes of the lower chunk keeps the upper chunk.
+    final PrimitiveIterator.OfLong lowerKeys = lowerAttributeKeys.nodeKeyIterator();
+    while (lowerKeys.hasNext()) {
+      wtx.moveTo(lowerKeys.nextLong());
+      wtx.remove();
+    }
+    wtx.commit();
+
+    final BPlusTreeReader<CASValue> readerAfterRemoval =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(attributeKeys.andNot(lowerAttributeKeys),
+        readerAfterRemoval.get(key(0, pathNodeKey), SearchMode.EQUAL).get());
+  }
+
+  @Test
+  public void testPathIndex() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    final IndexDef idxDef = IndexDefs.withStructure(
+        IndexDefs.createPathIdxDef(Collections.singleton(Path.parse("//bla/@foobar")), 0), IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final NodeReferences attributeKeys = new NodeReferences();
+    long firstAttributeKey = 0;
+    long pathNodeKey = 0;
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), value(i), Movement.NONE);
+      attributeKeys.addNodeKey(wtx.getNodeKey());
+      if (i == 0) {
+        firstAttributeKey = wtx.getNodeKey();
+      }
+      pathNodeKey = wtx.getPathNodeKey();
+      wtx.moveToParent();
+      wtx.insertAttribute(new QNm("baz"), value(i), Movement.NONE);
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(0, IndexType.PATH);
+    assertEquals(IndexStructure.BPLUS_TREE, indexDef.getStructure());
+
+    final BPlusTreeReader<Long> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(1, reader.size());
+    assertEquals(attributeKeys, reader.get(pathNodeKey, SearchMode.EQUAL).get());
+
+    // Removing an attribute removes its node key from the entry of the path class.
+    wtx.moveTo(firstAttributeKey);
+    wtx.remove();
+    wtx.commit();
+
+    final BPlusTreeReader<Long> readerAfterRemoval =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(attributeKeys.andNot(new NodeReferences(ImmutableSet.of(firstAttributeKey))),
+        readerAfterRemoval.get(pathNodeKey, SearchMode.EQUAL).get());
+  }
+
+  @Test
+  public void testNameIndex() throws SirixException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+
+    final XmlIndexController indexController =
+        holder.getResourceManager().getWtxIndexController(wtx.getRevisionNumber() - 1);
+
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    final long rootKey = wtx.getNodeKey();
+    final NodeReferences elementKeys = new NodeReferences();
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      elementKeys.addNodeKey(wtx.getNodeKey());
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    // The index is built from the existing elements.
+    final IndexDef idxDef =
+        IndexDefs.withStructure(IndexDefs.createNameIdxDef(0, IndexDefs.NameIndexType.XML), IndexStructure.BPLUS_TREE);
+
+    indexController.createIndexes(ImmutableSet.of(idxDef), wtx);
+
+    // Inserted attributes are indexed by the listener.
+    wtx.moveTo(rootKey);
+    wtx.insertAttribute(new QNm("foobar"), value(0), Movement.NONE);
+    final long attributeKey = wtx.getNodeKey();
+    wtx.commit();
+
+    final IndexDef indexDef = indexController.getIndexes().getIndexDef(idxDef.getID(), IndexType.NAME);
+    assertEquals(IndexStructure.BPLUS_TREE, indexDef.getStructure());
+
+    final BPlusTreeReader<QNm> reader =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertEquals(ImmutableSet.of(rootKey), reader.get(new QNm("root"), SearchMode.EQUAL).get().getNodeKeys());
+    assertEquals(elementKeys, reader.get(new QNm("bla"), SearchMode.EQUAL).get());
+    assertEquals(ImmutableSet.of(attributeKey), reader.get(new QNm("foobar"), SearchMode.EQUAL).get().getNodeKeys());
+
+    // Removing the attribute removes the index entry.
+    wtx.moveTo(attributeKey);
+    wtx.remove();
+    wtx.commit();
+
+    final BPlusTreeReader<QNm> readerAfterRemoval =
+        BPlusTreeReader.getInstance(wtx.getPageTrx(), indexDef.getType(), indexDef.getID());
+    assertTrue(readerAfterRemoval.get(new QNm("foobar"), SearchMode.EQUAL).isEmpty());
+    assertEquals(elementKeys, readerAfterRemoval.get(new QNm("bla"), SearchMode.EQUAL).get());
+  }
+
+  @Test
+  public void testIndexDefStructure() throws PathException, DocumentException {
+    final IndexDef idxDef = IndexDefs.withStructure(IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0), IndexStructure.BPLUS_TREE);
+
+    final IndexDef deserialized = new IndexDef();
+    deserialized.init(idxDef.materialize());
+
+    assertEquals(IndexStructure.BPLUS_TREE, deserialized.getStructure());
+    assertEquals(IndexStructure.AVL_TREE, IndexDefs.createCASIdxDef(false, Optional.ofNullable(Type.STR),
+        Collections.singleton(Path.parse("//bla/@foobar")), 0).getStructure());
+  }
+
+  private static String value(final int i) {
+    return String.format("v%04d", i);
+  }
+
+  private static CASValue key(final int i, final long pathNodeKey) {
+    return new CASValue(new Str(value(i)), Type.STR, pathNodeKey);
+  }
+}
@@ -0,0 +1,78 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.index.bplustree.KeyKind;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the {@link IndexEntrySorter}.
+ */
+public class IndexEntrySorterTest {
+
+  @Test
+  public void testSpilledRunsAreMergedAndGrouped() throws IOException {
+    final Path spillDirectory = Files.createTempDirectory("index-build");
+
+    try (final IndexEntrySorter<Long> sorter = new IndexEntrySorter<>(KeyKind.PATH, spillDirectory, 3)) {
+      sorter.add(5L, 10);
+      sorter.add(2L, 11);
+      sorter.add(5L, 12);
+      sorter.add(1L, 13);
+      sorter.add(2L, 14);
+      sorter.add(7L, 15);
+      sorter.add(5L, 16);
+
+      assertEquals(2, countFiles(spillDirectory));
+
+      final Iterator<Map.Entry<Long, NodeReferences>> entries = sorter.sortedEntries();
+      check(entries.next(), 1L, ImmutableSet.of(13L));
+      check(entries.next(), 2L, ImmutableSet.of(11L, 14L));
+      check(entries.next(), 5L, ImmutableSet.of(10L, 12L, 16L));
+      check(entries.next(), 7L, ImmutableSet.of(15L));
+      assertFalse(entries.hasNext());
+    }
+
+    assertEquals(0, countFiles(spillDirectory));
+    Files.delete(spillDirectory);
+  }
+
+  @Test
+  public void testInMemory() throws IOException {
+    final Path spillDirectory = Files.createTempDirectory("index-build");
+
+    try (final IndexEntrySorter<Long> sorter = new IndexEntrySorter<>(KeyKind.PATH, spillDirectory, 100)) {
+      sorter.add(3L, 1);
+      sorter.add(3L, 2);
+
+      final Iterator<Map.Entry<Long, NodeReferences>> entries = sorter.sortedEntries();
+      assertTrue(entries.hasNext());
+      check(entries.next(), 3L, ImmutableSet.of(1L, 2L));
+      assertFalse(entries.hasNext());
+      assertEquals(0, countFiles(spillDirectory));
+    }
+
+    Files.delete(spillDirectory);
+  }
+
+  private static void check(final Map.Entry<Long, NodeReferences> entry, final long key,
+      final ImmutableSet<Long> nodeKeys) {
+    assertEquals(Long.valueOf(key), entry.getKey());
+    assertEquals(nodeKeys, entry.getValue().getNodeKeys());
+  }
+
+  private static long countFiles(final Path directory) throws IOException {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+}
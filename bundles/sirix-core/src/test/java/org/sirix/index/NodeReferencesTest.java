@@ -0,0 +1,105 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import org.junit.Test;
+import org.sirix.index.avltree.keyvalue.NodeReferences;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Test the bitmap based {@link NodeReferences}.
+ */
+public class NodeReferencesTest {
+
+  @Test
+  public void testNodeKeys() {
+    final NodeReferences references = new NodeReferences(ImmutableSet.of(7L, 3L, 1L << 40));
+    assertEquals(3, references.getCardinality());
+    assertTrue(references.contains(1L << 40));
+    assertFalse(references.contains(4L));
+
+    final PrimitiveIterator.OfLong nodeKeys = references.nodeKeyIterator();
+    assertEquals(3L, nodeKeys.nextLong());
+    assertEquals(7L, nodeKeys.nextLong());
+    assertEquals(1L << 40, nodeKeys.nextLong());
+    assertFalse(nodeKeys.hasNext());
+
+    assertTrue(references.removeNodeKey(7L));
+    assertFalse(references.removeNodeKey(7L));
+    assertEquals(ImmutableSet.of(3L, 1L << 40), references.getNodeKeys());
+  }
+
+  @Test
+  public void testBitmapOperations() {
+    final NodeReferences first = new NodeReferences(ImmutableSet.of(1L, 2L, 3L));
+    final NodeReferences second = new NodeReferences(ImmutableSet.of(2L, 3L, 4L));
+
+    assertEquals(ImmutableSet.of(2L, 3L), first.and(second).getNodeKeys());
+    assertEquals(ImmutableSet.of(1L, 2L, 3L, 4L), first.or(second).getNodeKeys());
+    assertEquals(ImmutableSet.of(1L), first.andNot(second).getNodeKeys());
+    assertEquals(ImmutableSet.of(1L, 2L, 3L), first.getNodeKeys());
+
+    final NodeReferences third = new NodeReferences(ImmutableSet.of(3L, 5L));
+    assertEquals(ImmutableSet.of(3L),
+        NodeReferences.intersection(Arrays.asList(first, second, third).iterator()).getNodeKeys());
+    assertEquals(ImmutableSet.of(1L, 2L, 3L, 4L, 5L),
+        NodeReferences.union(Arrays.asList(first, second, third).iterator()).getNodeKeys());
+  }
+
+  @Test
+  public void testSerialization() throws IOException {
+    final NodeReferences references = new NodeReferences();
+    for (long nodeKey = 0; nodeKey < 100_000; nodeKey += 2) {
+      references.addNodeKey(nodeKey);
+    }
+    references.addNodeKey(1L << 33);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream output = new DataOutputStream(bytes)) {
+      references.serialize(output);
+    }
+    // About a bit per node key in the dense range instead of a long.
+    assertTrue(bytes.size() < 25_000);
+
+    try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertEquals(references, NodeReferences.deserialize(input));
+    }
+  }
+
+  @Test
+  public void testOptimize() throws IOException {
+    final NodeReferences references = new NodeReferences();
+    for (long nodeKey = 0; nodeKey < 100_000; nodeKey++) {
+      references.addNodeKey(nodeKey);
+    }
+
+    // Serializing doesn't change the node references.
+    final byte[] bytes = serialize(references);
+    assertArrayEquals(bytes, serialize(references));
+
+    // Runs of consecutive node keys are stored in a few bytes, once optimized.
+    final byte[] optimizedBytes = serialize(references.optimize());
+    assertTrue(optimizedBytes.length < 100);
+    assertTrue(optimizedBytes.length < bytes.length);
+    try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(optimizedBytes))) {
+      assertEquals(references, NodeReferences.deserialize(input));
+    }
+  }
+
+  private static byte[] serialize(final NodeReferences references) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final DataOutputStream output = new DataOutputStream(bytes)) {
+      references.serialize(output);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,119 @@
+package org.sirix.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Optional;
+import org.brackit.xquery.atomic.Dbl;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.util.path.PathException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.Holder;
+import org.sirix.XmlTestHelper;
+import org.sirix.api.Movement;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.path.summary.PathSummaryReader;
+import org.sirix.index.path.summary.ValueStatistics;
+import org.sirix.index.path.summary.ValueType;
+
+/**
+ * Test the value statistics maintained with the path summary.
+ */
+public class PathStatisticsTest {
+
+  /** Number of inserted attributes. */
+  private static final int ATTRIBUTES = 1_000;
+
+  /** {@link Holder} reference. */
+  private Holder holder;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    holder = Holder.generatePathSummaryWithStatistics();
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    holder.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testAttributeStatistics() throws SirixException, PathException {
+    final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx();
+    wtx.insertElementAsFirstChild(new QNm("root"));
+    long lastAttributeKey = 0;
+    for (int i = 0; i < ATTRIBUTES; i++) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), String.valueOf(i), Movement.NONE);
+      lastAttributeKey = wtx.getNodeKey();
+      wtx.moveToParent();
+      wtx.moveToParent();
+    }
+    wtx.commit();
+
+    final Path<QNm> path = Path.parse("//bla/@foobar");
+    try (final PathSummaryReader pathSummary = holder.getResourceManager().openPathSummary(1)) {
+      final ValueStatistics numbers = pathSummary.getStatistics(path, ValueType.NUMBER).get();
+      assertEquals(ATTRIBUTES, numbers.getCount());
+      assertEquals(0, ((Dbl) numbers.getMin().get()).doubleValue(), 0);
+      assertEquals(ATTRIBUTES - 1, ((Dbl) numbers.getMax().get()).doubleValue(), 0);
+      assertTrue(numbers.hasExactBounds());
+      assertEquals(ATTRIBUTES, numbers.estimateDistinctCount(), ATTRIBUTES * 0.1);
+      assertTrue(numbers.getHistogram().getBucketCount() > 1);
+      assertEquals(ATTRIBUTES / 2, numbers.estimateLessThan(new Dbl(ATTRIBUTES / 2), false), ATTRIBUTES * 0.15);
+      assertEquals(1, numbers.estimateEqual(new Dbl(42)));
+      assertEquals(0, numbers.estimateEqual(new Dbl(ATTRIBUTES)));
+
+      final ValueStatistics strings = pathSummary.getStatistics(path, ValueType.STRING).get();
+      assertEquals(ATTRIBUTES, strings.getCount());
+      assertEquals(new Str("0"), strings.getMin().get());
+
+      assertFalse(pathSummary.getStatistics(path, ValueType.BOOLEAN).isPresent());
+      assertFalse(pathSummary.getStatistics(Path.parse("//bla/@baz"), ValueType.STRING).isPresent());
+    }
+
+    // Remove the maximum value.
+    wtx.moveTo(lastAttributeKey);
+    wtx.remove();
+    wtx.commit();
+    wtx.close();
+
+    try (final PathSummaryReader pathSummary = holder.getResourceManager().openPathSummary(2)) {
+      final ValueStatistics numbers = pathSummary.getStatistics(path, ValueType.NUMBER).get();
+      assertEquals(ATTRIBUTES - 1, numbers.getCount());
+      assertFalse(numbers.hasExactBounds());
+    }
+
+    // The statistics of the former revision are unchanged.
+    try (final PathSummaryReader pathSummary = holder.getResourceManager().openPathSummary(1)) {
+      final Optional<ValueStatistics> numbers = pathSummary.getStatistics(path, ValueType.NUMBER);
+      assertEquals(ATTRIBUTES, numbers.get().getCount());
+      assertTrue(numbers.get().hasExactBounds());
+    }
+  }
+
+  @Test
+  public void testStatisticsDisabledByDefault() throws SirixException, PathException {
+    holder.close();
+    XmlTestHelper.deleteEverything();
+    holder = Holder.generatePathSummary();
+
+    try (final XmlNodeTrx wtx = holder.getResourceManager().beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("bla"));
+      wtx.insertAttribute(new QNm("foobar"), "1", Movement.NONE);
+      wtx.commit();
+    }
+
+    try (final PathSummaryReader pathSummary = holder.getResourceManager().openPathSummary(1)) {
+      assertFalse(pathSummary.getStatistics(Path.parse("//bla/@foobar"), ValueType.STRING).isPresent());
+      assertFalse(pathSummary.getStatistics(Path.parse("//bla/@foobar"), ValueType.NUMBER).isPresent());
+    }
+  }
+}
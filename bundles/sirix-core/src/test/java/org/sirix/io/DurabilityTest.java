@@ -0,0 +1,249 @@
+package org.sirix.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+
+public final class DurabilityTest {
+
+  /** Number of concurrently committing resources. */
+  private static final int RESOURCES = 4;
+
+  /** Number of revisions to commit per resource. */
+  private static final int REVISIONS = 5;
+
+  /** {@link Database} instance. */
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+    mDatabase = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testDurabilityIsSerialized() {
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).durability(Durability.FSYNC_ON_COMMIT).build());
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      assertEquals(Durability.FSYNC_ON_COMMIT,
+          ResourceConfiguration.deserialize(manager.getResourcePath()).durability);
+      commitRevisions(manager);
+    }
+  }
+
+  @Test
+  public void testConcurrentGroupCommitsAreReadable() throws Exception {
+    final List<Callable<Void>> commits = new ArrayList<>();
+    for (int i = 0; i < RESOURCES; i++) {
+      final String resource = XmlTestHelper.RESOURCE + i;
+      mDatabase.createResource(
+          new ResourceConfiguration.Builder(resource).durability(Durability.GROUP_COMMIT).build());
+      commits.add(() -> {
+        try (final XmlResourceManager manager = mDatabase.openResourceManager(resource)) {
+          commitRevisions(manager);
+        }
+        return null;
+      });
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(RESOURCES);
+    try {
+      for (final Future<Void> commit : executor.invokeAll(commits)) {
+        commit.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    for (int i = 0; i < RESOURCES; i++) {
+      try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE + i);
+          final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+        assertEquals(REVISIONS, rtx.getRevisionNumber());
+      }
+    }
+  }
+
+  @Test
+  public void testGroupCommitKeepsAllWrites() throws Exception {
+    final GroupCommit groupCommit = new GroupCommit(TimeUnit.MILLISECONDS.toNanos(5));
+    final Path directory = Files.createTempDirectory("groupcommit");
+    final List<FileChannel> channels = new ArrayList<>();
+    final ExecutorService executor = Executors.newFixedThreadPool(RESOURCES);
+    try {
+      final List<Callable<Void>> forces = new ArrayList<>();
+      for (int i = 0; i < RESOURCES; i++) {
+        final FileChannel channel = FileChannel.open(directory.resolve("file" + i), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+        channels.add(channel);
+        forces.add(() -> {
+          for (int j = 0; j < REVISIONS; j++) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(j).flip());
+            groupCommit.force(channel);
+          }
+          return null;
+        });
+      }
+
+      for (final Future<Void> force : executor.invokeAll(forces)) {
+        force.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+      for (final FileChannel channel : channels) {
+        channel.close();
+      }
+    }
+
+    for (int i = 0; i < RESOURCES; i++) {
+      assertEquals(REVISIONS * Long.BYTES, Files.size(directory.resolve("file" + i)));
+    }
+  }
+
+  @Test
+  public void testNoneNeverForces() throws Exception {
+    final FileChannel channel = mock(FileChannel.class);
+    Durability.NONE.force(channel);
+    verify(channel, never()).force(false);
+    verify(channel, never()).force(true);
+  }
+
+  @Test
+  public void testFsyncOnCommitForcesEachChannel() throws Exception {
+    final FileChannel dataChannel = mock(FileChannel.class);
+    final FileChannel revisionsChannel = mock(FileChannel.class);
+    Durability.FSYNC_ON_COMMIT.force(dataChannel, revisionsChannel);
+    verify(dataChannel).force(false);
+    verify(revisionsChannel).force(false);
+  }
+
+  @Test
+  public void testGroupCommitForcesEachChannelOncePerBatch() throws Exception {
+    final GroupCommit groupCommit = new GroupCommit(TimeUnit.MILLISECONDS.toNanos(50));
+    final FileChannel channel = mock(FileChannel.class);
+    final ExecutorService executor = Executors.newFixedThreadPool(RESOURCES);
+    try {
+      final List<Callable<Void>> forces = new ArrayList<>();
+      for (int i = 0; i < RESOURCES; i++) {
+        forces.add(() -> {
+          groupCommit.force(channel);
+          return null;
+        });
+      }
+      for (final Future<Void> force : executor.invokeAll(forces)) {
+        force.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    // Every commit returns only after a force, but concurrent commits share it.
+    verify(channel, atLeast(1)).force(false);
+    verify(channel, atMost(RESOURCES)).force(false);
+    verify(channel, never()).force(true);
+  }
+
+  @Test
+  public void testConsecutiveFailedBatchesAreReported() throws Exception {
+    final GroupCommit groupCommit = new GroupCommit(TimeUnit.MICROSECONDS.toNanos(100));
+    final FileChannel channel = mock(FileChannel.class);
+    doThrow(new IOException("first")).doThrow(new IOException("second")).doNothing().when(channel).force(false);
+
+    for (final String message : new String[] {"first", "second"}) {
+      try {
+        groupCommit.force(channel);
+        fail();
+      } catch (final IOException e) {
+        assertEquals(message, e.getCause().getMessage());
+      }
+    }
+    groupCommit.force(channel);
+  }
+
+  @Test
+  public void testConcurrentFailedBatchesAreReportedToAllWaiters() throws Exception {
+    final GroupCommit groupCommit = new GroupCommit(TimeUnit.MICROSECONDS.toNanos(100));
+    final FileChannel channel = mock(FileChannel.class);
+    doThrow(new IOException()).when(channel).force(false);
+    final AtomicInteger failures = new AtomicInteger();
+    final ExecutorService executor = Executors.newFixedThreadPool(RESOURCES);
+    try {
+      final List<Callable<Void>> forces = new ArrayList<>();
+      for (int i = 0; i < RESOURCES; i++) {
+        forces.add(() -> {
+          for (int j = 0; j < REVISIONS; j++) {
+            try {
+              groupCommit.force(channel);
+            } catch (final IOException e) {
+              failures.incrementAndGet();
+            }
+          }
+          return null;
+        });
+      }
+      for (final Future<Void> force : executor.invokeAll(forces)) {
+        force.get();
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    // Every batch failed, thus no force may be reported as durable.
+    assertEquals(RESOURCES * REVISIONS, failures.get());
+  }
+
+  private static void commitRevisions(final XmlResourceManager manager) {
+    try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int revision = 1; revision <= REVISIONS; revision++) {
+        wtx.moveTo(1);
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.commit();
+      }
+    }
+  }
+}
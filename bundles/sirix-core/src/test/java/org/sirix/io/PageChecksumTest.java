@@ -0,0 +1,175 @@
+package org.sirix.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.PageReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.exception.SirixIOException;
+import org.sirix.io.file.FileStorage;
+import org.sirix.page.PageFragmentKey;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
+import org.sirix.settings.VersioningType;
+
+public final class PageChecksumTest {
+
+  /** Number of revisions to commit. */
+  private static final int REVISIONS = 5;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testVerifyOnRead() {
+    for (final PageChecksum checksum : PageChecksum.values()) {
+      for (final StorageType storageType : new StorageType[] {StorageType.FILE, StorageType.MEMORY_MAPPED}) {
+        final String resource = XmlTestHelper.RESOURCE + checksum + storageType;
+
+        try (final Database<XmlResourceManager> database =
+            Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+          database.createResource(new ResourceConfiguration.Builder(resource).storageType(storageType)
+                                                                             .pageChecksum(checksum)
+                                                                             .verifyChecksumsOnRead(true)
+                                                                             .build());
+
+          try (final XmlResourceManager manager = database.openResourceManager(resource);
+              final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+            wtx.insertElementAsFirstChild(new QNm("root"));
+            for (int revision = 1; revision <= REVISIONS; revision++) {
+              wtx.moveTo(1);
+              wtx.insertElementAsFirstChild(new QNm("foo"));
+              wtx.commit();
+            }
+          }
+        }
+
+        // Reopen the database, such that pages are read from the storage device.
+        try (final Database<XmlResourceManager> database =
+            Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+            final XmlResourceManager manager = database.openResourceManager(resource);
+            final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+          assertEquals(checksum, manager.getResourceConfig().pageChecksum);
+          assertEquals(REVISIONS, rtx.getRevisionNumber());
+          rtx.moveTo(1);
+          assertEquals(REVISIONS, rtx.getChildCount());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCorruptedPageFragment() throws IOException {
+    final Path dataFile;
+    final long fragmentKey;
+
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).storageType(StorageType.FILE)
+                                                                                       .versioningApproach(
+                                                                                           VersioningType.INCREMENTAL)
+                                                                                       .revisionsToRestore(REVISIONS)
+                                                                                       .pageChecksum(
+                                                                                           PageChecksum.XXHASH64)
+                                                                                       .verifyChecksumsOnRead(true)
+                                                                                       .build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int revision = 1; revision <= REVISIONS; revision++) {
+            wtx.moveTo(1);
+            wtx.insertElementAsFirstChild(new QNm("foo"));
+            wtx.commit();
+          }
+        }
+
+        try (final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+          final PageReference reference = pageRtx.getPageReferenceForPage(
+              pageRtx.getActualRevisionRootPage().getIndirectPageReference(), 0, -1, PageKind.RECORDPAGE);
+          final List<PageFragmentKey> pageFragmentKeys = reference.getPageFragmentKeys();
+          assertFalse(pageFragmentKeys.isEmpty());
+          fragmentKey = pageFragmentKeys.get(pageFragmentKeys.size() - 1).getKey();
+        }
+
+        dataFile = manager.getResourceConfig().resourcePath.resolve(ResourceConfiguration.ResourcePaths.DATA.getPath())
+                                                           .resolve(FileStorage.FILENAME);
+      }
+    }
+
+    // Flip the last byte of the oldest fragment, which is needed to reconstruct the record page.
+    try (final RandomAccessFile file = new RandomAccessFile(dataFile.toFile(), "rw")) {
+      file.seek(fragmentKey);
+      final long position = fragmentKey + Integer.BYTES + file.readInt() - 1;
+      file.seek(position);
+      final byte lastByte = file.readByte();
+      file.seek(position);
+      file.writeByte(~lastByte);
+    }
+
+    // Reopen the database, such that pages are read from the storage device.
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+        final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+      rtx.moveTo(1);
+      fail("The corrupted fragment has been read.");
+    } catch (final SirixIOException e) {
+      assertTrue(e.getMessage().contains("offset " + fragmentKey));
+    }
+  }
+
+  @Test
+  public void testChecksums() {
+    final ByteBuffer page = ByteBuffer.wrap("page".getBytes(StandardCharsets.UTF_8));
+
+    assertNull(PageChecksum.NONE.compute(page));
+    assertEquals(32, PageChecksum.SHA256.compute(page).length);
+    assertEquals(Integer.BYTES, PageChecksum.CRC32C.compute(page).length);
+    assertEquals(Long.BYTES, PageChecksum.XXHASH64.compute(page).length);
+    assertEquals(0, page.position());
+  }
+
+  @Test(expected = SirixIOException.class)
+  public void testCorruptedPage() {
+    final ByteBuffer page = ByteBuffer.wrap("page".getBytes(StandardCharsets.UTF_8));
+    final PageReference reference = new PageReference();
+    reference.setHash(PageChecksum.XXHASH64.compute(page));
+    assertNotNull(reference.getHash());
+
+    // Verification passes for the page the checksum has been computed for.
+    PageChecksum.XXHASH64.verify(reference, page);
+
+    page.put(0, (byte) 'P');
+    PageChecksum.XXHASH64.verify(reference, page);
+  }
+}
@@ -7,9 +7,13 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import org.sirix.XmlTestHelper;
 import org.sirix.exception.SirixIOException;
 import org.testng.annotations.DataProvider;
@@ -72,6 +76,44 @@ public final class ByteHandlerTest {
     }
   }
 
+  /**
+   * Test if pages are compressed with a trained dictionary and if the dictionary is found by a new
+   * compressor for the same resource.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  @Test
+  public void testZstdDictionary() throws IOException {
+    final Path resourcePath = Files.createTempDirectory("zstd");
+    final List<byte[]> samples = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      samples.add(("{\"id\":" + i + ",\"name\":\"name" + i % 17 + "\",\"tags\":[\"foo\",\"bar\"]}").getBytes(
+          StandardCharsets.UTF_8));
+    }
+
+    final ZstdCompressor trainingCompressor = new ZstdCompressor(resourcePath, ZstdCompressor.DEFAULT_LEVEL, samples);
+    trainingCompressor.storeDictionary();
+    assertTrue(Files.exists(resourcePath.resolve(ZstdCompressor.DICTIONARY_FILE)));
+
+    final byte[] page = "{\"id\":4711,\"name\":\"name3\",\"tags\":[\"foo\",\"bar\"]}".getBytes(StandardCharsets.UTF_8);
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (final OutputStream compressed = trainingCompressor.getInstance().serialize(output)) {
+      compressed.write(page);
+    }
+
+    final ByteArrayOutputStream withoutDictionary = new ByteArrayOutputStream();
+    try (final OutputStream compressed = new ZstdCompressor().serialize(withoutDictionary)) {
+      compressed.write(page);
+    }
+    assertTrue(output.size() < withoutDictionary.size());
+
+    try (final InputStream decompressed = new ZstdCompressor(resourcePath, ZstdCompressor.DEFAULT_LEVEL).deserialize(
+        new ByteArrayInputStream(output.toByteArray()))) {
+      assertTrue(Arrays.equals(page, ByteStreams.toByteArray(decompressed)));
+    }
+  }
+
   /**
    * Providing different implementations of the {@link ByteHandler} as Dataprovider to the test
    * class.
@@ -85,11 +127,12 @@ public final class ByteHandlerTest {
 
     Object[][] returnVal = {{ByteHandler.class,
         new ByteHandler[] {new Encryptor(encryptionKeyPath), new DeflateCompressor(),
-            new SnappyCompressor(),
+            new SnappyCompressor(), new Lz4Compressor(), new ZstdCompressor(),
             new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new DeflateCompressor()),
             new ByteHandlePipeline(new DeflateCompressor(), new Encryptor(encryptionKeyPath)),
             new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new SnappyCompressor()),
-            new ByteHandlePipeline(new SnappyCompressor(), new Encryptor(encryptionKeyPath))}}};
+            new ByteHandlePipeline(new SnappyCompressor(), new Encryptor(encryptionKeyPath)),
+            new ByteHandlePipeline(new Encryptor(encryptionKeyPath), new ZstdCompressor())}}};
     return returnVal;
   }
 
@@ -0,0 +1,118 @@
+package org.sirix.io.memorymapped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+import org.sirix.io.IOTestHelper;
+import org.sirix.io.PageChecksum;
+import org.sirix.io.StorageType;
+import org.sirix.io.bytepipe.ByteHandlePipeline;
+import org.sirix.io.bytepipe.SnappyCompressor;
+import org.sirix.page.PagePersister;
+import org.sirix.page.PageReference;
+import org.sirix.page.SerializationType;
+import org.sirix.page.UberPage;
+
+public final class MemoryMappedStorageTest {
+
+  /** Number of revisions to commit. */
+  private static final int REVISIONS = 5;
+
+  /** Node key of the root element. */
+  private static final long ROOT_ELEMENT_KEY = 1;
+
+  /** {@link Database} instance. */
+  private Database<XmlResourceManager> mDatabase;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+    mDatabase = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).storageType(StorageType.MEMORY_MAPPED).build());
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    mDatabase.close();
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testFirstRef() throws SirixException {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      IOTestHelper.testReadWriteFirstRef(manager.getResourceConfig());
+    }
+  }
+
+  @Test
+  public void testRemapOnCommit() throws SirixException {
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      commitRevisions(manager);
+
+      for (int revision = 1; revision <= REVISIONS; revision++) {
+        try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx(revision)) {
+          assertEquals(revision, rtx.getRevisionNumber());
+          int children = 0;
+          if (rtx.moveTo(ROOT_ELEMENT_KEY).hasMoved() && rtx.moveToFirstChild().hasMoved()) {
+            children++;
+            while (rtx.moveToRightSibling().hasMoved()) {
+              children++;
+            }
+          }
+          assertEquals(revision * 10, children);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testReadAcrossSegmentBoundaries() throws SirixException, IOException {
+    final Path dataPath;
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      commitRevisions(manager);
+      dataPath = manager.getResourcePath().resolve(ResourceConfiguration.ResourcePaths.DATA.getPath());
+    }
+
+    // Tiny segments, such that most pages span several mapped regions.
+    try (final MemoryMappedFileReader reader =
+        new MemoryMappedFileReader(FileChannel.open(dataPath.resolve("sirix.data"), StandardOpenOption.READ),
+            FileChannel.open(dataPath.resolve("sirix.revisions"), StandardOpenOption.READ),
+            new ByteHandlePipeline(new SnappyCompressor()), SerializationType.DATA, new PagePersister(), PageChecksum.NONE,
+            64)) {
+      final PageReference uberPageReference = reader.readUberPageReference();
+      assertEquals(REVISIONS, ((UberPage) uberPageReference.getPage()).getRevisionNumber());
+    }
+  }
+
+  private static void commitRevisions(final XmlResourceManager manager) {
+    try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int revision = 1; revision <= REVISIONS; revision++) {
+        for (int i = 0; i < 10; i++) {
+          wtx.moveTo(ROOT_ELEMENT_KEY);
+          wtx.insertElementAsFirstChild(new QNm("foo"));
+        }
+        wtx.commit();
+        assertTrue(manager.getMostRecentRevisionNumber() == revision);
+      }
+    }
+  }
+}
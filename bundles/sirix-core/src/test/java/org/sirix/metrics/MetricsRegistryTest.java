@@ -0,0 +1,97 @@
+package org.sirix.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.lang.management.ManagementFactory;
+import javax.management.ObjectName;
+import org.brackit.xquery.atomic.QNm;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.access.DatabaseConfiguration;
+import org.sirix.access.Databases;
+import org.sirix.access.ResourceConfiguration;
+import org.sirix.api.Database;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.api.xml.XmlNodeTrx;
+import org.sirix.api.xml.XmlResourceManager;
+import org.sirix.exception.SirixException;
+
+public final class MetricsRegistryTest {
+
+  /** Number of revisions to commit. */
+  private static final int REVISIONS = 3;
+
+  @Before
+  public void setUp() throws SirixException {
+    XmlTestHelper.deleteEverything();
+    Databases.createXmlDatabase(new DatabaseConfiguration(XmlTestHelper.PATHS.PATH1.getFile()));
+  }
+
+  @After
+  public void tearDown() throws SirixException {
+    XmlTestHelper.deleteEverything();
+  }
+
+  @Test
+  public void testHistogram() {
+    final Histogram histogram = new Histogram(1, 2, 4);
+    histogram.observe(0.5);
+    histogram.observe(2);
+    histogram.observe(3);
+    histogram.observe(10);
+
+    assertArrayEquals(new long[] {1, 2, 3, 4}, histogram.getCumulativeCounts());
+    assertEquals(4, histogram.getCount());
+    assertEquals(15.5, histogram.getSum(), 0);
+    assertEquals(3.875, histogram.getMean(), 0);
+  }
+
+  @Test
+  public void testResourceMetrics() throws Exception {
+    final ResourceMetrics metrics;
+
+    try (final Database<XmlResourceManager> database =
+        Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile())) {
+      database.createResource(new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).build());
+
+      try (final XmlResourceManager manager = database.openResourceManager(XmlTestHelper.RESOURCE)) {
+        metrics = MetricsRegistry.getInstance().getResourceMetrics(manager.getResourceConfig());
+
+        try (final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+          wtx.insertElementAsFirstChild(new QNm("root"));
+          for (int revision = 1; revision <= REVISIONS; revision++) {
+            wtx.moveTo(1);
+            wtx.insertElementAsFirstChild(new QNm("foo"));
+            wtx.commit();
+          }
+        }
+
+        for (int i = 0; i < 2; i++) {
+          try (final XmlNodeReadOnlyTrx rtx = manager.beginNodeReadOnlyTrx()) {
+            rtx.moveTo(1);
+            assertEquals(REVISIONS, rtx.getChildCount());
+          }
+        }
+      }
+    }
+
+    // The resource is bootstrapped with an additional commit.
+    assertEquals(REVISIONS + 1, metrics.getCommits());
+    assertEquals(REVISIONS + 1, metrics.getCommitPhaseDuration(ResourceMetrics.CommitPhase.WRITE_PAGES).getCount());
+    assertTrue(metrics.getPageReads() > 0);
+    assertTrue(metrics.getRecordPageCacheHits() > 0);
+    assertTrue(metrics.getFragments().getCount() > 0);
+    assertTrue(ManagementFactory.getPlatformMBeanServer()
+                                .isRegistered(new ObjectName("org.sirix:type=ResourceMetrics,database="
+                                    + ObjectName.quote(metrics.getDatabaseName()) + ",resource="
+                                    + ObjectName.quote(XmlTestHelper.RESOURCE))));
+
+    final String prometheusFormat = MetricsRegistry.getInstance().toPrometheusFormat();
+    assertTrue(prometheusFormat.contains("# TYPE sirix_page_read_seconds histogram"));
+    assertTrue(prometheusFormat.contains("sirix_commit_seconds_count{database=\"" + metrics.getDatabaseName()
+        + "\",resource=\"" + XmlTestHelper.RESOURCE + "\"} " + (REVISIONS + 1)));
+  }
+}
@@ -22,12 +22,16 @@
 package org.sirix.page;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Set;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -120,4 +124,103 @@ public final class NodePageTest {
     assertEquals(7, ((NameNode) page2.getValue(0l)).getLocalNameKey());
     assertEquals(NamePageHash.generateHashForString("xs:untyped"), element.getTypeKey());
   }
+
+  @Test
+  public void testReserializeUntouchedRecords() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    for (long key = 0; key < 3; key++) {
+      final NodeDelegate del = new NodeDelegate(key, 1, Hashing.sha256(), null, 0, null);
+      final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+      final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+      final ElementNode node = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
+          new ArrayList<>(), new QNm("a", "b", "c"));
+      node.setHash(node.computeHash());
+      page1.setEntry(node.getNodeKey(), node);
+    }
+
+    final PagePersister pagePersister = new PagePersister();
+    final UnorderedKeyValuePage page2 = serializeDeserialize(pagePersister, page1);
+    assertEquals(3, page2.size());
+
+    // Only touch a single record, the others are written from their slots.
+    assertEquals(1L, ((ElementNode) page2.getValue(1l)).getParentKey());
+    final UnorderedKeyValuePage page3 = serializeDeserialize(pagePersister, page2);
+    assertEquals(3, page3.size());
+    assertEquals(3, page3.values().size());
+    for (long key = 0; key < 3; key++) {
+      assertEquals(key, page3.getValue(key).getNodeKey());
+      assertEquals(12L, ((ElementNode) page3.getValue(key)).getFirstChildKey());
+    }
+  }
+
+  @Test
+  public void testReserializeRecordWithDeweyIDWhichBecameOverlong() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    for (long key = 1; key < 4; key++) {
+      page1.setEntry(key, createElement(key, SirixDeweyID.newRootID().getNewChildID((int) key * 2 + 1), 0));
+    }
+
+    final PagePersister pagePersister = new PagePersister();
+    final UnorderedKeyValuePage page2 = serializeDeserialize(pagePersister, page1);
+    assertEquals(3, page2.keySet().size());
+
+    // The record is stored in an overflow page afterwards, but its former dewey ID is still known.
+    page2.getValue(2L);
+    page2.setEntry(2L, createElement(2L, SirixDeweyID.newRootID().getNewChildID(5), 10_000));
+    final UnorderedKeyValuePage page3 = serializeDeserialize(pagePersister, page2);
+    assertEquals(2, page3.keySet().size());
+    assertNotNull(page3.getPageReference(2L));
+    for (final long key : new long[] {1L, 3L}) {
+      assertEquals(key, page3.getValue(key).getNodeKey());
+      assertEquals(12L, ((ElementNode) page3.getValue(key)).getFirstChildKey());
+    }
+  }
+
+  @Test
+  public void testKeySetIsSnapshot() {
+    final UnorderedKeyValuePage page =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    page.setEntry(1L, createElement(1L, null, 0));
+    final Set<Long> keys = page.keySet();
+    page.setEntry(2L, createElement(2L, null, 0));
+    assertEquals(1, keys.size());
+    assertEquals(2, page.keySet().size());
+  }
+
+  @Test
+  public void testContainsKey() throws IOException {
+    final UnorderedKeyValuePage page1 =
+        new UnorderedKeyValuePage(0L, PageKind.RECORDPAGE, Constants.NULL_ID_LONG, mPageReadTrx);
+    page1.setEntry(1L, createElement(1L, null, 0));
+    assertTrue(page1.containsKey(1L));
+    assertFalse(page1.containsKey(2L));
+
+    // Serialized records, which have not been deserialized yet, are contained as well.
+    final UnorderedKeyValuePage page2 = serializeDeserialize(new PagePersister(), page1);
+    assertTrue(page2.containsKey(1L));
+    assertFalse(page2.containsKey(2L));
+  }
+
+  private static ElementNode createElement(final long key, final SirixDeweyID deweyID, final int attributes) {
+    final NodeDelegate del = new NodeDelegate(key, 1, Hashing.sha256(), null, 0, deweyID);
+    final StructNodeDelegate strucDel = new StructNodeDelegate(del, 12l, 4l, 3l, 1l, 0l);
+    final NameNodeDelegate nameDel = new NameNodeDelegate(del, 5, 6, 7, 1);
+    final ElementNode node = new ElementNode(strucDel, nameDel, new ArrayList<>(), HashBiMap.create(),
+        new ArrayList<>(), new QNm("a", "b", "c"));
+    for (int i = 0; i < attributes; i++) {
+      node.insertAttribute(1_000L + i, i);
+    }
+    node.setHash(node.computeHash());
+    return node;
+  }
+
+  private UnorderedKeyValuePage serializeDeserialize(final PagePersister pagePersister,
+      final UnorderedKeyValuePage page) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    pagePersister.serializePage(new DataOutputStream(out), page, SerializationType.DATA);
+    return (UnorderedKeyValuePage) pagePersister.deserializePage(
+        new DataInputStream(new ByteArrayInputStream(out.toByteArray())), mPageReadTrx, SerializationType.DATA);
+  }
 }
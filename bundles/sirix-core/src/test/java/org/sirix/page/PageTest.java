@@ -15,6 +15,7 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 import org.sirix.Holder;
 import org.sirix.XmlTestHelper;
 import org.sirix.api.PageReadOnlyTrx;
@@ -97,7 +98,13 @@ public class PageTest {
   @DataProvider(name = "instantiatePages")
   public Object[][] instantiatePages() throws SirixIOException {
     // IndirectPage setup.
-    final IndirectPage indirectPage = new IndirectPage();
+    final IndirectPage indirectPage = new IndirectPage(mPageReadTrx.getResourceManager().getResourceConfig());
+    final IndirectPage indirectPageWithFragments =
+        new IndirectPage(mPageReadTrx.getResourceManager().getResourceConfig());
+    indirectPageWithFragments.getReference(3)
+                             .setKey(4096)
+                             .setPageFragmentKeys(List.of(new PageFragmentKey(2048L), new PageFragmentKey(1024L),
+                                 new PageFragmentKey(12L)));
     // RevisionRootPage setup.
     // final RevisionRootPage revRootPage = new RevisionRootPage();
 
@@ -119,7 +126,7 @@ public class PageTest {
     // PathSummaryPage setup.
     final PathSummaryPage pathSummaryPage = new PathSummaryPage();
 
-    Object[][] returnVal = {{Page.class, new Page[] {indirectPage, namePage, valuePage, pathSummaryPage}}};
+    Object[][] returnVal = {{Page.class, new Page[] {indirectPage, indirectPageWithFragments, namePage, valuePage, pathSummaryPage}}};
     return returnVal;
   }
 
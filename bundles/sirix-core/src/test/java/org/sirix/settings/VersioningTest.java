@@ -23,6 +23,9 @@ package org.sirix.settings;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import org.brackit.xquery.atomic.QNm;
 import org.junit.After;
 import org.junit.Before;
@@ -33,10 +36,16 @@ import org.sirix.access.Databases;
 import org.sirix.access.ResourceConfiguration;
 import org.sirix.access.trx.node.HashType;
 import org.sirix.api.Database;
+import org.sirix.api.PageReadOnlyTrx;
 import org.sirix.api.xml.XmlResourceManager;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.api.xml.XmlNodeTrx;
 import org.sirix.exception.SirixException;
+import org.sirix.metrics.MetricsRegistry;
+import org.sirix.metrics.ResourceMetrics;
+import org.sirix.node.xml.ElementNode;
+import org.sirix.page.PageKind;
+import org.sirix.page.PageReference;
 
 /** Test revisioning. */
 public class VersioningTest {
@@ -166,6 +175,95 @@ public class VersioningTest {
     test2();
   }
 
+  @Test
+  public void testFragmentKeysOfRecordPages() throws SirixException {
+    final int revisionsToRestore = 3;
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(VersioningType.INCREMENTAL)
+                                                                 .hashKind(HashType.NONE)
+                                                                 .revisionsToRestore(revisionsToRestore)
+                                                                 .build());
+    final int revisions = revisionsToRestore * 2;
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < revisions; i++) {
+        wtx.moveTo(1);
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.commit();
+      }
+    }
+
+    // Reopen the database, such that the record page isn't cached.
+    mDatabase.close();
+    mDatabase = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+      final ResourceMetrics metrics = MetricsRegistry.getInstance().getResourceMetrics(manager.getResourceConfig());
+      final long concurrentFragmentReads = metrics.getConcurrentFragmentReads();
+
+      final PageReference reference = pageRtx.getPageReferenceForPage(
+          pageRtx.getActualRevisionRootPage().getIndirectPageReference(), 0, -1, PageKind.RECORDPAGE);
+      assertEquals(revisionsToRestore - 1, reference.getPageFragmentKeys().size());
+
+      final ElementNode root = (ElementNode) pageRtx.getRecord(1, PageKind.RECORDPAGE, -1).get();
+      assertEquals(revisions, root.getChildCount());
+      assertTrue(metrics.getConcurrentFragmentReads() > concurrentFragmentReads);
+    }
+  }
+
+  @Test
+  public void testFragmentKeysOfRecordPagesInLegacyStorageFormat() throws SirixException, IOException {
+    final int revisionsToRestore = 3;
+    mDatabase.createResource(
+        new ResourceConfiguration.Builder(XmlTestHelper.RESOURCE).versioningApproach(VersioningType.INCREMENTAL)
+                                                                 .hashKind(HashType.NONE)
+                                                                 .revisionsToRestore(revisionsToRestore)
+                                                                 .build());
+
+    // Resources of storage format version 2 store no keys of previous fragments.
+    final Path configFile;
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE)) {
+      configFile = manager.getResourceConfig().getConfigFile();
+    }
+    mDatabase.close();
+    Files.writeString(configFile, Files.readString(configFile)
+                                       .replaceFirst("\"storageFormatVersion\":\\d+", "\"storageFormatVersion\":2"));
+    mDatabase = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+
+    final int revisions = revisionsToRestore * 2;
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final XmlNodeTrx wtx = manager.beginNodeTrx()) {
+      assertEquals(2, manager.getResourceConfig().storageFormatVersion);
+      wtx.insertElementAsFirstChild(new QNm("root"));
+      for (int i = 0; i < revisions; i++) {
+        wtx.moveTo(1);
+        wtx.insertElementAsFirstChild(new QNm("foo"));
+        wtx.commit();
+      }
+    }
+
+    // Reopen the database, such that the record page isn't cached.
+    mDatabase.close();
+    mDatabase = Databases.openXmlDatabase(XmlTestHelper.PATHS.PATH1.getFile());
+
+    try (final XmlResourceManager manager = mDatabase.openResourceManager(XmlTestHelper.RESOURCE);
+        final PageReadOnlyTrx pageRtx = manager.beginPageReadTrx()) {
+      final ResourceMetrics metrics = MetricsRegistry.getInstance().getResourceMetrics(manager.getResourceConfig());
+      final long concurrentFragmentReads = metrics.getConcurrentFragmentReads();
+
+      final PageReference reference = pageRtx.getPageReferenceForPage(
+          pageRtx.getActualRevisionRootPage().getIndirectPageReference(), 0, -1, PageKind.RECORDPAGE);
+      assertTrue(reference.getPageFragmentKeys().isEmpty());
+
+      // The fragments are read one after the other by following the chain of previous fragments.
+      final ElementNode root = (ElementNode) pageRtx.getRecord(1, PageKind.RECORDPAGE, -1).get();
+      assertEquals(revisions, root.getChildCount());
+      assertEquals(concurrentFragmentReads, metrics.getConcurrentFragmentReads());
+    }
+  }
+
   /**
    * Test revisioning.
    *
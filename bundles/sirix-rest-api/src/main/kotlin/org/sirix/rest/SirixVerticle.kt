@@ -27,6 +27,7 @@ import io.vertx.kotlin.ext.auth.oauth2.providers.KeycloakAuth
 import io.vertx.kotlin.ext.auth.oauth2.refreshAwait
 import kotlinx.coroutines.launch
 import org.apache.http.HttpStatus
+import org.sirix.metrics.MetricsRegistry
 import org.sirix.rest.crud.CreateMultipleResources
 import org.sirix.rest.crud.Delete
 import org.sirix.rest.crud.Get
@@ -162,6 +163,17 @@ class SirixVerticle : CoroutineVerticle() {
             rc.response().end()
         }
 
+        // Metrics of all resources in the Prometheus text format (database names must not start with an
+        // underscore, such that the path is never shadowed by "/:database").
+        get("/_metrics").coroutineHandler {
+            Auth(keycloak, AuthRole.VIEW).handle(it)
+            it.next()
+        }.handler { rc ->
+            rc.response()
+                .putHeader(HttpHeaders.CONTENT_TYPE, MetricsRegistry.PROMETHEUS_CONTENT_TYPE)
+                .end(MetricsRegistry.getInstance().toPrometheusFormat())
+        }
+
         // "/"
         post("/").coroutineHandler {
                     Auth(keycloak, AuthRole.VIEW).handle(it)
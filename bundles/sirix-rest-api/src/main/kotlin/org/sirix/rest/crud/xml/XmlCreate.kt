@@ -26,6 +26,12 @@ class XmlCreate(private val location: Path, private val createMultipleResources:
     suspend fun handle(ctx: RoutingContext): Route {
         val databaseName = ctx.pathParam("database")
 
+        // Names starting with an underscore are reserved for endpoints such as "/_metrics".
+        if (databaseName?.startsWith("_") == true) {
+            ctx.fail(IllegalArgumentException("Database names must not start with an underscore."))
+            return ctx.currentRoute()
+        }
+
         if (createMultipleResources) {
             createMultipleResources(databaseName, ctx)
             ctx.response().setStatusCode(201).end()
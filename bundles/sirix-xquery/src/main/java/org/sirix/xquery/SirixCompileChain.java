@@ -37,6 +37,9 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
   /** The JSON item store. */
   private final JsonDBStore mJsonItemStore;
 
+  /** Determines if path expressions with value predicates are rewritten into index scans. */
+  private final boolean mIndexMatching;
+
   public static final SirixCompileChain create() {
     return new SirixCompileChain(null, null);
   }
@@ -61,6 +64,19 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
    * @param jsonItemStore the json item store.
    */
   public SirixCompileChain(final XmlDBStore nodeStore, final JsonDBStore jsonItemStore) {
+    this(nodeStore, jsonItemStore, SirixOptimizer.INDEX_MATCHING);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param nodeStore the Sirix {@link BasicXmlDBStore}
+   * @param jsonItemStore the json item store.
+   * @param indexMatching determines if path expressions with value predicates on stored documents
+   *        are rewritten into scans of matching indexes
+   */
+  public SirixCompileChain(final XmlDBStore nodeStore, final JsonDBStore jsonItemStore, final boolean indexMatching) {
+    mIndexMatching = indexMatching;
     mNodeStore = nodeStore == null
         ? BasicXmlDBStore.newBuilder().build()
         : nodeStore;
@@ -76,10 +92,10 @@ public final class SirixCompileChain extends CompileChain implements AutoCloseab
 
   @Override
   protected Optimizer getOptimizer(Map<QNm, Str> options) {
-    if (!OPTIMIZE) {
+    if (!OPTIMIZE && !mIndexMatching) {
       return super.getOptimizer(options);
     }
-    return new SirixOptimizer(options, mNodeStore, mJsonItemStore);
+    return new SirixOptimizer(options, mNodeStore, mJsonItemStore, mIndexMatching);
   }
 
   @Override
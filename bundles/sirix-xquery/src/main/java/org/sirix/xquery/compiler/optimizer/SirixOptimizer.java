@@ -8,12 +8,32 @@ import org.brackit.xquery.compiler.AST;
 import org.brackit.xquery.compiler.optimizer.Stage;
 import org.brackit.xquery.compiler.optimizer.TopDownOptimizer;
 import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.util.Cfg;
+import org.sirix.xquery.compiler.optimizer.walker.JsonCASIndexMatching;
+import org.sirix.xquery.compiler.optimizer.walker.XmlCASIndexMatching;
 import org.sirix.xquery.json.JsonDBStore;
 import org.sirix.xquery.node.XmlDBStore;
 
 public final class SirixOptimizer extends TopDownOptimizer {
 
+  /** Rewrite path expressions with value predicates into index scans or not. */
+  public static final boolean INDEX_MATCHING = Cfg.asBool("org.sirix.xquery.optimize.index", false);
+
   public SirixOptimizer(final Map<QNm, Str> options, final XmlDBStore nodeStore, final JsonDBStore jsonItemStore) {
+    this(options, nodeStore, jsonItemStore, INDEX_MATCHING);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param options the compile options
+   * @param nodeStore the XML node store
+   * @param jsonItemStore the JSON item store
+   * @param indexMatching determines if path expressions with value predicates are rewritten into
+   *        index scans
+   */
+  public SirixOptimizer(final Map<QNm, Str> options, final XmlDBStore nodeStore, final JsonDBStore jsonItemStore,
+      final boolean indexMatching) {
     super(options);
     // perform index matching as last step
     // getStages().add(new Stage() {
@@ -24,20 +44,33 @@ public final class SirixOptimizer extends TopDownOptimizer {
     // }
     //
     // });
-    getStages().add(new IndexMatching(nodeStore));
+    if (indexMatching) {
+      getStages().add(new IndexMatching(nodeStore, jsonItemStore));
+    }
   }
 
+  /**
+   * Rewrites path expressions with value predicates on stored documents into scans of matching
+   * indexes of the opened resource revisions.
+   */
   private static class IndexMatching implements Stage {
-    // private final DBStore mStore;
+    private final XmlDBStore mNodeStore;
+
+    private final JsonDBStore mJsonItemStore;
 
-    public IndexMatching(final XmlDBStore store) {
-      // mStore = store;
+    public IndexMatching(final XmlDBStore nodeStore, final JsonDBStore jsonItemStore) {
+      mNodeStore = nodeStore;
+      mJsonItemStore = jsonItemStore;
     }
 
     @Override
     public AST rewrite(StaticContext sctx, AST ast) throws QueryException {
-      // TODO add rules for index resolution here
-      ast.display();
+      if (mNodeStore != null) {
+        ast = new XmlCASIndexMatching(sctx, mNodeStore).walk(ast);
+      }
+      if (mJsonItemStore != null) {
+        ast = new JsonCASIndexMatching(sctx, mJsonItemStore).walk(ast);
+      }
       return ast;
     }
   }
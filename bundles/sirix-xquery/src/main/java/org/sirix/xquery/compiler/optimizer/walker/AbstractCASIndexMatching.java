@@ -0,0 +1,295 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.Bool;
+import org.brackit.xquery.atomic.Int32;
+import org.brackit.xquery.atomic.Numeric;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.atomic.Str;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.compiler.optimizer.walker.Walker;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.util.path.PathException;
+import org.brackit.xquery.xdm.Type;
+import org.sirix.index.IndexDef;
+import org.sirix.index.Indexes;
+import org.sirix.xquery.function.sdb.index.SortByDocOrder;
+
+/**
+ * Base class of the walkers, which rewrite path expressions with a value predicate into scans of a
+ * matching CAS index of the opened resource revision. As the index delivers the nodes in key order,
+ * the scan is wrapped into a sort by document order.
+ */
+public abstract class AbstractCASIndexMatching extends Walker {
+
+  /** Search mode for keys less than the node values (see the scan functions). */
+  private static final int NODES_GREATER = -2;
+
+  /** Search mode for keys less than or equal to the node values. */
+  private static final int NODES_GREATER_OR_EQUAL = -1;
+
+  /** Search mode for keys equal to the node values. */
+  private static final int NODES_EQUAL = 0;
+
+  /** Search mode for keys greater than the node values. */
+  private static final int NODES_LESS = 1;
+
+  /** Search mode for keys greater than or equal to the node values. */
+  private static final int NODES_LESS_OR_EQUAL = 2;
+
+  /**
+   * Constructor.
+   *
+   * @param sctx the static context
+   */
+  protected AbstractCASIndexMatching(final StaticContext sctx) {
+    super(sctx);
+  }
+
+  /**
+   * The comparison of the context item with a string literal, which is evaluated by an index scan.
+   */
+  protected static final class ValuePredicate {
+    /** The key to search for. */
+    private final Str mKey;
+
+    /** The search mode of the scan functions. */
+    private final int mSearchMode;
+
+    private ValuePredicate(final Str key, final int searchMode) {
+      mKey = key;
+      mSearchMode = searchMode;
+    }
+  }
+
+  /**
+   * Get the document function call, which is either the given expression or the expression bound
+   * to the given variable by a let-clause. The collection and resource names must be string
+   * literals and the optional revision an integer literal.
+   *
+   * @param expr the input expression of a path
+   * @param docFunction the name of the document function
+   * @return the document function call or {@code null}, if the expression is no such call
+   */
+  protected static @Nullable AST getDocumentCall(final AST expr, final QNm docFunction) {
+    final AST call = expr.getType() == XQ.VariableRef
+        ? getLetBinding(expr)
+        : expr;
+
+    if (call == null || call.getType() != XQ.FunctionCall || !docFunction.equals(call.getValue())
+        || call.getChildCount() < 2 || call.getChildCount() > 3) {
+      return null;
+    }
+    if (call.getChild(0).getType() != XQ.Str || call.getChild(1).getType() != XQ.Str) {
+      return null;
+    }
+    if (call.getChildCount() == 3
+        && (call.getChild(2).getType() != XQ.Int || !(call.getChild(2).getValue() instanceof Numeric))) {
+      return null;
+    }
+    return call;
+  }
+
+  /**
+   * Get the collection name of a document function call.
+   *
+   * @param docCall the document function call
+   * @return the collection name
+   */
+  protected static String getCollectionName(final AST docCall) {
+    return docCall.getChild(0).getStringValue();
+  }
+
+  /**
+   * Get the resource name of a document function call.
+   *
+   * @param docCall the document function call
+   * @return the resource name
+   */
+  protected static String getResourceName(final AST docCall) {
+    return docCall.getChild(1).getStringValue();
+  }
+
+  /**
+   * Get the revision of a document function call.
+   *
+   * @param docCall the document function call
+   * @return the revision or {@code -1} for the most recent revision
+   */
+  protected static int getRevision(final AST docCall) {
+    return docCall.getChildCount() == 3
+        ? ((Numeric) docCall.getChild(2).getValue()).intValue()
+        : -1;
+  }
+
+  private static @Nullable AST getLetBinding(final AST variableRef) {
+    AST root = variableRef;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return findLetBinding(root, variableRef.getValue());
+  }
+
+  private static @Nullable AST findLetBinding(final AST node, final Object variable) {
+    if (node.getType() == XQ.LetClause && node.getChildCount() == 2
+        && node.getChild(0).getType() == XQ.TypedVariableBinding
+        && variable.equals(node.getChild(0).getChild(0).getValue())) {
+      return node.getChild(1);
+    }
+    for (int i = 0; i < node.getChildCount(); i++) {
+      final AST binding = findLetBinding(node.getChild(i), variable);
+      if (binding != null) {
+        return binding;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Get the value comparison of a predicate, that is a comparison of the context item with a string
+   * literal.
+   *
+   * @param predicate the predicate
+   * @return the value comparison or {@code null}, if the predicate is no such comparison
+   */
+  protected static @Nullable ValuePredicate getValuePredicate(final AST predicate) {
+    final AST expr = predicate.getType() == XQ.Predicate
+        ? predicate.getChild(0)
+        : predicate;
+    if (expr.getType() != XQ.ComparisonExpr || expr.getChildCount() != 3) {
+      return null;
+    }
+
+    final AST left = expr.getChild(1);
+    final AST right = expr.getChild(2);
+    final boolean contextItemLeft;
+    if (left.getType() == XQ.ContextItemExpr && right.getType() == XQ.Str) {
+      contextItemLeft = true;
+    } else if (left.getType() == XQ.Str && right.getType() == XQ.ContextItemExpr) {
+      contextItemLeft = false;
+    } else {
+      return null;
+    }
+
+    final Integer searchMode = getSearchMode(expr.getChild(0).getType(), contextItemLeft);
+    if (searchMode == null) {
+      return null;
+    }
+    final AST literal = contextItemLeft
+        ? right
+        : left;
+    return new ValuePredicate(new Str(literal.getStringValue()), searchMode);
+  }
+
+  private static @Nullable Integer getSearchMode(final int comparison, final boolean contextItemLeft) {
+    switch (comparison) {
+      case XQ.ValueCompEQ:
+      case XQ.GeneralCompEQ:
+        return NODES_EQUAL;
+      case XQ.ValueCompGT:
+      case XQ.GeneralCompGT:
+        return contextItemLeft
+            ? NODES_GREATER
+            : NODES_LESS;
+      case XQ.ValueCompGE:
+      case XQ.GeneralCompGE:
+        return contextItemLeft
+            ? NODES_GREATER_OR_EQUAL
+            : NODES_LESS_OR_EQUAL;
+      case XQ.ValueCompLT:
+      case XQ.GeneralCompLT:
+        return contextItemLeft
+            ? NODES_LESS
+            : NODES_GREATER;
+      case XQ.ValueCompLE:
+      case XQ.GeneralCompLE:
+        return contextItemLeft
+            ? NODES_LESS_OR_EQUAL
+            : NODES_GREATER_OR_EQUAL;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Find a CAS index on string values, which indexes all nodes of the given path. Only indexes
+   * without a path restriction or with an indexed path, which matches the path, are used. If the
+   * path itself contains descendant steps, the indexed path must be the same.
+   *
+   * @param indexes the indexes of the resource revision
+   * @param path the path of the compared nodes
+   * @param hasDescendantSteps determines if the path contains descendant steps
+   * @return the index definition or {@code null}, if no index matches
+   */
+  protected static @Nullable IndexDef findCASIndex(final Indexes indexes, final Path<QNm> path,
+      final boolean hasDescendantSteps) {
+    for (final IndexDef indexDef : indexes.getIndexDefs()) {
+      if (!indexDef.isCasIndex() || indexDef.getContentType() != Type.STR) {
+        continue;
+      }
+      if (indexDef.getPaths().isEmpty()) {
+        return indexDef;
+      }
+      for (final Path<QNm> indexedPath : indexDef.getPaths()) {
+        if (indexedPath.toString().equals(path.toString())) {
+          return indexDef;
+        }
+        try {
+          if (!hasDescendantSteps && indexedPath.matches(path)) {
+            return indexDef;
+          }
+        } catch (final PathException e) {
+          // Not matching.
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Build the scan of a CAS index sorted by document order.
+   *
+   * @param scanFunction the name of the scan function
+   * @param document the document expression, which is copied
+   * @param indexDef the index definition
+   * @param predicate the value comparison
+   * @param path the path of the compared nodes
+   * @return the expression
+   */
+  protected static AST buildSortedIndexScan(final QNm scanFunction, final AST document, final IndexDef indexDef,
+      final ValuePredicate predicate, final Path<QNm> path) {
+    final AST scan = new AST(XQ.FunctionCall, scanFunction);
+    scan.addChild(document.copyTree());
+    scan.addChild(new AST(XQ.Int, new Int32(indexDef.getID())));
+    scan.addChild(new AST(XQ.Str, predicate.mKey));
+    scan.addChild(new AST(XQ.Bool, Bool.TRUE));
+    scan.addChild(new AST(XQ.Int, new Int32(predicate.mSearchMode)));
+    scan.addChild(new AST(XQ.Str, new Str(path.toString())));
+
+    final AST sort = new AST(XQ.FunctionCall, SortByDocOrder.SORT);
+    sort.addChild(scan);
+    return sort;
+  }
+
+  /**
+   * Replace an expression by its rewritten expression.
+   *
+   * @param node the expression
+   * @param rewritten the rewritten expression
+   * @return the rewritten expression
+   */
+  protected final AST replace(final AST node, final AST rewritten) {
+    final AST parent = node.getParent();
+    for (int i = 0; i < parent.getChildCount(); i++) {
+      if (parent.getChild(i) == node) {
+        parent.deleteChild(i);
+        parent.insertChild(i, rewritten);
+        break;
+      }
+    }
+    snapshot();
+    return rewritten;
+  }
+}
@@ -0,0 +1,110 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.xdm.DocumentException;
+import org.sirix.api.json.JsonNodeReadOnlyTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.IndexDef;
+import org.sirix.index.Indexes;
+import org.sirix.xquery.function.jn.index.scan.ScanCASIndex;
+import org.sirix.xquery.function.jn.io.Doc;
+import org.sirix.xquery.json.JsonDBStore;
+
+/**
+ * Rewrites filters of object fields and array values of a stored JSON document by a value
+ * comparison, for instance <code>jn:doc('coll', 'res')=>foo[[]]=>bar[. eq 'x']</code>, into a scan
+ * of a matching CAS index of the resource revision sorted by document order.
+ */
+public final class JsonCASIndexMatching extends AbstractCASIndexMatching {
+
+  /** The name of the path nodes of arrays in the path summary. */
+  private static final QNm ARRAY = new QNm("array");
+
+  /** The store of the JSON collections. */
+  private final JsonDBStore mStore;
+
+  /**
+   * Constructor.
+   *
+   * @param sctx the static context
+   * @param store the store of the JSON collections
+   */
+  public JsonCASIndexMatching(final StaticContext sctx, final JsonDBStore store) {
+    super(sctx);
+    mStore = checkNotNull(store);
+  }
+
+  @Override
+  protected AST visit(final AST node) {
+    if (node.getType() != XQ.FilterExpr || node.getChildCount() != 2) {
+      return node;
+    }
+    final ValuePredicate predicate = getValuePredicate(node.getChild(1));
+    if (predicate == null) {
+      return node;
+    }
+
+    // Object field lookups and array unboxings from the last to the first one.
+    final Deque<QNm> steps = new ArrayDeque<>();
+    AST expr = node.getChild(0);
+    while (true) {
+      if (expr.getType() == XQ.DerefExpr && expr.getChildCount() == 2 && expr.getChild(1).getType() == XQ.Str) {
+        steps.push(new QNm(expr.getChild(1).getStringValue()));
+        expr = expr.getChild(0);
+      } else if (expr.getType() == XQ.ArrayAccess && expr.getChildCount() == 1) {
+        steps.push(ARRAY);
+        expr = expr.getChild(0);
+      } else {
+        break;
+      }
+    }
+    if (steps.isEmpty()) {
+      return node;
+    }
+
+    final AST docCall = getDocumentCall(expr, Doc.DOC);
+    if (docCall == null) {
+      return node;
+    }
+
+    final Path<QNm> path = new Path<>();
+    for (final QNm step : steps) {
+      path.child(step);
+    }
+
+    final Indexes indexes = getIndexes(docCall);
+    if (indexes == null) {
+      return node;
+    }
+    final IndexDef indexDef = findCASIndex(indexes, path, false);
+    if (indexDef == null) {
+      return node;
+    }
+
+    return replace(node, buildSortedIndexScan(ScanCASIndex.DEFAULT_NAME, expr, indexDef, predicate, path));
+  }
+
+  private @Nullable Indexes getIndexes(final AST docCall) {
+    try {
+      final JsonNodeReadOnlyTrx rtx = mStore.lookup(getCollectionName(docCall))
+                                            .getDocument(getResourceName(docCall), getRevision(docCall))
+                                            .getTrx();
+      try {
+        return rtx.getResourceManager().getRtxIndexController(rtx.getRevisionNumber()).getIndexes();
+      } finally {
+        rtx.close();
+      }
+    } catch (final DocumentException | SirixException e) {
+      // The document is resolved again at runtime, which reports the error.
+      return null;
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import javax.annotation.Nullable;
+import org.brackit.xquery.atomic.QNm;
+import org.brackit.xquery.compiler.AST;
+import org.brackit.xquery.compiler.XQ;
+import org.brackit.xquery.module.StaticContext;
+import org.brackit.xquery.util.path.Path;
+import org.brackit.xquery.xdm.DocumentException;
+import org.sirix.api.xml.XmlNodeReadOnlyTrx;
+import org.sirix.exception.SirixException;
+import org.sirix.index.IndexDef;
+import org.sirix.index.Indexes;
+import org.sirix.xquery.function.sdb.index.scan.ScanCASIndex;
+import org.sirix.xquery.function.sdb.io.Doc;
+import org.sirix.xquery.node.XmlDBStore;
+
+/**
+ * Rewrites path expressions on a stored XML document, which select attributes by a value
+ * comparison, for instance <code>sdb:doc('coll', 'res')//bla/@foobar[. eq 'x']</code>, into a scan
+ * of a matching CAS index of the resource revision sorted by document order.
+ */
+public final class XmlCASIndexMatching extends AbstractCASIndexMatching {
+
+  /** The store of the XML collections. */
+  private final XmlDBStore mStore;
+
+  /**
+   * Constructor.
+   *
+   * @param sctx the static context
+   * @param store the store of the XML collections
+   */
+  public XmlCASIndexMatching(final StaticContext sctx, final XmlDBStore store) {
+    super(sctx);
+    mStore = checkNotNull(store);
+  }
+
+  @Override
+  protected AST visit(final AST node) {
+    if (node.getType() != XQ.PathExpr || node.getChildCount() < 2) {
+      return node;
+    }
+
+    final AST document = node.getChild(0);
+    final AST docCall = getDocumentCall(document, Doc.DOC);
+    if (docCall == null) {
+      return node;
+    }
+
+    final Path<QNm> path = new Path<>();
+    boolean descendant = false;
+    boolean hasDescendantSteps = false;
+    final int lastStep = node.getChildCount() - 1;
+    for (int i = 1; i < lastStep; i++) {
+      final AST step = node.getChild(i);
+      if (step.getType() != XQ.StepExpr || step.getChildCount() != 2) {
+        return node;
+      }
+      final int axis = getAxis(step);
+      final AST test = step.getChild(1);
+      if (axis == XQ.DESCENDANT_OR_SELF && test.getType() != XQ.NameTest && !descendant) {
+        // The abbreviated descendant-or-self::node() step of "//".
+        descendant = true;
+        hasDescendantSteps = true;
+        continue;
+      }
+      final QNm name = getName(test);
+      if (name == null) {
+        return node;
+      }
+      if (axis == XQ.CHILD) {
+        if (descendant) {
+          path.descendant(name);
+        } else {
+          path.child(name);
+        }
+      } else if (axis == XQ.DESCENDANT && !descendant) {
+        path.descendant(name);
+        hasDescendantSteps = true;
+      } else {
+        return node;
+      }
+      descendant = false;
+    }
+
+    // The last step selects the attributes, which are compared.
+    final AST step = node.getChild(lastStep);
+    if (descendant || step.getType() != XQ.StepExpr || step.getChildCount() != 3
+        || getAxis(step) != XQ.ATTRIBUTE) {
+      return node;
+    }
+    final QNm name = getName(step.getChild(1));
+    final ValuePredicate predicate = getValuePredicate(step.getChild(2));
+    if (name == null || predicate == null) {
+      return node;
+    }
+    path.attribute(name);
+
+    final Indexes indexes = getIndexes(docCall);
+    if (indexes == null) {
+      return node;
+    }
+    final IndexDef indexDef = findCASIndex(indexes, path, hasDescendantSteps);
+    if (indexDef == null) {
+      return node;
+    }
+
+    return replace(node, buildSortedIndexScan(ScanCASIndex.DEFAULT_NAME, document, indexDef, predicate, path));
+  }
+
+  private static int getAxis(final AST step) {
+    return step.getChild(0).getChild(0).getType();
+  }
+
+  private static @Nullable QNm getName(final AST test) {
+    if (test.getType() != XQ.NameTest || !(test.getValue() instanceof QNm)) {
+      return null;
+    }
+    final QNm name = (QNm) test.getValue();
+    return "*".equals(name.getLocalName())
+        ? null
+        : name;
+  }
+
+  private @Nullable Indexes getIndexes(final AST docCall) {
+    try {
+      final XmlNodeReadOnlyTrx rtx = mStore.lookup(getCollectionName(docCall))
+                                           .getDocument(getResourceName(docCall), getRevision(docCall))
+                                           .getTrx();
+      try {
+        return rtx.getResourceManager().getRtxIndexController(rtx.getRevisionNumber()).getIndexes();
+      } finally {
+        rtx.close();
+      }
+    } catch (final DocumentException | SirixException e) {
+      // The document is resolved again at runtime, which reports the error.
+      return null;
+    }
+  }
+}
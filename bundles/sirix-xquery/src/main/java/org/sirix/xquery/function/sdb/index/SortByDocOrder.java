@@ -1,6 +1,12 @@
 package org.sirix.xquery.function.sdb.index;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.brackit.xquery.QueryContext;
 import org.brackit.xquery.Tuple;
 import org.brackit.xquery.atomic.QNm;
@@ -10,17 +16,21 @@ import org.brackit.xquery.sequence.SortedNodeSequence;
 import org.brackit.xquery.xdm.Sequence;
 import org.brackit.xquery.xdm.Signature;
 import org.brackit.xquery.xdm.node.Node;
+import org.sirix.api.NodeCursor;
+import org.sirix.api.NodeReadOnlyTrx;
+import org.sirix.xquery.StructuredDBItem;
 import org.sirix.xquery.function.sdb.SDBFun;
 
 /**
  * <p>
  * Function for sorting a sequence. This function returns the given sequence in sorted order
- * regarding the document order.
+ * regarding the document order. Besides nodes, the items of a JSON resource are sorted, for
+ * instance the result of an index scan.
  *
  * The signature is:
  * </p>
  * <ul>
- * <li><code>sdb:sort($sequence as node()*) as node()*</code></li>
+ * <li><code>sdb:sort($sequence as item()*) as item()*</code></li>
  * </ul>
  *
  * @author Johannes Lichtenberger
@@ -43,8 +53,95 @@ public final class SortByDocOrder extends AbstractFunction {
 
   @Override
   public Sequence execute(StaticContext sctx, QueryContext ctx, Sequence[] args) {
-    final Comparator<Tuple> comparator = (o1, o2) -> ((Node<?>) o1).cmp((Node<?>) o2);
+    final DocumentOrder documentOrder = new DocumentOrder();
+    final Comparator<Tuple> comparator = (o1, o2) -> {
+      if (o1 instanceof Node && o2 instanceof Node) {
+        return ((Node<?>) o1).cmp((Node<?>) o2);
+      }
+      return documentOrder.compare((StructuredDBItem<?>) o1, (StructuredDBItem<?>) o2);
+    };
 
     return new SortedNodeSequence(comparator, args[0], true);
   }
+
+  /**
+   * Compares items of the same resource regarding the document order. The node keys of JSON items
+   * do not reflect the document order after updates, thus the positions of the ancestors-or-self of
+   * an item among their siblings are compared. The children of a node are traversed only once per
+   * sort, when the position of one of them is needed for the first time.
+   */
+  private static final class DocumentOrder {
+    /** The positions of the ancestors-or-self of the items among their siblings by the node keys. */
+    private final Map<Long, int[]> mPaths = new HashMap<>();
+
+    /** The positions of the nodes among their siblings by the node keys. */
+    private final Map<Long, Integer> mPositions = new HashMap<>();
+
+    /**
+     * Compare two items of the same resource regarding the document order.
+     *
+     * @param first the first item
+     * @param second the second item
+     * @return a negative integer, zero, or a positive integer as the first item precedes, is the
+     *         same as, or follows the second item
+     */
+    <R extends NodeReadOnlyTrx & NodeCursor> int compare(final StructuredDBItem<R> first,
+        final StructuredDBItem<?> second) {
+      final long firstKey = first.getNodeKey();
+      final long secondKey = second.getNodeKey();
+      if (firstKey == secondKey) {
+        return 0;
+      }
+
+      final R rtx = first.getTrx();
+      final int[] firstPath = getPath(rtx, firstKey);
+      final int[] secondPath = getPath(rtx, secondKey);
+
+      // An ancestor precedes its descendants.
+      return Arrays.compare(firstPath, secondPath);
+    }
+
+    private <R extends NodeReadOnlyTrx & NodeCursor> int[] getPath(final R rtx, final long nodeKey) {
+      final int[] cachedPath = mPaths.get(nodeKey);
+      if (cachedPath != null) {
+        return cachedPath;
+      }
+
+      final List<Integer> positions = new ArrayList<>();
+      rtx.moveTo(nodeKey);
+      while (rtx.hasParent()) {
+        final long key = rtx.getNodeKey();
+        rtx.moveToParent();
+        positions.add(getPosition(rtx, key));
+      }
+      Collections.reverse(positions);
+
+      final int[] path = positions.stream().mapToInt(Integer::intValue).toArray();
+      mPaths.put(nodeKey, path);
+      return path;
+    }
+
+    /**
+     * Get the position of a node among its siblings. If it isn't known yet, the positions of all
+     * children of the parent node are determined.
+     *
+     * @param rtx the transaction, which is located at the parent node and is moved back to it
+     * @param nodeKey the node key of the child node
+     * @return the position of the child node
+     */
+    private <R extends NodeReadOnlyTrx & NodeCursor> int getPosition(final R rtx, final long nodeKey) {
+      final Integer position = mPositions.get(nodeKey);
+      if (position != null) {
+        return position;
+      }
+
+      final long parentKey = rtx.getNodeKey();
+      int childPosition = 0;
+      for (boolean moved = rtx.moveToFirstChild().hasMoved(); moved; moved = rtx.moveToRightSibling().hasMoved()) {
+        mPositions.put(rtx.getNodeKey(), childPosition++);
+      }
+      rtx.moveTo(parentKey);
+      return mPositions.get(nodeKey);
+    }
+  }
 }
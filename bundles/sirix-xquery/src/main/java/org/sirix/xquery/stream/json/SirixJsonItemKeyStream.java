@@ -2,39 +2,60 @@ package org.sirix.xquery.stream.json;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+import org.brackit.xquery.xdm.Item;
 import org.brackit.xquery.xdm.Stream;
 import org.sirix.api.json.JsonNodeReadOnlyTrx;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
+import org.sirix.node.NodeKind;
 import org.sirix.xquery.json.JsonDBCollection;
-import org.sirix.xquery.json.JsonDBObject;
+import org.sirix.xquery.json.JsonUtil;
 
-public final class SirixJsonItemKeyStream implements Stream<JsonDBObject> {
+/**
+ * Stream of the items referenced by index entries. Object keys (from path and name indexes) yield
+ * their values, value nodes (from CAS indexes) yield the atomic items and {@code null} values are
+ * skipped.
+ */
+public final class SirixJsonItemKeyStream implements Stream<Item> {
 
   private final Iterator<NodeReferences> mIter;
 
+  private PrimitiveIterator.OfLong mNodeKeys;
+
   private final JsonDBCollection mCollection;
 
   private final JsonNodeReadOnlyTrx mRtx;
 
+  private final JsonUtil mJsonUtil;
+
   public SirixJsonItemKeyStream(final Iterator<NodeReferences> iter, final JsonDBCollection collection,
       final JsonNodeReadOnlyTrx rtx) {
     mIter = checkNotNull(iter);
     mCollection = checkNotNull(collection);
     mRtx = checkNotNull(rtx);
+    mNodeKeys = LongStream.empty().iterator();
+    mJsonUtil = new JsonUtil();
   }
 
   @Override
-  public JsonDBObject next() {
-    while (mIter.hasNext()) {
-      final NodeReferences nodeReferences = mIter.next();
-      final Set<Long> nodeKeys = nodeReferences.getNodeKeys();
-      for (final long nodeKey : nodeKeys) {
-        mRtx.moveTo(nodeKey);
-        return new JsonDBObject(mRtx, mCollection);
+  public Item next() {
+    while (true) {
+      while (!mNodeKeys.hasNext()) {
+        if (!mIter.hasNext()) {
+          return null;
+        }
+        mNodeKeys = mIter.next().nodeKeyIterator();
+      }
+      mRtx.moveTo(mNodeKeys.nextLong());
+      if (mRtx.getKind() == NodeKind.OBJECT_KEY) {
+        mRtx.moveToFirstChild();
+      }
+      final Item item = (Item) mJsonUtil.getSequence(mRtx, mCollection);
+      if (item != null) {
+        return item;
       }
     }
-    return null;
   }
 
   @Override
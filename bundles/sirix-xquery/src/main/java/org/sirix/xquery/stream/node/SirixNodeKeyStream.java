@@ -2,7 +2,8 @@ package org.sirix.xquery.stream.node;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
 import org.brackit.xquery.xdm.Stream;
 import org.sirix.api.xml.XmlNodeReadOnlyTrx;
 import org.sirix.index.avltree.keyvalue.NodeReferences;
@@ -13,6 +14,8 @@ public final class SirixNodeKeyStream implements Stream<XmlDBNode> {
 
   private final Iterator<NodeReferences> mIter;
 
+  private PrimitiveIterator.OfLong mNodeKeys;
+
   private final XmlDBCollection mCollection;
 
   private final XmlNodeReadOnlyTrx mRtx;
@@ -22,19 +25,19 @@ public final class SirixNodeKeyStream implements Stream<XmlDBNode> {
     mIter = checkNotNull(iter);
     mCollection = checkNotNull(collection);
     mRtx = checkNotNull(rtx);
+    mNodeKeys = LongStream.empty().iterator();
   }
 
   @Override
   public XmlDBNode next() {
-    while (mIter.hasNext()) {
-      final NodeReferences nodeReferences = mIter.next();
-      final Set<Long> nodeKeys = nodeReferences.getNodeKeys();
-      for (final long nodeKey : nodeKeys) {
-        mRtx.moveTo(nodeKey);
-        return new XmlDBNode(mRtx, mCollection);
+    while (!mNodeKeys.hasNext()) {
+      if (!mIter.hasNext()) {
+        return null;
       }
+      mNodeKeys = mIter.next().nodeKeyIterator();
     }
-    return null;
+    mRtx.moveTo(mNodeKeys.nextLong());
+    return new XmlDBNode(mRtx, mCollection);
   }
 
   @Override
@@ -0,0 +1,108 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.util.io.IOUtils;
+import org.brackit.xquery.util.serialize.StringSerializer;
+import org.junit.Test;
+import org.sirix.JsonTestHelper;
+import org.sirix.JsonTestHelper.PATHS;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.SirixQueryContext;
+import org.sirix.xquery.json.BasicJsonDBStore;
+import junit.framework.TestCase;
+
+/**
+ * Compares the results of queries on a stored JSON document, which are rewritten into CAS index
+ * scans, with the results of the same queries without the rewrite.
+ */
+public final class JsonCASIndexMatchingTest extends TestCase {
+
+  private static final String JSON = "{\"foo\":[{\"bar\":\"c\"},{\"bar\":\"a\"},{\"baz\":\"b\"},{\"bar\":\"d\"},"
+      + "{\"bar\":\"b\"}],\"baz\":\"b\"}";
+
+  private static final String DOC = "jn:doc('jsoncol','mydoc.jn')";
+
+  /** The store. */
+  private BasicJsonDBStore mStore;
+
+  /** The query context. */
+  private SirixQueryContext mCtx;
+
+  /** The compile chain without index matching. */
+  private SirixCompileChain mChain;
+
+  /** The compile chain, which rewrites queries into index scans. */
+  private SirixCompileChain mIndexChain;
+
+  @Override
+  protected void setUp() throws Exception {
+    JsonTestHelper.deleteEverything();
+    mStore = BasicJsonDBStore.newBuilder().location(PATHS.PATH1.getFile()).build();
+    mCtx = SirixQueryContext.createWithJsonStore(mStore);
+    mChain = new SirixCompileChain(null, mStore, false);
+    mIndexChain = new SirixCompileChain(null, mStore, true);
+
+    new XQuery(mChain, "jn:store('jsoncol','mydoc.jn','" + JSON + "')").evaluate(mCtx);
+    new XQuery(mChain, "let $doc := " + DOC + " let $stats := jn:create-cas-index($doc, 'xs:string', '/foo/array/bar')"
+        + " return sdb:commit($doc)").evaluate(mCtx);
+  }
+
+  @Override
+  protected void tearDown() {
+    mCtx.close();
+    mStore.close();
+    JsonTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testEqual() {
+    assertQuery("b", "=>foo[[]]=>bar[. eq 'b']");
+    assertQuery("b", "=>foo[[]]=>bar['b' = .]");
+  }
+
+  @Test
+  public void testLess() {
+    assertQuery("a,b", "=>foo[[]]=>bar[. lt 'c']");
+    assertQuery("c,a,b", "=>foo[[]]=>bar[. <= 'c']");
+  }
+
+  @Test
+  public void testGreater() {
+    assertQuery("c,d", "=>foo[[]]=>bar[. gt 'b']");
+    assertQuery("c,a,b", "=>foo[[]]=>bar['c' ge .]");
+  }
+
+  @Test
+  public void testRange() {
+    assertQuery("c,b", "=>foo[[]]=>bar[. ge 'b'][. lt 'd']");
+    assertQuery("c,b", "=>foo[[]]=>bar[. ge 'b' and . lt 'd']");
+  }
+
+  @Test
+  public void testNoMatchingIndex() {
+    assertQuery("b", "=>baz[. eq 'b']");
+    assertQuery("b", "=>foo[[]]=>baz[. eq 'b']");
+  }
+
+  @Test
+  public void testScanReturnsValues() {
+    // The index references the string values, not the objects containing them.
+    assertEquals("c,d", evaluate(mChain, "string-join(for $value in jn:scan-cas-index(" + DOC
+        + ", 0, 'b', true(), -2, '/foo/array/bar') return string($value), ',')"));
+  }
+
+  private void assertQuery(final String expected, final String path) {
+    final String query = "string-join(for $value in " + DOC + path + " return string($value), ',')";
+    final String result = evaluate(mChain, query);
+    assertEquals(expected, result);
+    assertEquals(result, evaluate(mIndexChain, query));
+  }
+
+  private String evaluate(final SirixCompileChain chain, final String query) {
+    final var buf = IOUtils.createBuffer();
+    try (final var serializer = new StringSerializer(buf)) {
+      serializer.serialize(new XQuery(chain, query).evaluate(mCtx));
+    }
+    return buf.toString();
+  }
+}
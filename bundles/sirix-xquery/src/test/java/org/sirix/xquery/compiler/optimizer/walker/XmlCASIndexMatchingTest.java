@@ -0,0 +1,102 @@
+package org.sirix.xquery.compiler.optimizer.walker;
+
+import org.brackit.xquery.XQuery;
+import org.brackit.xquery.util.io.IOUtils;
+import org.brackit.xquery.util.serialize.StringSerializer;
+import org.junit.Test;
+import org.sirix.XmlTestHelper;
+import org.sirix.XmlTestHelper.PATHS;
+import org.sirix.xquery.SirixCompileChain;
+import org.sirix.xquery.SirixQueryContext;
+import org.sirix.xquery.node.BasicXmlDBStore;
+import junit.framework.TestCase;
+
+/**
+ * Compares the results of queries on a stored XML document, which are rewritten into CAS index
+ * scans, with the results of the same queries without the rewrite.
+ */
+public final class XmlCASIndexMatchingTest extends TestCase {
+
+  private static final String XML = "<root><bla foobar=\"c\"/><bla foobar=\"a\"/><bla baz=\"b\"/><bla foobar=\"d\"/>"
+      + "<x><bla foobar=\"b\"/></x><bla foobar=\"b\"/></root>";
+
+  private static final String DOC = "sdb:doc('xmlcol','mydoc.xml')";
+
+  /** The store. */
+  private BasicXmlDBStore mStore;
+
+  /** The query context. */
+  private SirixQueryContext mCtx;
+
+  /** The compile chain without index matching. */
+  private SirixCompileChain mChain;
+
+  /** The compile chain, which rewrites queries into index scans. */
+  private SirixCompileChain mIndexChain;
+
+  @Override
+  protected void setUp() throws Exception {
+    XmlTestHelper.deleteEverything();
+    mStore = BasicXmlDBStore.newBuilder().location(PATHS.PATH1.getFile()).build();
+    mCtx = SirixQueryContext.createWithNodeStore(mStore);
+    mChain = new SirixCompileChain(mStore, null, false);
+    mIndexChain = new SirixCompileChain(mStore, null, true);
+
+    new XQuery(mChain, "sdb:store('xmlcol','mydoc.xml','" + XML + "')").evaluate(mCtx);
+    new XQuery(mChain, "let $doc := " + DOC + " let $stats := sdb:create-cas-index($doc, 'xs:string', '//bla/@foobar')"
+        + " return sdb:commit($doc)").evaluate(mCtx);
+  }
+
+  @Override
+  protected void tearDown() {
+    mCtx.close();
+    mStore.close();
+    XmlTestHelper.closeEverything();
+  }
+
+  @Test
+  public void testEqual() {
+    assertQuery("b,b", "//bla/@foobar[. eq 'b']");
+    assertQuery("b,b", "//bla/@foobar['b' = .]");
+    assertQuery("b", "/root/x/bla/@foobar[. eq 'b']");
+  }
+
+  @Test
+  public void testLess() {
+    assertQuery("a,b,b", "//bla/@foobar[. lt 'c']");
+    assertQuery("c,a,b,b", "//bla/@foobar[. <= 'c']");
+  }
+
+  @Test
+  public void testGreater() {
+    assertQuery("c,d", "//bla/@foobar[. gt 'b']");
+    assertQuery("c,a,b,b", "//bla/@foobar['c' ge .]");
+  }
+
+  @Test
+  public void testRange() {
+    assertQuery("c,b,b", "//bla/@foobar[. ge 'b'][. lt 'd']");
+    assertQuery("c,b,b", "//bla/@foobar[. ge 'b' and . lt 'd']");
+  }
+
+  @Test
+  public void testNoMatchingIndex() {
+    assertQuery("b", "//bla/@baz[. eq 'b']");
+    assertQuery("b", "//x/bla/@foobar[. eq 'b']");
+  }
+
+  private void assertQuery(final String expected, final String path) {
+    final String query = "string-join(for $attribute in " + DOC + path + " return string($attribute), ',')";
+    final String result = evaluate(mChain, query);
+    assertEquals(expected, result);
+    assertEquals(result, evaluate(mIndexChain, query));
+  }
+
+  private String evaluate(final SirixCompileChain chain, final String query) {
+    final var buf = IOUtils.createBuffer();
+    try (final var serializer = new StringSerializer(buf)) {
+      serializer.serialize(new XQuery(chain, query).evaluate(mCtx));
+    }
+    return buf.toString();
+  }
+}